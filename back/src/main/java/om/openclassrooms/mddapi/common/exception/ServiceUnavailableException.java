@@ -0,0 +1,7 @@
+package om.openclassrooms.mddapi.common.exception;
+
+public class ServiceUnavailableException extends RuntimeException {
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package om.openclassrooms.mddapi.common.exception;
+
+public class TooManyRequestsException extends RuntimeException {
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+}
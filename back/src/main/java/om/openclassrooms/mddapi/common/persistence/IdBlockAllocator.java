@@ -0,0 +1,43 @@
+package om.openclassrooms.mddapi.common.persistence;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Reserves ranges of ids for rows written with plain JDBC. Ranges come from the same
+ * {@link IdGenerators#TABLE} rows as Hibernate's pooled-lo blocks, so both never hand out the same id.
+ */
+@Component
+public class IdBlockAllocator {
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public IdBlockAllocator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Commits at once, like Hibernate's generator: the row lock is not held until the caller commits
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Reserves {@code count} consecutive ids of the table named {@code generator}.
+     *
+     * @return the first reserved id
+     */
+    public long reserve(String generator, int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("count must be positive");
+        }
+        Long first = transactionTemplate.execute(status -> {
+            Long next = jdbcTemplate.queryForObject("SELECT " + IdGenerators.VALUE_COLUMN + " FROM " + IdGenerators.TABLE
+                    + " WHERE " + IdGenerators.NAME_COLUMN + " = ? FOR UPDATE", Long.class, generator);
+            jdbcTemplate.update("UPDATE " + IdGenerators.TABLE + " SET " + IdGenerators.VALUE_COLUMN + " = ? WHERE "
+                    + IdGenerators.NAME_COLUMN + " = ?", next + count, generator);
+            return next;
+        });
+        return first;
+    }
+}
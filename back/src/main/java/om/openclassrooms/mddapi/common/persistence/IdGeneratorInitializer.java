@@ -0,0 +1,62 @@
+package om.openclassrooms.mddapi.common.persistence;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Moves every id generator past the ids already stored, so tables filled by AUTO_INCREMENT
+ * (existing databases, SQL dumps) keep working once ids come from the generator table.
+ * Runs once the schema exists and before the web server accepts requests.
+ */
+@Component
+public class IdGeneratorInitializer {
+    // Each generator is named after the table whose ids it allocates
+    static final List<String> TABLES = List.of("users", "topics", "articles", "comments");
+    private static final Logger log = LoggerFactory.getLogger(IdGeneratorInitializer.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    // The EntityManagerFactory dependency makes the schema update run first
+    public IdGeneratorInitializer(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                  EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @PostConstruct
+    public void alignWithStoredIds() {
+        TABLES.forEach(table -> transactionTemplate.executeWithoutResult(status -> align(table)));
+    }
+
+    private void align(String table) {
+        long next = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) + 1 FROM " + table, Long.class);
+        // Only ever raised: a running instance may already have reserved blocks above the stored ids
+        int updated = jdbcTemplate.update("UPDATE " + IdGenerators.TABLE + " SET " + IdGenerators.VALUE_COLUMN
+                        + " = ? WHERE " + IdGenerators.NAME_COLUMN + " = ? AND " + IdGenerators.VALUE_COLUMN + " < ?",
+                next, table, next);
+        if (updated > 0) {
+            log.info("Id generator {} moved to {}", table, next);
+            return;
+        }
+        Integer existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + IdGenerators.TABLE
+                + " WHERE " + IdGenerators.NAME_COLUMN + " = ?", Integer.class, table);
+        if (existing == null || existing == 0) {
+            try {
+                jdbcTemplate.update("INSERT INTO " + IdGenerators.TABLE + " (" + IdGenerators.NAME_COLUMN + ", "
+                        + IdGenerators.VALUE_COLUMN + ") VALUES (?, ?)", table, next);
+            } catch (DuplicateKeyException e) {
+                // Another instance created it concurrently with the same lower bound
+                log.debug("Id generator {} created concurrently", table);
+            }
+        }
+    }
+}
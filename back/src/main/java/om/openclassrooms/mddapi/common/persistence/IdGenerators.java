@@ -0,0 +1,16 @@
+package om.openclassrooms.mddapi.common.persistence;
+
+/**
+ * Shared settings of the table-backed id generators. Ids are reserved by blocks of
+ * {@link #ALLOCATION_SIZE} (pooled-lo), so inserts need no generated key and Hibernate can batch them.
+ */
+public final class IdGenerators {
+    public static final String TABLE = "id_generators";
+    public static final String NAME_COLUMN = "sequence_name";
+    public static final String VALUE_COLUMN = "next_val";
+    // Matches hibernate.jdbc.batch_size: one block fills one batch
+    public static final int ALLOCATION_SIZE = 50;
+
+    private IdGenerators() {
+    }
+}
@@ -0,0 +1,147 @@
+package om.openclassrooms.mddapi.common.persistence;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import om.openclassrooms.mddapi.user.model.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends the read-only transactions of authenticated users to the replicas, round-robin, and
+ * everything else to the primary. A replica that fails to hand out a connection is skipped for
+ * {@code retryAfterMillis}; with none available the read falls back to the primary.
+ * <p>
+ * Read-only work of no user (startup loads, listeners, jobs) stays on the primary: it often reads
+ * back rows it was just notified of. So do the reads of a user for a short while after their own
+ * write, see {@link ReadYourWrites}.
+ * <p>
+ * Decides when the connection is requested: behind a {@code LazyConnectionDataSourceProxy}, that
+ * is at the transaction's first statement, once its read-only flag is set.
+ */
+public class ReadWriteRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final ReadYourWrites readYourWrites;
+    private final long retryAfterMillis;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final Counter primaryConnections;
+    private final Counter replicaConnections;
+    private final Counter fallbackConnections;
+
+    public ReadWriteRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                      ReadYourWrites readYourWrites, long retryAfterMillis,
+                                      MeterRegistry meterRegistry) {
+        this.primary = primary;
+        replicas.forEach((name, dataSource) -> this.replicas.add(new Replica(name, dataSource)));
+        this.readYourWrites = readYourWrites;
+        this.retryAfterMillis = retryAfterMillis;
+        this.primaryConnections = counter(meterRegistry, "primary");
+        this.replicaConnections = counter(meterRegistry, "replica");
+        this.fallbackConnections = counter(meterRegistry, "fallback");
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Long userId = currentUserId();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (userId != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+                recordWrite(userId);
+            }
+            primaryConnections.increment();
+            return primary.getConnection();
+        }
+        if (userId == null || readYourWrites.wroteRecently(userId)) {
+            primaryConnections.increment();
+            return primary.getConnection();
+        }
+        return replicaConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Credentials come from the configured pools");
+    }
+
+    private Connection replicaConnection() throws SQLException {
+        int first = Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((first + i) % replicas.size());
+            if (replica.downUntil > System.currentTimeMillis()) {
+                continue;
+            }
+            try {
+                Connection connection = replica.dataSource.getConnection();
+                replicaConnections.increment();
+                return connection;
+            } catch (SQLException e) {
+                replica.downUntil = System.currentTimeMillis() + retryAfterMillis;
+                log.warn("Replica {} unavailable, skipped for {} ms", replica.name, retryAfterMillis, e);
+            }
+        }
+        fallbackConnections.increment();
+        return primary.getConnection();
+    }
+
+    // Read-write transaction of a user: counted from now, in case it reads back before committing,
+    // and again from the commit
+    private void recordWrite(Long userId) {
+        readYourWrites.recordWrite(userId);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                readYourWrites.recordWrite(userId);
+            }
+        });
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof User user ? user.getId() : null;
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("datasource.connections")
+                .description("Connections handed out by the read/write router")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile long downUntil;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
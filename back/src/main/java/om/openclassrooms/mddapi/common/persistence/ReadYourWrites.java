@@ -0,0 +1,39 @@
+package om.openclassrooms.mddapi.common.persistence;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Users who wrote in the last {@code read-your-writes-window} ms: {@link ReadWriteRoutingDataSource}
+ * keeps their reads on the primary until the replicas have caught up with what they just wrote.
+ * Kept per instance; a no-op without replicas.
+ */
+@Component
+public class ReadYourWrites {
+    private final boolean enabled;
+    private final Cache<Long, Boolean> recentWriters;
+
+    public ReadYourWrites(@Value("${mdd.datasource.replicas.urls:}") List<String> replicaUrls,
+                          @Value("${mdd.datasource.read-your-writes-window:5000}") long window) {
+        this.enabled = replicaUrls.stream().anyMatch(url -> !url.isBlank());
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(window))
+                .executor(Runnable::run)
+                .build();
+    }
+
+    public void recordWrite(Long userId) {
+        if (enabled && userId != null) {
+            recentWriters.put(userId, Boolean.TRUE);
+        }
+    }
+
+    public boolean wroteRecently(Long userId) {
+        return recentWriters.getIfPresent(userId) != null;
+    }
+}
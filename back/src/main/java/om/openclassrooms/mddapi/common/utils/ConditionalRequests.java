@@ -0,0 +1,37 @@
+package om.openclassrooms.mddapi.common.utils;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Optional;
+
+/**
+ * Strong ETags derived from the version counters stored next to the data.
+ */
+public final class ConditionalRequests {
+    private static final String REVALIDATE = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    private ConditionalRequests() {
+    }
+
+    /**
+     * Sets the ETag of {@code version} on the response and tells whether the client copy is current;
+     * the handler then returns {@code null} and Spring answers 304 without a body.
+     */
+    public static boolean isNotModified(WebRequest request, Optional<String> version) {
+        if (version.isEmpty()) {
+            return false;
+        }
+        // Replaces Spring Security's no-store default so browsers keep the body and revalidate it
+        if (request instanceof ServletWebRequest servletRequest) {
+            HttpServletResponse response = servletRequest.getResponse();
+            if (response != null) {
+                response.setHeader(HttpHeaders.CACHE_CONTROL, REVALIDATE);
+            }
+        }
+        return request.checkNotModified(version.get());
+    }
+}
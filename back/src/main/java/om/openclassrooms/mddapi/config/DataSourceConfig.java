@@ -0,0 +1,69 @@
+package om.openclassrooms.mddapi.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import om.openclassrooms.mddapi.common.persistence.ReadWriteRoutingDataSource;
+import om.openclassrooms.mddapi.common.persistence.ReadYourWrites;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces the auto-configured pool when {@code mdd.datasource.replicas.urls} lists replicas: one
+ * pool for the primary ({@code spring.datasource.*}) and one per replica, with the same credentials.
+ */
+@Configuration
+@ConditionalOnExpression("!'${mdd.datasource.replicas.urls:}'.isBlank()")
+public class DataSourceConfig {
+
+    @Bean(destroyMethod = "close")
+    public ReadWriteRoutingDataSource routingDataSource(DataSourceProperties properties,
+                                                        ReadYourWrites readYourWrites,
+                                                        MeterRegistry meterRegistry,
+                                                        @Value("${mdd.datasource.replicas.urls}") List<String> replicaUrls,
+                                                        @Value("${mdd.datasource.replicas.connection-timeout:1000}") long connectionTimeout,
+                                                        @Value("${mdd.datasource.replicas.retry-after:30000}") long retryAfter) {
+        HikariDataSource primary = pool(properties, properties.determineUrl(), "primary", meterRegistry);
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (String url : replicaUrls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            String name = "replica-" + (replicas.size() + 1);
+            HikariDataSource replica = pool(properties, url.strip(), name, meterRegistry);
+            // A replica that does not answer quickly is skipped, the primary answers instead
+            replica.setConnectionTimeout(connectionTimeout);
+            replica.setReadOnly(true);
+            replicas.put(name, replica);
+        }
+        return new ReadWriteRoutingDataSource(primary, replicas, readYourWrites, retryAfter, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        // Takes the connection at the first statement, once the transaction's read-only flag is known
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    private static HikariDataSource pool(DataSourceProperties properties, String url, String name,
+                                         MeterRegistry meterRegistry) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .build();
+        pool.setPoolName(name);
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return pool;
+    }
+}
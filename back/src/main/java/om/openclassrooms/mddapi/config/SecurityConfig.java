@@ -1,5 +1,6 @@
 package om.openclassrooms.mddapi.config;
 
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletResponse;
 import om.openclassrooms.mddapi.auth.service.UserDetailsServiceImpl;
 import om.openclassrooms.mddapi.common.utils.MessageResolver;
@@ -107,7 +108,10 @@ public class SecurityConfig {
                                 .accessDeniedHandler(accessDeniedHandler())
                 )
                 .authorizeHttpRequests(authorize ->
-                        authorize.anyRequest().authenticated()
+                        authorize
+                                // Completion of an already authorized SSE request carries no JWT
+                                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                                .anyRequest().authenticated()
                 )
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
         ;
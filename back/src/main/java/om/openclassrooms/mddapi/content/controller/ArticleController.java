@@ -1,59 +1,308 @@
 package om.openclassrooms.mddapi.content.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import om.openclassrooms.mddapi.common.utils.ConditionalRequests;
+import om.openclassrooms.mddapi.content.payload.ArticlePageResponse;
 import om.openclassrooms.mddapi.content.payload.ArticleResponse;
+import om.openclassrooms.mddapi.content.payload.ArticleSummaryResponse;
 import om.openclassrooms.mddapi.content.payload.CommentResponse;
 import om.openclassrooms.mddapi.content.payload.CreateArticleRequest;
 import om.openclassrooms.mddapi.content.payload.CreateCommentRequest;
+import om.openclassrooms.mddapi.content.payload.ImportResponse;
+import om.openclassrooms.mddapi.content.payload.WriteStatusResponse;
+import om.openclassrooms.mddapi.content.service.ArticleImportService;
 import om.openclassrooms.mddapi.content.service.ArticleService;
+import om.openclassrooms.mddapi.content.service.ArticleStreamService;
+import om.openclassrooms.mddapi.content.service.ArticleViewCounter;
+import om.openclassrooms.mddapi.content.service.ReadTracker;
+import om.openclassrooms.mddapi.content.service.TrendingArticles;
 import om.openclassrooms.mddapi.content.service.CommentService;
+import om.openclassrooms.mddapi.content.service.WritePipeline;
 import om.openclassrooms.mddapi.user.model.User;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
 @RequestMapping("/articles")
 public class ArticleController {
+    // Without an explicit charset the String converter would write text/html as ISO-8859-1
+    private static final String TEXT_HTML_UTF8 = MediaType.TEXT_HTML_VALUE + ";charset=UTF-8";
+    // RFC 7240: asks for 202 once the write is queued instead of waiting for its commit
+    private static final String PREFER = "Prefer";
+    private static final String PREFERENCE_APPLIED = "Preference-Applied";
+    private static final String RESPOND_ASYNC = "respond-async";
+    private static final ResponseEntity<Void> CREATED = ResponseEntity.status(HttpStatus.CREATED).build();
 
     private final ArticleService articleService;
     private final CommentService commentService;
+    private final ArticleStreamService articleStreamService;
+    private final ArticleImportService articleImportService;
+    private final ArticleViewCounter articleViewCounter;
+    private final TrendingArticles trendingArticles;
+    private final ReadTracker readTracker;
+    private final WritePipeline writePipeline;
+    private final ObjectMapper objectMapper;
 
-    public ArticleController(ArticleService articleService, CommentService commentService) {
+    public ArticleController(ArticleService articleService, CommentService commentService,
+                             ArticleStreamService articleStreamService, ArticleImportService articleImportService,
+                             ArticleViewCounter articleViewCounter, TrendingArticles trendingArticles,
+                             ReadTracker readTracker, WritePipeline writePipeline, ObjectMapper objectMapper) {
         this.articleService = articleService;
         this.commentService = commentService;
+        this.articleStreamService = articleStreamService;
+        this.articleImportService = articleImportService;
+        this.articleViewCounter = articleViewCounter;
+        this.trendingArticles = trendingArticles;
+        this.readTracker = readTracker;
+        this.writePipeline = writePipeline;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
-    public List<ArticleResponse> getAllArticles(Sort sort, @AuthenticationPrincipal User user){
+    public List<ArticleResponse> getAllArticles(Sort sort, @AuthenticationPrincipal User user, WebRequest request){
+        if (ConditionalRequests.isNotModified(request, articleService.getFeedVersion(user.getId()))) {
+            return null;
+        }
         return articleService.getAllArticlesForUser(user.getId(), sort);
     }
 
+    @GetMapping(params = "limit")
+    public ArticlePageResponse<ArticleResponse> getArticlesPage(@RequestParam int limit,
+                                                                @RequestParam(required = false) String cursor,
+                                                                @AuthenticationPrincipal User user){
+        return articleService.getArticlesPageForUser(user.getId(), cursor, limit);
+    }
+
+    @GetMapping(params = "view=summary")
+    public List<ArticleSummaryResponse> getAllArticleSummaries(Sort sort, @AuthenticationPrincipal User user, WebRequest request){
+        if (ConditionalRequests.isNotModified(request, articleService.getFeedVersion(user.getId()))) {
+            return null;
+        }
+        return articleService.getAllArticleSummariesForUser(user.getId(), sort);
+    }
+
+    @GetMapping(params = {"view=summary", "limit"})
+    public ArticlePageResponse<ArticleSummaryResponse> getArticleSummariesPage(@RequestParam int limit,
+                                                                               @RequestParam(required = false) String cursor,
+                                                                               @AuthenticationPrincipal User user){
+        return articleService.getArticleSummariesPageForUser(user.getId(), cursor, limit);
+    }
+
+    /**
+     * Whole feed as one JSON array, written row by row while the database cursor is read.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_JSON_VALUE)
+    public void exportArticles(Sort sort, @AuthenticationPrincipal User user, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        try (JsonGenerator generator = objectMapper.createGenerator(response.getOutputStream())) {
+            generator.writeStartArray();
+            articleService.streamAllArticlesForUser(user.getId(), sort, article -> write(generator, article));
+            generator.writeEndArray();
+        }
+    }
+
+    /**
+     * Whole feed as newline delimited JSON, one article per line.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void exportArticlesAsNdjson(Sort sort, @AuthenticationPrincipal User user, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        try (JsonGenerator generator = objectMapper.createGenerator(response.getOutputStream())) {
+            generator.setRootValueSeparator(null);
+            articleService.streamAllArticlesForUser(user.getId(), sort, article -> {
+                write(generator, article);
+                writeLineSeparator(generator);
+            });
+        }
+    }
+
+    /**
+     * Server-Sent Events: an {@code article} event (summary view) for each new article in a subscribed
+     * topic, and {@code resync} when the client fell too far behind and should refetch its feed.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamArticles(@AuthenticationPrincipal User user) {
+        return articleStreamService.connect(user.getId());
+    }
+
+    /**
+     * Full-text search (titles, bodies and comments) in the subscribed topics, best match first.
+     */
+    @GetMapping("/search")
+    public List<ArticleSummaryResponse> searchArticles(@RequestParam String q,
+                                                       @RequestParam(defaultValue = "20") int limit,
+                                                       @AuthenticationPrincipal User user) {
+        return articleService.searchArticles(user.getId(), q, limit);
+    }
+
+    /**
+     * Most viewed and commented articles of the subscribed topics over the last hour, 6 hours or day.
+     */
+    @GetMapping("/trending")
+    public List<ArticleSummaryResponse> getTrendingArticles(@RequestParam(defaultValue = "1h") String window,
+                                                            @RequestParam(defaultValue = "10") int limit,
+                                                            @AuthenticationPrincipal User user) {
+        return articleService.getTrendingArticles(user.getId(), window, limit);
+    }
+
+    /**
+     * Articles of the subscribed topics closest in vocabulary to this one, most similar first.
+     */
+    @GetMapping("/{articleId}/related")
+    public List<ArticleSummaryResponse> getRelatedArticles(@PathVariable Long articleId,
+                                                           @RequestParam(defaultValue = "5") int limit,
+                                                           @AuthenticationPrincipal User user) {
+        return articleService.getRelatedArticles(user.getId(), articleId, limit);
+    }
+
     @GetMapping("{articleId}")
     public ArticleResponse getArticleById(@PathVariable Long articleId){
-        return articleService.getArticleById(articleId);
+        ArticleResponse article = articleService.getArticleById(articleId);
+        // Counted once found, so unknown ids never take a counter
+        articleViewCounter.increment(articleId);
+        trendingArticles.recordView(articleId, article.topicId());
+        return article;
+    }
+
+    /**
+     * Body rendered from Markdown to sanitized HTML, ready to insert in the page.
+     */
+    @GetMapping(value = "{articleId}", params = "format=html", produces = TEXT_HTML_UTF8)
+    public String getArticleHtml(@PathVariable Long articleId, WebRequest request) {
+        if (ConditionalRequests.isNotModified(request, articleService.getArticleHtmlVersion(articleId))) {
+            return null;
+        }
+        return articleService.getArticleHtml(articleId);
     }
 
 
+    /**
+     * 201 once stored. With asynchronous writes enabled, the request waits for the batch commit
+     * ({@link DeferredResult}), or gets 202 and a tracking id at once with {@code Prefer: respond-async}.
+     */
+    // Object: Spring picks the return value handler from the runtime type
     @PostMapping
-    @ResponseStatus(HttpStatus.CREATED)
-    public void createArticle(@Valid @RequestBody  CreateArticleRequest request, @AuthenticationPrincipal User user){
-        articleService.createArticle(request, user.getId());
+    public Object createArticle(@Valid @RequestBody  CreateArticleRequest request, @AuthenticationPrincipal User user,
+                                @RequestHeader(name = PREFER, required = false) String prefer){
+        if (!writePipeline.isEnabled()) {
+            articleService.createArticle(request, user.getId());
+            return CREATED;
+        }
+        return respond(writePipeline.submitArticle(request, user.getId()), prefer);
+    }
+
+    /**
+     * Bulk import of newline delimited JSON articles, read while the upload is still arriving.
+     */
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ImportResponse importArticles(InputStream body, @AuthenticationPrincipal User user) throws IOException {
+        return articleImportService.importArticles(body, user);
     }
 
+    /**
+     * Marks the article read, no longer counted in its topic's unread count.
+     */
+    @PostMapping("/{articleId}/read")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void markArticleRead(@PathVariable Long articleId, @AuthenticationPrincipal User user) {
+        readTracker.markArticleRead(user.getId(), articleId);
+    }
+
+    /**
+     * Same responses as {@link #createArticle}.
+     */
     @PostMapping("/{articleId}/comments")
-    @ResponseStatus(HttpStatus.CREATED)
-    public void createCommentForArticle(@Valid @RequestBody CreateCommentRequest request, @PathVariable Long articleId, @AuthenticationPrincipal User user){
-        commentService.createCommentForArticle(articleId, request.comment(), user.getId());
+    public Object createCommentForArticle(@Valid @RequestBody CreateCommentRequest request, @PathVariable Long articleId,
+                                          @AuthenticationPrincipal User user,
+                                          @RequestHeader(name = PREFER, required = false) String prefer){
+        if (!writePipeline.isEnabled()) {
+            commentService.createCommentForArticle(articleId, request.comment(), user.getId());
+            return CREATED;
+        }
+        return respond(writePipeline.submitComment(articleId, request.comment(), user.getId()), prefer);
     }
 
     @GetMapping("/{articleId}/comments")
-    public List<CommentResponse> getCommentsForArticle(@PathVariable Long articleId) {
+    public List<CommentResponse> getCommentsForArticle(@PathVariable Long articleId, WebRequest request) {
+        if (ConditionalRequests.isNotModified(request, commentService.getCommentsVersion(articleId))) {
+            return null;
+        }
         return commentService.getAllCommentsForArticle(articleId);
     }
 
+    /**
+     * One page of comments, oldest first; {@code nextCursor} is null on the last page.
+     */
+    @GetMapping(value = "/{articleId}/comments", params = "limit")
+    public ArticlePageResponse<CommentResponse> getCommentsPageForArticle(@PathVariable Long articleId,
+                                                                          @RequestParam int limit,
+                                                                          @RequestParam(required = false) String cursor,
+                                                                          WebRequest request) {
+        if (ConditionalRequests.isNotModified(request, commentService.getCommentsVersion(articleId))) {
+            return null;
+        }
+        return commentService.getCommentsPageForArticle(articleId, cursor, limit);
+    }
+
+    private static Object respond(WritePipeline.Ticket ticket, String prefer) {
+        if (prefer != null && prefer.contains(RESPOND_ASYNC)) {
+            return accepted(ticket);
+        }
+        DeferredResult<ResponseEntity<?>> result = new DeferredResult<>();
+        // Still queued when the async request times out: answer as if the client had asked for 202
+        result.onTimeout(() -> result.setResult(accepted(ticket)));
+        ticket.committed().whenComplete((ignored, failure) -> {
+            if (failure == null) {
+                result.setResult(CREATED);
+            } else {
+                result.setErrorResult(failure);
+            }
+        });
+        return result;
+    }
+
+    private static ResponseEntity<WriteStatusResponse> accepted(WritePipeline.Ticket ticket) {
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentContextPath()
+                        .path("/writes/{trackingId}")
+                        .buildAndExpand(ticket.trackingId())
+                        .toUri())
+                .header(PREFERENCE_APPLIED, RESPOND_ASYNC)
+                .body(new WriteStatusResponse(ticket.trackingId(), WriteStatusResponse.PENDING, null));
+    }
+
+    private static void write(JsonGenerator generator, ArticleResponse article) {
+        try {
+            generator.writeObject(article);
+        } catch (IOException e) {
+            // Client gone: abort the cursor instead of reading rows nobody will receive
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeLineSeparator(JsonGenerator generator) {
+        try {
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
 
 }
@@ -1,13 +1,18 @@
 package om.openclassrooms.mddapi.content.controller;
 
+import om.openclassrooms.mddapi.common.utils.ConditionalRequests;
 import om.openclassrooms.mddapi.content.payload.TopicName;
 import om.openclassrooms.mddapi.content.payload.TopicResponse;
+import om.openclassrooms.mddapi.content.payload.TopicSuggestion;
+import om.openclassrooms.mddapi.content.service.ReadTracker;
 import om.openclassrooms.mddapi.content.service.TopicService;
+import om.openclassrooms.mddapi.content.service.TopicSuggestionIndex;
 import om.openclassrooms.mddapi.user.model.User;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Set;
@@ -17,12 +22,20 @@ import java.util.stream.Collectors;
 @RequestMapping(path ="/topics")
 public class TopicController {
 private final TopicService topicService;
-    public TopicController(TopicService topicService) {
+private final TopicSuggestionIndex topicSuggestionIndex;
+private final ReadTracker readTracker;
+    public TopicController(TopicService topicService, TopicSuggestionIndex topicSuggestionIndex,
+                           ReadTracker readTracker) {
         this.topicService = topicService;
+        this.topicSuggestionIndex = topicSuggestionIndex;
+        this.readTracker = readTracker;
     }
 
     @GetMapping
-    public List<TopicResponse> getAllTopicsWithSubscriptionStatus(@AuthenticationPrincipal User user){
+    public List<TopicResponse> getAllTopicsWithSubscriptionStatus(@AuthenticationPrincipal User user, WebRequest request){
+        if (ConditionalRequests.isNotModified(request, topicService.getTopicsVersion(user.getId()))) {
+            return null;
+        }
         return topicService.getAllTopicsWithSubscriptionStatus(user.getId());
     }
 
@@ -34,6 +47,15 @@ private final TopicService topicService;
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Typeahead for the topic picker: topics with a word starting with {@code prefix}, most subscribed first.
+     */
+    @GetMapping("/suggest")
+    public List<TopicSuggestion> suggestTopics(@RequestParam(defaultValue = "") String prefix,
+                                               @RequestParam(defaultValue = "10") int limit){
+        return topicSuggestionIndex.suggest(prefix, limit);
+    }
+
     @PostMapping("/{id}/subscribe")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void subscribe(@PathVariable Long id, @AuthenticationPrincipal User user){
@@ -47,9 +69,29 @@ private final TopicService topicService;
         topicService.unsubscribe(user, id);
     }
 
+    /**
+     * Marks every current article of the topic read; articles published later count as unread.
+     */
+    @PostMapping("/{id}/read-all")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void markTopicRead(@PathVariable Long id, @AuthenticationPrincipal User user){
+        readTracker.markTopicRead(user.getId(), id);
+    }
+
     @GetMapping("/subscribed")
-    public Set<TopicResponse> getSubscribedTopics(@AuthenticationPrincipal User user){
+    public Set<TopicResponse> getSubscribedTopics(@AuthenticationPrincipal User user, WebRequest request){
+        if (ConditionalRequests.isNotModified(request, topicService.getTopicsVersion(user.getId()))) {
+            return null;
+        }
         return topicService.getSubscribedToUserTopics(user.getId());
 
     }
+
+    /**
+     * Subscribed topics with their unread counts; no ETag, the counts change with every read mark.
+     */
+    @GetMapping("/subscribed/unread")
+    public List<TopicResponse> getSubscribedTopicsWithUnreadCounts(@AuthenticationPrincipal User user){
+        return topicService.getSubscribedTopicsWithUnreadCounts(user.getId());
+    }
 }
@@ -0,0 +1,30 @@
+package om.openclassrooms.mddapi.content.controller;
+
+import om.openclassrooms.mddapi.common.exception.ResourceNotFoundException;
+import om.openclassrooms.mddapi.content.payload.WriteStatusResponse;
+import om.openclassrooms.mddapi.content.service.WritePipeline;
+import om.openclassrooms.mddapi.user.model.User;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/writes")
+public class WriteController {
+    private final WritePipeline writePipeline;
+
+    public WriteController(WritePipeline writePipeline) {
+        this.writePipeline = writePipeline;
+    }
+
+    /**
+     * State of an article or comment accepted with 202, on the instance that accepted it.
+     */
+    @GetMapping("/{trackingId}")
+    public WriteStatusResponse getWriteStatus(@PathVariable String trackingId, @AuthenticationPrincipal User user) {
+        return writePipeline.getStatus(trackingId, user.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("write"));
+    }
+}
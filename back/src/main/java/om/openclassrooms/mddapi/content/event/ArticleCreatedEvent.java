@@ -0,0 +1,14 @@
+package om.openclassrooms.mddapi.content.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by {@code ArticleService.createArticle}; listeners bound to the transaction only see committed articles.
+ */
+public record ArticleCreatedEvent(
+        Long articleId,
+        Long topicId,
+        Long authorId,
+        LocalDateTime createdAt
+) {
+}
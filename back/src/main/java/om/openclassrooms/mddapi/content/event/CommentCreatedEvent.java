@@ -0,0 +1,11 @@
+package om.openclassrooms.mddapi.content.event;
+
+/**
+ * Published by {@code CommentService.createCommentForArticle}; listeners bound to the transaction only see committed comments.
+ */
+public record CommentCreatedEvent(
+        Long articleId,
+        Long topicId,
+        Long commentId
+) {
+}
@@ -0,0 +1,45 @@
+package om.openclassrooms.mddapi.content.job;
+
+import om.openclassrooms.mddapi.content.service.ArticleService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Converts plain article bodies to the compressed column when the application is started with
+ * {@code --compress-article-content}. Each batch commits on its own, so the job can be stopped and resumed.
+ */
+@Component
+public class ArticleContentCompressionRunner implements ApplicationRunner {
+    public static final String OPTION = "compress-article-content";
+    private static final int BATCH_SIZE = 200;
+    private static final Logger log = LoggerFactory.getLogger(ArticleContentCompressionRunner.class);
+
+    private final ArticleService articleService;
+
+    public ArticleContentCompressionRunner(ArticleService articleService) {
+        this.articleService = articleService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption(OPTION)) {
+            return;
+        }
+        long total = 0;
+        Long afterId = 0L;
+        List<Long> batch;
+        do {
+            batch = articleService.compressContentBatch(afterId, BATCH_SIZE);
+            if (!batch.isEmpty()) {
+                afterId = batch.get(batch.size() - 1);
+            }
+            total += batch.size();
+        } while (batch.size() == BATCH_SIZE);
+        log.info("Article bodies compressed: {}", total);
+    }
+}
@@ -0,0 +1,48 @@
+package om.openclassrooms.mddapi.content.job;
+
+import om.openclassrooms.mddapi.content.service.ArticleService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Writes a compression dictionary trained on the latest articles when the application is started
+ * with {@code --train-article-content-dictionary=<file>}. The file is meant to be reviewed and
+ * shipped as the next dictionary version; stored rows never depend on it until then.
+ */
+@Component
+public class ArticleContentDictionaryRunner implements ApplicationRunner {
+    public static final String OPTION = "train-article-content-dictionary";
+    private static final int SAMPLE_SIZE = 2000;
+    private static final Logger log = LoggerFactory.getLogger(ArticleContentDictionaryRunner.class);
+
+    private final ArticleService articleService;
+
+    public ArticleContentDictionaryRunner(ArticleService articleService) {
+        this.articleService = articleService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<String> values = args.getOptionValues(OPTION);
+        if (values == null || values.isEmpty()) {
+            return;
+        }
+        Path target = Path.of(values.get(0));
+        byte[] dictionary = articleService.trainContentDictionary(SAMPLE_SIZE);
+        try {
+            Files.write(target, dictionary);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        log.info("Article content dictionary of {} bytes written to {}", dictionary.length, target);
+    }
+}
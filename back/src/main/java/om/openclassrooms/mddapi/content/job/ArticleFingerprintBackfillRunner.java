@@ -0,0 +1,80 @@
+package om.openclassrooms.mddapi.content.job;
+
+import om.openclassrooms.mddapi.content.model.ArticleSimHash;
+import om.openclassrooms.mddapi.content.payload.ArticleText;
+import om.openclassrooms.mddapi.content.service.ArticleService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Computes the SimHash fingerprint of every article stored without one when the application is
+ * started with {@code --fingerprint-articles}, so that duplicate detection also covers them.
+ * Hashing runs on a fixed pool; reads and writes stay on this thread, one transaction per batch,
+ * so the job can be stopped and resumed. Runs before the detector's startup load.
+ */
+@Component
+public class ArticleFingerprintBackfillRunner implements ApplicationRunner {
+    public static final String OPTION = "fingerprint-articles";
+    private static final int BATCH_SIZE = 500;
+    private static final Logger log = LoggerFactory.getLogger(ArticleFingerprintBackfillRunner.class);
+
+    private final ArticleService articleService;
+    private final int threads;
+
+    public ArticleFingerprintBackfillRunner(ArticleService articleService,
+                                            @Value("${mdd.articles.duplicates.backfill-threads:0}") int threads) {
+        this.articleService = articleService;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption(OPTION)) {
+            return;
+        }
+        long fingerprinted = 0;
+        long tooShort = 0;
+        Long afterId = 0L;
+        List<ArticleText> batch;
+        try (ExecutorService hashers = Executors.newFixedThreadPool(threads)) {
+            do {
+                batch = articleService.findUnfingerprintedBatch(afterId, BATCH_SIZE);
+                if (!batch.isEmpty()) {
+                    Map<Long, Long> fingerprints = fingerprint(batch, hashers);
+                    articleService.storeFingerprints(fingerprints);
+                    fingerprinted += fingerprints.size();
+                    tooShort += batch.size() - fingerprints.size();
+                    afterId = batch.get(batch.size() - 1).id();
+                }
+            } while (batch.size() == BATCH_SIZE);
+        }
+        log.info("Articles fingerprinted: {}, too short to fingerprint: {}", fingerprinted, tooShort);
+    }
+
+    private static Map<Long, Long> fingerprint(List<ArticleText> batch, ExecutorService hashers) {
+        // At most one batch is in flight: the pool's queue stays bounded by BATCH_SIZE
+        List<CompletableFuture<Long>> fingerprints = batch.stream()
+                .map(article -> CompletableFuture.supplyAsync(
+                        () -> ArticleSimHash.fingerprint(article.content()), hashers))
+                .toList();
+        Map<Long, Long> fingerprinted = new HashMap<>();
+        for (int i = 0; i < batch.size(); i++) {
+            Long fingerprint = fingerprints.get(i).join();
+            if (fingerprint != null) {
+                fingerprinted.put(batch.get(i).id(), fingerprint);
+            }
+        }
+        return fingerprinted;
+    }
+}
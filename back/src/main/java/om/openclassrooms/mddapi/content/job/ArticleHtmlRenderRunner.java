@@ -0,0 +1,72 @@
+package om.openclassrooms.mddapi.content.job;
+
+import om.openclassrooms.mddapi.content.model.ArticleHtml;
+import om.openclassrooms.mddapi.content.payload.ArticleRendition;
+import om.openclassrooms.mddapi.content.payload.ArticleText;
+import om.openclassrooms.mddapi.content.service.ArticleService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Renders the HTML of every article without a current rendition when the application is started
+ * with {@code --render-article-html}. Rendering is CPU bound and runs on a fixed pool; reads and
+ * writes stay on this thread, one transaction per batch, so the job can be stopped and resumed.
+ */
+@Component
+public class ArticleHtmlRenderRunner implements ApplicationRunner {
+    public static final String OPTION = "render-article-html";
+    private static final int BATCH_SIZE = 200;
+    private static final Logger log = LoggerFactory.getLogger(ArticleHtmlRenderRunner.class);
+
+    private final ArticleService articleService;
+    private final int threads;
+
+    public ArticleHtmlRenderRunner(ArticleService articleService,
+                                   @Value("${mdd.articles.html.render-threads:0}") int threads) {
+        this.articleService = articleService;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption(OPTION)) {
+            return;
+        }
+        long total = 0;
+        Long afterId = 0L;
+        List<ArticleText> batch;
+        try (ExecutorService renderers = Executors.newFixedThreadPool(threads)) {
+            do {
+                batch = articleService.findUnrenderedBatch(afterId, BATCH_SIZE);
+                if (!batch.isEmpty()) {
+                    articleService.storeRenditions(render(batch, renderers));
+                    afterId = batch.get(batch.size() - 1).id();
+                }
+                total += batch.size();
+            } while (batch.size() == BATCH_SIZE);
+        }
+        log.info("Article bodies rendered to HTML: {}", total);
+    }
+
+    private static List<ArticleRendition> render(List<ArticleText> batch, ExecutorService renderers) {
+        // At most one batch is in flight: the pool's queue stays bounded by BATCH_SIZE
+        List<CompletableFuture<ArticleRendition>> renditions = batch.stream()
+                .map(article -> CompletableFuture.supplyAsync(() -> render(article), renderers))
+                .toList();
+        return renditions.stream().map(CompletableFuture::join).toList();
+    }
+
+    private static ArticleRendition render(ArticleText article) {
+        String content = article.content() == null ? "" : article.content();
+        return new ArticleRendition(article.id(), ArticleHtml.render(content), ArticleHtml.hash(content));
+    }
+}
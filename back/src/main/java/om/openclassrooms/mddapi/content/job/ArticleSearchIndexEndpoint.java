@@ -0,0 +1,36 @@
+package om.openclassrooms.mddapi.content.job;
+
+import om.openclassrooms.mddapi.content.service.ArticleSearchIndex;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code /actuator/searchindex}: index state on GET, background rebuild from the database on POST.
+ * Only reachable once added to {@code management.endpoints.web.exposure.include}.
+ */
+@Component
+@Endpoint(id = "searchindex")
+public class ArticleSearchIndexEndpoint {
+    private final ArticleSearchIndex articleSearchIndex;
+
+    public ArticleSearchIndexEndpoint(ArticleSearchIndex articleSearchIndex) {
+        this.articleSearchIndex = articleSearchIndex;
+    }
+
+    @ReadOperation
+    public SearchIndexState state() {
+        return new SearchIndexState(articleSearchIndex.isReady(), articleSearchIndex.getDocumentCount(),
+                articleSearchIndex.sizeInBytes());
+    }
+
+    @WriteOperation
+    public void rebuild() {
+        // Searches keep answering from the previous content meanwhile
+        articleSearchIndex.rebuildInBackground();
+    }
+
+    public record SearchIndexState(boolean ready, int documents, long sizeInBytes) {
+    }
+}
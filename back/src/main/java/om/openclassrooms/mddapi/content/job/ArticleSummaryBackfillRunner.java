@@ -0,0 +1,38 @@
+package om.openclassrooms.mddapi.content.job;
+
+import om.openclassrooms.mddapi.content.service.ArticleService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Computes missing feed summaries when the application is started with {@code --backfill-article-summaries}.
+ */
+@Component
+public class ArticleSummaryBackfillRunner implements ApplicationRunner {
+    public static final String OPTION = "backfill-article-summaries";
+    private static final int BATCH_SIZE = 500;
+    private static final Logger log = LoggerFactory.getLogger(ArticleSummaryBackfillRunner.class);
+
+    private final ArticleService articleService;
+
+    public ArticleSummaryBackfillRunner(ArticleService articleService) {
+        this.articleService = articleService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption(OPTION)) {
+            return;
+        }
+        long total = 0;
+        int batch;
+        do {
+            batch = articleService.summarizeBatch(BATCH_SIZE);
+            total += batch;
+        } while (batch == BATCH_SIZE);
+        log.info("Article summaries backfilled: {}", total);
+    }
+}
@@ -0,0 +1,46 @@
+package om.openclassrooms.mddapi.content.job;
+
+import om.openclassrooms.mddapi.content.service.CommentService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Recounts the stored comment count of every article when the application is started with
+ * {@code --recount-comments}: articles commented before the count existed start at 0.
+ * One transaction per batch, so the job can be stopped and resumed.
+ */
+@Component
+public class CommentCountBackfillRunner implements ApplicationRunner {
+    public static final String OPTION = "recount-comments";
+    private static final int BATCH_SIZE = 500;
+    private static final Logger log = LoggerFactory.getLogger(CommentCountBackfillRunner.class);
+
+    private final CommentService commentService;
+
+    public CommentCountBackfillRunner(CommentService commentService) {
+        this.commentService = commentService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!args.containsOption(OPTION)) {
+            return;
+        }
+        long total = 0;
+        Long afterId = 0L;
+        List<Long> batch;
+        do {
+            batch = commentService.recountCommentsBatch(afterId, BATCH_SIZE);
+            if (!batch.isEmpty()) {
+                total += batch.size();
+                afterId = batch.get(batch.size() - 1);
+            }
+        } while (batch.size() == BATCH_SIZE);
+        log.info("Article comment counts recounted: {}", total);
+    }
+}
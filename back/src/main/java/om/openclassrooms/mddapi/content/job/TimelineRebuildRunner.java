@@ -0,0 +1,27 @@
+package om.openclassrooms.mddapi.content.job;
+
+import om.openclassrooms.mddapi.content.service.TimelineService;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rebuilds the materialized timeline when the application is started with {@code --rebuild-timeline}.
+ */
+@Component
+public class TimelineRebuildRunner implements ApplicationRunner {
+    public static final String OPTION = "rebuild-timeline";
+
+    private final TimelineService timelineService;
+
+    public TimelineRebuildRunner(TimelineService timelineService) {
+        this.timelineService = timelineService;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (args.containsOption(OPTION)) {
+            timelineService.rebuild();
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package om.openclassrooms.mddapi.content.model;
 
 import jakarta.persistence.*;
+import om.openclassrooms.mddapi.common.persistence.IdGenerators;
 import om.openclassrooms.mddapi.user.model.User;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.LazyGroup;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -11,19 +14,69 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "articles")
+@Table(name = "articles", indexes = {
+        @Index(name = "idx_articles_topic_created_id", columnList = "topic_id, created_at, id")
+})
 @EntityListeners(AuditingEntityListener.class)
 public class Article {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "articles")
+    @TableGenerator(name = "articles", table = IdGenerators.TABLE, pkColumnName = IdGenerators.NAME_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "articles",
+            allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false)
     private String title;
 
+    // Plain body; empty once the body is stored compressed in contentData.
+    // Both body columns form one lazy group: entity loads skip them until getContent() is called
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("content")
     @Column(length = 10000)
     private String content;
 
+    // Body encoded by ArticleContentCodec, only inflated when getContent() is called
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("content")
+    @Lob
+    @Column(name = "content_data", length = 65535)
+    private byte[] contentData;
+
+    @Transient
+    private String decodedContent;
+
+    // Sanitized HTML rendition by ArticleHtml and its ETag, in their own lazy group:
+    // only GET ?format=html reads them, through projections
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("html")
+    @Lob
+    @Column(name = "content_html", length = 16777215)
+    private String contentHtml;
+
+    // Null until rendered
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("html")
+    @Column(name = "content_hash", length = 40)
+    private String contentHash;
+
+    // ArticleMinHash signature, only read by the related articles index through projections
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("minhash")
+    @Column(length = ArticleMinHash.ENCODED_LENGTH)
+    private byte[] minhash;
+
+    // ArticleSimHash fingerprint of the body, null for bodies too short to fingerprint
+    private Long simhash;
+
+    // Precomputed at creation so feed summaries never read the full body
+    @Column(length = ArticleSummaries.EXCERPT_LENGTH)
+    private String excerpt;
+
+    private Integer wordCount;
+
+    private Integer readingTimeMinutes;
+
     @ManyToOne
     @JoinColumn(name = "topic_id", nullable = false)
     private Topic topic;
@@ -42,6 +95,21 @@ public class Article {
     @UpdateTimestamp
     private LocalDateTime updatedAt;
 
+    // Conditional GET version, only ever incremented by a bulk update so entity writes cannot roll it back
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private long commentsVersion;
+
+    // Only ever incremented by ArticleViewCounter's batched relative updates
+    @ColumnDefault("0")
+    @Column(name = "view_count", nullable = false, insertable = false, updatable = false)
+    private long viewCount;
+
+    // Denormalized COUNT of the comments, incremented with commentsVersion by the same bulk update
+    @ColumnDefault("0")
+    @Column(name = "comment_count", nullable = false, insertable = false, updatable = false)
+    private long commentCount;
+
     public Long getId() {
         return id;
     }
@@ -59,11 +127,90 @@ public class Article {
     }
 
     public String getContent() {
-        return content;
+        if (contentData == null) {
+            return content;
+        }
+        if (decodedContent == null) {
+            decodedContent = ArticleContentCodec.decode(contentData);
+        }
+        return decodedContent;
     }
 
     public void setContent(String content) {
         this.content = content;
+        this.contentData = null;
+        this.decodedContent = null;
+    }
+
+    /**
+     * Moves the body to its compressed column.
+     */
+    public void compressContent() {
+        if (content != null) {
+            decodedContent = content;
+            contentData = ArticleContentCodec.encode(content);
+            content = null;
+        }
+    }
+
+    public boolean isContentCompressed() {
+        return contentData != null;
+    }
+
+    public String getContentHtml() {
+        return contentHtml;
+    }
+
+    public void setContentHtml(String contentHtml) {
+        this.contentHtml = contentHtml;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public byte[] getMinhash() {
+        return minhash;
+    }
+
+    public void setMinhash(byte[] minhash) {
+        this.minhash = minhash;
+    }
+
+    public Long getSimhash() {
+        return simhash;
+    }
+
+    public void setSimhash(Long simhash) {
+        this.simhash = simhash;
+    }
+
+    public String getExcerpt() {
+        return excerpt;
+    }
+
+    public void setExcerpt(String excerpt) {
+        this.excerpt = excerpt;
+    }
+
+    public Integer getWordCount() {
+        return wordCount;
+    }
+
+    public void setWordCount(Integer wordCount) {
+        this.wordCount = wordCount;
+    }
+
+    public Integer getReadingTimeMinutes() {
+        return readingTimeMinutes;
+    }
+
+    public void setReadingTimeMinutes(Integer readingTimeMinutes) {
+        this.readingTimeMinutes = readingTimeMinutes;
     }
 
     public Topic getTopic() {
@@ -97,4 +244,16 @@ public class Article {
     public LocalDateTime getUpdatedAt() {
         return updatedAt;
     }
+
+    public long getCommentsVersion() {
+        return commentsVersion;
+    }
+
+    public long getViewCount() {
+        return viewCount;
+    }
+
+    public long getCommentCount() {
+        return commentCount;
+    }
 }
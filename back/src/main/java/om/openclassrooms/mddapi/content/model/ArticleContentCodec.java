@@ -0,0 +1,152 @@
+package om.openclassrooms.mddapi.content.model;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * At-rest encoding of compressed article bodies. The first byte names the format, so rows written
+ * with an older format or dictionary stay readable once a new one is introduced.
+ */
+public final class ArticleContentCodec {
+    static final byte FORMAT_UTF8 = 1;
+    static final byte FORMAT_DEFLATE_V1 = 2;
+    // Deflate only looks back 32 KiB: a larger dictionary would never be referenced
+    public static final int MAX_DICTIONARY_SIZE = 32 * 1024;
+
+    // Shipped dictionaries are immutable: stored rows reference them through their format byte
+    private static final byte[] DICTIONARY_V1 = loadDictionary("/article-content-dictionary-v1.txt");
+
+    private ArticleContentCodec() {
+    }
+
+    /**
+     * Deflates {@code content} against the shared dictionary; bodies that would not shrink are
+     * stored as plain UTF-8.
+     */
+    public static byte[] encode(String content) {
+        byte[] utf8 = content.getBytes(StandardCharsets.UTF_8);
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+        try {
+            deflater.setDictionary(DICTIONARY_V1);
+            deflater.setInput(utf8);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(utf8.length / 2 + 16);
+            out.write(FORMAT_DEFLATE_V1);
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished() && out.size() <= utf8.length) {
+                int length = deflater.deflate(buffer);
+                out.write(buffer, 0, length);
+            }
+            if (deflater.finished() && out.size() <= utf8.length) {
+                return out.toByteArray();
+            }
+        } finally {
+            deflater.end();
+        }
+
+        byte[] raw = new byte[utf8.length + 1];
+        raw[0] = FORMAT_UTF8;
+        System.arraycopy(utf8, 0, raw, 1, utf8.length);
+        return raw;
+    }
+
+    public static String decode(byte[] data) {
+        if (data.length == 0) {
+            throw new IllegalArgumentException("Empty article content");
+        }
+        return switch (data[0]) {
+            case FORMAT_UTF8 -> new String(data, 1, data.length - 1, StandardCharsets.UTF_8);
+            case FORMAT_DEFLATE_V1 -> inflate(data, DICTIONARY_V1);
+            default -> throw new IllegalArgumentException("Unknown article content format " + data[0]);
+        };
+    }
+
+    private static String inflate(byte[] data, byte[] dictionary) {
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setDictionary(dictionary);
+            inflater.setInput(data, 1, data.length - 1);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 3);
+            byte[] buffer = new byte[4096];
+            while (!inflater.finished()) {
+                int length = inflater.inflate(buffer);
+                if (length == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalArgumentException("Truncated article content");
+                }
+                out.write(buffer, 0, length);
+            }
+            return out.toString(StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Corrupted article content", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Builds a candidate dictionary from sample bodies: word sequences shared by several samples,
+     * ranked by the bytes they would save, the most valuable last since Deflate encodes closer
+     * matches in fewer bits.
+     */
+    public static byte[] trainDictionary(List<String> samples, int maxSize) {
+        Map<String, Integer> documentFrequency = new HashMap<>();
+        for (String sample : samples) {
+            String[] words = sample.split("\\s+");
+            Set<String> seen = new HashSet<>();
+            for (int i = 0; i < words.length; i++) {
+                StringBuilder sequence = new StringBuilder();
+                for (int n = 0; n < 4 && i + n < words.length; n++) {
+                    sequence.append(n == 0 ? "" : " ").append(words[i + n]);
+                    if (sequence.length() >= 4) {
+                        seen.add(sequence.toString());
+                    }
+                }
+            }
+            seen.forEach(sequence -> documentFrequency.merge(sequence, 1, Integer::sum));
+        }
+
+        List<String> ranked = documentFrequency.entrySet().stream()
+                .filter(entry -> entry.getValue() > 1)
+                .sorted(Comparator.comparingLong((Map.Entry<String, Integer> entry) ->
+                        (long) entry.getValue() * entry.getKey().length()).reversed())
+                .map(Map.Entry::getKey)
+                .toList();
+
+        int limit = Math.min(maxSize, MAX_DICTIONARY_SIZE);
+        StringBuilder dictionary = new StringBuilder();
+        int size = 0;
+        for (String sequence : ranked) {
+            int length = sequence.getBytes(StandardCharsets.UTF_8).length + 1;
+            if (size + length > limit) {
+                continue;
+            }
+            // Prepend: the highest ranked sequences end up closest to the data
+            dictionary.insert(0, sequence + " ");
+            size += length;
+        }
+        return dictionary.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] loadDictionary(String resource) {
+        try (InputStream in = ArticleContentCodec.class.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing article content dictionary " + resource);
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
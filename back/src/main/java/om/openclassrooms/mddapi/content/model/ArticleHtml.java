@@ -0,0 +1,53 @@
+package om.openclassrooms.mddapi.content.model;
+
+import org.commonmark.parser.Parser;
+import org.commonmark.renderer.html.HtmlRenderer;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Renders the stored HTML rendition of an article body: CommonMark with every raw HTML block or
+ * inline escaped and link targets restricted to safe schemes, so the result can be inserted as is.
+ */
+public final class ArticleHtml {
+    /**
+     * Bumped whenever the rendering changes, so the backfill job renders every article again.
+     */
+    public static final int RENDERER_VERSION = 1;
+    public static final String HASH_PREFIX = RENDERER_VERSION + "-";
+
+    // Both are immutable and thread safe
+    private static final Parser PARSER = Parser.builder().build();
+    private static final HtmlRenderer RENDERER = HtmlRenderer.builder()
+            .escapeHtml(true)
+            .sanitizeUrls(true)
+            .build();
+
+    private ArticleHtml() {
+    }
+
+    public static void apply(Article article) {
+        String content = article.getContent() == null ? "" : article.getContent();
+        article.setContentHtml(render(content));
+        article.setContentHash(hash(content));
+    }
+
+    public static String render(String markdown) {
+        return RENDERER.render(PARSER.parse(markdown));
+    }
+
+    /**
+     * Renderer version and SHA-256 of the source: changes exactly when the rendition would.
+     */
+    public static String hash(String markdown) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(markdown.getBytes(StandardCharsets.UTF_8));
+            return HASH_PREFIX + HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is required on every JVM", e);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package om.openclassrooms.mddapi.content.model;
+
+import java.nio.ByteBuffer;
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * MinHash signature of an article: for each of {@link #SIZE} hash functions, the smallest hash of
+ * the article's shingles. Two signatures agree on a position with probability equal to the Jaccard
+ * similarity of the two shingle sets, so comparing signatures estimates it without the texts.
+ * <p>
+ * Shingles are the distinct words of the title and body, case and accents folded. Word sequences
+ * would only match near copies; related articles share vocabulary rather than sentences.
+ */
+public final class ArticleMinHash {
+    /**
+     * Bumped whenever the signature changes, so stored signatures of older versions are computed again.
+     */
+    public static final byte VERSION = 1;
+    public static final int SIZE = 64;
+    public static final int ENCODED_LENGTH = 1 + SIZE * Integer.BYTES;
+    // Shorter words are mostly articles, pronouns and prepositions in both languages
+    private static final int MIN_WORD_LENGTH = 4;
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private ArticleMinHash() {
+    }
+
+    public static void apply(Article article) {
+        article.setMinhash(encode(signature(article.getTitle(), article.getContent())));
+    }
+
+    /**
+     * Signature of the title and body; every position is {@link Integer#MAX_VALUE} when they hold no word.
+     */
+    public static int[] signature(String title, String content) {
+        int[] signature = new int[SIZE];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (long shingle : shingles(title, content)) {
+            for (int i = 0; i < SIZE; i++) {
+                // 30 bits: never reaches the empty marker
+                int hash = (int) (mix(shingle + i * 0x9E3779B97F4A7C15L) >>> 34);
+                if (hash < signature[i]) {
+                    signature[i] = hash;
+                }
+            }
+        }
+        return signature;
+    }
+
+    public static boolean isEmpty(int[] signature) {
+        return signature[0] == Integer.MAX_VALUE;
+    }
+
+    /**
+     * Fraction of positions on which both signatures agree: an estimate of the Jaccard similarity.
+     */
+    public static double similarity(int[] left, int[] right) {
+        int equal = 0;
+        for (int i = 0; i < SIZE; i++) {
+            if (left[i] == right[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / SIZE;
+    }
+
+    public static byte[] encode(int[] signature) {
+        ByteBuffer buffer = ByteBuffer.allocate(ENCODED_LENGTH).put(VERSION);
+        for (int hash : signature) {
+            buffer.putInt(hash);
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Stored signature, or null when there is none or it comes from another version.
+     */
+    public static int[] decode(byte[] encoded) {
+        if (encoded == null || encoded.length != ENCODED_LENGTH || encoded[0] != VERSION) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(encoded, 1, SIZE * Integer.BYTES);
+        int[] signature = new int[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            signature[i] = buffer.getInt();
+        }
+        return signature;
+    }
+
+    static Set<Long> shingles(String title, String content) {
+        Set<Long> shingles = new HashSet<>();
+        for (String text : new String[]{title, content}) {
+            if (text == null) {
+                continue;
+            }
+            String folded = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                    .replaceAll("")
+                    .toLowerCase(Locale.ROOT);
+            for (String word : NON_WORD.split(folded)) {
+                if (word.length() >= MIN_WORD_LENGTH) {
+                    shingles.add(hash(word));
+                }
+            }
+        }
+        return shingles;
+    }
+
+    // 64-bit FNV-1a: String.hashCode has too few bits for a large vocabulary
+    private static long hash(String word) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < word.length(); i++) {
+            hash ^= word.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        return hash;
+    }
+
+    // SplitMix64 finalizer: seeding it with the position gives independent-enough hash functions
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+}
@@ -0,0 +1,96 @@
+package om.openclassrooms.mddapi.content.model;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * 64-bit SimHash fingerprint of an article body: each bit is the majority vote of that bit over
+ * the hashes of the body's words, case and accents folded, each occurrence voting once. Bodies
+ * with nearly the same word counts get fingerprints a few bits apart, so near copies are found by
+ * Hamming distance instead of comparing the texts.
+ * <p>
+ * Words rather than runs of words: a single edit changes one vote instead of several, so a fixed
+ * typo or an added line keeps a copy within {@link #MAX_DISTANCE}; articles that merely share a
+ * subject still differ in most of their counts, and their fingerprints in about half their bits.
+ */
+public final class ArticleSimHash {
+    /**
+     * Bodies within this many differing bits are near duplicates.
+     */
+    public static final int MAX_DISTANCE = 3;
+    // Short bodies have too few words for the vote to tell a copy from a coincidence
+    public static final int MIN_WORDS = 30;
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private ArticleSimHash() {
+    }
+
+    public static void apply(Article article) {
+        article.setSimhash(fingerprint(article.getContent()));
+    }
+
+    /**
+     * Fingerprint of the body, or null when it has fewer than {@link #MIN_WORDS} words.
+     */
+    public static Long fingerprint(String content) {
+        List<String> words = words(content);
+        if (words.size() < MIN_WORDS) {
+            return null;
+        }
+        int[] votes = new int[Long.SIZE];
+        for (String word : words) {
+            long hash = mix(hash(word));
+            for (int bit = 0; bit < Long.SIZE; bit++) {
+                votes[bit] += (hash >>> bit & 1) == 1 ? 1 : -1;
+            }
+        }
+        long fingerprint = 0;
+        for (int bit = 0; bit < Long.SIZE; bit++) {
+            if (votes[bit] > 0) {
+                fingerprint |= 1L << bit;
+            }
+        }
+        return fingerprint;
+    }
+
+    public static int distance(long left, long right) {
+        return Long.bitCount(left ^ right);
+    }
+
+    static List<String> words(String content) {
+        List<String> words = new ArrayList<>();
+        if (content == null) {
+            return words;
+        }
+        String folded = COMBINING_MARKS.matcher(Normalizer.normalize(content, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        for (String word : NON_WORD.split(folded)) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    // 64-bit FNV-1a
+    private static long hash(String word) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < word.length(); i++) {
+            hash ^= word.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        return hash;
+    }
+
+    // SplitMix64 finalizer: FNV's high bits depend little on the last characters, every vote needs them
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+}
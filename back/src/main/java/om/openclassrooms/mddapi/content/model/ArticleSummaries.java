@@ -0,0 +1,46 @@
+package om.openclassrooms.mddapi.content.model;
+
+import java.util.regex.Pattern;
+
+/**
+ * Derives the stored feed summary (excerpt, word count, reading time) from an article body.
+ */
+public final class ArticleSummaries {
+    public static final int EXCERPT_LENGTH = 300;
+    public static final int WORDS_PER_MINUTE = 200;
+    // Compiled once: String.replaceAll and split would recompile it for every article
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private ArticleSummaries() {
+    }
+
+    public static void apply(Article article) {
+        String content = article.getContent() == null ? "" : article.getContent();
+        int words = wordCount(content);
+        article.setExcerpt(excerpt(content));
+        article.setWordCount(words);
+        article.setReadingTimeMinutes(readingTimeMinutes(words));
+    }
+
+    static String excerpt(String content) {
+        String normalized = WHITESPACE.matcher(content.strip()).replaceAll(" ");
+        if (normalized.length() <= EXCERPT_LENGTH) {
+            return normalized;
+        }
+        // Cut on the last word boundary that leaves room for the ellipsis
+        int end = normalized.lastIndexOf(' ', EXCERPT_LENGTH - 1);
+        if (end <= 0) {
+            end = EXCERPT_LENGTH - 1;
+        }
+        return normalized.substring(0, end) + "…";
+    }
+
+    static int wordCount(String content) {
+        String stripped = content.strip();
+        return stripped.isEmpty() ? 0 : WHITESPACE.split(stripped).length;
+    }
+
+    static int readingTimeMinutes(int wordCount) {
+        return Math.max(1, (wordCount + WORDS_PER_MINUTE - 1) / WORDS_PER_MINUTE);
+    }
+}
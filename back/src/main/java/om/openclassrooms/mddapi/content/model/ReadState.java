@@ -0,0 +1,39 @@
+package om.openclassrooms.mddapi.content.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Articles a user has read, as one serialized Roaring bitmap of article ids: a few bytes per
+ * read article, and a single row per user whatever the catalog size.
+ */
+@Entity
+@Table(name = "read_states")
+public class ReadState {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Lob
+    @Column(name = "article_ids", nullable = false, length = 16777215)
+    private byte[] articleIds;
+
+    protected ReadState() {
+    }
+
+    public ReadState(Long userId, byte[] articleIds) {
+        this.userId = userId;
+        this.articleIds = articleIds;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public byte[] getArticleIds() {
+        return articleIds;
+    }
+
+    public void setArticleIds(byte[] articleIds) {
+        this.articleIds = articleIds;
+    }
+}
@@ -0,0 +1,49 @@
+package om.openclassrooms.mddapi.content.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Materialized feed row: one per (subscriber, article), written on article creation and
+ * subscription changes so a feed page is a single range scan on (user_id, created_at, article_id).
+ */
+@Entity
+@Table(name = "user_timeline", indexes = {
+        @Index(name = "idx_user_timeline_feed", columnList = "user_id, created_at, article_id"),
+        @Index(name = "idx_user_timeline_topic", columnList = "user_id, topic_id")
+})
+public class TimelineEntry {
+    @EmbeddedId
+    private TimelineEntryId id;
+
+    @Column(name = "topic_id", nullable = false)
+    private Long topicId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public TimelineEntryId getId() {
+        return id;
+    }
+
+    public void setId(TimelineEntryId id) {
+        this.id = id;
+    }
+
+    public Long getTopicId() {
+        return topicId;
+    }
+
+    public void setTopicId(Long topicId) {
+        this.topicId = topicId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,44 @@
+package om.openclassrooms.mddapi.content.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+@Embeddable
+public class TimelineEntryId implements Serializable {
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "article_id", nullable = false)
+    private Long articleId;
+
+    protected TimelineEntryId() {
+    }
+
+    public TimelineEntryId(Long userId, Long articleId) {
+        this.userId = userId;
+        this.articleId = articleId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getArticleId() {
+        return articleId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TimelineEntryId that)) return false;
+        return Objects.equals(userId, that.userId) && Objects.equals(articleId, that.articleId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, articleId);
+    }
+}
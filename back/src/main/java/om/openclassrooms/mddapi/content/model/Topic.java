@@ -1,7 +1,9 @@
 package om.openclassrooms.mddapi.content.model;
 
 import jakarta.persistence.*;
+import om.openclassrooms.mddapi.common.persistence.IdGenerators;
 import om.openclassrooms.mddapi.user.model.User;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -15,7 +17,10 @@ import java.util.Set;
 @EntityListeners(AuditingEntityListener.class)
 public class Topic {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "topics")
+    @TableGenerator(name = "topics", table = IdGenerators.TABLE, pkColumnName = IdGenerators.NAME_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "topics",
+            allocationSize = IdGenerators.ALLOCATION_SIZE)
     private long id;
 
     @Column(nullable = false)
@@ -31,6 +36,11 @@ public class Topic {
     @UpdateTimestamp
     private LocalDateTime updatedAt;
 
+    // Conditional GET version, only ever incremented by a bulk update so entity writes cannot roll it back
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private long articlesVersion;
+
     @ManyToMany(mappedBy = "subscribedTopics", fetch = FetchType.LAZY)
     private Set<User> subscribers = new HashSet<>();
 
@@ -77,4 +87,8 @@ public class Topic {
     public void setSubscribers(Set<User> subscribers) {
         this.subscribers = subscribers;
     }
-}
\ No newline at end of file
+
+    public long getArticlesVersion() {
+        return articlesVersion;
+    }
+}
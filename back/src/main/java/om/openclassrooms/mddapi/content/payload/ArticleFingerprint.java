@@ -0,0 +1,10 @@
+package om.openclassrooms.mddapi.content.payload;
+
+/**
+ * Stored {@code ArticleSimHash} fingerprint of an article.
+ */
+public record ArticleFingerprint(
+        Long id,
+        Long simhash
+) {
+}
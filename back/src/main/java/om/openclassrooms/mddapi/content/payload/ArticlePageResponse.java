@@ -0,0 +1,9 @@
+package om.openclassrooms.mddapi.content.payload;
+
+import java.util.List;
+
+public record ArticlePageResponse<T>(
+        List<T> items,
+        String nextCursor
+) {
+}
@@ -0,0 +1,8 @@
+package om.openclassrooms.mddapi.content.payload;
+
+public record ArticleRendition(
+        Long id,
+        String contentHtml,
+        String contentHash
+) {
+}
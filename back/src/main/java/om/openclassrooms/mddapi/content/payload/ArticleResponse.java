@@ -1,7 +1,9 @@
 package om.openclassrooms.mddapi.content.payload;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import om.openclassrooms.mddapi.content.model.Article;
+import om.openclassrooms.mddapi.content.model.ArticleContentCodec;
 
 import java.time.LocalDateTime;
 
@@ -18,14 +20,46 @@ public record   ArticleResponse(
         LocalDateTime createdAt,
 
         @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy/MM/dd")
-        LocalDateTime updatedAt
+        LocalDateTime updatedAt,
+
+        // Left out of feed lists: their ETag and cached pages do not follow view flushes
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        Long viewCount,
+
+        long commentCount
 ) {
+    /**
+     * Projection constructor: the body comes from whichever of the plain or compressed columns is set.
+     */
+    public ArticleResponse(Long id, String title, String content, byte[] contentData, String author,
+                           Long topicId, String topic, LocalDateTime createdAt, LocalDateTime updatedAt,
+                           long viewCount, long commentCount) {
+        this(id, title, contentData == null ? content : ArticleContentCodec.decode(contentData),
+                author, topicId, topic, createdAt, updatedAt, viewCount, commentCount);
+    }
+
+    /**
+     * Feed projection constructor: no view count.
+     */
+    public ArticleResponse(Long id, String title, String content, byte[] contentData, String author,
+                           Long topicId, String topic, LocalDateTime createdAt, LocalDateTime updatedAt,
+                           long commentCount) {
+        this(id, title, contentData == null ? content : ArticleContentCodec.decode(contentData),
+                author, topicId, topic, createdAt, updatedAt, null, commentCount);
+    }
+
     public static ArticleResponse from(Article article) {
         return new ArticleResponse(article.getId(), article.getTitle(), article.getContent(),
                 article.getAuthor().getUsername(),
                 article.getTopic().getId(),
                 article.getTopic().getName(),
                 article.getCreatedAt(),
-                article.getUpdatedAt());
+                article.getUpdatedAt(),
+                article.getViewCount(),
+                article.getCommentCount());
+    }
+
+    public ArticleResponse withViewCount(long viewCount) {
+        return new ArticleResponse(id, title, content, author, topicId, topic, createdAt, updatedAt, viewCount, commentCount);
     }
 }
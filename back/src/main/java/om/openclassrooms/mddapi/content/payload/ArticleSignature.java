@@ -0,0 +1,11 @@
+package om.openclassrooms.mddapi.content.payload;
+
+/**
+ * Stored {@code ArticleMinHash} signature of an article, null when not computed yet.
+ */
+public record ArticleSignature(
+        Long id,
+        Long topicId,
+        byte[] minhash
+) {
+}
@@ -0,0 +1,24 @@
+package om.openclassrooms.mddapi.content.payload;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDateTime;
+
+public record ArticleSummaryResponse(
+        Long id,
+        String title,
+        String excerpt,
+        Integer wordCount,
+        Integer readingTimeMinutes,
+        String author,
+        Long topicId,
+
+        String topic,
+
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy/MM/dd")
+        LocalDateTime createdAt,
+
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy/MM/dd")
+        LocalDateTime updatedAt
+) {
+}
@@ -0,0 +1,7 @@
+package om.openclassrooms.mddapi.content.payload;
+
+public record ArticleText(
+        Long id,
+        String content
+) {
+}
@@ -0,0 +1,7 @@
+package om.openclassrooms.mddapi.content.payload;
+
+public record CommentText(
+        Long articleId,
+        String content
+) {
+}
@@ -0,0 +1,41 @@
+package om.openclassrooms.mddapi.content.payload;
+
+import om.openclassrooms.mddapi.common.exception.WrongParametersException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a feed or comments page, exchanged with clients as an opaque token.
+ */
+public record FeedCursor(
+        LocalDateTime createdAt,
+        Long id
+) {
+    private static final String SEPARATOR = "|";
+
+    public FeedCursor {
+        // Timestamp columns keep microseconds: a finer in-memory value would never equal the stored one
+        createdAt = createdAt.truncatedTo(ChronoUnit.MICROS);
+    }
+
+    public String encode() {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static FeedCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separatorIndex = raw.lastIndexOf(SEPARATOR);
+            return new FeedCursor(
+                    LocalDateTime.parse(raw.substring(0, separatorIndex)),
+                    Long.parseLong(raw.substring(separatorIndex + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new WrongParametersException("cursor");
+        }
+    }
+}
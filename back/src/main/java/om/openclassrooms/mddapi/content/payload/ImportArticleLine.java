@@ -0,0 +1,18 @@
+package om.openclassrooms.mddapi.content.payload;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One line of a bulk import. Topic and author are referenced by name; a missing author or
+ * creation date defaults to the importing user and the import time.
+ */
+public record ImportArticleLine(
+        String title,
+        String content,
+        String topic,
+        String author,
+        LocalDateTime createdAt,
+        List<ImportCommentLine> comments
+) {
+}
@@ -0,0 +1,10 @@
+package om.openclassrooms.mddapi.content.payload;
+
+import java.time.LocalDateTime;
+
+public record ImportCommentLine(
+        String content,
+        String author,
+        LocalDateTime createdAt
+) {
+}
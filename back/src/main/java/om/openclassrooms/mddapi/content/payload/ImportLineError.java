@@ -0,0 +1,7 @@
+package om.openclassrooms.mddapi.content.payload;
+
+public record ImportLineError(
+        long line,
+        String message
+) {
+}
@@ -0,0 +1,15 @@
+package om.openclassrooms.mddapi.content.payload;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import: rejected lines were skipped, every other line was stored.
+ * {@code errors} lists at most the first rejected lines; {@code failedLines} counts them all.
+ */
+public record ImportResponse(
+        int importedArticles,
+        int importedComments,
+        int failedLines,
+        List<ImportLineError> errors
+) {
+}
@@ -0,0 +1,7 @@
+package om.openclassrooms.mddapi.content.payload;
+
+public record TopicArticlesVersion(
+        Long topicId,
+        long articlesVersion
+) {
+}
@@ -1,6 +1,7 @@
 package om.openclassrooms.mddapi.content.payload;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
 
 import java.time.LocalDateTime;
 
@@ -15,5 +16,21 @@ public record TopicResponse (
     LocalDateTime createdAt,
 
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy/MM/dd")
-    LocalDateTime updatedAt
-){ }
+    LocalDateTime updatedAt,
+
+    // Articles of the topic the user has not read, only set by GET /topics/subscribed/unread
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    Integer unreadCount
+){
+    /**
+     * Projection constructor: unread counts come from the read tracker.
+     */
+    public TopicResponse(Long id, String name, String description, Boolean isUserSubscribed,
+                         LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(id, name, description, isUserSubscribed, createdAt, updatedAt, null);
+    }
+
+    public TopicResponse withUnreadCount(Integer unreadCount) {
+        return new TopicResponse(id, name, description, isUserSubscribed, createdAt, updatedAt, unreadCount);
+    }
+}
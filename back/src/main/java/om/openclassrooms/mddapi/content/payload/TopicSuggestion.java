@@ -0,0 +1,8 @@
+package om.openclassrooms.mddapi.content.payload;
+
+public record TopicSuggestion(
+        Long id,
+        String name,
+        long subscriberCount
+) {
+}
@@ -0,0 +1,15 @@
+package om.openclassrooms.mddapi.content.payload;
+
+/**
+ * State of a write queued by the asynchronous write pipeline: {@code pending}, {@code created} or
+ * {@code failed}, the latter with the status the request would have answered synchronously.
+ */
+public record WriteStatusResponse(
+        String trackingId,
+        String state,
+        Integer failureStatus
+) {
+    public static final String PENDING = "pending";
+    public static final String CREATED = "created";
+    public static final String FAILED = "failed";
+}
@@ -0,0 +1,73 @@
+package om.openclassrooms.mddapi.content.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Plain JDBC batch inserts for bulk imports: rows carry their ids and timestamps, and skip the
+ * entity lifecycle (auditing would overwrite imported creation dates).
+ */
+@Repository
+public class ArticleImportRepository {
+    private static final String INSERT_ARTICLE = """
+            INSERT INTO articles (id, title, content, content_data, content_html, content_hash, minhash, simhash,
+                                  excerpt, word_count, reading_time_minutes, topic_id, author_id, created_at,
+                                  updated_at, comment_count, comments_version)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)
+            """;
+    private static final String INSERT_COMMENT = """
+            INSERT INTO comments (id, content, article_id, author_id, created_at)
+            VALUES (?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ArticleImportRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insertArticles(List<ArticleRow> articles, int batchSize) {
+        jdbcTemplate.batchUpdate(INSERT_ARTICLE, articles, batchSize, (statement, article) -> {
+            statement.setLong(1, article.id());
+            statement.setString(2, article.title());
+            statement.setString(3, article.content());
+            statement.setBytes(4, article.contentData());
+            statement.setString(5, article.contentHtml());
+            statement.setString(6, article.contentHash());
+            statement.setBytes(7, article.minhash());
+            statement.setObject(8, article.simhash(), Types.BIGINT);
+            statement.setString(9, article.excerpt());
+            statement.setInt(10, article.wordCount());
+            statement.setInt(11, article.readingTimeMinutes());
+            statement.setLong(12, article.topicId());
+            statement.setLong(13, article.authorId());
+            statement.setTimestamp(14, Timestamp.valueOf(article.createdAt()));
+            statement.setTimestamp(15, Timestamp.valueOf(article.createdAt()));
+            statement.setInt(16, article.commentCount());
+        });
+    }
+
+    public void insertComments(List<CommentRow> comments, int batchSize) {
+        jdbcTemplate.batchUpdate(INSERT_COMMENT, comments, batchSize, (statement, comment) -> {
+            statement.setLong(1, comment.id());
+            statement.setString(2, comment.content());
+            statement.setLong(3, comment.articleId());
+            statement.setLong(4, comment.authorId());
+            statement.setTimestamp(5, Timestamp.valueOf(comment.createdAt()));
+        });
+    }
+
+    // Exactly one of content and contentData is set, as on Article
+    public record ArticleRow(long id, String title, String content, byte[] contentData, String contentHtml,
+                             String contentHash, byte[] minhash, Long simhash, String excerpt, int wordCount, int readingTimeMinutes,
+                             long topicId, long authorId, LocalDateTime createdAt, int commentCount) {
+    }
+
+    public record CommentRow(long id, String content, long articleId, long authorId, LocalDateTime createdAt) {
+    }
+}
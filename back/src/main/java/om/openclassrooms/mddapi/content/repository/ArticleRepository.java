@@ -1,25 +1,269 @@
 package om.openclassrooms.mddapi.content.repository;
 
+import jakarta.persistence.QueryHint;
 import om.openclassrooms.mddapi.content.model.Article;
+import om.openclassrooms.mddapi.content.payload.ArticleFingerprint;
+import om.openclassrooms.mddapi.content.payload.ArticleResponse;
+import om.openclassrooms.mddapi.content.payload.ArticleSignature;
+import om.openclassrooms.mddapi.content.payload.ArticleSummaryResponse;
+import om.openclassrooms.mddapi.content.payload.FeedCursor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.awt.print.Pageable;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+/**
+ * Read queries project straight into {@link ArticleResponse}: one statement per call and
+ * no {@code User} (password hash included) or {@code Topic} entity is hydrated. Feed rows
+ * leave the view count out, only single articles carry it.
+ */
 @Repository
 public interface ArticleRepository extends JpaRepository<Article, Long> {
     @Query("""
-    SELECT a 
+    SELECT new om.openclassrooms.mddapi.content.payload.ArticleResponse(
+    a.id, a.title, a.content, a.contentData, au.username, t.id, t.name, a.createdAt, a.updatedAt, a.commentCount)
     FROM Article a
+    JOIN a.author au
     JOIN a.topic t
     JOIN t.subscribers u
-    WHERE u.id = :userId 
-    
+    WHERE u.id = :userId
     """)
-    List<Article> findAllByUserSubscription(@Param("userId") Long userId, Sort sort);
-}
+    List<ArticleResponse> findAllByUserSubscription(@Param("userId") Long userId, Sort sort);
+
+    /**
+     * Same rows as {@link #findAllByUserSubscription}, read through a forward-only cursor.
+     * Must be consumed and closed inside a transaction; MySQL only honors the fetch size
+     * with {@code useCursorFetch=true} on the JDBC URL.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "256"))
+    @Query("""
+    SELECT new om.openclassrooms.mddapi.content.payload.ArticleResponse(
+    a.id, a.title, a.content, a.contentData, au.username, t.id, t.name, a.createdAt, a.updatedAt, a.commentCount)
+    FROM Article a
+    JOIN a.author au
+    JOIN a.topic t
+    JOIN t.subscribers u
+    WHERE u.id = :userId
+    """)
+    Stream<ArticleResponse> streamAllByUserSubscription(@Param("userId") Long userId, Sort sort);
+
+    @Query("""
+    SELECT new om.openclassrooms.mddapi.content.payload.ArticleSummaryResponse(
+    a.id, a.title, a.excerpt, a.wordCount, a.readingTimeMinutes, au.username, t.id, t.name, a.createdAt, a.updatedAt)
+    FROM Article a
+    JOIN a.author au
+    JOIN a.topic t
+    JOIN t.subscribers u
+    WHERE u.id = :userId
+    """)
+    List<ArticleSummaryResponse> findSummariesByUserSubscription(@Param("userId") Long userId, Sort sort);
+
+    // Key-only seek queries: covered by idx_articles_topic_created_id, rows are hydrated by id afterwards
+    @Query("""
+    SELECT new om.openclassrooms.mddapi.content.payload.FeedCursor(a.createdAt, a.id)
+    FROM Article a
+    JOIN a.topic t
+    JOIN t.subscribers u
+    WHERE u.id = :userId
+    ORDER BY a.createdAt DESC, a.id DESC
+    """)
+    List<FeedCursor> findFirstFeedPageKeys(@Param("userId") Long userId, Limit limit);
+
+    @Query("""
+    SELECT new om.openclassrooms.mddapi.content.payload.FeedCursor(a.createdAt, a.id)
+    FROM Article a
+    JOIN a.topic t
+    JOIN t.subscribers u
+    WHERE u.id = :userId
+    AND (a.createdAt < :createdAt OR (a.createdAt = :createdAt AND a.id < :id))
+    ORDER BY a.createdAt DESC, a.id DESC
+    """)
+    List<FeedCursor> findFeedPageKeysAfter(@Param("userId") Long userId,
+                                           @Param("createdAt") LocalDateTime createdAt,
+                                           @Param("id") Long id,
+                                           Limit limit);
+
+    @Query("""
+    SELECT new om.openclassrooms.mddapi.content.payload.ArticleResponse(
+    a.id, a.title, a.content, a.contentData, au.username, t.id, t.name, a.createdAt, a.updatedAt, a.viewCount,
+    a.commentCount)
+    FROM Article a
+    JOIN a.author au
+    JOIN a.topic t
+    WHERE a.id = :id
+    """)
+    Optional<ArticleResponse> findResponseById(@Param("id") Long id);
+
+    @Query("""
+    SELECT new om.openclassrooms.mddapi.content.payload.ArticleResponse(
+    a.id, a.title, a.content, a.contentData, au.username, t.id, t.name, a.createdAt, a.updatedAt, a.commentCount)
+    FROM Article a
+    JOIN a.author au
+    JOIN a.topic t
+    WHERE a.id IN :ids
+    """)
+    List<ArticleResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("""
+    SELECT new om.openclassrooms.mddapi.content.payload.ArticleSummaryResponse(
+    a.id, a.title, a.excerpt, a.wordCount, a.readingTimeMinutes, au.username, t.id, t.name, a.createdAt, a.updatedAt)
+    FROM Article a
+    JOIN a.author au
+    JOIN a.topic t
+    WHERE a.id IN :ids
+    """)
+    List<ArticleSummaryResponse> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Keyset batches over the whole table, for index rebuilds
+    @Query("""
+    SELECT new om.openclassrooms.mddapi.content.payload.ArticleResponse(
+    a.id, a.title, a.content, a.contentData, au.username, t.id, t.name, a.createdAt, a.updatedAt, a.viewCount,
+    a.commentCount)
+    FROM Article a
+    JOIN a.author au
+    JOIN a.topic t
+    WHERE a.id > :afterId
+    ORDER BY a.id
+    """)
+    List<ArticleResponse> findResponsesAfter(@Param("afterId") Long afterId, Limit limit);
+
+    // Jobs below read every body: fetch the lazy body group with the rows instead of one select each
+    @EntityGraph(attributePaths = {"content", "contentData"})
+    @Query("SELECT a FROM Article a WHERE a.excerpt IS NULL ORDER BY a.id")
+    List<Article> findUnsummarized(Limit limit);
 
+    @EntityGraph(attributePaths = {"content", "contentData"})
+    @Query("SELECT a FROM Article a WHERE a.id > :afterId AND a.content IS NOT NULL ORDER BY a.id")
+    List<Article> findUncompressedAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @EntityGraph(attributePaths = {"content", "contentData"})
+    @Query("SELECT a FROM Article a ORDER BY a.id DESC")
+    List<Article> findLatest(Limit limit);
+
+    @EntityGraph(attributePaths = {"content", "contentData"})
+    @Query("""
+    SELECT a FROM Article a
+    WHERE a.id > :afterId AND (a.contentHash IS NULL OR a.contentHash NOT LIKE :currentVersionPrefix)
+    ORDER BY a.id
+    """)
+    List<Article> findUnrenderedAfter(@Param("afterId") Long afterId,
+                                      @Param("currentVersionPrefix") String currentVersionPrefix,
+                                      Limit limit);
+
+    // Keyset batches of signatures for the related articles index, then single lookups as articles are created
+    @Query("""
+    SELECT new om.openclassrooms.mddapi.content.payload.ArticleSignature(a.id, a.topic.id, a.minhash)
+    FROM Article a
+    WHERE a.id > :afterId
+    ORDER BY a.id
+    """)
+    List<ArticleSignature> findSignaturesAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Query("""
+    SELECT new om.openclassrooms.mddapi.content.payload.ArticleSignature(a.id, a.topic.id, a.minhash)
+    FROM Article a
+    WHERE a.id IN :ids
+    """)
+    List<ArticleSignature> findSignaturesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Keyset batches of fingerprints for the duplicate detector, then lookups as articles are created
+    @Query("""
+    SELECT new om.openclassrooms.mddapi.content.payload.ArticleFingerprint(a.id, a.simhash)
+    FROM Article a
+    WHERE a.id > :afterId AND a.simhash IS NOT NULL
+    ORDER BY a.id
+    """)
+    List<ArticleFingerprint> findFingerprintsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Query("""
+    SELECT new om.openclassrooms.mddapi.content.payload.ArticleFingerprint(a.id, a.simhash)
+    FROM Article a
+    WHERE a.id IN :ids AND a.simhash IS NOT NULL
+    """)
+    List<ArticleFingerprint> findFingerprintsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @EntityGraph(attributePaths = {"content", "contentData"})
+    @Query("SELECT a FROM Article a WHERE a.id > :afterId AND a.simhash IS NULL ORDER BY a.id")
+    List<Article> findUnfingerprintedAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @EntityGraph(attributePaths = {"content", "contentData"})
+    @Query("SELECT a FROM Article a WHERE a.id IN :ids")
+    List<Article> findWithContentByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Bulk update: a storage migration must not touch updatedAt
+    @Modifying
+    @Query("UPDATE Article a SET a.contentData = :contentData, a.content = NULL WHERE a.id = :id")
+    int storeCompressedContent(@Param("id") Long id, @Param("contentData") byte[] contentData);
+
+    @Modifying
+    @Query("UPDATE Article a SET a.contentHtml = :contentHtml, a.contentHash = :contentHash WHERE a.id = :id")
+    int storeContentHtml(@Param("id") Long id,
+                         @Param("contentHtml") String contentHtml,
+                         @Param("contentHash") String contentHash);
+
+    @Modifying
+    @Query("UPDATE Article a SET a.minhash = :minhash WHERE a.id = :id")
+    int storeMinhash(@Param("id") Long id, @Param("minhash") byte[] minhash);
+
+    @Modifying
+    @Query("UPDATE Article a SET a.simhash = :simhash WHERE a.id = :id")
+    int storeSimhash(@Param("id") Long id, @Param("simhash") Long simhash);
+
+    @Query("SELECT a.contentHash FROM Article a WHERE a.id = :id")
+    Optional<String> findContentHashById(@Param("id") Long id);
+
+    @Query("SELECT a.contentHtml FROM Article a WHERE a.id = :id")
+    Optional<String> findContentHtmlById(@Param("id") Long id);
+
+    // Covered by idx_articles_topic_created_id
+    @Query("SELECT a.id FROM Article a WHERE a.topic.id = :topicId")
+    List<Long> findIdsByTopicId(@Param("topicId") Long topicId);
+
+    @Query("""
+    SELECT new om.openclassrooms.mddapi.content.payload.FeedCursor(a.createdAt, a.id)
+    FROM Article a
+    WHERE a.topic.id = :topicId
+    ORDER BY a.createdAt DESC, a.id DESC
+    """)
+    List<FeedCursor> findRecentKeysByTopic(@Param("topicId") Long topicId, Limit limit);
+
+    // One statement for both: the count can never drift from the comments the version stands for
+    @Modifying
+    @Query("""
+    UPDATE Article a SET a.commentCount = a.commentCount + 1, a.commentsVersion = a.commentsVersion + 1
+    WHERE a.id = :articleId
+    """)
+    int incrementCommentCount(@Param("articleId") Long articleId);
+
+    @Query("SELECT a.id FROM Article a WHERE a.id > :afterId ORDER BY a.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Modifying
+    @Query("""
+    UPDATE Article a SET a.commentCount = (SELECT COUNT(c) FROM Comment c WHERE c.article.id = a.id)
+    WHERE a.id IN :ids
+    """)
+    int recountComments(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("""
+    UPDATE Article a SET a.commentsVersion = a.commentsVersion + 1
+    WHERE a.id IN (SELECT c.article.id FROM Comment c WHERE c.author.id = :authorId)
+    """)
+    int incrementCommentsVersionByCommenter(@Param("authorId") Long authorId);
+
+    @Query("SELECT str(a.commentsVersion) FROM Article a WHERE a.id = :articleId")
+    Optional<String> findCommentsVersion(@Param("articleId") Long articleId);
+}
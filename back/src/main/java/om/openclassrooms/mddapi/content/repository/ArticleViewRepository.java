@@ -0,0 +1,30 @@
+package om.openclassrooms.mddapi.content.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Applies aggregated view counts as one JDBC batch: a relative update per article, so the
+ * counts of several instances add up instead of overwriting each other.
+ */
+@Repository
+public class ArticleViewRepository {
+    private static final String ADD_VIEWS = "UPDATE articles SET view_count = view_count + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ArticleViewRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void addViews(Map<Long, Long> viewsByArticleId) {
+        List<Map.Entry<Long, Long>> rows = List.copyOf(viewsByArticleId.entrySet());
+        jdbcTemplate.batchUpdate(ADD_VIEWS, rows, rows.size(), (statement, row) -> {
+            statement.setLong(1, row.getValue());
+            statement.setLong(2, row.getKey());
+        });
+    }
+}
@@ -1,13 +1,60 @@
 package om.openclassrooms.mddapi.content.repository;
 
 import om.openclassrooms.mddapi.content.model.Comment;
+import om.openclassrooms.mddapi.content.payload.CommentResponse;
+import om.openclassrooms.mddapi.content.payload.CommentText;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    List<Comment> findByArticleId(Long articleId, Sort sort);
+    @Query("""
+    SELECT new om.openclassrooms.mddapi.content.payload.CommentResponse(
+    c.id, c.content, au.username, c.article.id, c.createdAt)
+    FROM Comment c
+    JOIN c.author au
+    WHERE c.article.id = :articleId
+    """)
+    List<CommentResponse> findByArticleId(@Param("articleId") Long articleId, Sort sort);
+
+    // Seek queries over idx_comments_article_created_id, oldest first like the full list
+    @Query("""
+    SELECT new om.openclassrooms.mddapi.content.payload.CommentResponse(
+    c.id, c.content, au.username, c.article.id, c.createdAt)
+    FROM Comment c
+    JOIN c.author au
+    WHERE c.article.id = :articleId
+    ORDER BY c.createdAt, c.id
+    """)
+    List<CommentResponse> findFirstPageByArticleId(@Param("articleId") Long articleId, Limit limit);
+
+    @Query("""
+    SELECT new om.openclassrooms.mddapi.content.payload.CommentResponse(
+    c.id, c.content, au.username, c.article.id, c.createdAt)
+    FROM Comment c
+    JOIN c.author au
+    WHERE c.article.id = :articleId
+    AND (c.createdAt > :createdAt OR (c.createdAt = :createdAt AND c.id > :id))
+    ORDER BY c.createdAt, c.id
+    """)
+    List<CommentResponse> findPageByArticleIdAfter(@Param("articleId") Long articleId,
+                                                   @Param("createdAt") LocalDateTime createdAt,
+                                                   @Param("id") Long id,
+                                                   Limit limit);
+
+    @Query("""
+    SELECT new om.openclassrooms.mddapi.content.payload.CommentText(c.article.id, c.content)
+    FROM Comment c
+    WHERE c.article.id IN :articleIds
+    ORDER BY c.id
+    """)
+    List<CommentText> findTextsByArticleIdIn(@Param("articleIds") Collection<Long> articleIds);
 }
@@ -0,0 +1,23 @@
+package om.openclassrooms.mddapi.content.repository;
+
+import jakarta.persistence.LockModeType;
+import om.openclassrooms.mddapi.content.model.ReadState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ReadStateRepository extends JpaRepository<ReadState, Long> {
+    /**
+     * Locks the rows until the transaction ends, by ascending user id so that concurrent
+     * flushes of several instances lock them in the same order.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM ReadState r WHERE r.userId IN :userIds ORDER BY r.userId")
+    List<ReadState> findAllForUpdate(@Param("userIds") Collection<Long> userIds);
+}
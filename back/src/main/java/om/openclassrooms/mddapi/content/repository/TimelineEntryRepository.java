@@ -0,0 +1,89 @@
+package om.openclassrooms.mddapi.content.repository;
+
+import om.openclassrooms.mddapi.content.model.TimelineEntry;
+import om.openclassrooms.mddapi.content.model.TimelineEntryId;
+import om.openclassrooms.mddapi.content.payload.FeedCursor;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TimelineEntryRepository extends JpaRepository<TimelineEntry, TimelineEntryId> {
+    // Feed pages are a range scan of idx_user_timeline_feed, rows are hydrated by id afterwards
+    @Query("""
+    SELECT new om.openclassrooms.mddapi.content.payload.FeedCursor(e.createdAt, e.id.articleId)
+    FROM TimelineEntry e
+    WHERE e.id.userId = :userId
+    ORDER BY e.createdAt DESC, e.id.articleId DESC
+    """)
+    List<FeedCursor> findFirstFeedPageKeys(@Param("userId") Long userId, Limit limit);
+
+    @Query("""
+    SELECT new om.openclassrooms.mddapi.content.payload.FeedCursor(e.createdAt, e.id.articleId)
+    FROM TimelineEntry e
+    WHERE e.id.userId = :userId
+    AND (e.createdAt < :createdAt OR (e.createdAt = :createdAt AND e.id.articleId < :id))
+    ORDER BY e.createdAt DESC, e.id.articleId DESC
+    """)
+    List<FeedCursor> findFeedPageKeysAfter(@Param("userId") Long userId,
+                                           @Param("createdAt") LocalDateTime createdAt,
+                                           @Param("id") Long id,
+                                           Limit limit);
+
+    // NOT EXISTS keeps the inserts idempotent when a fan-out races a subscription backfill
+    @Modifying
+    @Query(value = """
+    INSERT INTO user_timeline (user_id, article_id, topic_id, created_at)
+    SELECT ut.user_id, a.id, a.topic_id, a.created_at
+    FROM articles a
+    JOIN user_topics ut ON ut.topic_id = a.topic_id
+    WHERE a.id = :articleId
+    AND NOT EXISTS (SELECT 1 FROM user_timeline e WHERE e.user_id = ut.user_id AND e.article_id = a.id)
+    """, nativeQuery = true)
+    int fanOutArticle(@Param("articleId") Long articleId);
+
+    // Bulk imports reserve a contiguous id range, so one statement fans out a whole chunk
+    @Modifying
+    @Query(value = """
+    INSERT INTO user_timeline (user_id, article_id, topic_id, created_at)
+    SELECT ut.user_id, a.id, a.topic_id, a.created_at
+    FROM articles a
+    JOIN user_topics ut ON ut.topic_id = a.topic_id
+    WHERE a.id >= :fromId AND a.id < :toId
+    """, nativeQuery = true)
+    int fanOutArticleRange(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    @Modifying
+    @Query(value = """
+    INSERT INTO user_timeline (user_id, article_id, topic_id, created_at)
+    SELECT :userId, a.id, a.topic_id, a.created_at
+    FROM articles a
+    WHERE a.topic_id = :topicId
+    AND NOT EXISTS (SELECT 1 FROM user_timeline e WHERE e.user_id = :userId AND e.article_id = a.id)
+    """, nativeQuery = true)
+    int backfillTopic(@Param("userId") Long userId, @Param("topicId") Long topicId);
+
+    @Modifying
+    @Query(value = """
+    INSERT INTO user_timeline (user_id, article_id, topic_id, created_at)
+    SELECT ut.user_id, a.id, a.topic_id, a.created_at
+    FROM articles a
+    JOIN user_topics ut ON ut.topic_id = a.topic_id
+    WHERE a.topic_id = :topicId
+    """, nativeQuery = true)
+    int rebuildTopic(@Param("topicId") Long topicId);
+
+    @Modifying
+    @Query("DELETE FROM TimelineEntry e WHERE e.id.userId = :userId AND e.topicId = :topicId")
+    int deleteByUserAndTopic(@Param("userId") Long userId, @Param("topicId") Long topicId);
+
+    @Modifying
+    @Query("DELETE FROM TimelineEntry e WHERE e.topicId = :topicId")
+    int deleteByTopic(@Param("topicId") Long topicId);
+}
@@ -2,13 +2,18 @@ package om.openclassrooms.mddapi.content.repository;
 
 
 import om.openclassrooms.mddapi.content.model.Topic;
+import om.openclassrooms.mddapi.content.payload.TopicArticlesVersion;
 import om.openclassrooms.mddapi.content.payload.TopicResponse;
+import om.openclassrooms.mddapi.content.payload.TopicSuggestion;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface TopicRepository extends JpaRepository<Topic, Long> {
@@ -25,4 +30,75 @@ public interface TopicRepository extends JpaRepository<Topic, Long> {
         ORDER BY t.updatedAt DESC 
         """)
     List<TopicResponse> findAllWithSubscriptionFlag(@Param("userId") Long userId);
+
+    @Query("SELECT t.id FROM Topic t")
+    List<Long> findAllIds();
+
+    @Query("SELECT new om.openclassrooms.mddapi.content.payload.TopicArticlesVersion(t.id, t.articlesVersion) FROM Topic t")
+    List<TopicArticlesVersion> findArticlesVersions();
+
+    @Query("SELECT t.id FROM User u JOIN u.subscribedTopics t WHERE u.id = :userId")
+    List<Long> findSubscribedTopicIds(@Param("userId") Long userId);
+
+    @Query("SELECT u.id FROM Topic t JOIN t.subscribers u WHERE t.id = :topicId")
+    List<Long> findSubscriberIds(@Param("topicId") Long topicId);
+
+    // Conditional GET versions live in the database so every instance derives the same ETag
+    @Modifying
+    @Query("UPDATE Topic t SET t.articlesVersion = t.articlesVersion + 1 WHERE t.id = :topicId")
+    int incrementArticlesVersion(@Param("topicId") Long topicId);
+
+    @Modifying
+    @Query("""
+        UPDATE Topic t SET t.articlesVersion = t.articlesVersion + 1
+        WHERE t.id IN (SELECT a.topic.id FROM Article a WHERE a.author.id = :authorId)
+        """)
+    int incrementArticlesVersionByAuthor(@Param("authorId") Long authorId);
+
+    @Modifying
+    @Query("""
+        UPDATE Topic t SET t.articlesVersion = t.articlesVersion + 1
+        WHERE t.id IN (SELECT a.topic.id FROM Article a WHERE a.id IN :articleIds)
+        """)
+    int incrementArticlesVersionOfArticles(@Param("articleIds") Collection<Long> articleIds);
+
+    /**
+     * Subscription set version plus a fingerprint of the topic rows: topics are seeded outside
+     * the API, so no service write could bump a catalog counter.
+     */
+    @Query("""
+        SELECT CONCAT(str(u.subscriptionsVersion), '-', str(COUNT(t)), '-', str(MAX(t.id)), '-',
+        COALESCE(str(MAX(t.updatedAt)), ''))
+        FROM User u, Topic t
+        WHERE u.id = :userId
+        GROUP BY u.subscriptionsVersion
+        """)
+    Optional<String> findTopicsVersion(@Param("userId") Long userId);
+
+    @Query("""
+        SELECT CONCAT(str(u.subscriptionsVersion), '-', str(COALESCE(SUM(t.articlesVersion), 0)))
+        FROM User u
+        LEFT JOIN u.subscribedTopics t
+        WHERE u.id = :userId
+        GROUP BY u.subscriptionsVersion
+        """)
+    Optional<String> findFeedVersion(@Param("userId") Long userId);
+
+    @Query("""
+        SELECT new om.openclassrooms.mddapi.content.payload.TopicSuggestion(t.id, t.name, COUNT(u))
+        FROM Topic t
+        LEFT JOIN t.subscribers u
+        GROUP BY t.id, t.name
+        """)
+    List<TopicSuggestion> findSuggestions();
+
+    /**
+     * Changes with any topic row and any subscription, see {@link #findTopicsVersion}.
+     */
+    @Query("""
+        SELECT CONCAT(str(COUNT(t)), '-', str(COALESCE(MAX(t.id), 0)), '-', COALESCE(str(MAX(t.updatedAt)), ''), '-',
+        str((SELECT COALESCE(SUM(u.subscriptionsVersion), 0) FROM User u)))
+        FROM Topic t
+        """)
+    String findSuggestionsVersion();
 }
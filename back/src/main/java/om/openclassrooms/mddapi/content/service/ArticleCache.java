@@ -0,0 +1,105 @@
+package om.openclassrooms.mddapi.content.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import om.openclassrooms.mddapi.common.utils.AfterCommit;
+import om.openclassrooms.mddapi.content.payload.ArticleResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of single articles by id. Caffeine admits entries with W-TinyLFU, so a burst
+ * of one-off reads cannot flush the widely shared articles, and concurrent misses for one id wait
+ * on a single load instead of each querying the database.
+ */
+@Service
+public class ArticleCache {
+    static final String CACHE_NAME = "articles";
+    // Rough cost of the object headers and fixed fields, in characters
+    private static final int ENTRY_WEIGHT = 64;
+
+    private final Cache<Long, ArticleResponse> cache;
+    private final boolean enabled;
+
+    public ArticleCache(@Value("${mdd.articles.cache.max-weight:20000000}") long maxWeight,
+                        @Value("${mdd.articles.cache.expire-after-write:3600000}") long expireAfterWrite,
+                        MeterRegistry meterRegistry) {
+        this.enabled = maxWeight > 0;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(Math.max(maxWeight, 0))
+                .weigher((Long id, ArticleResponse article) -> weigh(article))
+                // Safety net for changes made by other instances; view count updates do not extend it
+                .expireAfter(Expiry.creating((Long id, ArticleResponse article) -> Duration.ofMillis(expireAfterWrite)))
+                .recordStats()
+                .executor(Runnable::run)
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns the cached article, loading it once however many callers miss concurrently.
+     * Absent articles are not cached.
+     */
+    public Optional<ArticleResponse> get(Long articleId, Function<Long, Optional<ArticleResponse>> loader) {
+        if (!enabled) {
+            return loader.apply(articleId);
+        }
+        return Optional.ofNullable(cache.get(articleId, id -> loader.apply(id).orElse(null)));
+    }
+
+    /**
+     * Drops the article now and again once the surrounding transaction commits; to be called by
+     * any path that edits or deletes it.
+     */
+    public void invalidate(Long articleId) {
+        if (!enabled) {
+            return;
+        }
+        cache.invalidate(articleId);
+        AfterCommit.register(() -> cache.invalidate(articleId));
+    }
+
+    /**
+     * Adds flushed views to the cached counts in place, so the most viewed articles stay cached.
+     * A load racing the flush may read the new count and show these views twice until it expires.
+     */
+    public void addViews(Map<Long, Long> views) {
+        if (!enabled) {
+            return;
+        }
+        views.forEach((articleId, added) -> cache.asMap().computeIfPresent(articleId,
+                (id, article) -> article.withViewCount(article.viewCount() + added)));
+    }
+
+    /**
+     * Drops the articles rendered with {@code username} as author, after a rename.
+     */
+    public void invalidateByAuthor(String username) {
+        if (!enabled) {
+            return;
+        }
+        invalidateByAuthorNow(username);
+        AfterCommit.register(() -> invalidateByAuthorNow(username));
+    }
+
+    private void invalidateByAuthorNow(String username) {
+        cache.asMap().values().removeIf(article -> username.equals(article.author()));
+    }
+
+    private static int weigh(ArticleResponse article) {
+        return ENTRY_WEIGHT + length(article.title()) + length(article.content())
+                + length(article.author()) + length(article.topic());
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+}
@@ -0,0 +1,386 @@
+package om.openclassrooms.mddapi.content.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import om.openclassrooms.mddapi.common.exception.ResourceNotFoundException;
+import om.openclassrooms.mddapi.common.persistence.IdBlockAllocator;
+import om.openclassrooms.mddapi.content.model.Article;
+import om.openclassrooms.mddapi.content.model.ArticleContentCodec;
+import om.openclassrooms.mddapi.content.model.ArticleHtml;
+import om.openclassrooms.mddapi.content.model.ArticleMinHash;
+import om.openclassrooms.mddapi.content.model.ArticleSimHash;
+import om.openclassrooms.mddapi.content.model.ArticleSummaries;
+import om.openclassrooms.mddapi.content.model.Topic;
+import om.openclassrooms.mddapi.content.payload.ImportArticleLine;
+import om.openclassrooms.mddapi.content.payload.ImportCommentLine;
+import om.openclassrooms.mddapi.content.payload.ImportLineError;
+import om.openclassrooms.mddapi.content.payload.ImportResponse;
+import om.openclassrooms.mddapi.content.repository.ArticleImportRepository;
+import om.openclassrooms.mddapi.content.repository.ArticleImportRepository.ArticleRow;
+import om.openclassrooms.mddapi.content.repository.ArticleImportRepository.CommentRow;
+import om.openclassrooms.mddapi.content.repository.TopicRepository;
+import om.openclassrooms.mddapi.user.model.User;
+import om.openclassrooms.mddapi.user.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Imports newline delimited JSON articles, with their comments, in chunks: each chunk is validated
+ * in memory, then written in one transaction with JDBC batches. Rejected lines are reported and
+ * skipped; chunks already written stay when a later one fails or the upload is cut.
+ */
+@Service
+public class ArticleImportService {
+    static final int MAX_REPORTED_ERRORS = 1000;
+    private static final Logger log = LoggerFactory.getLogger(ArticleImportService.class);
+    private static final int MAX_TITLE_LENGTH = 255;
+    private static final int MAX_CONTENT_LENGTH = 10000;
+    private static final int MAX_COMMENT_LENGTH = 500;
+
+    private final ArticleImportRepository articleImportRepository;
+    private final TopicRepository topicRepository;
+    private final UserRepository userRepository;
+    private final TimelineService timelineService;
+    private final IdBlockAllocator idBlockAllocator;
+    private final FeedCache feedCache;
+    private final HybridFeedEngine hybridFeedEngine;
+    private final ArticleSearchIndex articleSearchIndex;
+    private final RelatedArticlesIndex relatedArticlesIndex;
+    private final DuplicateArticleDetector duplicateArticleDetector;
+    private final ObjectReader lineReader;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${mdd.articles.import.enabled:false}")
+    private boolean enabled;
+
+    // Usernames allowed to attribute lines to other users: everyone else imports under their own name
+    @Value("${mdd.articles.import.admins:}")
+    private List<String> admins = List.of();
+
+    @Value("${mdd.articles.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${mdd.articles.import.batch-size:500}")
+    private int batchSize;
+
+    @Value("${mdd.articles.content.compression:false}")
+    private boolean contentCompression;
+
+    public ArticleImportService(ArticleImportRepository articleImportRepository,
+                                TopicRepository topicRepository,
+                                UserRepository userRepository,
+                                TimelineService timelineService,
+                                IdBlockAllocator idBlockAllocator,
+                                FeedCache feedCache,
+                                HybridFeedEngine hybridFeedEngine,
+                                ArticleSearchIndex articleSearchIndex,
+                                RelatedArticlesIndex relatedArticlesIndex,
+                                DuplicateArticleDetector duplicateArticleDetector,
+                                ObjectMapper objectMapper,
+                                PlatformTransactionManager transactionManager) {
+        this.articleImportRepository = articleImportRepository;
+        this.topicRepository = topicRepository;
+        this.userRepository = userRepository;
+        this.timelineService = timelineService;
+        this.idBlockAllocator = idBlockAllocator;
+        this.feedCache = feedCache;
+        this.hybridFeedEngine = hybridFeedEngine;
+        this.articleSearchIndex = articleSearchIndex;
+        this.relatedArticlesIndex = relatedArticlesIndex;
+        this.duplicateArticleDetector = duplicateArticleDetector;
+        this.lineReader = objectMapper.readerFor(ImportArticleLine.class);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Reads {@code input} line by line, never holding more than one chunk in memory.
+     * Lines without an author are attributed to {@code importer}; lines naming another author are
+     * rejected unless the importer is one of the configured import administrators.
+     */
+    public ImportResponse importArticles(InputStream input, User importer) throws IOException {
+        if (!enabled) {
+            throw new ResourceNotFoundException("articles.import");
+        }
+
+        // Topics are few: one query resolves every line's topic name
+        Map<String, Long> topicIds = topicRepository.findAll().stream()
+                .collect(Collectors.toMap(topic -> normalize(topic.getName()), Topic::getId, (first, second) -> first));
+        String importerName = normalize(importer.getUsername());
+        boolean admin = admins.stream().anyMatch(name -> !name.isBlank() && normalize(name).equals(importerName));
+        ImportRun run = new ImportRun(importer.getId(), admin, topicIds);
+        run.authorIds.put(importerName, importer.getId());
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        String line;
+        long lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                ImportArticleLine article = lineReader.readValue(line);
+                if (article == null) {
+                    run.fail(lineNumber, "Expected a JSON object");
+                } else {
+                    run.pending.add(new PendingLine(lineNumber, article));
+                }
+            } catch (JsonProcessingException e) {
+                run.fail(lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+            }
+            if (run.pending.size() >= chunkSize) {
+                writeChunk(run);
+            }
+        }
+        writeChunk(run);
+        return new ImportResponse(run.importedArticles, run.importedComments, run.failedLines, run.errors);
+    }
+
+    private void writeChunk(ImportRun run) {
+        if (run.pending.isEmpty()) {
+            return;
+        }
+        resolveAuthors(run);
+
+        List<ValidLine> accepted = new ArrayList<>(run.pending.size());
+        for (PendingLine pending : run.pending) {
+            ValidLine valid = validate(pending, run);
+            if (valid != null) {
+                accepted.add(valid);
+            }
+        }
+        run.pending.clear();
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        int commentCount = accepted.stream().mapToInt(line -> line.comments().size()).sum();
+        List<Long> articleIds;
+        try {
+            articleIds = transactionTemplate.execute(status -> write(accepted, commentCount));
+        } catch (DataAccessException e) {
+            log.warn("Import chunk of {} lines rolled back", accepted.size(), e);
+            accepted.forEach(line -> run.fail(line.lineNumber(), "Not imported: database error"));
+            return;
+        }
+        run.importedArticles += accepted.size();
+        run.importedComments += commentCount;
+        // Committed: the index reads the rows back like it does for createArticle
+        articleSearchIndex.reindex(articleIds);
+        relatedArticlesIndex.index(articleIds);
+        duplicateArticleDetector.index(articleIds);
+    }
+
+    private List<Long> write(List<ValidLine> lines, int commentCount) {
+        // Contiguous ranges: the chunk's rows need no generated key and fan out as one id range
+        long firstArticleId = idBlockAllocator.reserve("articles", lines.size());
+        long nextCommentId = commentCount == 0 ? 0 : idBlockAllocator.reserve("comments", commentCount);
+
+        List<ArticleRow> articles = new ArrayList<>(lines.size());
+        List<CommentRow> comments = new ArrayList<>(commentCount);
+        Set<Long> topicIds = new HashSet<>();
+        for (int i = 0; i < lines.size(); i++) {
+            ValidLine line = lines.get(i);
+            long articleId = firstArticleId + i;
+            articles.add(toRow(articleId, line));
+            for (ValidComment comment : line.comments()) {
+                comments.add(new CommentRow(nextCommentId++, comment.content(), articleId, comment.authorId(),
+                        comment.createdAt()));
+            }
+            topicIds.add(line.topicId());
+        }
+
+        articleImportRepository.insertArticles(articles, batchSize);
+        articleImportRepository.insertComments(comments, batchSize);
+        topicIds.forEach(topicRepository::incrementArticlesVersion);
+        timelineService.fanOutRange(firstArticleId, firstArticleId + lines.size());
+        feedCache.evictAll();
+        hybridFeedEngine.reload(topicIds);
+        return LongStream.range(firstArticleId, firstArticleId + lines.size()).boxed().toList();
+    }
+
+    private ArticleRow toRow(long id, ValidLine line) {
+        // Transient entity: only used to derive the stored columns the way createArticle does
+        Article article = new Article();
+        article.setTitle(line.article().title());
+        article.setContent(line.article().content());
+        ArticleSummaries.apply(article);
+        ArticleHtml.apply(article);
+        ArticleMinHash.apply(article);
+        // Fingerprinted for later posts, not checked: an onboarding import is a curated corpus
+        ArticleSimHash.apply(article);
+        String content = line.article().content();
+        return new ArticleRow(id, line.article().title(),
+                contentCompression ? null : content,
+                contentCompression ? ArticleContentCodec.encode(content) : null,
+                article.getContentHtml(), article.getContentHash(), article.getMinhash(), article.getSimhash(),
+                article.getExcerpt(), article.getWordCount(), article.getReadingTimeMinutes(),
+                line.topicId(), line.authorId(), line.createdAt(), line.comments().size());
+    }
+
+    /**
+     * Looks up every author of the chunk not seen in an earlier chunk, in one query.
+     */
+    private void resolveAuthors(ImportRun run) {
+        if (!run.admin) {
+            // Only the importer's own name is accepted, known from the start
+            return;
+        }
+        Set<String> unresolved = new HashSet<>();
+        for (PendingLine pending : run.pending) {
+            addUnresolved(run, pending.article().author(), unresolved);
+            if (pending.article().comments() != null) {
+                pending.article().comments().stream()
+                        .filter(Objects::nonNull)
+                        .forEach(comment -> addUnresolved(run, comment.author(), unresolved));
+            }
+        }
+        if (unresolved.isEmpty()) {
+            return;
+        }
+        for (User user : userRepository.findAllByLowerCaseUsernameIn(unresolved)) {
+            run.authorIds.put(normalize(user.getUsername()), user.getId());
+        }
+        unresolved.stream()
+                .filter(username -> !run.authorIds.containsKey(username))
+                .forEach(run.unknownAuthors::add);
+    }
+
+    private static void addUnresolved(ImportRun run, String author, Set<String> unresolved) {
+        if (author == null || author.isBlank()) {
+            return;
+        }
+        String username = normalize(author);
+        if (!run.authorIds.containsKey(username) && !run.unknownAuthors.contains(username)) {
+            unresolved.add(username);
+        }
+    }
+
+    private static ValidLine validate(PendingLine pending, ImportRun run) {
+        ImportArticleLine article = pending.article();
+        String error = checkText("title", article.title(), MAX_TITLE_LENGTH);
+        if (error == null) {
+            error = checkText("content", article.content(), MAX_CONTENT_LENGTH);
+        }
+        Long topicId = article.topic() == null ? null : run.topicIds.get(normalize(article.topic()));
+        if (error == null && topicId == null) {
+            error = "topic: unknown topic '" + article.topic() + "'";
+        }
+        Long authorId = run.authorId(article.author());
+        if (error == null && authorId == null) {
+            error = authorError(run, "author", article.author());
+        }
+        if (error != null) {
+            run.fail(pending.lineNumber(), error);
+            return null;
+        }
+
+        LocalDateTime createdAt = article.createdAt() == null ? run.startedAt : article.createdAt();
+        List<ImportCommentLine> commentLines = article.comments() == null ? List.of() : article.comments();
+        List<ValidComment> comments = new ArrayList<>(commentLines.size());
+        for (int i = 0; i < commentLines.size(); i++) {
+            ImportCommentLine comment = commentLines.get(i);
+            String field = "comments[" + i + "]";
+            if (comment == null) {
+                run.fail(pending.lineNumber(), field + ": expected a JSON object");
+                return null;
+            }
+            String commentError = checkText(field + ".content", comment.content(), MAX_COMMENT_LENGTH);
+            Long commentAuthorId = run.authorId(comment.author());
+            if (commentError == null && commentAuthorId == null) {
+                commentError = authorError(run, field + ".author", comment.author());
+            }
+            if (commentError != null) {
+                run.fail(pending.lineNumber(), commentError);
+                return null;
+            }
+            comments.add(new ValidComment(comment.content(), commentAuthorId,
+                    comment.createdAt() == null ? createdAt : comment.createdAt()));
+        }
+        return new ValidLine(pending.lineNumber(), article, topicId, authorId, createdAt, comments);
+    }
+
+    private static String authorError(ImportRun run, String field, String author) {
+        return run.admin
+                ? field + ": unknown user '" + author + "'"
+                : field + ": only import administrators may post as '" + author + "'";
+    }
+
+    private static String checkText(String field, String value, int maxLength) {
+        if (value == null || value.isBlank()) {
+            return field + ": required";
+        }
+        if (value.length() > maxLength) {
+            return field + ": longer than " + maxLength + " characters";
+        }
+        return null;
+    }
+
+    private static String normalize(String name) {
+        return name.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class ImportRun {
+        private final Long importerId;
+        private final boolean admin;
+        private final Map<String, Long> topicIds;
+        private final Map<String, Long> authorIds = new HashMap<>();
+        private final Set<String> unknownAuthors = new HashSet<>();
+        private final List<PendingLine> pending = new ArrayList<>();
+        private final List<ImportLineError> errors = new ArrayList<>();
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private int importedArticles;
+        private int importedComments;
+        private int failedLines;
+
+        private ImportRun(Long importerId, boolean admin, Map<String, Long> topicIds) {
+            this.importerId = importerId;
+            this.admin = admin;
+            this.topicIds = topicIds;
+        }
+
+        private Long authorId(String author) {
+            return author == null || author.isBlank() ? importerId : authorIds.get(normalize(author));
+        }
+
+        private void fail(long lineNumber, String message) {
+            failedLines++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ImportLineError(lineNumber, message));
+            }
+        }
+    }
+
+    private record PendingLine(long lineNumber, ImportArticleLine article) {
+    }
+
+    private record ValidLine(long lineNumber, ImportArticleLine article, Long topicId, Long authorId,
+                             LocalDateTime createdAt, List<ValidComment> comments) {
+    }
+
+    private record ValidComment(String content, Long authorId, LocalDateTime createdAt) {
+    }
+}
@@ -0,0 +1,357 @@
+package om.openclassrooms.mddapi.content.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import om.openclassrooms.mddapi.common.exception.ServiceUnavailableException;
+import om.openclassrooms.mddapi.content.event.ArticleCreatedEvent;
+import om.openclassrooms.mddapi.content.event.CommentCreatedEvent;
+import om.openclassrooms.mddapi.content.payload.ArticleResponse;
+import om.openclassrooms.mddapi.content.payload.CommentText;
+import om.openclassrooms.mddapi.content.repository.ArticleRepository;
+import om.openclassrooms.mddapi.content.repository.CommentRepository;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermInSetQuery;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.BytesRef;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Embedded Lucene index of article titles, bodies and comments, ranked with BM25.
+ * Rebuilt from the database at startup (searches answer 503 until then), then kept current
+ * by the article and comment creation events. Several instances each hold their own index.
+ */
+@Service
+public class ArticleSearchIndex {
+    static final String ID = "id";
+    static final String TOPIC = "topic";
+    static final String TITLE = "title";
+    static final String CONTENT = "content";
+    static final String COMMENTS = "comments";
+    private static final float TITLE_BOOST = 2f;
+    private static final int REBUILD_BATCH_SIZE = 500;
+    private static final Logger log = LoggerFactory.getLogger(ArticleSearchIndex.class);
+
+    private final ArticleRepository articleRepository;
+    private final CommentRepository commentRepository;
+    private final Analyzer analyzer = new ArticleAnalyzer();
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final Timer searchTimer;
+    private final Object rebuildLock = new Object();
+    // Articles written while a rebuild runs: its batches may have read them before the change
+    private final Set<Long> touchedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+    private volatile boolean ready;
+
+    public ArticleSearchIndex(ArticleRepository articleRepository,
+                              CommentRepository commentRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${mdd.articles.search.index-path:}") String indexPath) {
+        this.articleRepository = articleRepository;
+        this.commentRepository = commentRepository;
+        try {
+            // On disk, the index lives in the page cache instead of the heap
+            this.directory = indexPath.isBlank() ? new ByteBuffersDirectory() : FSDirectory.open(Path.of(indexPath));
+            this.writer = new IndexWriter(directory,
+                    new IndexWriterConfig(analyzer).setOpenMode(IndexWriterConfig.OpenMode.CREATE));
+            this.searcherManager = new SearcherManager(writer, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.searchTimer = Timer.builder("articles.search")
+                .description("Full-text search latency, index lookup only")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("articles.search.index.documents", writer, indexWriter -> indexWriter.getDocStats().numDocs)
+                .register(meterRegistry);
+        Gauge.builder("articles.search.index.size", this, ArticleSearchIndex::sizeInBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * {@link #rebuild()} on the task executor, at startup and on demand.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildInBackground() {
+        rebuild();
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleCreated(ArticleCreatedEvent event) {
+        reindex(List.of(event.articleId()));
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentCreated(CommentCreatedEvent event) {
+        // Lucene has no partial update: the article is written again with all its comments
+        reindex(List.of(event.articleId()));
+    }
+
+    /**
+     * Returns the ids of the best {@code limit} articles of {@code topicIds} matching {@code text},
+     * best first.
+     */
+    public List<Long> search(String text, Collection<Long> topicIds, int limit) {
+        if (!ready) {
+            throw new ServiceUnavailableException("articles.search.indexing");
+        }
+        Query textQuery = textQuery(text);
+        if (textQuery == null || topicIds.isEmpty()) {
+            return List.of();
+        }
+        Query query = new BooleanQuery.Builder()
+                .add(textQuery, BooleanClause.Occur.MUST)
+                .add(new TermInSetQuery(TOPIC, topicIds.stream().map(id -> new BytesRef(id.toString())).toList()),
+                        BooleanClause.Occur.FILTER)
+                .build();
+
+        Timer.Sample sample = Timer.start();
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs top = searcher.search(query, limit);
+                StoredFields storedFields = searcher.storedFields();
+                List<Long> ids = new ArrayList<>(top.scoreDocs.length);
+                for (ScoreDoc hit : top.scoreDocs) {
+                    ids.add(Long.valueOf(storedFields.document(hit.doc, Set.of(ID)).get(ID)));
+                }
+                return ids;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            sample.stop(searchTimer);
+        }
+    }
+
+    /**
+     * Writes the current database state of the articles: their text and every comment, or
+     * their removal when they no longer exist.
+     */
+    public void reindex(Collection<Long> articleIds) {
+        if (articleIds.isEmpty()) {
+            return;
+        }
+        List<ArticleResponse> articles = articleRepository.findResponsesByIdIn(articleIds);
+        Set<Long> missing = new HashSet<>(articleIds);
+        articles.forEach(article -> missing.remove(article.id()));
+        try {
+            write(articles);
+            for (Long id : missing) {
+                writer.deleteDocuments(new Term(ID, id.toString()));
+            }
+            if (rebuilding) {
+                touchedDuringRebuild.addAll(articleIds);
+            } else {
+                searcherManager.maybeRefreshBlocking();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Replaces the index content with every article in the database. Searches keep the previous
+     * content until the rebuild completes; concurrent calls run one after the other.
+     */
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            long started = System.nanoTime();
+            rebuilding = true;
+            try {
+                touchedDuringRebuild.clear();
+                writer.deleteAll();
+                long articles = 0;
+                List<ArticleResponse> batch = articleRepository.findResponsesAfter(0L, Limit.of(REBUILD_BATCH_SIZE));
+                while (!batch.isEmpty()) {
+                    write(batch);
+                    articles += batch.size();
+                    batch = articleRepository.findResponsesAfter(batch.get(batch.size() - 1).id(),
+                            Limit.of(REBUILD_BATCH_SIZE));
+                }
+                // Written again now that no batch can overwrite them with an older read
+                List<Long> touched = List.copyOf(touchedDuringRebuild);
+                rebuilding = false;
+                reindex(touched);
+                searcherManager.maybeRefreshBlocking();
+                ready = true;
+                log.info("Search index rebuilt: {} articles in {} ms", articles, (System.nanoTime() - started) / 1_000_000);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                rebuilding = false;
+            }
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int getDocumentCount() {
+        return writer.getDocStats().numDocs;
+    }
+
+    /**
+     * Index files plus the documents buffered in the writer.
+     */
+    public long sizeInBytes() {
+        long size = writer.ramBytesUsed();
+        try {
+            for (String file : directory.listAll()) {
+                try {
+                    size += directory.fileLength(file);
+                } catch (IOException e) {
+                    // Merged away since listAll
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return size;
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    private void write(List<ArticleResponse> articles) throws IOException {
+        if (articles.isEmpty()) {
+            return;
+        }
+        Map<Long, List<String>> comments = commentRepository.findTextsByArticleIdIn(
+                        articles.stream().map(ArticleResponse::id).toList())
+                .stream()
+                .collect(Collectors.groupingBy(CommentText::articleId,
+                        Collectors.mapping(CommentText::content, Collectors.toList())));
+        for (ArticleResponse article : articles) {
+            writer.updateDocument(new Term(ID, article.id().toString()),
+                    toDocument(article, comments.getOrDefault(article.id(), List.of())));
+        }
+    }
+
+    static Document toDocument(ArticleResponse article, List<String> comments) {
+        Document document = new Document();
+        document.add(new StringField(ID, article.id().toString(), Field.Store.YES));
+        document.add(new StringField(TOPIC, article.topicId().toString(), Field.Store.NO));
+        document.add(new TextField(TITLE, nullToEmpty(article.title()), Field.Store.NO));
+        document.add(new TextField(CONTENT, nullToEmpty(article.content()), Field.Store.NO));
+        for (String comment : comments) {
+            document.add(new TextField(COMMENTS, nullToEmpty(comment), Field.Store.NO));
+        }
+        return document;
+    }
+
+    /**
+     * Any analyzed word of {@code text} in any field; each field is scored with BM25 and the
+     * title counts double. One flat disjunction of term queries, which Lucene's top-k scorer
+     * prunes best: documents that only match common words are skipped without being scored.
+     */
+    private Query textQuery(String text) {
+        Set<String> terms = analyze(text);
+        if (terms.isEmpty()) {
+            // Nothing left once analyzed (punctuation only)
+            return null;
+        }
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (String term : terms) {
+            query.add(new BoostQuery(new TermQuery(new Term(TITLE, term)), TITLE_BOOST), BooleanClause.Occur.SHOULD);
+            query.add(new TermQuery(new Term(CONTENT, term)), BooleanClause.Occur.SHOULD);
+            query.add(new TermQuery(new Term(COMMENTS, term)), BooleanClause.Occur.SHOULD);
+        }
+        return query.build();
+    }
+
+    private Set<String> analyze(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        try (TokenStream tokens = analyzer.tokenStream(CONTENT, text)) {
+            CharTermAttribute term = tokens.addAttribute(CharTermAttribute.class);
+            tokens.reset();
+            while (tokens.incrementToken()) {
+                terms.add(term.toString());
+            }
+            tokens.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return terms;
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    /**
+     * Unicode word boundaries, lower-cased and folded to ASCII so "écrire" matches "ecrire".
+     * No stemming: articles mix French and English.
+     */
+    private static final class ArticleAnalyzer extends Analyzer {
+        @Override
+        protected TokenStreamComponents createComponents(String fieldName) {
+            StandardTokenizer tokenizer = new StandardTokenizer();
+            return new TokenStreamComponents(tokenizer, new ASCIIFoldingFilter(new LowerCaseFilter(tokenizer)));
+        }
+
+        @Override
+        protected TokenStream normalize(String fieldName, TokenStream in) {
+            return new ASCIIFoldingFilter(new LowerCaseFilter(in));
+        }
+    }
+}
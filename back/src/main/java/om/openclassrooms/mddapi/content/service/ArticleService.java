@@ -1,60 +1,436 @@
 package om.openclassrooms.mddapi.content.service;
 
+import om.openclassrooms.mddapi.common.exception.ConflictException;
 import om.openclassrooms.mddapi.common.exception.ResourceNotFoundException;
 import om.openclassrooms.mddapi.common.exception.WrongParametersException;
+import om.openclassrooms.mddapi.content.event.ArticleCreatedEvent;
 import om.openclassrooms.mddapi.content.model.Article;
+import om.openclassrooms.mddapi.content.model.ArticleContentCodec;
+import om.openclassrooms.mddapi.content.model.ArticleHtml;
+import om.openclassrooms.mddapi.content.model.ArticleMinHash;
+import om.openclassrooms.mddapi.content.model.ArticleSimHash;
+import om.openclassrooms.mddapi.content.model.ArticleSummaries;
+import om.openclassrooms.mddapi.content.payload.ArticlePageResponse;
+import om.openclassrooms.mddapi.content.payload.ArticleRendition;
 import om.openclassrooms.mddapi.content.payload.ArticleResponse;
+import om.openclassrooms.mddapi.content.payload.ArticleSummaryResponse;
+import om.openclassrooms.mddapi.content.payload.ArticleText;
 import om.openclassrooms.mddapi.content.payload.CreateArticleRequest;
+import om.openclassrooms.mddapi.content.payload.FeedCursor;
 import om.openclassrooms.mddapi.content.repository.ArticleRepository;
+import om.openclassrooms.mddapi.content.repository.TimelineEntryRepository;
 import om.openclassrooms.mddapi.content.repository.TopicRepository;
 import om.openclassrooms.mddapi.user.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.awt.print.Pageable;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class ArticleService {
+    public static final int MAX_FEED_PAGE_SIZE = 100;
+    public static final int MAX_SEARCH_RESULTS = 100;
+    public static final int MAX_RELATED = 50;
+    private static final int MAX_SEARCH_QUERY_LENGTH = 200;
+    // Rough per-row cost of the object headers and fixed fields, in characters
+    private static final int ROW_WEIGHT = 64;
+
     private final ArticleRepository articleRepository;
     private final UserRepository userRepository;
     private final TopicRepository topicRepository;
+    private final TimelineEntryRepository timelineEntryRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final HybridFeedEngine hybridFeedEngine;
+    private final FeedCache feedCache;
+    private final ArticleCache articleCache;
+    private final ArticleSearchIndex articleSearchIndex;
+    private final ArticleViewCounter articleViewCounter;
+    private final TrendingArticles trendingArticles;
+    private final RelatedArticlesIndex relatedArticlesIndex;
+    private final DuplicateArticleDetector duplicateArticleDetector;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${mdd.feed.timeline-enabled:false}")
+    private boolean timelineEnabled;
+
+    @Value("${mdd.articles.content.compression:false}")
+    private boolean contentCompression;
 
     public ArticleService(ArticleRepository articleRepository,
                           UserRepository userRepository,
-                          TopicRepository topicRepository) {
+                          TopicRepository topicRepository,
+                          TimelineEntryRepository timelineEntryRepository,
+                          ApplicationEventPublisher eventPublisher,
+                          HybridFeedEngine hybridFeedEngine,
+                          FeedCache feedCache,
+                          ArticleCache articleCache,
+                          ArticleSearchIndex articleSearchIndex,
+                          ArticleViewCounter articleViewCounter,
+                          TrendingArticles trendingArticles,
+                          RelatedArticlesIndex relatedArticlesIndex,
+                          DuplicateArticleDetector duplicateArticleDetector,
+                          PlatformTransactionManager transactionManager) {
         this.articleRepository = articleRepository;
         this.userRepository = userRepository;
         this.topicRepository = topicRepository;
+        this.timelineEntryRepository = timelineEntryRepository;
+        this.eventPublisher = eventPublisher;
+        this.hybridFeedEngine = hybridFeedEngine;
+        this.feedCache = feedCache;
+        this.articleCache = articleCache;
+        this.articleSearchIndex = articleSearchIndex;
+        this.articleViewCounter = articleViewCounter;
+        this.trendingArticles = trendingArticles;
+        this.relatedArticlesIndex = relatedArticlesIndex;
+        this.duplicateArticleDetector = duplicateArticleDetector;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
+    @Transactional
     public void createArticle(CreateArticleRequest createArticleRequest, Long userId)
     {
         Article article = new Article();
         article.setTitle(createArticleRequest.title());
         article.setContent(createArticleRequest.content());
+        ArticleSimHash.apply(article);
+        // Cross-posts of one body to several topics would show twice in the feed
+        if (duplicateArticleDetector.findDuplicate(article.getSimhash()).isPresent()) {
+            throw new ConflictException("article.duplicate");
+        }
+        ArticleSummaries.apply(article);
+        ArticleHtml.apply(article);
+        ArticleMinHash.apply(article);
+        if (contentCompression) {
+            article.compressContent();
+        }
         article.setTopic(topicRepository.findById(createArticleRequest.topicId()).orElseThrow(
                 () -> new WrongParametersException("topic")));
         article.setAuthor(userRepository.findById(userId).orElseThrow(
                 () -> new WrongParametersException("user")));
-        articleRepository.save(article);
+        // Locks the topic row before the insert's foreign key check, so concurrent posts queue instead of deadlocking
+        topicRepository.incrementArticlesVersion(article.getTopic().getId());
+        Article saved = articleRepository.save(article);
+        feedCache.evictUsers(topicRepository.findSubscriberIds(saved.getTopic().getId()));
+        eventPublisher.publishEvent(new ArticleCreatedEvent(saved.getId(), saved.getTopic().getId(),
+                userId, saved.getCreatedAt()));
+    }
+
+    /**
+     * Version of the user's feed: changes with the subscription set or any article or comment of a subscribed topic.
+     */
+    @Transactional(readOnly = true)
+    public Optional<String> getFeedVersion(Long userId) {
+        return topicRepository.findFeedVersion(userId);
     }
 
     @Transactional(readOnly = true)
     public List<ArticleResponse> getAllArticlesForUser(Long userId, Sort sort) {
+        // Not cached: whole lists grow with the subscriptions, the ETag spares unchanged refreshes
+        return articleRepository.findAllByUserSubscription(userId, sort);
+    }
+
+    /**
+     * Streams the whole feed row by row to {@code sink} without materializing it: the cursor
+     * stays open, and the read-only transaction with it, until the last row has been handed over.
+     */
+    @Transactional(readOnly = true)
+    public void streamAllArticlesForUser(Long userId, Sort sort, Consumer<ArticleResponse> sink) {
+        try (Stream<ArticleResponse> articles = articleRepository.streamAllByUserSubscription(userId, sort)) {
+            articles.forEach(sink);
+        }
+    }
 
-        return articleRepository.findAllByUserSubscription(userId, sort)
+    @Transactional(readOnly = true)
+    public List<ArticleSummaryResponse> getAllArticleSummariesForUser(Long userId, Sort sort) {
+        return articleRepository.findSummariesByUserSubscription(userId, sort);
+    }
+
+    /**
+     * Keyset paginated feed ordered by (createdAt, id) descending: the cursor is the last
+     * row of the previous page, so every page costs the same whatever its depth.
+     * The first pages are served from the {@link FeedCache}; pages it does not hold take their keys
+     * from the in-memory {@link HybridFeedEngine}, then the materialized timeline when enabled, the
+     * subscription join otherwise.
+     */
+    @Transactional(readOnly = true)
+    public ArticlePageResponse<ArticleResponse> getArticlesPageForUser(Long userId, String cursor, int limit) {
+        return getPage(userId, "full", cursor, limit, articleRepository::findResponsesByIdIn, ArticleResponse::id,
+                article -> new FeedCursor(article.createdAt(), article.id()), ArticleService::weigh);
+    }
+
+    @Transactional(readOnly = true)
+    public ArticlePageResponse<ArticleSummaryResponse> getArticleSummariesPageForUser(Long userId, String cursor, int limit) {
+        return getPage(userId, "summary", cursor, limit, articleRepository::findSummariesByIdIn,
+                ArticleSummaryResponse::id, article -> new FeedCursor(article.createdAt(), article.id()),
+                ArticleService::weigh);
+    }
+
+    /**
+     * Full-text search restricted to the user's subscribed topics, best match first.
+     */
+    // No service transaction: the index answers alone, only the hits are loaded
+    public List<ArticleSummaryResponse> searchArticles(Long userId, String query, int limit) {
+        if (query == null || query.isBlank() || query.length() > MAX_SEARCH_QUERY_LENGTH) {
+            throw new WrongParametersException("q");
+        }
+        if (limit < 1 || limit > MAX_SEARCH_RESULTS) {
+            throw new WrongParametersException("limit");
+        }
+
+        return loadSummariesInOrder(articleSearchIndex.search(query, topicRepository.findSubscribedTopicIds(userId),
+                limit));
+    }
+
+    /**
+     * Most viewed and commented articles of the user's subscribed topics over the last {@code window}
+     * ({@code 1h}, {@code 6h} or {@code 24h}), as counted by this instance.
+     */
+    // No service transaction, like searchArticles
+    public List<ArticleSummaryResponse> getTrendingArticles(Long userId, String window, int limit) {
+        Integer windowIndex = window == null ? null : TrendingArticles.WINDOWS.get(window);
+        if (windowIndex == null) {
+            throw new WrongParametersException("window");
+        }
+        if (limit < 1 || limit > TrendingArticles.MAX_TRENDING) {
+            throw new WrongParametersException("limit");
+        }
+        return loadSummariesInOrder(trendingArticles.top(topicRepository.findSubscribedTopicIds(userId),
+                windowIndex, limit));
+    }
+
+    /**
+     * Articles of the user's subscribed topics sharing the most words with {@code articleId}, most similar first.
+     */
+    // No service transaction, like searchArticles
+    public List<ArticleSummaryResponse> getRelatedArticles(Long userId, Long articleId, int limit) {
+        if (limit < 1 || limit > MAX_RELATED) {
+            throw new WrongParametersException("limit");
+        }
+        return loadSummariesInOrder(relatedArticlesIndex.related(articleId,
+                topicRepository.findSubscribedTopicIds(userId), limit));
+    }
+
+    private List<ArticleSummaryResponse> loadSummariesInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, ArticleSummaryResponse> byId = articleRepository.findSummariesByIdIn(ids)
                 .stream()
-                .map(ArticleResponse::from)
-                .collect(Collectors.toList());
+                .collect(Collectors.toMap(ArticleSummaryResponse::id, Function.identity()));
+        // Keeps the ranking; an article deleted since it was ranked is skipped
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
     }
 
+    private <T> ArticlePageResponse<T> getPage(Long userId, String view, String cursor, int limit,
+                                               Function<Collection<Long>, List<T>> loader,
+                                               Function<T, Long> idOf,
+                                               Function<T, FeedCursor> keyOf,
+                                               ToIntFunction<T> weigher) {
+        if (limit < 1 || limit > MAX_FEED_PAGE_SIZE) {
+            throw new WrongParametersException("limit");
+        }
+
+        FeedCursor after = cursor == null || cursor.isBlank() ? null : FeedCursor.decode(cursor);
+        return feedCache.getPage(userId, view + ":" + limit, limit, after,
+                        headSize -> loadPage(userId, null, headSize, loader, idOf), keyOf, weigher)
+                .orElseGet(() -> loadPage(userId, after, limit, loader, idOf));
+    }
+
+    private <T> ArticlePageResponse<T> loadPage(Long userId, FeedCursor after, int limit,
+                                                Function<Collection<Long>, List<T>> loader,
+                                                Function<T, Long> idOf) {
+        // One extra key tells whether a next page exists without a COUNT query
+        return hybridFeedEngine.findPageKeys(userId, after, limit + 1)
+                .flatMap(keys -> toPage(keys, limit, loader, idOf, true))
+                .or(() -> toPage(findFeedPageKeys(userId, after, Limit.of(limit + 1)), limit, loader, idOf, false))
+                .orElseThrow();
+    }
+
+    private List<FeedCursor> findFeedPageKeys(Long userId, FeedCursor after, Limit fetchLimit) {
+        if (after == null) {
+            return timelineEnabled
+                    ? timelineEntryRepository.findFirstFeedPageKeys(userId, fetchLimit)
+                    : articleRepository.findFirstFeedPageKeys(userId, fetchLimit);
+        }
+        return timelineEnabled
+                ? timelineEntryRepository.findFeedPageKeysAfter(userId, after.createdAt(), after.id(), fetchLimit)
+                : articleRepository.findFeedPageKeysAfter(userId, after.createdAt(), after.id(), fetchLimit);
+    }
+
+    private <T> Optional<ArticlePageResponse<T>> toPage(List<FeedCursor> keys, int limit,
+                                                           Function<Collection<Long>, List<T>> loader,
+                                                           Function<T, Long> idOf,
+                                                           boolean requireAll) {
+        List<FeedCursor> pageKeys = keys.size() > limit ? keys.subList(0, limit) : keys;
+        String nextCursor = keys.size() > limit ? pageKeys.get(limit - 1).encode() : null;
+        if (pageKeys.isEmpty()) {
+            return Optional.of(new ArticlePageResponse<>(List.of(), nextCursor));
+        }
+
+        Map<Long, T> byId = loader.apply(pageKeys.stream().map(FeedCursor::id).toList())
+                .stream()
+                .collect(Collectors.toMap(idOf, Function.identity()));
+        // A buffered id that no longer resolves means the buffer is stale: let the database answer
+        if (requireAll && byId.size() != pageKeys.size()) {
+            return Optional.empty();
+        }
+        List<T> items = pageKeys.stream()
+                .map(key -> byId.get(key.id()))
+                .filter(Objects::nonNull)
+                .toList();
+        return Optional.of(new ArticlePageResponse<>(items, nextCursor));
+    }
+
+    /**
+     * Computes the stored summary of up to {@code batchSize} articles created before summaries existed.
+     *
+     * @return number of articles summarized, 0 once every article has a summary
+     */
+    @Transactional
+    public int summarizeBatch(int batchSize) {
+        List<Article> articles = articleRepository.findUnsummarized(Limit.of(batchSize));
+        articles.forEach(ArticleSummaries::apply);
+        return articles.size();
+    }
+
+    /**
+     * Moves the plain bodies of up to {@code batchSize} articles with an id above {@code afterId}
+     * to the compressed column.
+     *
+     * @return ids of the converted articles, in ascending order; empty once none is left
+     */
+    @Transactional
+    public List<Long> compressContentBatch(Long afterId, int batchSize) {
+        List<Article> articles = articleRepository.findUncompressedAfter(afterId, Limit.of(batchSize));
+        for (Article article : articles) {
+            articleRepository.storeCompressedContent(article.getId(), ArticleContentCodec.encode(article.getContent()));
+        }
+        return articles.stream().map(Article::getId).toList();
+    }
+
+    /**
+     * Bodies of up to {@code batchSize} articles with an id above {@code afterId} that have no HTML
+     * rendition from the current renderer, in ascending id order.
+     */
+    @Transactional(readOnly = true)
+    public List<ArticleText> findUnrenderedBatch(Long afterId, int batchSize) {
+        return articleRepository.findUnrenderedAfter(afterId, ArticleHtml.HASH_PREFIX + "%", Limit.of(batchSize))
+                .stream()
+                .map(article -> new ArticleText(article.getId(), article.getContent()))
+                .toList();
+    }
+
+    @Transactional
+    public void storeRenditions(List<ArticleRendition> renditions) {
+        for (ArticleRendition rendition : renditions) {
+            articleRepository.storeContentHtml(rendition.id(), rendition.contentHtml(), rendition.contentHash());
+        }
+    }
+
+    /**
+     * Bodies of up to {@code batchSize} articles with an id above {@code afterId} and no SimHash
+     * fingerprint, in ascending id order. Bodies too short to fingerprint come back on every run.
+     */
+    @Transactional(readOnly = true)
+    public List<ArticleText> findUnfingerprintedBatch(Long afterId, int batchSize) {
+        return articleRepository.findUnfingerprintedAfter(afterId, Limit.of(batchSize))
+                .stream()
+                .map(article -> new ArticleText(article.getId(), article.getContent()))
+                .toList();
+    }
+
+    @Transactional
+    public void storeFingerprints(Map<Long, Long> fingerprints) {
+        fingerprints.forEach(articleRepository::storeSimhash);
+    }
+
+    /**
+     * Trains a candidate compression dictionary on the bodies of the latest {@code sampleSize} articles.
+     */
+    @Transactional(readOnly = true)
+    public byte[] trainContentDictionary(int sampleSize) {
+        List<String> samples = articleRepository.findLatest(Limit.of(sampleSize)).stream()
+                .map(Article::getContent)
+                .filter(Objects::nonNull)
+                .toList();
+        return ArticleContentCodec.trainDictionary(samples, ArticleContentCodec.MAX_DICTIONARY_SIZE);
+    }
+
+    private static int weigh(ArticleResponse article) {
+        return ROW_WEIGHT + length(article.title()) + length(article.content())
+                + length(article.author()) + length(article.topic());
+    }
+
+    private static int weigh(ArticleSummaryResponse article) {
+        return ROW_WEIGHT + length(article.title()) + length(article.excerpt())
+                + length(article.author()) + length(article.topic());
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+
+    // No service transaction: cache hits never borrow a connection, misses use the repository's read-only one
     public ArticleResponse getArticleById(Long articleId) {
-        return ArticleResponse.from(articleRepository.findById(articleId).orElseThrow(
+        ArticleResponse article = articleCache.get(articleId, articleRepository::findResponseById).orElseThrow(
                 () -> new ResourceNotFoundException("article")
-        ));
+        );
+        // Stored count plus the views this instance has not flushed yet
+        return article.withViewCount(article.viewCount() + articleViewCounter.getPendingViews(articleId));
+    }
+
+    /**
+     * Hash of the body the HTML rendition was made from, prefixed with the renderer version.
+     * An article without a current rendition (created before renditions, or rendered by an older
+     * renderer) is rendered and stored here, so the first reader pays for it once.
+     */
+    // No service transaction: the lookup is read-only, so a current rendition is checked on a replica
+    // and the reader is not kept on the primary; only a rendering opens a read-write one
+    public Optional<String> getArticleHtmlVersion(Long articleId) {
+        Optional<String> hash = readOnlyTransaction.execute(
+                status -> articleRepository.findContentHashById(articleId));
+        if (hash.isPresent() && hash.get().startsWith(ArticleHtml.HASH_PREFIX)) {
+            return hash;
+        }
+        return Optional.of(transactionTemplate.execute(status -> renderArticleHtml(articleId)));
+    }
+
+    private String renderArticleHtml(Long articleId) {
+        Article article = articleRepository.findById(articleId).orElseThrow(
+                () -> new ResourceNotFoundException("article"));
+        String content = article.getContent() == null ? "" : article.getContent();
+        String contentHash = ArticleHtml.hash(content);
+        // Bulk update: rendering is not an edit and must not touch updatedAt
+        articleRepository.storeContentHtml(articleId, ArticleHtml.render(content), contentHash);
+        return contentHash;
+    }
+
+    @Transactional(readOnly = true)
+    public String getArticleHtml(Long articleId) {
+        return articleRepository.findContentHtmlById(articleId).orElseThrow(
+                () -> new ResourceNotFoundException("article"));
     }
 
 
@@ -0,0 +1,138 @@
+package om.openclassrooms.mddapi.content.service;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+
+/**
+ * One SSE client: a bounded queue of pre-serialized articles drained by a single sender at a time.
+ * A client that falls {@code capacity} events behind gets one {@code resync} event instead of the backlog.
+ */
+final class ArticleStreamConnection {
+    static final String ARTICLE_EVENT = "article";
+    static final String RESYNC_EVENT = "resync";
+
+    private final Long userId;
+    private final SseEmitter emitter;
+    private final int capacity;
+    private final Executor sender;
+    private final Queue<String> pending = new ArrayDeque<>();
+    private boolean resync;
+    private boolean heartbeat;
+    private boolean draining;
+    private boolean closed;
+
+    ArticleStreamConnection(Long userId, SseEmitter emitter, int capacity, Executor sender) {
+        this.userId = userId;
+        this.emitter = emitter;
+        this.capacity = capacity;
+        this.sender = sender;
+    }
+
+    Long userId() {
+        return userId;
+    }
+
+    SseEmitter emitter() {
+        return emitter;
+    }
+
+    void offer(String articleJson) {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            if (pending.size() >= capacity) {
+                // Coalesce the backlog: the client refetches its feed once instead of replaying it
+                pending.clear();
+                resync = true;
+            } else {
+                pending.add(articleJson);
+            }
+        }
+        scheduleDrain();
+    }
+
+    void heartbeat() {
+        synchronized (this) {
+            if (closed || !pending.isEmpty() || resync) {
+                return;
+            }
+            heartbeat = true;
+        }
+        scheduleDrain();
+    }
+
+    synchronized void close() {
+        closed = true;
+        pending.clear();
+    }
+
+    synchronized int pendingCount() {
+        return pending.size();
+    }
+
+    synchronized boolean isResyncPending() {
+        return resync;
+    }
+
+    private void scheduleDrain() {
+        synchronized (this) {
+            if (draining || closed) {
+                return;
+            }
+            draining = true;
+        }
+        sender.execute(this::drain);
+    }
+
+    private void drain() {
+        while (true) {
+            SseEmitter.SseEventBuilder event;
+            synchronized (this) {
+                event = nextEvent();
+                if (event == null) {
+                    draining = false;
+                    return;
+                }
+            }
+            try {
+                // Blocking write on a virtual thread: a slow client only delays its own queue
+                emitter.send(event);
+            } catch (IOException | IllegalStateException e) {
+                // Client gone: the container reports the error and the emitter callbacks unregister us
+                synchronized (this) {
+                    closed = true;
+                    pending.clear();
+                    draining = false;
+                }
+                return;
+            }
+        }
+    }
+
+    private SseEmitter.SseEventBuilder nextEvent() {
+        if (closed) {
+            return null;
+        }
+        if (resync) {
+            resync = false;
+            heartbeat = false;
+            return SseEmitter.event().name(RESYNC_EVENT).data("");
+        }
+        String articleJson = pending.poll();
+        if (articleJson != null) {
+            heartbeat = false;
+            return SseEmitter.event().name(ARTICLE_EVENT).data(articleJson, MediaType.APPLICATION_JSON);
+        }
+        if (heartbeat) {
+            heartbeat = false;
+            return SseEmitter.event().comment("heartbeat");
+        }
+        return null;
+    }
+}
@@ -0,0 +1,141 @@
+package om.openclassrooms.mddapi.content.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import om.openclassrooms.mddapi.common.exception.ServiceUnavailableException;
+import om.openclassrooms.mddapi.content.event.ArticleCreatedEvent;
+import om.openclassrooms.mddapi.content.payload.ArticleSummaryResponse;
+import om.openclassrooms.mddapi.content.repository.ArticleRepository;
+import om.openclassrooms.mddapi.content.repository.TopicRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes committed articles to the SSE connections of their topic's subscribers.
+ * Idle connections hold no thread (async servlet); writes run on virtual threads.
+ * Only articles created on this instance are pushed.
+ */
+@Service
+public class ArticleStreamService {
+    private static final Logger log = LoggerFactory.getLogger(ArticleStreamService.class);
+
+    private final ArticleRepository articleRepository;
+    private final TopicRepository topicRepository;
+    private final ObjectMapper objectMapper;
+    private final ConcurrentMap<Long, Set<ArticleStreamConnection>> connections = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+    private final int queueCapacity;
+    private final long timeout;
+    private final int maxConnections;
+
+    public ArticleStreamService(ArticleRepository articleRepository,
+                                TopicRepository topicRepository,
+                                ObjectMapper objectMapper,
+                                @Value("${mdd.articles.stream.queue-capacity:64}") int queueCapacity,
+                                @Value("${mdd.articles.stream.timeout:1800000}") long timeout,
+                                @Value("${mdd.articles.stream.max-connections:20000}") int maxConnections) {
+        this.articleRepository = articleRepository;
+        this.topicRepository = topicRepository;
+        this.objectMapper = objectMapper;
+        this.queueCapacity = queueCapacity;
+        this.timeout = timeout;
+        this.maxConnections = maxConnections;
+    }
+
+    public SseEmitter connect(Long userId) {
+        if (connectionCount.incrementAndGet() > maxConnections) {
+            connectionCount.decrementAndGet();
+            throw new ServiceUnavailableException("articles.stream.full");
+        }
+        SseEmitter emitter = new SseEmitter(timeout);
+        ArticleStreamConnection connection = new ArticleStreamConnection(userId, emitter, queueCapacity, sender);
+        connections.compute(userId, (id, userConnections) -> {
+            Set<ArticleStreamConnection> updated = userConnections == null ? ConcurrentHashMap.newKeySet() : userConnections;
+            updated.add(connection);
+            return updated;
+        });
+
+        emitter.onCompletion(() -> unregister(connection));
+        emitter.onError(error -> unregister(connection));
+        // The client reconnects on its own; completing here avoids an async timeout error dispatch
+        emitter.onTimeout(emitter::complete);
+        return emitter;
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleCreated(ArticleCreatedEvent event) {
+        if (connections.isEmpty()) {
+            return;
+        }
+        List<Long> listeners = topicRepository.findSubscriberIds(event.topicId())
+                .stream()
+                .filter(connections::containsKey)
+                .toList();
+        if (listeners.isEmpty()) {
+            return;
+        }
+
+        List<ArticleSummaryResponse> summaries = articleRepository.findSummariesByIdIn(List.of(event.articleId()));
+        if (summaries.isEmpty()) {
+            return;
+        }
+        String articleJson;
+        try {
+            // Serialized once, whatever the number of listeners
+            articleJson = objectMapper.writeValueAsString(summaries.get(0));
+        } catch (JsonProcessingException e) {
+            log.warn("Article {} could not be serialized for streaming", event.articleId(), e);
+            return;
+        }
+        for (Long userId : listeners) {
+            connections.getOrDefault(userId, Set.of()).forEach(connection -> connection.offer(articleJson));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${mdd.articles.stream.heartbeat-interval:15000}")
+    public void heartbeat() {
+        // Keeps proxies from closing idle streams and surfaces dead clients through failed writes
+        connections.values().forEach(userConnections -> userConnections.forEach(ArticleStreamConnection::heartbeat));
+    }
+
+    public int getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        connections.values().forEach(userConnections -> userConnections.forEach(connection -> {
+            connection.close();
+            connection.emitter().complete();
+        }));
+        sender.shutdown();
+    }
+
+    private void unregister(ArticleStreamConnection connection) {
+        connection.close();
+        // Same-key compute calls are atomic, so a concurrent connect never lands in a dropped set
+        connections.computeIfPresent(connection.userId(), (id, userConnections) -> {
+            if (userConnections.remove(connection)) {
+                connectionCount.decrementAndGet();
+            }
+            return userConnections.isEmpty() ? null : userConnections;
+        });
+    }
+}
@@ -0,0 +1,76 @@
+package om.openclassrooms.mddapi.content.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import om.openclassrooms.mddapi.content.repository.ArticleViewRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+
+/**
+ * Article view counts aggregated in memory and written every few seconds as one batch, so a
+ * popular article costs one row update per flush instead of one per view. Views counted since
+ * the last flush are lost if the process dies; a graceful shutdown flushes them.
+ */
+@Service
+public class ArticleViewCounter {
+    private static final int STRIPES = 64;
+    private static final Logger log = LoggerFactory.getLogger(ArticleViewCounter.class);
+
+    private final StripedViewCounts counts = new StripedViewCounts(STRIPES);
+    private final ArticleViewRepository articleViewRepository;
+    private final ArticleCache articleCache;
+    private final TransactionTemplate transactionTemplate;
+
+    public ArticleViewCounter(ArticleViewRepository articleViewRepository,
+                              ArticleCache articleCache,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry) {
+        this.articleViewRepository = articleViewRepository;
+        this.articleCache = articleCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        Gauge.builder("articles.views.tracked", counts, StripedViewCounts::size)
+                .description("Articles viewed since the previous flush")
+                .register(meterRegistry);
+    }
+
+    public void increment(Long articleId) {
+        counts.add(articleId, 1);
+    }
+
+    /**
+     * Views counted on this instance and not yet written to the database.
+     */
+    public long getPendingViews(Long articleId) {
+        return counts.pending(articleId);
+    }
+
+    @Scheduled(initialDelayString = "${mdd.articles.views.flush-interval:5000}",
+            fixedDelayString = "${mdd.articles.views.flush-interval:5000}")
+    @PreDestroy
+    public synchronized void flush() {
+        Map<Long, Long> deltas = counts.drain();
+        if (deltas.isEmpty()) {
+            return;
+        }
+        try {
+            // All or nothing, so a failed flush can be retried without counting twice
+            transactionTemplate.executeWithoutResult(status -> articleViewRepository.addViews(deltas));
+        } catch (DataAccessException | TransactionException e) {
+            deltas.forEach(counts::add);
+            log.warn("View counts of {} articles not flushed, kept for the next attempt", deltas.size(), e);
+            return;
+        }
+        // Cached articles hold the count read before this flush
+        articleCache.addViews(deltas);
+        log.debug("View counts flushed for {} articles", deltas.size());
+    }
+}
@@ -1,31 +1,49 @@
 package om.openclassrooms.mddapi.content.service;
 
 import om.openclassrooms.mddapi.common.exception.WrongParametersException;
+import om.openclassrooms.mddapi.content.event.CommentCreatedEvent;
 import om.openclassrooms.mddapi.content.model.Article;
 import om.openclassrooms.mddapi.content.model.Comment;
+import om.openclassrooms.mddapi.content.payload.ArticlePageResponse;
 import om.openclassrooms.mddapi.content.payload.CommentResponse;
+import om.openclassrooms.mddapi.content.payload.FeedCursor;
 import om.openclassrooms.mddapi.content.repository.ArticleRepository;
 import om.openclassrooms.mddapi.content.repository.CommentRepository;
+import om.openclassrooms.mddapi.content.repository.TopicRepository;
 import om.openclassrooms.mddapi.user.model.User;
 import om.openclassrooms.mddapi.user.repository.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 @Service
 public class CommentService {
+    public static final int MAX_COMMENT_PAGE_SIZE = 100;
+
     private final CommentRepository commentRepository;
     private final ArticleRepository articleRepository;
     private final UserRepository userRepository;
+    private final TopicRepository topicRepository;
+    private final ArticleCache articleCache;
+    private final FeedCache feedCache;
+    private final ApplicationEventPublisher eventPublisher;
 
 
-    public CommentService(CommentRepository commentRepository, ArticleRepository articleRepository, UserRepository userRepository) {
+    public CommentService(CommentRepository commentRepository, ArticleRepository articleRepository, UserRepository userRepository,
+                          TopicRepository topicRepository, ArticleCache articleCache, FeedCache feedCache,
+                          ApplicationEventPublisher eventPublisher) {
         this.commentRepository = commentRepository;
         this.articleRepository = articleRepository;
         this.userRepository = userRepository;
+        this.topicRepository = topicRepository;
+        this.articleCache = articleCache;
+        this.feedCache = feedCache;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -35,18 +53,71 @@ public class CommentService {
         User user = userRepository.findById(userId)
                 .orElseThrow(()->new WrongParametersException("user"));
 
+        Long topicId = article.getTopic().getId();
+        // Feed lists carry the count too, so their ETag and cached pages must change; the topic row
+        // is locked first, in the same order as createArticle
+        topicRepository.incrementArticlesVersion(topicId);
+        // Bumped before the insert, see ArticleService#createArticle
+        articleRepository.incrementCommentCount(articleId);
+        // The cached article carries the count
+        articleCache.invalidate(articleId);
+        feedCache.evictUsers(topicRepository.findSubscriberIds(topicId));
         Comment comment = new Comment();
         comment.setContent(content);
         comment.setArticle(article);
         comment.setAuthor(user);
         commentRepository.save(comment);
+        eventPublisher.publishEvent(new CommentCreatedEvent(articleId, topicId, comment.getId()));
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<String> getCommentsVersion(Long articleId) {
+        return articleRepository.findCommentsVersion(articleId);
     }
 
     @Transactional(readOnly = true)
     public List<CommentResponse> getAllCommentsForArticle(Long articleId) {
-        return commentRepository.findByArticleId(articleId, Sort.by(Sort.Direction.ASC, "createdAt"))
-                .stream()
-                .map(CommentResponse::from)
-                .collect(Collectors.toList());
+        return commentRepository.findByArticleId(articleId, Sort.by(Sort.Direction.ASC, "createdAt"));
+    }
+
+    /**
+     * Keyset paginated comments ordered by (createdAt, id), oldest first: the cursor is the last
+     * comment of the previous page, so deep pages of long threads cost the same as the first.
+     */
+    @Transactional(readOnly = true)
+    public ArticlePageResponse<CommentResponse> getCommentsPageForArticle(Long articleId, String cursor, int limit) {
+        if (limit < 1 || limit > MAX_COMMENT_PAGE_SIZE) {
+            throw new WrongParametersException("limit");
+        }
+
+        FeedCursor after = cursor == null || cursor.isBlank() ? null : FeedCursor.decode(cursor);
+        // One extra row tells whether a next page exists without a COUNT query
+        Limit fetchLimit = Limit.of(limit + 1);
+        List<CommentResponse> comments = after == null
+                ? commentRepository.findFirstPageByArticleId(articleId, fetchLimit)
+                : commentRepository.findPageByArticleIdAfter(articleId, after.createdAt(), after.id(), fetchLimit);
+        if (comments.size() <= limit) {
+            return new ArticlePageResponse<>(comments, null);
+        }
+        List<CommentResponse> page = comments.subList(0, limit);
+        CommentResponse last = page.get(limit - 1);
+        return new ArticlePageResponse<>(page, new FeedCursor(last.createdAt(), last.id()).encode());
+    }
+
+    /**
+     * Recomputes the stored comment count of up to {@code batchSize} articles with an id above
+     * {@code afterId}, for articles commented before the count existed.
+     *
+     * @return ids of the recounted articles, in ascending order; fewer than {@code batchSize} on the last batch
+     */
+    @Transactional
+    public List<Long> recountCommentsBatch(Long afterId, int batchSize) {
+        List<Long> articleIds = articleRepository.findIdsAfter(afterId, Limit.of(batchSize));
+        if (!articleIds.isEmpty()) {
+            articleRepository.recountComments(articleIds);
+            topicRepository.incrementArticlesVersionOfArticles(articleIds);
+            articleIds.forEach(articleCache::invalidate);
+        }
+        return articleIds;
     }
 }
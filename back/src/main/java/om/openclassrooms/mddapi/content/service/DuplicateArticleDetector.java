@@ -0,0 +1,131 @@
+package om.openclassrooms.mddapi.content.service;
+
+import om.openclassrooms.mddapi.content.event.ArticleCreatedEvent;
+import om.openclassrooms.mddapi.content.model.ArticleSimHash;
+import om.openclassrooms.mddapi.content.payload.ArticleFingerprint;
+import om.openclassrooms.mddapi.content.repository.ArticleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Near-duplicate lookup for new articles: a {@link SimHashIndex} of the fingerprints stored with
+ * the articles, loaded at startup and kept current by the article creation events. Until the load
+ * completes, and for articles stored without a fingerprint (see {@code --fingerprint-articles}),
+ * nothing is reported. Several instances each hold their own index.
+ */
+@Service
+public class DuplicateArticleDetector {
+    private static final int REBUILD_BATCH_SIZE = 10_000;
+    private static final Logger log = LoggerFactory.getLogger(DuplicateArticleDetector.class);
+
+    private final ArticleRepository articleRepository;
+    private final boolean enabled;
+    private final Object rebuildLock = new Object();
+    // Articles indexed while a rebuild runs: they went to the index being replaced
+    private final Set<Long> touchedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile SimHashIndex index = new SimHashIndex();
+    private volatile boolean rebuilding;
+    private volatile boolean ready;
+
+    public DuplicateArticleDetector(ArticleRepository articleRepository,
+                                    @Value("${mdd.articles.duplicates.enabled:true}") boolean enabled) {
+        this.articleRepository = articleRepository;
+        this.enabled = enabled;
+    }
+
+    /**
+     * {@link #rebuild()} on the task executor, at startup.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildInBackground() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    // Not async: the next post must already see this one
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleCreated(ArticleCreatedEvent event) {
+        index(List.of(event.articleId()));
+    }
+
+    /**
+     * Id of a stored article whose body is a near copy of the fingerprinted one.
+     */
+    public Optional<Long> findDuplicate(Long fingerprint) {
+        if (!enabled || !ready || fingerprint == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(index.nearest(fingerprint));
+    }
+
+    /**
+     * Whether two fingerprints are near copies of each other, for articles not stored yet. Always
+     * false with the check turned off.
+     */
+    public boolean areDuplicates(Long fingerprint, Long other) {
+        return enabled && fingerprint != null && other != null
+                && ArticleSimHash.distance(fingerprint, other) <= ArticleSimHash.MAX_DISTANCE;
+    }
+
+    public void index(Collection<Long> articleIds) {
+        if (!enabled || articleIds.isEmpty()) {
+            return;
+        }
+        SimHashIndex current = index;
+        articleRepository.findFingerprintsByIdIn(articleIds)
+                .forEach(article -> current.add(article.id(), article.simhash()));
+        if (rebuilding) {
+            touchedDuringRebuild.addAll(articleIds);
+        }
+    }
+
+    /**
+     * Replaces the index with every fingerprinted article in the database. Lookups keep the
+     * previous index until the rebuild completes; concurrent calls run one after the other.
+     */
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            long started = System.nanoTime();
+            rebuilding = true;
+            try {
+                touchedDuringRebuild.clear();
+                SimHashIndex rebuilt = new SimHashIndex();
+                List<ArticleFingerprint> batch = articleRepository.findFingerprintsAfter(0L, Limit.of(REBUILD_BATCH_SIZE));
+                while (!batch.isEmpty()) {
+                    batch.forEach(article -> rebuilt.add(article.id(), article.simhash()));
+                    batch = articleRepository.findFingerprintsAfter(batch.get(batch.size() - 1).id(),
+                            Limit.of(REBUILD_BATCH_SIZE));
+                }
+                index = rebuilt;
+                // Added again now that they can no longer go to the replaced index
+                List<Long> touched = List.copyOf(touchedDuringRebuild);
+                rebuilding = false;
+                index(touched);
+                ready = true;
+                log.info("Duplicate detection index rebuilt: {} articles in {} ms", rebuilt.size(),
+                        (System.nanoTime() - started) / 1_000_000);
+            } finally {
+                rebuilding = false;
+            }
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+}
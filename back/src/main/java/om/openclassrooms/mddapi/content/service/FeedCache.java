@@ -0,0 +1,156 @@
+package om.openclassrooms.mddapi.content.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import om.openclassrooms.mddapi.common.utils.AfterCommit;
+import om.openclassrooms.mddapi.content.payload.ArticlePageResponse;
+import om.openclassrooms.mddapi.content.payload.FeedCursor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * In-process cache of the head of paged feeds: the items of a user's first pages, keyed by user and
+ * variant (view and page size). Bounded by an estimate of the cached characters; a user's entries are
+ * evicted when a subscribed topic gets an article or the subscription set changes, so pages served
+ * from the head never touch the database.
+ */
+@Service
+public class FeedCache {
+    static final String CACHE_NAME = "feed";
+
+    private final Cache<FeedKey, FeedHead<?>> cache;
+    // Bumped by every eviction: a list loaded across an eviction may be stale and is not stored
+    private final AtomicLong generation = new AtomicLong();
+    private final int pages;
+    private final boolean enabled;
+
+    public FeedCache(@Value("${mdd.feed.cache.max-weight:20000000}") long maxWeight,
+                     @Value("${mdd.feed.cache.expire-after-write:600000}") long expireAfterWrite,
+                     @Value("${mdd.feed.cache.pages:5}") int pages,
+                     MeterRegistry meterRegistry) {
+        this.pages = pages;
+        this.enabled = maxWeight > 0 && pages > 0;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(Math.max(maxWeight, 0))
+                .weigher((FeedKey key, FeedHead<?> head) -> head.weight())
+                // Safety net for changes made outside the API (topics renamed in the database)
+                .expireAfterWrite(Duration.ofMillis(expireAfterWrite))
+                .recordStats()
+                // Evicts on the writing thread: the weight bound holds as soon as put returns
+                .executor(Runnable::run)
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Returns the page of {@code limit} items after {@code after} (null for the first page) from the
+     * cached head of the user's {@code variant} feed, loading the head on a miss with
+     * {@code headLoader}, which is given the head size in items. Empty when the page does not lie
+     * within the head: the caller reads it from the database.
+     *
+     * @param keyOf feed position of an item, as encoded in the page cursors
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Optional<ArticlePageResponse<T>> getPage(Long userId, String variant, int limit, FeedCursor after,
+                                                        IntFunction<ArticlePageResponse<T>> headLoader,
+                                                        Function<T, FeedCursor> keyOf,
+                                                        ToIntFunction<T> weigher) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        FeedKey key = new FeedKey(userId, variant);
+        FeedHead<T> head = (FeedHead<T>) cache.getIfPresent(key);
+        if (head == null) {
+            // Only the first page loads the head: a cursor may come from a head evicted since
+            if (after != null) {
+                return Optional.empty();
+            }
+            long loadedAt = generation.get();
+            ArticlePageResponse<T> loaded = headLoader.apply(Math.multiplyExact(limit, pages));
+            List<T> items = List.copyOf(loaded.items());
+            FeedHead<T> fresh = new FeedHead<>(items, loaded.nextCursor() == null,
+                    items.stream().mapToInt(weigher).sum());
+            cache.asMap().compute(key, (k, current) -> generation.get() == loadedAt ? fresh : current);
+            head = fresh;
+        }
+        return head.page(after, limit, keyOf);
+    }
+
+    /**
+     * Evicts the users now and again once the surrounding transaction commits, so a reader
+     * that reloaded the pre-commit state in between cannot keep it.
+     */
+    public void evictUsers(Collection<Long> userIds) {
+        if (!enabled || userIds.isEmpty()) {
+            return;
+        }
+        Set<Long> ids = Set.copyOf(userIds);
+        evictNow(ids);
+        AfterCommit.register(() -> evictNow(ids));
+    }
+
+    public void evictAll() {
+        if (!enabled) {
+            return;
+        }
+        evictAllNow();
+        AfterCommit.register(this::evictAllNow);
+    }
+
+    private void evictNow(Set<Long> userIds) {
+        generation.incrementAndGet();
+        cache.asMap().keySet().removeIf(key -> userIds.contains(key.userId()));
+    }
+
+    private void evictAllNow() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    private record FeedKey(Long userId, String variant) {
+    }
+
+    /**
+     * First items of a feed, newest first; {@code complete} when the feed has no other item.
+     */
+    private record FeedHead<T>(List<T> items, boolean complete, int weight) {
+        Optional<ArticlePageResponse<T>> page(FeedCursor after, int limit, Function<T, FeedCursor> keyOf) {
+            int start = 0;
+            if (after != null) {
+                start = indexOf(after, keyOf) + 1;
+                if (start == 0) {
+                    return Optional.empty();
+                }
+            }
+            int end = start + limit;
+            if (end > items.size()) {
+                // A page crossing the end of a truncated head needs rows the head does not hold
+                return complete ? Optional.of(new ArticlePageResponse<>(items.subList(start, items.size()), null))
+                        : Optional.empty();
+            }
+            String nextCursor = end == items.size() && complete ? null : keyOf.apply(items.get(end - 1)).encode();
+            return Optional.of(new ArticlePageResponse<>(items.subList(start, end), nextCursor));
+        }
+
+        private int indexOf(FeedCursor key, Function<T, FeedCursor> keyOf) {
+            for (int i = 0; i < items.size(); i++) {
+                if (key.equals(keyOf.apply(items.get(i)))) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+}
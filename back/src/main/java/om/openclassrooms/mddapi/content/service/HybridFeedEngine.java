@@ -0,0 +1,213 @@
+package om.openclassrooms.mddapi.content.service;
+
+import om.openclassrooms.mddapi.common.utils.AfterCommit;
+import om.openclassrooms.mddapi.content.event.ArticleCreatedEvent;
+import om.openclassrooms.mddapi.content.payload.FeedCursor;
+import om.openclassrooms.mddapi.content.payload.TopicArticlesVersion;
+import om.openclassrooms.mddapi.content.repository.ArticleRepository;
+import om.openclassrooms.mddapi.content.repository.TopicRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Builds the first feed pages in memory by k-way merging per-topic buffers of recent articles.
+ * Deep pages, or pages a truncated buffer cannot answer exactly, are left to the database.
+ * Articles created on this instance are pushed once committed; the topics' articles versions are
+ * polled so that the other instances' articles reload the buffers of the topics they changed.
+ */
+@Service
+public class HybridFeedEngine {
+    private static final Logger log = LoggerFactory.getLogger(HybridFeedEngine.class);
+
+    private final ArticleRepository articleRepository;
+    private final TopicRepository topicRepository;
+    private final ConcurrentMap<Long, RecentArticleBuffer> buffers = new ConcurrentHashMap<>();
+    // Only read and written under the instance lock
+    private final Map<Long, Long> versions = new HashMap<>();
+    private final int bufferSize;
+
+    public HybridFeedEngine(ArticleRepository articleRepository,
+                            TopicRepository topicRepository,
+                            @Value("${mdd.feed.recent-buffer-size:200}") int bufferSize) {
+        this.articleRepository = articleRepository;
+        this.topicRepository = topicRepository;
+        this.bufferSize = bufferSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void warmUp() {
+        if (bufferSize <= 0) {
+            return;
+        }
+        buffers.clear();
+        versions.clear();
+        // Versions first: an article committed before a buffer loads only reloads it once more
+        List<TopicArticlesVersion> topics = topicRepository.findArticlesVersions();
+        topics.forEach(topic -> versions.put(topic.topicId(), topic.articlesVersion()));
+        topics.forEach(topic -> bufferFor(topic.topicId()));
+        log.info("Feed buffers warmed up for {} topics", topics.size());
+    }
+
+    /**
+     * Drops the buffers of the topics whose articles version changed since the last poll, so that
+     * their next read reloads them from the database.
+     */
+    @Scheduled(initialDelayString = "${mdd.feed.recent-buffer-refresh-interval:30000}",
+            fixedDelayString = "${mdd.feed.recent-buffer-refresh-interval:30000}")
+    public synchronized void refresh() {
+        if (bufferSize <= 0) {
+            return;
+        }
+        Set<Long> topicIds = new HashSet<>();
+        int dropped = 0;
+        for (TopicArticlesVersion topic : topicRepository.findArticlesVersions()) {
+            topicIds.add(topic.topicId());
+            if (!Objects.equals(versions.put(topic.topicId(), topic.articlesVersion()), topic.articlesVersion())) {
+                buffers.remove(topic.topicId());
+                dropped++;
+            }
+        }
+        versions.keySet().retainAll(topicIds);
+        buffers.keySet().retainAll(topicIds);
+        if (dropped > 0) {
+            log.debug("Feed buffers dropped for {} topics", dropped);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleCreated(ArticleCreatedEvent event) {
+        if (bufferSize <= 0) {
+            return;
+        }
+        // An unloaded buffer keeps the key and merges the database rows on first read
+        buffers.computeIfAbsent(event.topicId(), topicId -> new RecentArticleBuffer(bufferSize))
+                .push(new FeedCursor(event.createdAt(), event.articleId()));
+    }
+
+    /**
+     * Drops the topics' buffers, now and once the surrounding transaction commits, for articles
+     * written without an {@link ArticleCreatedEvent}: the next read reloads them from the database.
+     */
+    public void reload(Collection<Long> topicIds) {
+        Set<Long> ids = Set.copyOf(topicIds);
+        ids.forEach(buffers::remove);
+        AfterCommit.register(() -> ids.forEach(buffers::remove));
+    }
+
+    /**
+     * Returns the keys of the next {@code count} feed articles strictly after {@code after},
+     * or empty when the buffers cannot answer exactly and the caller must query the database.
+     */
+    public Optional<List<FeedCursor>> findPageKeys(Long userId, FeedCursor after, int count) {
+        if (bufferSize <= 0) {
+            return Optional.empty();
+        }
+
+        long afterCreatedAt = after == null ? Long.MAX_VALUE : RecentArticleBuffer.toMicros(after.createdAt());
+        long afterId = after == null ? Long.MAX_VALUE : after.id();
+
+        PriorityQueue<Head> heap = new PriorityQueue<>();
+        // Anything older than the newest "oldest key" of a truncated buffer may hide unbuffered articles
+        long boundCreatedAt = Long.MIN_VALUE;
+        long boundId = Long.MIN_VALUE;
+        boolean anyTruncated = false;
+
+        for (Long topicId : topicRepository.findSubscribedTopicIds(userId)) {
+            RecentArticleBuffer.Snapshot snapshot = bufferFor(topicId).snapshot();
+            if (!snapshot.complete()) {
+                anyTruncated = true;
+                if (snapshot.size() == 0) {
+                    return Optional.empty();
+                }
+                int oldest = snapshot.size() - 1;
+                if (RecentArticleBuffer.compare(snapshot.createdAt()[oldest], snapshot.ids()[oldest],
+                        boundCreatedAt, boundId) > 0) {
+                    boundCreatedAt = snapshot.createdAt()[oldest];
+                    boundId = snapshot.ids()[oldest];
+                }
+            }
+            int position = firstAfter(snapshot, afterCreatedAt, afterId);
+            if (position < snapshot.size()) {
+                heap.add(new Head(snapshot, position));
+            }
+        }
+
+        List<FeedCursor> keys = new ArrayList<>(count);
+        while (keys.size() < count && !heap.isEmpty()) {
+            Head next = heap.poll();
+            long createdAt = next.createdAt();
+            long id = next.id();
+            if (RecentArticleBuffer.compare(createdAt, id, boundCreatedAt, boundId) < 0) {
+                return Optional.empty();
+            }
+            keys.add(new FeedCursor(RecentArticleBuffer.fromMicros(createdAt), id));
+            if (next.position + 1 < next.snapshot.size()) {
+                heap.add(new Head(next.snapshot, next.position + 1));
+            }
+        }
+
+        if (keys.size() < count && anyTruncated) {
+            return Optional.empty();
+        }
+        return Optional.of(keys);
+    }
+
+    private RecentArticleBuffer bufferFor(Long topicId) {
+        RecentArticleBuffer buffer = buffers.computeIfAbsent(topicId, id -> new RecentArticleBuffer(bufferSize));
+        if (!buffer.isLoaded()) {
+            List<FeedCursor> recent = articleRepository.findRecentKeysByTopic(topicId, Limit.of(bufferSize));
+            buffer.load(recent, recent.size() < bufferSize);
+        }
+        return buffer;
+    }
+
+    private static int firstAfter(RecentArticleBuffer.Snapshot snapshot, long afterCreatedAt, long afterId) {
+        // Snapshot is sorted newest first: binary search the first key strictly older than the cursor
+        int low = 0;
+        int high = snapshot.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (RecentArticleBuffer.compare(snapshot.createdAt()[mid], snapshot.ids()[mid], afterCreatedAt, afterId) < 0) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    private record Head(RecentArticleBuffer.Snapshot snapshot, int position) implements Comparable<Head> {
+        long createdAt() {
+            return snapshot.createdAt()[position];
+        }
+
+        long id() {
+            return snapshot.ids()[position];
+        }
+
+        @Override
+        public int compareTo(Head other) {
+            return RecentArticleBuffer.compare(other.createdAt(), other.id(), createdAt(), id());
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package om.openclassrooms.mddapi.content.service;
+
+import om.openclassrooms.mddapi.content.model.ArticleMinHash;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Locality-sensitive hashing over {@link ArticleMinHash} signatures: each signature is cut into
+ * {@link #BANDS} bands of {@link #ROWS} positions, and articles whose signatures agree on a whole
+ * band share that band's bucket. The similar articles of one are found by reading its buckets
+ * instead of comparing it with every other, then ranked by estimated Jaccard similarity.
+ * With 32 bands of 2 rows, a pair at similarity 0.3 shares a bucket 95% of the time, at 0.1 27%.
+ */
+final class MinHashLshIndex {
+    static final int BANDS = 32;
+    static final int ROWS = ArticleMinHash.SIZE / BANDS;
+    // Bounds the work of a lookup whose buckets are crowded by common words
+    static final int MAX_CANDIDATES = 1000;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    // Mostly single ids: arrays weigh far less than sets, and are replaced whole on insert
+    private final Map<Long, long[]> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * Adds an article once; adding it again is a no-op.
+     */
+    void add(long articleId, long topicId, int[] signature) {
+        if (entries.putIfAbsent(articleId, new Entry(topicId, signature)) != null
+                || ArticleMinHash.isEmpty(signature)) {
+            // Known already, or no word to compare: stays out of the buckets
+            return;
+        }
+        for (int band = 0; band < BANDS; band++) {
+            buckets.merge(bucketKey(band, signature), new long[]{articleId}, MinHashLshIndex::append);
+        }
+    }
+
+    boolean contains(long articleId) {
+        return entries.containsKey(articleId);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Ids of the articles of {@code topicIds} most similar to {@code articleId}, most similar first.
+     */
+    List<Long> similar(long articleId, Set<Long> topicIds, int limit) {
+        Entry source = entries.get(articleId);
+        if (source == null || ArticleMinHash.isEmpty(source.signature())) {
+            return List.of();
+        }
+        Set<Long> candidates = new HashSet<>();
+        for (int band = 0; band < BANDS && candidates.size() < MAX_CANDIDATES; band++) {
+            long[] bucket = buckets.get(bucketKey(band, source.signature()));
+            if (bucket == null) {
+                continue;
+            }
+            for (long id : bucket) {
+                if (id != articleId && candidates.size() < MAX_CANDIDATES) {
+                    candidates.add(id);
+                }
+            }
+        }
+        List<Scored> scored = new ArrayList<>();
+        for (Long id : candidates) {
+            Entry candidate = entries.get(id);
+            if (topicIds.contains(candidate.topicId())) {
+                scored.add(new Scored(id, ArticleMinHash.similarity(source.signature(), candidate.signature())));
+            }
+        }
+        return scored.stream()
+                .sorted(Comparator.comparingDouble(Scored::similarity).reversed().thenComparingLong(Scored::id))
+                .limit(limit)
+                .map(Scored::id)
+                .toList();
+    }
+
+    private static long bucketKey(int band, int[] signature) {
+        // Seeded with the band, so equal values in two bands make two keys
+        long key = band;
+        for (int row = 0; row < ROWS; row++) {
+            key = key * 0x9E3779B97F4A7C15L + signature[band * ROWS + row];
+        }
+        return key;
+    }
+
+    private static long[] append(long[] bucket, long[] added) {
+        long[] appended = Arrays.copyOf(bucket, bucket.length + 1);
+        appended[bucket.length] = added[0];
+        return appended;
+    }
+
+    private record Entry(long topicId, int[] signature) {
+    }
+
+    private record Scored(long id, double similarity) {
+    }
+}
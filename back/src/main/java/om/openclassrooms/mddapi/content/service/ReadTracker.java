@@ -0,0 +1,218 @@
+package om.openclassrooms.mddapi.content.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import om.openclassrooms.mddapi.common.exception.ResourceNotFoundException;
+import om.openclassrooms.mddapi.content.model.ReadState;
+import om.openclassrooms.mddapi.content.repository.ArticleRepository;
+import om.openclassrooms.mddapi.content.repository.ReadStateRepository;
+import om.openclassrooms.mddapi.content.repository.TopicRepository;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Which articles each user has read, as one Roaring bitmap of article ids per user: stored as a
+ * single {@link ReadState} row and cached in memory, so an unread count is one bitmap difference
+ * against {@link TopicArticleBitmaps}. Marks are gathered in memory and merged into the stored
+ * rows every few seconds, one row write per user however many articles were read; marks since the
+ * last flush are lost if the process dies, a graceful shutdown flushes them.
+ */
+@Service
+public class ReadTracker {
+    static final String CACHE_NAME = "reads";
+    private static final Logger log = LoggerFactory.getLogger(ReadTracker.class);
+
+    private final ReadStateRepository readStateRepository;
+    private final ArticleRepository articleRepository;
+    private final TopicRepository topicRepository;
+    private final TopicArticleBitmaps topicArticleBitmaps;
+    private final TransactionTemplate transactionTemplate;
+    // Replaced on every mark and never modified once cached, so counts take no lock
+    private final Cache<Long, RoaringBitmap> readArticles;
+    // Marks not flushed yet, only modified under the map's lock on the user
+    private final ConcurrentMap<Long, RoaringBitmap> pending = new ConcurrentHashMap<>();
+    // Marks taken by the flush in progress, still visible to loads until they are committed
+    private final ConcurrentMap<Long, RoaringBitmap> flushing = new ConcurrentHashMap<>();
+
+    public ReadTracker(ReadStateRepository readStateRepository,
+                       ArticleRepository articleRepository,
+                       TopicRepository topicRepository,
+                       TopicArticleBitmaps topicArticleBitmaps,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${mdd.reads.cache.max-users:100000}") long maxUsers,
+                       @Value("${mdd.reads.cache.expire-after-write:60000}") long expireAfterWrite,
+                       MeterRegistry meterRegistry) {
+        this.readStateRepository = readStateRepository;
+        this.articleRepository = articleRepository;
+        this.topicRepository = topicRepository;
+        this.topicArticleBitmaps = topicArticleBitmaps;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readArticles = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                // Picks up the marks other instances flushed
+                .expireAfterWrite(Duration.ofMillis(expireAfterWrite))
+                .recordStats()
+                .executor(Runnable::run)
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, readArticles, CACHE_NAME);
+        Gauge.builder("reads.pending.users", pending, Map::size)
+                .description("Users with read marks not flushed yet")
+                .register(meterRegistry);
+    }
+
+    public void markArticleRead(Long userId, Long articleId) {
+        // Not in the bitmaps yet when created a moment ago on another instance
+        if (!topicArticleBitmaps.contains(articleId) && !articleRepository.existsById(articleId)) {
+            throw new ResourceNotFoundException("article");
+        }
+        mark(userId, RoaringBitmap.bitmapOf(Math.toIntExact(articleId)));
+    }
+
+    /**
+     * Marks every article the topic has now; later articles will count as unread.
+     */
+    public void markTopicRead(Long userId, Long topicId) {
+        RoaringBitmap articles = topicArticleBitmaps.articles(topicId);
+        if (articles.isEmpty() && !topicRepository.existsById(topicId)) {
+            throw new ResourceNotFoundException("topic.notFound");
+        }
+        mark(userId, articles.clone());
+    }
+
+    /**
+     * Unread articles of each of {@code topicIds}, in the same order.
+     */
+    public Map<Long, Integer> unreadCounts(Long userId, Collection<Long> topicIds) {
+        RoaringBitmap read = readArticles.get(userId, this::load);
+        Map<Long, Integer> counts = new LinkedHashMap<>();
+        for (Long topicId : topicIds) {
+            counts.put(topicId, RoaringBitmap.andNotCardinality(topicArticleBitmaps.articles(topicId), read));
+        }
+        return counts;
+    }
+
+    @Scheduled(initialDelayString = "${mdd.reads.flush-interval:5000}",
+            fixedDelayString = "${mdd.reads.flush-interval:5000}")
+    @PreDestroy
+    public synchronized void flush() {
+        Map<Long, RoaringBitmap> taken = new TreeMap<>();
+        for (Long userId : List.copyOf(pending.keySet())) {
+            pending.computeIfPresent(userId, (id, marks) -> {
+                flushing.put(id, marks);
+                taken.put(id, marks);
+                return null;
+            });
+        }
+        if (taken.isEmpty()) {
+            return;
+        }
+        Map<Long, RoaringBitmap> stored;
+        try {
+            stored = transactionTemplate.execute(status -> write(taken));
+        } catch (DataAccessException | TransactionException e) {
+            taken.forEach(this::addPending);
+            flushing.clear();
+            log.warn("Read marks of {} users not flushed, kept for the next attempt", taken.size(), e);
+            return;
+        }
+        // The stored rows also hold what other instances flushed
+        stored.forEach((userId, articles) ->
+                readArticles.asMap().computeIfPresent(userId, (id, cached) -> RoaringBitmap.or(cached, articles)));
+        flushing.clear();
+        log.debug("Read marks flushed for {} users", taken.size());
+    }
+
+    private void mark(Long userId, RoaringBitmap articleIds) {
+        addPending(userId, articleIds.clone());
+        readArticles.asMap().computeIfPresent(userId, (id, cached) -> RoaringBitmap.or(cached, articleIds));
+    }
+
+    private void addPending(Long userId, RoaringBitmap articleIds) {
+        pending.merge(userId, articleIds, (marks, added) -> {
+            marks.or(added);
+            return marks;
+        });
+    }
+
+    /**
+     * Stored marks plus those not flushed yet, read in this order so that a concurrent flush
+     * moving them from one to the next cannot hide them.
+     */
+    private RoaringBitmap load(Long userId) {
+        RoaringBitmap articles = readStateRepository.findById(userId)
+                .map(state -> deserialize(state.getArticleIds()))
+                .orElseGet(RoaringBitmap::new);
+        pending.computeIfPresent(userId, (id, marks) -> {
+            articles.or(marks);
+            return marks;
+        });
+        RoaringBitmap inFlight = flushing.get(userId);
+        if (inFlight != null) {
+            articles.or(inFlight);
+        }
+        return articles;
+    }
+
+    private Map<Long, RoaringBitmap> write(Map<Long, RoaringBitmap> marks) {
+        Map<Long, ReadState> states = readStateRepository.findAllForUpdate(marks.keySet()).stream()
+                .collect(Collectors.toMap(ReadState::getUserId, Function.identity()));
+        Map<Long, RoaringBitmap> stored = new HashMap<>();
+        marks.forEach((userId, added) -> {
+            ReadState state = states.get(userId);
+            RoaringBitmap articles = added.clone();
+            if (state == null) {
+                readStateRepository.save(new ReadState(userId, serialize(articles)));
+            } else {
+                articles.or(deserialize(state.getArticleIds()));
+                state.setArticleIds(serialize(articles));
+            }
+            stored.put(userId, articles);
+        });
+        return stored;
+    }
+
+    static byte[] serialize(RoaringBitmap articles) {
+        // Runs of consecutive ids, as after a read-all, shrink to a few bytes each
+        articles.runOptimize();
+        ByteBuffer buffer = ByteBuffer.allocate(articles.serializedSizeInBytes());
+        articles.serialize(buffer);
+        return buffer.array();
+    }
+
+    static RoaringBitmap deserialize(byte[] data) {
+        RoaringBitmap articles = new RoaringBitmap();
+        try {
+            articles.deserialize(ByteBuffer.wrap(data));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return articles;
+    }
+}
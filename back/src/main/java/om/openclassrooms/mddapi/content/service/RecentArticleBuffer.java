@@ -0,0 +1,131 @@
+package om.openclassrooms.mddapi.content.service;
+
+import om.openclassrooms.mddapi.content.payload.FeedCursor;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Bounded ring buffer of the most recent article keys of one topic, newest first.
+ * Keys are stored as two primitive arrays (epoch micros, id) to keep per-topic memory flat.
+ */
+final class RecentArticleBuffer {
+    private final long[] createdAt;
+    private final long[] ids;
+    private int head;
+    private int size;
+    private boolean loaded;
+    private boolean evicted;
+
+    RecentArticleBuffer(int capacity) {
+        this.createdAt = new long[capacity];
+        this.ids = new long[capacity];
+    }
+
+    synchronized boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Merges keys read from the database; keys pushed before the load completed are kept.
+     *
+     * @param newestFirst up to capacity keys of the topic
+     * @param exhausted   true when the topic has no article older than the last key
+     */
+    synchronized void load(List<FeedCursor> newestFirst, boolean exhausted) {
+        for (FeedCursor key : newestFirst) {
+            push(key);
+        }
+        if (!exhausted) {
+            evicted = true;
+        }
+        loaded = true;
+    }
+
+    synchronized void push(FeedCursor key) {
+        long keyCreatedAt = toMicros(key.createdAt());
+        long keyId = key.id();
+        int capacity = ids.length;
+
+        // Common case: the new article is the most recent one, O(1) insert at head
+        if (size == 0 || compare(keyCreatedAt, keyId, createdAt[head], ids[head]) > 0) {
+            head = (head - 1 + capacity) % capacity;
+            createdAt[head] = keyCreatedAt;
+            ids[head] = keyId;
+            if (size == capacity) {
+                evicted = true;
+            } else {
+                size++;
+            }
+            return;
+        }
+
+        // Out of order key: find its rank, then shift older entries down by one
+        int rank = 0;
+        while (rank < size) {
+            int slot = (head + rank) % capacity;
+            int cmp = compare(keyCreatedAt, keyId, createdAt[slot], ids[slot]);
+            if (cmp == 0) {
+                return;
+            }
+            if (cmp > 0) {
+                break;
+            }
+            rank++;
+        }
+        if (rank == capacity) {
+            evicted = true;
+            return;
+        }
+        if (size == capacity) {
+            evicted = true;
+        } else {
+            size++;
+        }
+        for (int i = size - 1; i > rank; i--) {
+            int to = (head + i) % capacity;
+            int from = (head + i - 1) % capacity;
+            createdAt[to] = createdAt[from];
+            ids[to] = ids[from];
+        }
+        int slot = (head + rank) % capacity;
+        createdAt[slot] = keyCreatedAt;
+        ids[slot] = keyId;
+    }
+
+    synchronized Snapshot snapshot() {
+        int capacity = ids.length;
+        long[] createdAtCopy = new long[size];
+        long[] idsCopy = new long[size];
+        for (int i = 0; i < size; i++) {
+            int slot = (head + i) % capacity;
+            createdAtCopy[i] = createdAt[slot];
+            idsCopy[i] = ids[slot];
+        }
+        return new Snapshot(createdAtCopy, idsCopy, !evicted);
+    }
+
+    static int compare(long leftCreatedAt, long leftId, long rightCreatedAt, long rightId) {
+        int cmp = Long.compare(leftCreatedAt, rightCreatedAt);
+        return cmp != 0 ? cmp : Long.compare(leftId, rightId);
+    }
+
+    static long toMicros(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + dateTime.getNano() / 1_000;
+    }
+
+    static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    /**
+     * Immutable newest-first copy; {@code complete} means it holds every article of the topic.
+     */
+    record Snapshot(long[] createdAt, long[] ids, boolean complete) {
+        int size() {
+            return ids.length;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package om.openclassrooms.mddapi.content.service;
+
+import om.openclassrooms.mddapi.common.exception.ResourceNotFoundException;
+import om.openclassrooms.mddapi.common.exception.ServiceUnavailableException;
+import om.openclassrooms.mddapi.content.event.ArticleCreatedEvent;
+import om.openclassrooms.mddapi.content.model.Article;
+import om.openclassrooms.mddapi.content.model.ArticleMinHash;
+import om.openclassrooms.mddapi.content.payload.ArticleSignature;
+import om.openclassrooms.mddapi.content.repository.ArticleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Related reading: the articles sharing the most words with a given one, looked up in a
+ * {@link MinHashLshIndex} of the signatures stored with the articles. Loaded at startup (lookups
+ * answer 503 until then) on every processor; articles stored without a current signature are
+ * signed during the load and their signatures saved, so the next start only reads them. Kept
+ * current by the article creation events. Several instances each hold their own index.
+ */
+@Service
+public class RelatedArticlesIndex {
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    private static final Logger log = LoggerFactory.getLogger(RelatedArticlesIndex.class);
+
+    private final ArticleRepository articleRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int threads;
+    private final Object rebuildLock = new Object();
+    // Articles indexed while a rebuild runs: they went to the index being replaced
+    private final Set<Long> touchedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile MinHashLshIndex index = new MinHashLshIndex();
+    private volatile boolean rebuilding;
+    private volatile boolean ready;
+
+    public RelatedArticlesIndex(ArticleRepository articleRepository,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${mdd.articles.related.index-threads:0}") int threads) {
+        this.articleRepository = articleRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * {@link #rebuild()} on the task executor, at startup.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildInBackground() {
+        rebuild();
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleCreated(ArticleCreatedEvent event) {
+        index(List.of(event.articleId()));
+    }
+
+    /**
+     * Returns the ids of the {@code limit} articles of {@code topicIds} most similar to
+     * {@code articleId}, most similar first.
+     */
+    public List<Long> related(Long articleId, Collection<Long> topicIds, int limit) {
+        if (!ready) {
+            throw new ServiceUnavailableException("articles.related.indexing");
+        }
+        if (!index.contains(articleId)) {
+            // Created a moment ago, before its event was handled
+            index(List.of(articleId));
+        }
+        MinHashLshIndex current = index;
+        if (!current.contains(articleId)) {
+            throw new ResourceNotFoundException("article");
+        }
+        return current.similar(articleId, Set.copyOf(topicIds), limit);
+    }
+
+    /**
+     * Adds the articles to the index, signing and saving those stored without a current signature.
+     */
+    public void index(Collection<Long> articleIds) {
+        if (articleIds.isEmpty()) {
+            return;
+        }
+        add(index, articleRepository.findSignaturesByIdIn(articleIds), Runnable::run);
+        if (rebuilding) {
+            touchedDuringRebuild.addAll(articleIds);
+        }
+    }
+
+    /**
+     * Replaces the index with every article in the database. Lookups keep the previous index
+     * until the rebuild completes; concurrent calls run one after the other.
+     */
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            long started = System.nanoTime();
+            rebuilding = true;
+            MinHashLshIndex rebuilt = new MinHashLshIndex();
+            int signed = 0;
+            try (ExecutorService workers = Executors.newFixedThreadPool(threads)) {
+                touchedDuringRebuild.clear();
+                List<ArticleSignature> batch = articleRepository.findSignaturesAfter(0L, Limit.of(REBUILD_BATCH_SIZE));
+                while (!batch.isEmpty()) {
+                    signed += add(rebuilt, batch, workers);
+                    batch = articleRepository.findSignaturesAfter(batch.get(batch.size() - 1).id(),
+                            Limit.of(REBUILD_BATCH_SIZE));
+                }
+                index = rebuilt;
+                // Added again now that they can no longer go to the replaced index
+                List<Long> touched = List.copyOf(touchedDuringRebuild);
+                rebuilding = false;
+                index(touched);
+                ready = true;
+                log.info("Related articles index rebuilt: {} articles, {} signed, in {} ms", rebuilt.size(), signed,
+                        (System.nanoTime() - started) / 1_000_000);
+            } finally {
+                rebuilding = false;
+            }
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * @return number of articles that had to be signed
+     */
+    private int add(MinHashLshIndex target, List<ArticleSignature> rows, Executor executor) {
+        Map<Long, Long> unsignedTopics = new HashMap<>();
+        List<CompletableFuture<Void>> added = new ArrayList<>(rows.size());
+        for (ArticleSignature row : rows) {
+            int[] signature = ArticleMinHash.decode(row.minhash());
+            if (signature == null) {
+                unsignedTopics.put(row.id(), row.topicId());
+            } else {
+                added.add(CompletableFuture.runAsync(() -> target.add(row.id(), row.topicId(), signature), executor));
+            }
+        }
+        if (!unsignedTopics.isEmpty()) {
+            Map<Long, int[]> signatures = sign(articleRepository.findWithContentByIdIn(unsignedTopics.keySet()), executor);
+            signatures.forEach((id, signature) -> target.add(id, unsignedTopics.get(id), signature));
+            save(signatures);
+        }
+        added.forEach(CompletableFuture::join);
+        return unsignedTopics.size();
+    }
+
+    private static Map<Long, int[]> sign(List<Article> articles, Executor executor) {
+        // Hashing every word 64 times is the CPU bound part of a rebuild
+        Map<Long, CompletableFuture<int[]>> signing = new HashMap<>();
+        for (Article article : articles) {
+            signing.put(article.getId(), CompletableFuture.supplyAsync(
+                    () -> ArticleMinHash.signature(article.getTitle(), article.getContent()), executor));
+        }
+        Map<Long, int[]> signatures = new HashMap<>();
+        signing.forEach((id, signature) -> signatures.put(id, signature.join()));
+        return signatures;
+    }
+
+    private void save(Map<Long, int[]> signatures) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> signatures.forEach(
+                    (id, signature) -> articleRepository.storeMinhash(id, ArticleMinHash.encode(signature))));
+        } catch (DataAccessException e) {
+            // Still indexed: only the next start has to sign them again
+            log.warn("Could not save {} article signatures", signatures.size(), e);
+        }
+    }
+}
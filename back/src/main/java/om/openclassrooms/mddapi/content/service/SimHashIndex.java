@@ -0,0 +1,105 @@
+package om.openclassrooms.mddapi.content.service;
+
+import om.openclassrooms.mddapi.content.model.ArticleSimHash;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * {@link ArticleSimHash} fingerprints searchable by Hamming distance. Each fingerprint is cut into
+ * {@link #BLOCKS} blocks of 16 bits, one more than {@link ArticleSimHash#MAX_DISTANCE}: two
+ * fingerprints that close differ in at most that many blocks, so they agree on a whole one. Each
+ * block keys its own table, the permuted tables of Manku et al., and a lookup only compares the
+ * fingerprints of the 4 buckets it falls in, about 4 n / 65536 of them.
+ * <p>
+ * Entries are primitive arrays chained by index: 32 bytes per article, no object per entry.
+ */
+final class SimHashIndex {
+    static final int BLOCKS = ArticleSimHash.MAX_DISTANCE + 1;
+    private static final int BLOCK_BITS = Long.SIZE / BLOCKS;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int NONE = -1;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Per block: index of the latest entry of each bucket, then of the previous one in the same bucket
+    private final int[][] heads = new int[BLOCKS][1 << BLOCK_BITS];
+    private final int[][] next = new int[BLOCKS][INITIAL_CAPACITY];
+    private long[] fingerprints = new long[INITIAL_CAPACITY];
+    private long[] articleIds = new long[INITIAL_CAPACITY];
+    private int size;
+
+    SimHashIndex() {
+        for (int[] block : heads) {
+            Arrays.fill(block, NONE);
+        }
+    }
+
+    /**
+     * Adds an article; adding it again only takes another slot.
+     */
+    void add(long articleId, long fingerprint) {
+        lock.writeLock().lock();
+        try {
+            if (size == fingerprints.length) {
+                grow();
+            }
+            fingerprints[size] = fingerprint;
+            articleIds[size] = articleId;
+            for (int block = 0; block < BLOCKS; block++) {
+                int key = key(fingerprint, block);
+                next[block][size] = heads[block][key];
+                heads[block][key] = size;
+            }
+            size++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Id of the article whose fingerprint is closest to {@code fingerprint}, if within
+     * {@link ArticleSimHash#MAX_DISTANCE} bits, else null.
+     */
+    Long nearest(long fingerprint) {
+        lock.readLock().lock();
+        try {
+            int bestDistance = ArticleSimHash.MAX_DISTANCE + 1;
+            int best = NONE;
+            for (int block = 0; block < BLOCKS; block++) {
+                for (int i = heads[block][key(fingerprint, block)]; i != NONE; i = next[block][i]) {
+                    int distance = ArticleSimHash.distance(fingerprint, fingerprints[i]);
+                    if (distance < bestDistance) {
+                        bestDistance = distance;
+                        best = i;
+                    }
+                }
+            }
+            return best == NONE ? null : articleIds[best];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void grow() {
+        int capacity = fingerprints.length * 2;
+        fingerprints = Arrays.copyOf(fingerprints, capacity);
+        articleIds = Arrays.copyOf(articleIds, capacity);
+        for (int block = 0; block < BLOCKS; block++) {
+            next[block] = Arrays.copyOf(next[block], capacity);
+        }
+    }
+
+    private static int key(long fingerprint, int block) {
+        return (int) (fingerprint >>> (block * BLOCK_BITS)) & ((1 << BLOCK_BITS) - 1);
+    }
+}
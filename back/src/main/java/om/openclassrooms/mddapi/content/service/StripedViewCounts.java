@@ -0,0 +1,224 @@
+package om.openclassrooms.mddapi.content.service;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Unflushed view counts by article id. Ids hash to one of a fixed set of stripes, each an
+ * open-addressing table of primitive ids to {@link LongAdder}s. Counting a view of an article
+ * already in the table reads it without a lock and bumps a {@link LongAdder}, so concurrent
+ * readers of the same article never contend on one memory word; only the first view of an
+ * article since the last drain locks its stripe. A drain that drops an idle counter marks it
+ * retired first: a viewer still holding it sees the mark after adding and moves what the counter
+ * holds back to the live table, under the same lock as the drain, so no view is lost or counted twice.
+ */
+final class StripedViewCounts {
+    // Article ids start at 1
+    private static final long EMPTY = 0;
+    private static final int MIN_CAPACITY = 16;
+
+    private final Stripe[] stripes;
+
+    /**
+     * @param stripeCount a power of two
+     */
+    StripedViewCounts(int stripeCount) {
+        if (Integer.bitCount(stripeCount) != 1) {
+            throw new IllegalArgumentException("stripeCount must be a power of two");
+        }
+        stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    void add(long articleId, long views) {
+        counter(articleId).count(views);
+    }
+
+    /**
+     * The article's current counter. Views counted through it are drained even when a drain
+     * retires it while the caller still holds it.
+     */
+    Counter counter(long articleId) {
+        long hash = hash(articleId);
+        return stripeOf(hash).counter(articleId, hash);
+    }
+
+    long pending(long articleId) {
+        long hash = hash(articleId);
+        Counter counter = stripeOf(hash).table.find(articleId, hash);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    /**
+     * Takes every count added since the previous drain, by ascending id so that concurrent
+     * flushes lock rows in the same order. Articles without a view during the whole interval
+     * leave the tables, which therefore only hold the recently viewed ones.
+     */
+    Map<Long, Long> drain() {
+        Map<Long, Long> deltas = new TreeMap<>();
+        for (Stripe stripe : stripes) {
+            stripe.drainTo(deltas);
+        }
+        return deltas;
+    }
+
+    int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.table.size;
+            }
+        }
+        return size;
+    }
+
+    private Stripe stripeOf(long hash) {
+        // High bits pick the stripe, low bits the slot within it
+        return stripes[(int) (hash >>> 32) & (stripes.length - 1)];
+    }
+
+    private static long hash(long articleId) {
+        return articleId * 0x9E3779B97F4A7C15L;
+    }
+
+    static final class Counter extends LongAdder {
+        private final Stripe stripe;
+        private final long articleId;
+        // Set by the drain that drops the counter from its table, never cleared
+        private volatile boolean retired;
+
+        private Counter(Stripe stripe, long articleId) {
+            this.stripe = stripe;
+            this.articleId = articleId;
+        }
+
+        void count(long views) {
+            add(views);
+            if (retired) {
+                // The drain may or may not have taken these views: whatever is left moves on
+                stripe.moveToLive(this);
+            }
+        }
+    }
+
+    private static final class Stripe {
+        // Replaced, never shrunk in place, so lock-free readers always see a consistent table
+        private volatile Table table = new Table(MIN_CAPACITY);
+
+        Counter counter(long articleId, long hash) {
+            Counter counter = table.find(articleId, hash);
+            return counter != null ? counter : insert(articleId, hash);
+        }
+
+        private synchronized void moveToLive(Counter retired) {
+            long views = take(retired);
+            if (views != 0) {
+                insert(retired.articleId, hash(retired.articleId)).add(views);
+            }
+        }
+
+        private synchronized Counter insert(long articleId, long hash) {
+            Counter counter = table.find(articleId, hash);
+            if (counter != null) {
+                return counter;
+            }
+            if ((table.size + 1) * 2 > table.capacity()) {
+                table = table.copy(table.capacity() * 2);
+            }
+            counter = new Counter(this, articleId);
+            table.put(articleId, hash, counter);
+            return counter;
+        }
+
+        synchronized void drainTo(Map<Long, Long> deltas) {
+            Table current = table;
+            Table kept = new Table(capacityFor(current.size));
+            for (int i = 0; i < current.capacity(); i++) {
+                long articleId = current.ids.get(i);
+                if (articleId != EMPTY) {
+                    Counter counter = current.counters.get(i);
+                    long views = take(counter);
+                    if (views != 0) {
+                        kept.put(articleId, hash(articleId), counter);
+                    } else {
+                        // Marked before the last take: a view that misses it is seen by its viewer
+                        counter.retired = true;
+                        views = take(counter);
+                    }
+                    if (views != 0) {
+                        deltas.merge(articleId, views, Long::sum);
+                    }
+                }
+            }
+            table = kept;
+        }
+
+        private static long take(LongAdder counter) {
+            // Not sumThenReset: a view added between its read and reset of a cell would be lost
+            long views = counter.sum();
+            counter.add(-views);
+            return views;
+        }
+
+        private static int capacityFor(int size) {
+            return Math.max(MIN_CAPACITY, Integer.highestOneBit(Math.max(size, 1) * 2 - 1) * 2);
+        }
+    }
+
+    private static final class Table {
+        private final AtomicLongArray ids;
+        private final AtomicReferenceArray<Counter> counters;
+        // Only read and written under the stripe lock
+        private int size;
+
+        Table(int capacity) {
+            ids = new AtomicLongArray(capacity);
+            counters = new AtomicReferenceArray<>(capacity);
+        }
+
+        int capacity() {
+            return ids.length();
+        }
+
+        Counter find(long articleId, long hash) {
+            int mask = capacity() - 1;
+            for (int i = (int) hash & mask; ; i = (i + 1) & mask) {
+                long id = ids.get(i);
+                if (id == articleId) {
+                    return counters.get(i);
+                }
+                if (id == EMPTY) {
+                    return null;
+                }
+            }
+        }
+
+        void put(long articleId, long hash, Counter counter) {
+            int mask = capacity() - 1;
+            int i = (int) hash & mask;
+            while (ids.get(i) != EMPTY) {
+                i = (i + 1) & mask;
+            }
+            // Counter first: a reader that sees the id also sees its counter
+            counters.set(i, counter);
+            ids.set(i, articleId);
+            size++;
+        }
+
+        Table copy(int capacity) {
+            Table copy = new Table(capacity);
+            for (int i = 0; i < capacity(); i++) {
+                long articleId = ids.get(i);
+                if (articleId != EMPTY) {
+                    copy.put(articleId, hash(articleId), counters.get(i));
+                }
+            }
+            return copy;
+        }
+    }
+}
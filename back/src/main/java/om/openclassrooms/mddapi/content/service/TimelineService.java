@@ -0,0 +1,96 @@
+package om.openclassrooms.mddapi.content.service;
+
+import om.openclassrooms.mddapi.content.event.ArticleCreatedEvent;
+import om.openclassrooms.mddapi.content.repository.TimelineEntryRepository;
+import om.openclassrooms.mddapi.content.repository.TopicRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Maintains the materialized per-user timeline (fan-out on write). Disabled, every write here is
+ * skipped: the table is only trusted again after {@code --rebuild-timeline}.
+ */
+@Service
+public class TimelineService {
+    private static final Logger log = LoggerFactory.getLogger(TimelineService.class);
+
+    private final TimelineEntryRepository timelineEntryRepository;
+    private final TopicRepository topicRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+
+    public TimelineService(TimelineEntryRepository timelineEntryRepository,
+                           TopicRepository topicRepository,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${mdd.feed.timeline-enabled:false}") boolean enabled) {
+        this.timelineEntryRepository = timelineEntryRepository;
+        this.topicRepository = topicRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onArticleCreated(ArticleCreatedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        int rows = timelineEntryRepository.fanOutArticle(event.articleId());
+        log.debug("Article {} fanned out to {} timelines", event.articleId(), rows);
+    }
+
+    @Transactional
+    public void backfill(Long userId, Long topicId) {
+        if (!enabled) {
+            return;
+        }
+        timelineEntryRepository.backfillTopic(userId, topicId);
+    }
+
+    @Transactional
+    public void trim(Long userId, Long topicId) {
+        if (!enabled) {
+            return;
+        }
+        timelineEntryRepository.deleteByUserAndTopic(userId, topicId);
+    }
+
+    /**
+     * Fans out the contiguous id range {@code [fromId, toId)} of a bulk import, in the caller's transaction.
+     */
+    @Transactional
+    public void fanOutRange(Long fromId, Long toId) {
+        if (!enabled) {
+            return;
+        }
+        timelineEntryRepository.fanOutArticleRange(fromId, toId);
+    }
+
+    /**
+     * Regenerates every timeline from articles and subscriptions, one transaction per topic
+     * so a large catalog never holds a single huge transaction.
+     *
+     * @return number of timeline rows written
+     */
+    public long rebuild() {
+        long rows = 0;
+        for (Long topicId : topicRepository.findAllIds()) {
+            Integer topicRows = transactionTemplate.execute(status -> {
+                timelineEntryRepository.deleteByTopic(topicId);
+                return timelineEntryRepository.rebuildTopic(topicId);
+            });
+            rows += topicRows == null ? 0 : topicRows;
+        }
+        log.info("Timeline rebuilt: {} rows", rows);
+        return rows;
+    }
+}
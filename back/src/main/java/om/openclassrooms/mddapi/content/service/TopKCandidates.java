@@ -0,0 +1,124 @@
+package om.openclassrooms.mddapi.content.service;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Bounded min-heap of the best scored ids seen so far, indexed by id so that a rescored member
+ * moves in place. The weakest member sits at the root: a newcomer only enters by beating it.
+ * Not thread safe.
+ */
+final class TopKCandidates {
+    private final long[] ids;
+    private final long[] scores;
+    private final Map<Long, Integer> positions;
+    private int size;
+
+    TopKCandidates(int capacity) {
+        ids = new long[capacity];
+        scores = new long[capacity];
+        positions = HashMap.newHashMap(capacity);
+    }
+
+    void offer(long id, long score) {
+        Integer position = positions.get(id);
+        if (position != null) {
+            update(position, score);
+        } else if (size < ids.length) {
+            ids[size] = id;
+            scores[size] = score;
+            positions.put(id, size);
+            siftUp(size++);
+        } else if (score > scores[0]) {
+            positions.remove(ids[0]);
+            ids[0] = id;
+            scores[0] = score;
+            positions.put(id, 0);
+            siftDown(0);
+        }
+    }
+
+    /**
+     * Replaces every score with {@code scorer}'s and drops the members scored zero or less.
+     */
+    void rescore(LongUnaryOperator scorer) {
+        int kept = 0;
+        positions.clear();
+        for (int i = 0; i < size; i++) {
+            long score = scorer.applyAsLong(ids[i]);
+            if (score > 0) {
+                ids[kept] = ids[i];
+                scores[kept] = score;
+                kept++;
+            }
+        }
+        size = kept;
+        for (int i = 0; i < size; i++) {
+            positions.put(ids[i], i);
+        }
+        for (int i = size / 2 - 1; i >= 0; i--) {
+            siftDown(i);
+        }
+    }
+
+    long[] ids() {
+        return Arrays.copyOf(ids, size);
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void update(int position, long score) {
+        long previous = scores[position];
+        scores[position] = score;
+        if (score < previous) {
+            siftUp(position);
+        } else {
+            siftDown(position);
+        }
+    }
+
+    private void siftUp(int position) {
+        while (position > 0) {
+            int parent = (position - 1) / 2;
+            if (scores[parent] <= scores[position]) {
+                return;
+            }
+            swap(position, parent);
+            position = parent;
+        }
+    }
+
+    private void siftDown(int position) {
+        while (true) {
+            int smallest = position;
+            int left = 2 * position + 1;
+            int right = left + 1;
+            if (left < size && scores[left] < scores[smallest]) {
+                smallest = left;
+            }
+            if (right < size && scores[right] < scores[smallest]) {
+                smallest = right;
+            }
+            if (smallest == position) {
+                return;
+            }
+            swap(position, smallest);
+            position = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        long id = ids[a];
+        long score = scores[a];
+        ids[a] = ids[b];
+        scores[a] = scores[b];
+        ids[b] = id;
+        scores[b] = score;
+        positions.put(ids[a], a);
+        positions.put(ids[b], b);
+    }
+}
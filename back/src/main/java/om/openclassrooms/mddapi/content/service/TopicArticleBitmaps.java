@@ -0,0 +1,114 @@
+package om.openclassrooms.mddapi.content.service;
+
+import om.openclassrooms.mddapi.content.event.ArticleCreatedEvent;
+import om.openclassrooms.mddapi.content.payload.TopicArticlesVersion;
+import om.openclassrooms.mddapi.content.repository.ArticleRepository;
+import om.openclassrooms.mddapi.content.repository.TopicRepository;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Ids of the articles of each topic as Roaring bitmaps, intersected with the users' read bitmaps
+ * for unread counts, and their union, so an id is checked with one lookup. Articles created on this instance are added once committed; the topics'
+ * articles versions are polled so that imports, deletions and the other instances' articles
+ * reload the topics they changed.
+ */
+@Service
+public class TopicArticleBitmaps {
+    private static final RoaringBitmap EMPTY = new RoaringBitmap();
+    private static final Logger log = LoggerFactory.getLogger(TopicArticleBitmaps.class);
+
+    private final ArticleRepository articleRepository;
+    private final TopicRepository topicRepository;
+    // Replaced on every change and never modified once published, so readers take no lock
+    private final ConcurrentMap<Long, RoaringBitmap> bitmaps = new ConcurrentHashMap<>();
+    // Union of the topics' bitmaps, replaced the same way under its own lock, so that a creation
+    // never waits for a refresh's queries
+    private final Object allArticlesLock = new Object();
+    private volatile RoaringBitmap allArticles = EMPTY;
+    // Only read and written under the instance lock
+    private final Map<Long, Long> versions = new HashMap<>();
+
+    public TopicArticleBitmaps(ArticleRepository articleRepository, TopicRepository topicRepository) {
+        this.articleRepository = articleRepository;
+        this.topicRepository = topicRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${mdd.reads.refresh-interval:30000}",
+            fixedDelayString = "${mdd.reads.refresh-interval:30000}")
+    public synchronized void refresh() {
+        List<TopicArticlesVersion> current = topicRepository.findArticlesVersions();
+        Set<Long> topicIds = new HashSet<>();
+        int reloaded = 0;
+        for (TopicArticlesVersion topic : current) {
+            topicIds.add(topic.topicId());
+            if (!Objects.equals(versions.get(topic.topicId()), topic.articlesVersion())) {
+                // Read after the version: an article committed in between only reloads the topic once more
+                bitmaps.put(topic.topicId(), toBitmap(articleRepository.findIdsByTopicId(topic.topicId())));
+                versions.put(topic.topicId(), topic.articlesVersion());
+                reloaded++;
+            }
+        }
+        boolean dropped = bitmaps.keySet().retainAll(topicIds);
+        versions.keySet().retainAll(topicIds);
+        if (reloaded > 0 || dropped) {
+            synchronized (allArticlesLock) {
+                // Taken after the topics' bitmaps: includes any article added to them meanwhile
+                RoaringBitmap union = RoaringBitmap.or(bitmaps.values().iterator());
+                union.runOptimize();
+                allArticles = union;
+            }
+            log.debug("Article bitmaps reloaded for {} topics", reloaded);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onArticleCreated(ArticleCreatedEvent event) {
+        int articleId = Math.toIntExact(event.articleId());
+        bitmaps.compute(event.topicId(), (topicId, bitmap) -> {
+            RoaringBitmap updated = bitmap == null ? new RoaringBitmap() : bitmap.clone();
+            updated.add(articleId);
+            return updated;
+        });
+        synchronized (allArticlesLock) {
+            RoaringBitmap updated = allArticles.clone();
+            updated.add(articleId);
+            allArticles = updated;
+        }
+    }
+
+    /**
+     * Ids of the topic's articles; must not be modified.
+     */
+    public RoaringBitmap articles(Long topicId) {
+        return bitmaps.getOrDefault(topicId, EMPTY);
+    }
+
+    public boolean contains(Long articleId) {
+        return allArticles.contains(Math.toIntExact(articleId));
+    }
+
+    private static RoaringBitmap toBitmap(List<Long> articleIds) {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        // Article ids stay far below 2^31; toIntExact fails loudly if they ever do not
+        articleIds.forEach(id -> bitmap.add(Math.toIntExact(id)));
+        bitmap.runOptimize();
+        return bitmap;
+    }
+}
@@ -11,7 +11,10 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -19,10 +22,17 @@ import java.util.stream.Collectors;
 public class TopicService {
     private final TopicRepository topicRepository;
     private final UserRepository userRepository;
+    private final TimelineService timelineService;
+    private final FeedCache feedCache;
+    private final ReadTracker readTracker;
 
-    public TopicService(TopicRepository topicRepository, UserRepository userRepository) {
+    public TopicService(TopicRepository topicRepository, UserRepository userRepository,
+                        TimelineService timelineService, FeedCache feedCache, ReadTracker readTracker) {
         this.topicRepository = topicRepository;
         this.userRepository = userRepository;
+        this.timelineService = timelineService;
+        this.feedCache = feedCache;
+        this.readTracker = readTracker;
     }
 
     public List<Topic> getAllTopics(Sort sort){
@@ -51,6 +61,29 @@ public class TopicService {
         return topicRepository.findAllWithSubscriptionFlag(userId);
     }
 
+    /**
+     * Subscribed topics with their unread counts, by id. Kept out of the listings: the counts come
+     * from this instance's bitmaps and unflushed marks, which no stored version follows.
+     */
+    @Transactional(readOnly = true)
+    public List<TopicResponse> getSubscribedTopicsWithUnreadCounts(Long userId) {
+        Set<TopicResponse> topics = getSubscribedToUserTopics(userId);
+        Map<Long, Integer> unreadCounts = readTracker.unreadCounts(userId,
+                topics.stream().map(TopicResponse::id).toList());
+        return topics.stream()
+                .map(topic -> topic.withUnreadCount(unreadCounts.get(topic.id())))
+                .sorted(Comparator.comparing(TopicResponse::id))
+                .toList();
+    }
+
+    /**
+     * Version of both topic listings for this user, changed by any subscription or topic row change.
+     */
+    @Transactional(readOnly = true)
+    public Optional<String> getTopicsVersion(Long userId) {
+        return topicRepository.findTopicsVersion(userId);
+    }
+
     @Transactional
     public void subscribe(User principalUser, Long topicId){
         User user = userRepository.findById(principalUser.getId())
@@ -59,7 +92,11 @@ public class TopicService {
         Topic topic = topicRepository.findById(topicId).
                 orElseThrow(() -> new ResourceNotFoundException("topic.notFound"));
 
-        user.getSubscribedTopics().add(topic);
+        if (user.getSubscribedTopics().add(topic)) {
+            userRepository.incrementSubscriptionsVersion(user.getId());
+            timelineService.backfill(user.getId(), topicId);
+            feedCache.evictUsers(List.of(user.getId()));
+        }
     }
 
     @Transactional
@@ -70,6 +107,10 @@ public class TopicService {
         Topic topic = topicRepository.findById(topicId).
                 orElseThrow(() -> new ResourceNotFoundException("topic.notFound"));
 
-        user.getSubscribedTopics().remove(topic);
+        if (user.getSubscribedTopics().remove(topic)) {
+            userRepository.incrementSubscriptionsVersion(user.getId());
+            timelineService.trim(user.getId(), topicId);
+            feedCache.evictUsers(List.of(user.getId()));
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,57 @@
+package om.openclassrooms.mddapi.content.service;
+
+import om.openclassrooms.mddapi.common.exception.WrongParametersException;
+import om.openclassrooms.mddapi.content.payload.TopicSuggestion;
+import om.openclassrooms.mddapi.content.repository.TopicRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Topic name typeahead answered from memory. Topics are seeded outside the API, so the catalog
+ * and subscriber counts are polled; a changed version swaps in a freshly built {@link TopicTrie}.
+ */
+@Service
+public class TopicSuggestionIndex {
+    public static final int MAX_SUGGESTIONS = 20;
+    private static final int MAX_PREFIX_LENGTH = 100;
+    private static final Logger log = LoggerFactory.getLogger(TopicSuggestionIndex.class);
+
+    private final TopicRepository topicRepository;
+    private volatile TopicTrie trie = TopicTrie.EMPTY;
+    private String version;
+
+    public TopicSuggestionIndex(TopicRepository topicRepository) {
+        this.topicRepository = topicRepository;
+    }
+
+    public List<TopicSuggestion> suggest(String prefix, int limit) {
+        if (prefix == null || prefix.length() > MAX_PREFIX_LENGTH) {
+            throw new WrongParametersException("prefix");
+        }
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new WrongParametersException("limit");
+        }
+        return trie.suggest(prefix, limit);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${mdd.topics.suggest.refresh-interval:60000}",
+            fixedDelayString = "${mdd.topics.suggest.refresh-interval:60000}")
+    public synchronized void refresh() {
+        String current = topicRepository.findSuggestionsVersion();
+        if (Objects.equals(current, version)) {
+            return;
+        }
+        // Readers keep the previous trie until the new one is complete
+        trie = TopicTrie.build(topicRepository.findSuggestions(), MAX_SUGGESTIONS);
+        version = current;
+        log.debug("Topic suggestions rebuilt for {} topics", trie.size());
+    }
+}
@@ -0,0 +1,153 @@
+package om.openclassrooms.mddapi.content.service;
+
+import om.openclassrooms.mddapi.content.payload.TopicSuggestion;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable character trie over normalized topic names. Each word of a name starts a path, so
+ * "boot" finds "Spring Boot". Every node keeps the indexes of its best ranked topics, which makes
+ * a lookup one walk down the prefix, whatever the catalog size.
+ */
+final class TopicTrie {
+    static final TopicTrie EMPTY = build(List.of(), 0);
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Comparator<TopicSuggestion> RANKING = Comparator
+            .comparingLong(TopicSuggestion::subscriberCount).reversed()
+            .thenComparing(TopicSuggestion::name, String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(TopicSuggestion::id);
+
+    private final TopicSuggestion[] ranked;
+    private final Node root;
+
+    private TopicTrie(TopicSuggestion[] ranked, Node root) {
+        this.ranked = ranked;
+        this.root = root;
+    }
+
+    /**
+     * @param maxSuggestions topics kept per prefix, the largest {@code limit} {@link #suggest} can serve
+     */
+    static TopicTrie build(List<TopicSuggestion> topics, int maxSuggestions) {
+        TopicSuggestion[] ranked = topics.toArray(TopicSuggestion[]::new);
+        Arrays.sort(ranked, RANKING);
+
+        // Inserted best first: a node's list is full once it holds its best topics
+        MutableNode root = new MutableNode(maxSuggestions);
+        for (int index = 0; index < ranked.length; index++) {
+            root.offer(index);
+            String name = normalize(ranked[index].name());
+            for (int start = 0; start < name.length(); start++) {
+                if (start == 0 || name.charAt(start - 1) == ' ') {
+                    MutableNode node = root;
+                    for (int i = start; i < name.length(); i++) {
+                        node = node.child(name.charAt(i));
+                        node.offer(index);
+                    }
+                }
+            }
+        }
+        return new TopicTrie(ranked, root.freeze());
+    }
+
+    /**
+     * Best ranked topics with a word starting with {@code prefix}, or overall when it is blank.
+     */
+    List<TopicSuggestion> suggest(String prefix, int limit) {
+        Node node = root;
+        String normalized = normalize(prefix);
+        for (int i = 0; i < normalized.length() && node != null; i++) {
+            node = node.child(normalized.charAt(i));
+        }
+        if (node == null) {
+            return List.of();
+        }
+        return Arrays.stream(node.best, 0, Math.min(limit, node.best.length))
+                .mapToObj(index -> ranked[index])
+                .toList();
+    }
+
+    int size() {
+        return ranked.length;
+    }
+
+    /**
+     * Lower case, without accents, words separated by single spaces: "  Développement-Web" gives
+     * "developpement web".
+     */
+    static String normalize(String value) {
+        String withoutMarks = MARKS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARATORS.matcher(withoutMarks.toLowerCase(Locale.ROOT)).replaceAll(" ").strip();
+    }
+
+    private record Node(char[] labels, Node[] children, int[] best) {
+        Node child(char label) {
+            int position = Arrays.binarySearch(labels, label);
+            return position < 0 ? null : children[position];
+        }
+    }
+
+    private static final class MutableNode {
+        private static final char[] NO_LABELS = {};
+        private static final MutableNode[] NO_CHILDREN = {};
+        private static final int[] NO_TOPICS = {};
+
+        // Sorted like the frozen node; most nodes have a single child and few topics
+        private char[] labels = NO_LABELS;
+        private MutableNode[] children = NO_CHILDREN;
+        private int childCount;
+        private int[] best = NO_TOPICS;
+        private int size;
+        private final int maxSuggestions;
+
+        MutableNode(int maxSuggestions) {
+            this.maxSuggestions = maxSuggestions;
+        }
+
+        MutableNode child(char label) {
+            int position = Arrays.binarySearch(labels, 0, childCount, label);
+            if (position >= 0) {
+                return children[position];
+            }
+            int insertion = -position - 1;
+            if (childCount == labels.length) {
+                labels = Arrays.copyOf(labels, Math.max(1, childCount * 2));
+                children = Arrays.copyOf(children, labels.length);
+            }
+            System.arraycopy(labels, insertion, labels, insertion + 1, childCount - insertion);
+            System.arraycopy(children, insertion, children, insertion + 1, childCount - insertion);
+            labels[insertion] = label;
+            MutableNode child = new MutableNode(maxSuggestions);
+            children[insertion] = child;
+            childCount++;
+            return child;
+        }
+
+        void offer(int index) {
+            // Two words of one name can share a node; the same topic arrives back to back
+            if (size == maxSuggestions || (size > 0 && best[size - 1] == index)) {
+                return;
+            }
+            if (size == best.length) {
+                best = Arrays.copyOf(best, Math.min(maxSuggestions, Math.max(1, size * 2)));
+            }
+            best[size++] = index;
+        }
+
+        Node freeze() {
+            Node[] frozen = new Node[childCount];
+            for (int i = 0; i < childCount; i++) {
+                frozen[i] = children[i].freeze();
+            }
+            return new Node(Arrays.copyOf(labels, childCount), frozen,
+                    size == best.length ? best : Arrays.copyOf(best, size));
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package om.openclassrooms.mddapi.content.service;
+
+import om.openclassrooms.mddapi.content.event.CommentCreatedEvent;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Most viewed and commented articles of the last hour, 6 hours or day, maintained as activity
+ * happens instead of aggregated per request. Scores are estimated by a {@link WindowedCountMinSketch}
+ * in constant memory; each topic keeps its best scored articles per window in a
+ * {@link TopKCandidates} heap, so a read merges a few dozen candidates per followed topic,
+ * whatever the traffic. Counts are kept per instance and start empty at each startup.
+ */
+@Service
+public class TrendingArticles {
+    public static final Map<String, Integer> WINDOWS = Map.of("1h", 0, "6h", 1, "24h", 2);
+    public static final int MAX_TRENDING = 50;
+    static final int VIEW_WEIGHT = 1;
+    // A comment takes more engagement than a view
+    static final int COMMENT_WEIGHT = 5;
+
+    private static final long BUCKET_MILLIS = TimeUnit.MINUTES.toMillis(10);
+    private static final int[] WINDOW_BUCKETS = {6, 36, 144};
+    private static final int SKETCH_DEPTH = 4;
+    private static final int SKETCH_WIDTH = 2048;
+    // Spare candidates absorb estimation noise around the last trending rank
+    private static final int CANDIDATES_PER_TOPIC = 2 * MAX_TRENDING;
+
+    private final WindowedCountMinSketch sketch = new WindowedCountMinSketch(SKETCH_DEPTH, SKETCH_WIDTH,
+            BUCKET_MILLIS, WINDOW_BUCKETS, System.currentTimeMillis());
+    private final Map<Long, TopKCandidates[]> candidatesByTopic = new ConcurrentHashMap<>();
+
+    public void recordView(Long articleId, Long topicId) {
+        record(articleId, topicId, VIEW_WEIGHT);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentCreated(CommentCreatedEvent event) {
+        record(event.articleId(), event.topicId(), COMMENT_WEIGHT);
+    }
+
+    /**
+     * Ids of the best scored articles of {@code topicIds} in {@code window}, best first.
+     *
+     * @param window index in {@link #WINDOWS}
+     */
+    public List<Long> top(Collection<Long> topicIds, int window, int limit) {
+        long now = System.currentTimeMillis();
+        List<Scored> scored = new ArrayList<>();
+        for (Long topicId : topicIds) {
+            TopKCandidates[] candidates = candidatesByTopic.get(topicId);
+            if (candidates == null) {
+                continue;
+            }
+            long[] ids;
+            synchronized (candidates) {
+                ids = candidates[window].ids();
+            }
+            // Scored now rather than when they entered the heap, so older activity has slid out
+            for (long id : ids) {
+                long score = sketch.estimate(id, window, now);
+                if (score > 0) {
+                    scored.add(new Scored(id, score));
+                }
+            }
+        }
+        return scored.stream()
+                .sorted(Comparator.comparingLong(Scored::score).reversed().thenComparingLong(Scored::id))
+                .limit(limit)
+                .map(Scored::id)
+                .toList();
+    }
+
+    /**
+     * Rescores the candidates against the current windows, so that articles gone quiet give their
+     * place to rising ones, and forgets topics without activity.
+     */
+    @Scheduled(fixedDelay = 60_000)
+    public void rescore() {
+        long now = System.currentTimeMillis();
+        candidatesByTopic.entrySet().removeIf(entry -> {
+            TopKCandidates[] candidates = entry.getValue();
+            synchronized (candidates) {
+                boolean empty = true;
+                for (int window = 0; window < candidates.length; window++) {
+                    int current = window;
+                    candidates[window].rescore(id -> sketch.estimate(id, current, now));
+                    empty &= candidates[window].size() == 0;
+                }
+                return empty;
+            }
+        });
+    }
+
+    private void record(Long articleId, Long topicId, int weight) {
+        long now = System.currentTimeMillis();
+        sketch.add(articleId, weight, now);
+        TopKCandidates[] candidates = candidatesByTopic.computeIfAbsent(topicId, id -> newCandidates());
+        synchronized (candidates) {
+            for (int window = 0; window < candidates.length; window++) {
+                candidates[window].offer(articleId, sketch.estimate(articleId, window, now));
+            }
+        }
+    }
+
+    private static TopKCandidates[] newCandidates() {
+        TopKCandidates[] candidates = new TopKCandidates[WINDOW_BUCKETS.length];
+        for (int window = 0; window < candidates.length; window++) {
+            candidates[window] = new TopKCandidates(CANDIDATES_PER_TOPIC);
+        }
+        return candidates;
+    }
+
+    private record Scored(long id, long score) {
+    }
+}
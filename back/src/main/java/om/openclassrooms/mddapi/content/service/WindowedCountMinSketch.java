@@ -0,0 +1,126 @@
+package om.openclassrooms.mddapi.content.service;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Count-min sketches over fixed time buckets, with one running sum per window. A ring keeps the
+ * bucket sketches of the longest window; when time enters a new bucket, the bucket leaving each
+ * window is subtracted from that window's sum. Adding and estimating therefore cost one cell per
+ * row whatever the window, and estimates never undercount: each is at most the true count plus
+ * {@code e / width} of everything added in the window, with high probability.
+ * <p>
+ * Cells are atomic, so recording never locks; only entering a new bucket does.
+ */
+final class WindowedCountMinSketch {
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L,
+            0xFF51AFD7ED558CCDL, 0xC4CEB9FE1A85EC53L, 0x27D4EB2F165667C5L, 0x94D049BB133111EBL
+    };
+
+    private final int depth;
+    private final int width;
+    private final long bucketMillis;
+    private final int[] windowBuckets;
+    private final AtomicIntegerArray[] ring;
+    private final AtomicIntegerArray[] windowSums;
+    private volatile long currentBucket;
+
+    /**
+     * @param depth         rows, each an independent hash of the key; at most 8
+     * @param width         cells per row, a power of two
+     * @param windowBuckets length of each window in buckets, the last one being the longest
+     */
+    WindowedCountMinSketch(int depth, int width, long bucketMillis, int[] windowBuckets, long nowMillis) {
+        if (depth < 1 || depth > SEEDS.length || Integer.bitCount(width) != 1) {
+            throw new IllegalArgumentException("depth must be 1 to 8 and width a power of two");
+        }
+        this.depth = depth;
+        this.width = width;
+        this.bucketMillis = bucketMillis;
+        this.windowBuckets = windowBuckets.clone();
+        ring = new AtomicIntegerArray[windowBuckets[windowBuckets.length - 1]];
+        for (int i = 0; i < ring.length; i++) {
+            ring[i] = new AtomicIntegerArray(depth * width);
+        }
+        windowSums = new AtomicIntegerArray[windowBuckets.length];
+        for (int i = 0; i < windowSums.length; i++) {
+            windowSums[i] = new AtomicIntegerArray(depth * width);
+        }
+        currentBucket = nowMillis / bucketMillis;
+    }
+
+    void add(long key, int count, long nowMillis) {
+        long bucket = advanceTo(nowMillis);
+        AtomicIntegerArray cells = ring[(int) (bucket % ring.length)];
+        for (int row = 0; row < depth; row++) {
+            int cell = cell(row, key);
+            cells.addAndGet(cell, count);
+            for (AtomicIntegerArray sum : windowSums) {
+                sum.addAndGet(cell, count);
+            }
+        }
+    }
+
+    long estimate(long key, int window, long nowMillis) {
+        advanceTo(nowMillis);
+        AtomicIntegerArray sum = windowSums[window];
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, sum.get(cell(row, key)));
+        }
+        return estimate;
+    }
+
+    private long advanceTo(long nowMillis) {
+        long bucket = nowMillis / bucketMillis;
+        if (bucket > currentBucket) {
+            rotate(bucket);
+        }
+        return currentBucket;
+    }
+
+    private synchronized void rotate(long bucket) {
+        if (bucket <= currentBucket) {
+            // Another thread got there first
+            return;
+        }
+        if (bucket - currentBucket >= ring.length) {
+            // Silent for a whole ring: nothing left in any window
+            for (AtomicIntegerArray cells : ring) {
+                clear(cells);
+            }
+            for (AtomicIntegerArray sum : windowSums) {
+                clear(sum);
+            }
+            currentBucket = bucket;
+            return;
+        }
+        for (long next = currentBucket + 1; next <= bucket; next++) {
+            for (int window = 0; window < windowBuckets.length; window++) {
+                AtomicIntegerArray leaving = ring[(int) Math.floorMod(next - windowBuckets[window], (long) ring.length)];
+                AtomicIntegerArray sum = windowSums[window];
+                for (int cell = 0; cell < sum.length(); cell++) {
+                    int count = leaving.get(cell);
+                    if (count != 0) {
+                        sum.addAndGet(cell, -count);
+                    }
+                }
+            }
+            // The bucket leaving the longest window is the one reused for the new bucket
+            clear(ring[(int) (next % ring.length)]);
+        }
+        currentBucket = bucket;
+    }
+
+    private static void clear(AtomicIntegerArray cells) {
+        for (int cell = 0; cell < cells.length(); cell++) {
+            cells.set(cell, 0);
+        }
+    }
+
+    private int cell(int row, long key) {
+        long hash = (key ^ SEEDS[row]) * SEEDS[(row + 1) % SEEDS.length];
+        hash ^= hash >>> 31;
+        return row * width + ((int) (hash >>> 32) & (width - 1));
+    }
+}
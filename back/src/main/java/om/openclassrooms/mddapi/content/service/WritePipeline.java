@@ -0,0 +1,293 @@
+package om.openclassrooms.mddapi.content.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import om.openclassrooms.mddapi.common.exception.ConflictException;
+import om.openclassrooms.mddapi.common.exception.ResourceNotFoundException;
+import om.openclassrooms.mddapi.common.exception.ServiceUnavailableException;
+import om.openclassrooms.mddapi.common.exception.TooManyRequestsException;
+import om.openclassrooms.mddapi.common.exception.WrongParametersException;
+import om.openclassrooms.mddapi.common.persistence.ReadYourWrites;
+import om.openclassrooms.mddapi.content.model.ArticleSimHash;
+import om.openclassrooms.mddapi.content.payload.CreateArticleRequest;
+import om.openclassrooms.mddapi.content.payload.WriteStatusResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opt-in asynchronous creation of articles and comments. Requests are validated on their thread,
+ * then queued; a single writer thread takes up to {@code batch-size} queued writes at a time and
+ * commits them in one transaction, so a posting burst holds one pooled connection instead of one
+ * per request, and Hibernate sends the inserts as JDBC batches. A write that fails rolls its batch
+ * back, and the batch is retried one write per transaction so only that one fails.
+ * <p>
+ * Duplicate detection only sees committed articles, so an article that is a near copy of an earlier
+ * one of its batch is held out of the batch transaction and fails with 409 once that one commits.
+ * <p>
+ * A full queue rejects writes (429). On shutdown the queue is drained once the web server stopped
+ * taking requests; a crash loses the queued writes. Statuses are kept on this instance only.
+ */
+@Service
+public class WritePipeline implements SmartLifecycle {
+    private static final long POLL_INTERVAL_MS = 100;
+    private static final Logger log = LoggerFactory.getLogger(WritePipeline.class);
+
+    private final ArticleService articleService;
+    private final CommentService commentService;
+    private final ReadYourWrites readYourWrites;
+    private final DuplicateArticleDetector duplicateArticleDetector;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final BlockingQueue<PendingWrite> queue;
+    private final Cache<String, TrackedWrite> statuses;
+    // Held to offer, and to stop accepting: nothing is queued once the writer may have exited
+    private final Object submitLock = new Object();
+    private boolean accepting;
+    private volatile Thread writer;
+
+    public WritePipeline(ArticleService articleService,
+                         CommentService commentService,
+                         ReadYourWrites readYourWrites,
+                         DuplicateArticleDetector duplicateArticleDetector,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${mdd.writes.async.enabled:false}") boolean enabled,
+                         @Value("${mdd.writes.async.queue-capacity:1000}") int queueCapacity,
+                         @Value("${mdd.writes.async.batch-size:50}") int batchSize,
+                         @Value("${mdd.writes.async.status-ttl:600000}") long statusTtl,
+                         MeterRegistry meterRegistry) {
+        this.articleService = articleService;
+        this.commentService = commentService;
+        this.readYourWrites = readYourWrites;
+        this.duplicateArticleDetector = duplicateArticleDetector;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.statuses = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(statusTtl))
+                .executor(Runnable::run)
+                .build();
+        Gauge.builder("writes.queue.size", queue, BlockingQueue::size)
+                .description("Writes waiting for the asynchronous writer")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Ticket submitArticle(CreateArticleRequest request, Long userId) {
+        return submit(userId, ArticleSimHash.fingerprint(request.content()),
+                () -> articleService.createArticle(request, userId));
+    }
+
+    public Ticket submitComment(Long articleId, String content, Long userId) {
+        return submit(userId, null, () -> commentService.createCommentForArticle(articleId, content, userId));
+    }
+
+    /**
+     * State of a write submitted by {@code userId}, empty once expired or for another user's write.
+     */
+    public Optional<WriteStatusResponse> getStatus(String trackingId, Long userId) {
+        TrackedWrite tracked = statuses.getIfPresent(trackingId);
+        if (tracked == null || !tracked.userId().equals(userId)) {
+            return Optional.empty();
+        }
+        return Optional.of(new WriteStatusResponse(trackingId, tracked.state(), tracked.failureStatus()));
+    }
+
+    private Ticket submit(Long userId, Long fingerprint, Runnable action) {
+        if (!enabled) {
+            throw new IllegalStateException("Asynchronous writes are disabled");
+        }
+        PendingWrite write = new PendingWrite(UUID.randomUUID().toString(), userId, fingerprint, action,
+                new CompletableFuture<>());
+        // Tracked before the writer can complete it
+        statuses.put(write.trackingId(), new TrackedWrite(userId, WriteStatusResponse.PENDING, null));
+        synchronized (submitLock) {
+            if (!accepting || !queue.offer(write)) {
+                statuses.invalidate(write.trackingId());
+                if (!accepting) {
+                    throw new ServiceUnavailableException("writes");
+                }
+                throw new TooManyRequestsException("writes");
+            }
+        }
+        return new Ticket(write.trackingId(), write.committed());
+    }
+
+    private void run() {
+        List<PendingWrite> batch = new ArrayList<>(batchSize);
+        while (true) {
+            PendingWrite first;
+            try {
+                first = queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                // Whatever is left is written by stop()
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (first == null) {
+                if (!isAccepting()) {
+                    return;
+                }
+                continue;
+            }
+            batch.add(first);
+            queue.drainTo(batch, batchSize - 1);
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<PendingWrite> batch) {
+        List<PendingWrite> copies = new ArrayList<>();
+        List<PendingWrite> writes = withoutCopies(batch, copies);
+        try {
+            transactionTemplate.executeWithoutResult(status -> writes.forEach(write -> write.action().run()));
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                fail(batch.get(0), e);
+            } else {
+                // Copies included: alone, each is checked against the articles committed before it
+                log.debug("Batch of {} writes rolled back, retried one by one", batch.size(), e);
+                batch.forEach(write -> write(List.of(write)));
+            }
+            return;
+        }
+        for (PendingWrite write : writes) {
+            // Written without the user's security context: the router could not record it
+            readYourWrites.recordWrite(write.userId());
+            statuses.put(write.trackingId(), new TrackedWrite(write.userId(), WriteStatusResponse.CREATED, null));
+            write.committed().complete(null);
+        }
+        // Their originals are committed now
+        copies.forEach(copy -> fail(copy, new ConflictException("article.duplicate")));
+    }
+
+    // The writes of the batch but the near copies of an earlier article of it, added to copies
+    private List<PendingWrite> withoutCopies(List<PendingWrite> batch, List<PendingWrite> copies) {
+        List<PendingWrite> writes = new ArrayList<>(batch.size());
+        for (PendingWrite write : batch) {
+            if (writes.stream().anyMatch(
+                    earlier -> duplicateArticleDetector.areDuplicates(write.fingerprint(), earlier.fingerprint()))) {
+                copies.add(write);
+            } else {
+                writes.add(write);
+            }
+        }
+        return writes;
+    }
+
+    private void fail(PendingWrite write, RuntimeException e) {
+        int status = failureStatus(e);
+        if (status == HttpStatus.INTERNAL_SERVER_ERROR.value()) {
+            log.warn("Queued write {} failed", write.trackingId(), e);
+        }
+        statuses.put(write.trackingId(), new TrackedWrite(write.userId(), WriteStatusResponse.FAILED, status));
+        write.committed().completeExceptionally(e);
+    }
+
+    // Same statuses as GlobalExceptionHandler
+    private static int failureStatus(RuntimeException e) {
+        if (e instanceof WrongParametersException) {
+            return HttpStatus.BAD_REQUEST.value();
+        }
+        if (e instanceof ResourceNotFoundException) {
+            return HttpStatus.NOT_FOUND.value();
+        }
+        if (e instanceof ConflictException) {
+            return HttpStatus.CONFLICT.value();
+        }
+        return HttpStatus.INTERNAL_SERVER_ERROR.value();
+    }
+
+    private boolean isAccepting() {
+        synchronized (submitLock) {
+            return accepting;
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (submitLock) {
+            accepting = true;
+        }
+        writer = Thread.ofPlatform().name("write-pipeline").start(this::run);
+    }
+
+    /**
+     * Stops taking writes and returns once every queued one is committed or failed.
+     */
+    @Override
+    public void stop() {
+        Thread running = writer;
+        if (running == null) {
+            return;
+        }
+        synchronized (submitLock) {
+            accepting = false;
+        }
+        try {
+            running.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Left by an interrupted writer; nothing can be queued any more
+        List<PendingWrite> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        for (int from = 0; from < remaining.size(); from += batchSize) {
+            write(remaining.subList(from, Math.min(from + batchSize, remaining.size())));
+        }
+        writer = null;
+        log.info("Write pipeline stopped");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return writer != null;
+    }
+
+    // Below the web server's phases (DEFAULT_PHASE - 2048 and up): stopped once requests have stopped arriving
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    /**
+     * A queued write: {@code committed} completes once it is, or exceptionally with the error the
+     * synchronous call would have thrown.
+     */
+    public record Ticket(String trackingId, CompletableFuture<Void> committed) {
+    }
+
+    // fingerprint: SimHash of an article body, null for a comment or a body too short to fingerprint
+    private record PendingWrite(String trackingId, Long userId, Long fingerprint, Runnable action,
+                                CompletableFuture<Void> committed) {
+    }
+
+    private record TrackedWrite(Long userId, String state, Integer failureStatus) {
+    }
+}
@@ -1,9 +1,11 @@
 package om.openclassrooms.mddapi.user.model;
 
 import jakarta.persistence.*;
+import om.openclassrooms.mddapi.common.persistence.IdGenerators;
 import om.openclassrooms.mddapi.content.model.Article;
 import om.openclassrooms.mddapi.content.model.Comment;
 import om.openclassrooms.mddapi.content.model.Topic;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import org.springframework.security.core.GrantedAuthority;
@@ -19,7 +21,10 @@ import java.util.Set;
 @EntityListeners(AuditingEntityListener.class)
 public class User implements UserDetails {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "users")
+    @TableGenerator(name = "users", table = IdGenerators.TABLE, pkColumnName = IdGenerators.NAME_COLUMN,
+            valueColumnName = IdGenerators.VALUE_COLUMN, pkColumnValue = "users",
+            allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long id;
 
     @Column(unique = true, nullable = false)
@@ -37,6 +42,11 @@ public class User implements UserDetails {
 
     private LocalDateTime updatedAt;
 
+    // Conditional GET version, only ever incremented by a bulk update so entity writes cannot roll it back
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private long subscriptionsVersion;
+
     @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
             name="user_topics",
@@ -107,6 +117,10 @@ public class User implements UserDetails {
         this.updatedAt = updatedAt;
     }
 
+    public long getSubscriptionsVersion() {
+        return subscriptionsVersion;
+    }
+
     public Set<Topic> getSubscribedTopics() {
         return subscribedTopics;
     }
@@ -2,8 +2,13 @@ package om.openclassrooms.mddapi.user.repository;
 
 import om.openclassrooms.mddapi.user.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -15,4 +20,12 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Boolean existsByEmailIgnoreCaseAndIdNot(String email, Long id);
     Boolean existsByUsernameIgnoreCaseAndIdNot(String username, Long id);
+
+    // Usernames are unique ignoring case: callers pass them lower-cased
+    @Query("SELECT u FROM User u WHERE LOWER(u.username) IN :usernames")
+    List<User> findAllByLowerCaseUsernameIn(@Param("usernames") Collection<String> usernames);
+
+    @Modifying
+    @Query("UPDATE User u SET u.subscriptionsVersion = u.subscriptionsVersion + 1 WHERE u.id = :userId")
+    int incrementSubscriptionsVersion(@Param("userId") Long userId);
 }
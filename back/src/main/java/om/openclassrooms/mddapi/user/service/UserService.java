@@ -1,6 +1,10 @@
 package om.openclassrooms.mddapi.user.service;
 
 import om.openclassrooms.mddapi.auth.exception.UserNotFoundException;
+import om.openclassrooms.mddapi.content.repository.ArticleRepository;
+import om.openclassrooms.mddapi.content.repository.TopicRepository;
+import om.openclassrooms.mddapi.content.service.ArticleCache;
+import om.openclassrooms.mddapi.content.service.FeedCache;
 import om.openclassrooms.mddapi.user.model.User;
 import om.openclassrooms.mddapi.user.payload.ProfileResponse;
 import om.openclassrooms.mddapi.user.payload.ProfileUpdateRequest;
@@ -13,9 +17,19 @@ import org.springframework.transaction.annotation.Transactional;
 public class UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    private final TopicRepository topicRepository;
+    private final ArticleRepository articleRepository;
+    private final FeedCache feedCache;
+    private final ArticleCache articleCache;
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                       TopicRepository topicRepository, ArticleRepository articleRepository,
+                       FeedCache feedCache, ArticleCache articleCache) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.topicRepository = topicRepository;
+        this.articleRepository = articleRepository;
+        this.feedCache = feedCache;
+        this.articleCache = articleCache;
     }
 
     @Transactional(readOnly = true)
@@ -42,6 +56,14 @@ public class UserService {
             throw new IllegalArgumentException("Username already taken");
         }
 
+        if (!username.equals(user.getUsername())) {
+            // Author names are rendered in feeds and comment lists: invalidate their ETags
+            topicRepository.incrementArticlesVersionByAuthor(userId);
+            articleRepository.incrementCommentsVersionByCommenter(userId);
+            feedCache.evictAll();
+            articleCache.invalidateByAuthor(user.getUsername());
+        }
+
         user.setEmail(email);
         user.setUsername(username);
 
@@ -142,6 +142,14 @@ class GlobalExceptionHandlerTest {
         assertEquals("Resource not found", response.getBody().get("message"));
     }
 
+    @Test
+    void handleTooManyRequests_ReturnsRetryAfter() {
+        ResponseEntity<Void> response = globalExceptionHandler.handleTooManyRequests(new TooManyRequestsException("writes"));
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst("Retry-After"));
+    }
+
     @Test
     void handleUnexpected_Success() {
         Exception ex = new RuntimeException("Unexpected error");
@@ -0,0 +1,115 @@
+package om.openclassrooms.mddapi.common.persistence;
+
+import om.openclassrooms.mddapi.MddapiApplication;
+import om.openclassrooms.mddapi.content.model.Article;
+import om.openclassrooms.mddapi.content.model.Comment;
+import om.openclassrooms.mddapi.content.model.Topic;
+import om.openclassrooms.mddapi.content.repository.ArticleRepository;
+import om.openclassrooms.mddapi.content.repository.CommentRepository;
+import om.openclassrooms.mddapi.content.repository.TopicRepository;
+import om.openclassrooms.mddapi.user.model.User;
+import om.openclassrooms.mddapi.user.repository.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times saving {@value #COMMENTS} comments in one transaction, one statement per row
+ * ({@code batch_size=1}, what IDENTITY ids force) against JDBC batches of 50, against an
+ * in-memory H2 database. Batching saves far more round trips on a networked MySQL.
+ * <p>
+ * {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="BatchInsertBenchmark"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchInsertBenchmark {
+    private static final int COMMENTS = 1000;
+
+    @Param({"1", "50"})
+    public int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private CommentRepository commentRepository;
+    private User author;
+    private Article article;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(MddapiApplication.class)
+                // Command line arguments take precedence over application.yaml
+                .run(
+                        "--APP_NAME=MDDApp",
+                        "--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:batch-insert-benchmark;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.security.jwt.secret-key=dGVzdC1zZWNyZXQta2V5LWZvci1qd3QtdG9rZW4tZ2VuZXJhdGlvbi1hbmQtdmFsaWRhdGlvbg==",
+                        "--spring.security.jwt.expiration-time=7200000",
+                        "--logging.level.root=WARN",
+                        "--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize);
+        commentRepository = context.getBean(CommentRepository.class);
+
+        author = new User();
+        author.setUsername("benchmark");
+        author.setEmail("benchmark@example.com");
+        author.setPassword("password");
+        author = context.getBean(UserRepository.class).save(author);
+        Topic topic = new Topic();
+        topic.setName("Benchmark");
+        topic.setDescription("Benchmark topic");
+        topic = context.getBean(TopicRepository.class).save(topic);
+        article = new Article();
+        article.setTitle("Benchmark");
+        article.setContent("Benchmark article");
+        article.setTopic(topic);
+        article.setAuthor(author);
+        article = context.getBean(ArticleRepository.class).save(article);
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearComments() {
+        commentRepository.deleteAllInBatch();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Comment> saveComments() {
+        List<Comment> comments = new ArrayList<>(COMMENTS);
+        for (int i = 0; i < COMMENTS; i++) {
+            Comment comment = new Comment();
+            comment.setContent("Comment " + i);
+            comment.setArticle(article);
+            comment.setAuthor(author);
+            comments.add(comment);
+        }
+        return commentRepository.saveAll(comments);
+    }
+}
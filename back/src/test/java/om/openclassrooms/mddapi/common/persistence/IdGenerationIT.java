@@ -0,0 +1,106 @@
+package om.openclassrooms.mddapi.common.persistence;
+
+import jakarta.persistence.EntityManagerFactory;
+import om.openclassrooms.mddapi.content.model.Topic;
+import om.openclassrooms.mddapi.content.repository.TopicRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Not transactional: the generator reserves blocks in its own transaction, which would wait on
+ * rows updated by a test transaction.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+        "APP_NAME=MDDApp",
+        "SERVER_PORT=8080",
+        "API_PATH=/api",
+        "spring.datasource.url=jdbc:h2:mem:idgeneration",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.security.jwt.secret-key=dGVzdC1zZWNyZXQta2V5LWZvci1qd3QtdG9rZW4tZ2VuZXJhdGlvbi1hbmQtdmFsaWRhdGlvbg==",
+        "spring.security.jwt.expiration-time=7200000",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+class IdGenerationIT {
+
+    @Autowired
+    private TopicRepository topicRepository;
+
+    @Autowired
+    private IdGeneratorInitializer idGeneratorInitializer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void tearDown() {
+        topicRepository.deleteAll();
+    }
+
+    @Test
+    void saveAll_ShouldBatchInserts() {
+        // Arrange
+        List<Topic> topics = IntStream.range(0, 100).mapToObj(i -> topic("Batched " + i)).toList();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        transactionTemplate.executeWithoutResult(status -> topicRepository.saveAll(topics));
+
+        // Assert - two JDBC batches of 50, no per-row insert
+        assertThat(topics).extracting(Topic::getId).doesNotHaveDuplicates().doesNotContainNull();
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(100);
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(10);
+    }
+
+    @Test
+    void alignWithStoredIds_ShouldAllocateAboveRowsInsertedOutsideHibernate() {
+        // Arrange - a row written by a SQL dump or AUTO_INCREMENT, far above the reserved blocks
+        long importedId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM topics", Long.class) + 1000;
+        jdbcTemplate.update("INSERT INTO topics (id, name, description, created_at, updated_at) "
+                + "VALUES (?, 'Imported', 'Imported topic', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)", importedId);
+
+        // Act
+        idGeneratorInitializer.alignWithStoredIds();
+        List<Topic> saved = new ArrayList<>();
+        // More than one block, so the generator reads the aligned table value
+        for (int i = 0; i < IdGenerators.ALLOCATION_SIZE + 1; i++) {
+            saved.add(topicRepository.save(topic("After import " + i)));
+        }
+
+        // Assert
+        assertThat(saved.get(saved.size() - 1).getId()).isGreaterThan(importedId);
+        assertThat(topicRepository.count()).isEqualTo(IdGenerators.ALLOCATION_SIZE + 2L);
+    }
+
+    private static Topic topic(String name) {
+        Topic topic = new Topic();
+        topic.setName(name);
+        topic.setDescription("Description");
+        return topic;
+    }
+}
@@ -0,0 +1,216 @@
+package om.openclassrooms.mddapi.common.persistence;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import om.openclassrooms.mddapi.auth.payload.LoginRequest;
+import om.openclassrooms.mddapi.auth.payload.LoginResponse;
+import om.openclassrooms.mddapi.auth.payload.RegistrationRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import om.openclassrooms.mddapi.content.model.Article;
+import om.openclassrooms.mddapi.content.model.ArticleHtml;
+import om.openclassrooms.mddapi.content.model.Comment;
+import om.openclassrooms.mddapi.content.model.Topic;
+import om.openclassrooms.mddapi.content.payload.CreateCommentRequest;
+import om.openclassrooms.mddapi.content.repository.ArticleRepository;
+import om.openclassrooms.mddapi.content.repository.CommentRepository;
+import om.openclassrooms.mddapi.content.repository.TopicRepository;
+import om.openclassrooms.mddapi.user.model.User;
+import om.openclassrooms.mddapi.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Two in-memory H2 databases stand in for the primary and its replica. Replication is a snapshot
+ * the test takes with {@link #replicate()}, so the replica lags until then.
+ * Not transactional: the application writes must commit to be copied.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "APP_NAME=MDDApp",
+        "SERVER_PORT=8080",
+        "API_PATH=/api",
+        "spring.datasource.url=" + ReadReplicaRoutingIT.PRIMARY_URL,
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.security.jwt.secret-key=dGVzdC1zZWNyZXQta2V5LWZvci1qd3QtdG9rZW4tZ2VuZXJhdGlvbi1hbmQtdmFsaWRhdGlvbg==",
+        "spring.security.jwt.expiration-time=7200000",
+        "mdd.datasource.replicas.urls=" + ReadReplicaRoutingIT.REPLICA_URL,
+        "mdd.datasource.read-your-writes-window=60000"
+})
+class ReadReplicaRoutingIT {
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private TopicRepository topicRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ReadYourWrites readYourWrites;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Article article;
+    private User author;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // Written without a user: they go to the primary
+        commentRepository.deleteAll();
+        articleRepository.deleteAll();
+        userRepository.deleteAll();
+        topicRepository.deleteAll();
+
+        Topic topic = new Topic();
+        topic.setName("Java");
+        topic.setDescription("Java programming");
+        topic = topicRepository.save(topic);
+        author = new User();
+        author.setUsername("author");
+        author.setEmail("author@example.com");
+        author.setPassword("not-a-hash");
+        author = userRepository.save(author);
+        article = new Article();
+        article.setTitle("Virtual threads");
+        article.setContent("Loom in practice");
+        article.setTopic(topic);
+        article.setAuthor(author);
+        article = articleRepository.save(article);
+        replicate();
+    }
+
+    @Test
+    void getComments_OtherUsersComment_ReadFromReplicaUntilReplicated() throws Exception {
+        String token = registerAndLogin("reader");
+        saveComment("Written on the primary");
+
+        getComments(token).andExpect(jsonPath("$.length()").value(0));
+
+        replicate();
+        getComments(token).andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    void createComment_OwnCommentReadBackFromPrimary() throws Exception {
+        String token = registerAndLogin("commenter");
+
+        mockMvc.perform(post("/articles/{id}/comments", article.getId())
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateCommentRequest("Mine"))))
+                .andExpect(status().isCreated());
+
+        // Not replicated yet, still visible to its author
+        getComments(token)
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].content").value("Mine"));
+        String otherToken = registerAndLogin("other");
+        getComments(otherToken).andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    void getArticleHtml_CurrentRendition_ReadFromReplica() throws Exception {
+        ArticleHtml.apply(article);
+        article = articleRepository.save(article);
+        replicate();
+        String token = registerAndLogin("reader");
+        double replicaConnections = replicaConnections();
+
+        mockMvc.perform(get("/articles/{id}", article.getId())
+                        .param("format", "html")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(content().string("<p>Loom in practice</p>\n"));
+
+        assertThat(replicaConnections()).isGreaterThan(replicaConnections);
+        // Nothing written: the reader's next reads are not held on the primary
+        User reader = userRepository.findByEmailIgnoreCaseOrUsernameIgnoreCase("reader", "reader").orElseThrow();
+        assertThat(readYourWrites.wroteRecently(reader.getId())).isFalse();
+    }
+
+    private double replicaConnections() {
+        return meterRegistry.get("datasource.connections").tag("target", "replica").counter().count();
+    }
+
+    private org.springframework.test.web.servlet.ResultActions getComments(String token) throws Exception {
+        return mockMvc.perform(get("/articles/{id}/comments", article.getId())
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+
+    private void saveComment(String content) {
+        Comment comment = new Comment();
+        comment.setContent(content);
+        comment.setArticle(article);
+        comment.setAuthor(author);
+        commentRepository.save(comment);
+    }
+
+    private String registerAndLogin(String username) throws Exception {
+        mockMvc.perform(post("/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new RegistrationRequest(username, username + "@example.com", "Password123!"))))
+                .andExpect(status().isCreated());
+        String response = mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new LoginRequest(username, "Password123!"))))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return objectMapper.readValue(response, LoginResponse.class).token();
+    }
+
+    // Copies the primary, schema and rows, over the replica
+    private static void replicate() throws SQLException {
+        try (Connection primary = DriverManager.getConnection(PRIMARY_URL, "sa", "");
+             Connection replica = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             Statement source = primary.createStatement();
+             Statement target = replica.createStatement()) {
+            target.execute("DROP ALL OBJECTS");
+            try (ResultSet script = source.executeQuery("SCRIPT")) {
+                while (script.next()) {
+                    target.execute(script.getString(1));
+                }
+            }
+        }
+    }
+}
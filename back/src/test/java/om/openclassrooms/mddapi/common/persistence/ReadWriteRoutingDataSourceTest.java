@@ -0,0 +1,167 @@
+package om.openclassrooms.mddapi.common.persistence;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import om.openclassrooms.mddapi.user.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReadWriteRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource firstReplica;
+
+    @Mock
+    private DataSource secondReplica;
+
+    @Mock
+    private Connection primaryConnection;
+
+    @Mock
+    private Connection firstReplicaConnection;
+
+    @Mock
+    private Connection secondReplicaConnection;
+
+    private ReadYourWrites readYourWrites;
+    private ReadWriteRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    void setUp() {
+        readYourWrites = new ReadYourWrites(List.of("jdbc:replica"), 60_000);
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", firstReplica);
+        replicas.put("replica-2", secondReplica);
+        routingDataSource = new ReadWriteRoutingDataSource(primary, replicas, readYourWrites, 60_000,
+                new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clear();
+        }
+    }
+
+    @Test
+    void getConnection_UserReadOnlyTransaction_RoundRobinsOverReplicas() throws SQLException {
+        authenticate(1L);
+        readOnlyTransaction();
+        when(firstReplica.getConnection()).thenReturn(firstReplicaConnection);
+        when(secondReplica.getConnection()).thenReturn(secondReplicaConnection);
+
+        assertSame(firstReplicaConnection, routingDataSource.getConnection());
+        assertSame(secondReplicaConnection, routingDataSource.getConnection());
+        assertSame(firstReplicaConnection, routingDataSource.getConnection());
+        verifyNoInteractions(primary);
+    }
+
+    @Test
+    void getConnection_NoUser_StaysOnPrimary() throws SQLException {
+        readOnlyTransaction();
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        assertSame(primaryConnection, routingDataSource.getConnection());
+        verifyNoInteractions(firstReplica, secondReplica);
+    }
+
+    @Test
+    void getConnection_ReadWriteTransaction_UsesPrimaryThenKeepsUsersReadsThere() throws SQLException {
+        authenticate(1L);
+        TransactionSynchronizationManager.initSynchronization();
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        assertSame(primaryConnection, routingDataSource.getConnection());
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clear();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        readOnlyTransaction();
+        assertTrue(readYourWrites.wroteRecently(1L));
+        assertSame(primaryConnection, routingDataSource.getConnection());
+        verifyNoInteractions(firstReplica, secondReplica);
+    }
+
+    @Test
+    void getConnection_OtherUserWrote_ReadsFromReplica() throws SQLException {
+        readYourWrites.recordWrite(2L);
+        authenticate(1L);
+        readOnlyTransaction();
+        when(firstReplica.getConnection()).thenReturn(firstReplicaConnection);
+
+        assertSame(firstReplicaConnection, routingDataSource.getConnection());
+    }
+
+    @Test
+    void getConnection_ReplicaDown_SkippedUntilRetry() throws SQLException {
+        authenticate(1L);
+        readOnlyTransaction();
+        when(firstReplica.getConnection()).thenThrow(new SQLTransientConnectionException("refused"));
+        when(secondReplica.getConnection()).thenReturn(secondReplicaConnection);
+
+        assertSame(secondReplicaConnection, routingDataSource.getConnection());
+        assertSame(secondReplicaConnection, routingDataSource.getConnection());
+        assertSame(secondReplicaConnection, routingDataSource.getConnection());
+        verify(firstReplica, times(1)).getConnection();
+    }
+
+    @Test
+    void getConnection_EveryReplicaDown_FallsBackToPrimary() throws SQLException {
+        authenticate(1L);
+        readOnlyTransaction();
+        when(firstReplica.getConnection()).thenThrow(new SQLTransientConnectionException("refused"));
+        when(secondReplica.getConnection()).thenThrow(new SQLTransientConnectionException("refused"));
+        when(primary.getConnection()).thenReturn(primaryConnection);
+
+        assertSame(primaryConnection, routingDataSource.getConnection());
+        assertSame(primaryConnection, routingDataSource.getConnection());
+        verify(firstReplica, times(1)).getConnection();
+        verify(secondReplica, times(1)).getConnection();
+    }
+
+    @Test
+    void recordWrite_NoReplicas_IsIgnored() {
+        ReadYourWrites withoutReplicas = new ReadYourWrites(List.of(), 60_000);
+
+        withoutReplicas.recordWrite(1L);
+
+        assertFalse(withoutReplicas.wroteRecently(1L));
+    }
+
+    private static void authenticate(Long userId) {
+        User user = new User();
+        user.setId(userId);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, List.of()));
+    }
+
+    private static void readOnlyTransaction() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.initSynchronization();
+        }
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    }
+}
@@ -5,6 +5,7 @@ import om.openclassrooms.mddapi.auth.payload.LoginRequest;
 import om.openclassrooms.mddapi.auth.payload.LoginResponse;
 import om.openclassrooms.mddapi.auth.payload.RegistrationRequest;
 import om.openclassrooms.mddapi.content.model.Article;
+import om.openclassrooms.mddapi.content.model.ArticleHtml;
 import om.openclassrooms.mddapi.content.model.Topic;
 import om.openclassrooms.mddapi.content.payload.ArticleResponse;
 import om.openclassrooms.mddapi.content.payload.CommentResponse;
@@ -12,14 +13,25 @@ import om.openclassrooms.mddapi.content.payload.CreateArticleRequest;
 import om.openclassrooms.mddapi.content.payload.CreateCommentRequest;
 import om.openclassrooms.mddapi.content.repository.ArticleRepository;
 import om.openclassrooms.mddapi.content.repository.TopicRepository;
+import om.openclassrooms.mddapi.content.service.ArticleService;
+import om.openclassrooms.mddapi.content.service.ArticleViewCounter;
+import om.openclassrooms.mddapi.content.service.HybridFeedEngine;
+import om.openclassrooms.mddapi.content.service.TimelineService;
 import om.openclassrooms.mddapi.user.model.User;
 import om.openclassrooms.mddapi.user.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
@@ -28,10 +40,13 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
+import static org.hamcrest.Matchers.not;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -49,7 +64,14 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
         "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
         "spring.jpa.hibernate.ddl-auto=create-drop",
         "spring.security.jwt.secret-key=dGVzdC1zZWNyZXQta2V5LWZvci1qd3QtdG9rZW4tZ2VuZXJhdGlvbi1hbmQtdmFsaWRhdGlvbg==",
-        "spring.security.jwt.expiration-time=7200000"
+        "spring.security.jwt.expiration-time=7200000",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "mdd.articles.import.enabled=true",
+        "mdd.feed.timeline-enabled=true",
+        // Flushed by the tests themselves: a background flush cannot see their uncommitted rows
+        "mdd.articles.views.flush-interval=3600000",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=om.openclassrooms.mddapi.content.controller.ArticleControllerIT$StatementRecorder",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
 })
 @Transactional
 class ArticleControllerIT {
@@ -60,6 +82,9 @@ class ArticleControllerIT {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private ArticleViewCounter articleViewCounter;
+
     @Autowired
     private ArticleRepository articleRepository;
 
@@ -69,6 +94,18 @@ class ArticleControllerIT {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private TimelineService timelineService;
+
+    @Autowired
+    private HybridFeedEngine hybridFeedEngine;
+
+    @Autowired
+    private ArticleService articleService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     private String authToken;
     private User testUser;
     private Topic testTopic;
@@ -182,6 +219,67 @@ class ArticleControllerIT {
                 .containsExactly("Article 1", "Article 2");
     }
 
+    @Test
+    void getArticlesPage_ShouldWalkFeedWithCursor() throws Exception {
+        // Arrange - Create three articles
+        for (int i = 1; i <= 3; i++) {
+            Article article = new Article();
+            article.setTitle("Article " + i);
+            article.setContent("Content " + i);
+            article.setTopic(testTopic);
+            article.setAuthor(testUser);
+            articleRepository.save(article);
+        }
+        timelineService.rebuild();
+        hybridFeedEngine.warmUp();
+
+        // Act - First page
+        String firstPage = mockMvc.perform(get("/articles")
+                        .header("Authorization", "Bearer " + authToken)
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].title").value("Article 3"))
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        String nextCursor = objectMapper.readTree(firstPage).get("nextCursor").asText();
+
+        // Assert - Second page starts right after the cursor and is the last one
+        mockMvc.perform(get("/articles")
+                        .header("Authorization", "Bearer " + authToken)
+                        .param("limit", "2")
+                        .param("cursor", nextCursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].title").value("Article 1"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void getAllArticles_SummaryView_ShouldReturnStoredExcerptWithoutContent() throws Exception {
+        // Arrange
+        CreateArticleRequest request = new CreateArticleRequest("Long Article", "mot ".repeat(450), testTopic.getId());
+        mockMvc.perform(post("/articles")
+                        .header("Authorization", "Bearer " + authToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+
+        // Act & Assert
+        mockMvc.perform(get("/articles")
+                        .header("Authorization", "Bearer " + authToken)
+                        .param("view", "summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Long Article"))
+                .andExpect(jsonPath("$[0].wordCount").value(450))
+                .andExpect(jsonPath("$[0].readingTimeMinutes").value(3))
+                .andExpect(jsonPath("$[0].excerpt").isNotEmpty())
+                .andExpect(jsonPath("$[0].content").doesNotExist());
+    }
+
     @Test
     void getAllArticles_Empty_ShouldReturnEmptyList() throws Exception {
         // Act & Assert
@@ -211,6 +309,456 @@ class ArticleControllerIT {
                 .andExpect(jsonPath("$.content").value("Test Content"));
     }
 
+    @Test
+    void getArticleById_ShouldCountViewsAndFlushThemInOneUpdate() throws Exception {
+        // Arrange
+        Article article = new Article();
+        article.setTitle("Popular");
+        article.setContent("Content");
+        article.setTopic(testTopic);
+        article.setAuthor(testUser);
+        articleRepository.save(article);
+
+        // Act - three views, the third one sees the first two before any flush
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/articles/{id}", article.getId())
+                            .header("Authorization", "Bearer " + authToken))
+                    .andExpect(status().isOk());
+        }
+        mockMvc.perform(get("/articles/{id}", article.getId())
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(jsonPath("$.viewCount").value(2));
+        articleViewCounter.flush();
+
+        // Assert - stored, and added to the cached copy instead of evicting it
+        entityManager.clear();
+        assertThat(articleRepository.findById(article.getId()).orElseThrow().getViewCount()).isEqualTo(3);
+        mockMvc.perform(get("/articles/{id}", article.getId())
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(jsonPath("$.viewCount").value(3));
+    }
+
+    @Test
+    void getTrendingArticles_ShouldRankViewedArticlesOfSubscribedTopics() throws Exception {
+        // Arrange - one article viewed twice, another once
+        Long[] ids = new Long[2];
+        for (int i = 0; i < 2; i++) {
+            Article article = new Article();
+            article.setTitle("Trending " + i);
+            article.setContent("Content");
+            article.setTopic(testTopic);
+            article.setAuthor(testUser);
+            ids[i] = articleRepository.save(article).getId();
+        }
+        for (Long id : List.of(ids[1], ids[0], ids[1])) {
+            mockMvc.perform(get("/articles/{id}", id)
+                            .header("Authorization", "Bearer " + authToken))
+                    .andExpect(status().isOk());
+        }
+
+        // Act & Assert
+        mockMvc.perform(get("/articles/trending")
+                        .header("Authorization", "Bearer " + authToken)
+                        .param("window", "24h"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].title").value("Trending 1"))
+                .andExpect(jsonPath("$[1].title").value("Trending 0"));
+    }
+
+    @Test
+    void getArticleHtml_ShouldServeSanitizedRenditionWithStableETag() throws Exception {
+        // Arrange
+        CreateArticleRequest request = new CreateArticleRequest("Markdown",
+                "## Étape 1\n\n<script>alert(1)</script>\n\n[lien](javascript:alert(1))", testTopic.getId());
+        mockMvc.perform(post("/articles")
+                        .header("Authorization", "Bearer " + authToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+        Long articleId = articleRepository.findAll().get(0).getId();
+
+        // Act & Assert
+        MockHttpServletResponse response = mockMvc.perform(get("/articles/{id}", articleId)
+                        .header("Authorization", "Bearer " + authToken)
+                        .param("format", "html"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_HTML))
+                .andReturn()
+                .getResponse();
+        String html = response.getContentAsString(StandardCharsets.UTF_8);
+        assertThat(html).contains("<h2>Étape 1</h2>", "&lt;script&gt;", "href=\"\">lien</a>")
+                .doesNotContain("<script", "javascript:");
+
+        mockMvc.perform(get("/articles/{id}", articleId)
+                        .header("Authorization", "Bearer " + authToken)
+                        .header("If-None-Match", response.getHeader("ETag"))
+                        .param("format", "html"))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getArticleHtml_ArticleWithoutRendition_ShouldRenderItOnFirstRead() throws Exception {
+        // Arrange - saved behind the service's back, like rows older than renditions
+        Article article = new Article();
+        article.setTitle("Legacy");
+        article.setContent("*Ancien*");
+        article.setTopic(testTopic);
+        article.setAuthor(testUser);
+        articleRepository.save(article);
+
+        // Act & Assert
+        mockMvc.perform(get("/articles/{id}", article.getId())
+                        .header("Authorization", "Bearer " + authToken)
+                        .param("format", "html"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + ArticleHtml.hash("*Ancien*") + "\""))
+                .andExpect(content().string("<p><em>Ancien</em></p>\n"));
+        assertThat(articleRepository.findContentHashById(article.getId())).contains(ArticleHtml.hash("*Ancien*"));
+    }
+
+    @Test
+    void getArticleHtml_NotFound_ShouldReturnNotFound() throws Exception {
+        mockMvc.perform(get("/articles/{id}", 999L)
+                        .header("Authorization", "Bearer " + authToken)
+                        .param("format", "html"))
+                .andExpect(status().isNotFound());
+    }
+
+    /**
+     * Flushes pending fixtures and empties the persistence context, then resets the counters,
+     * so the returned statistics only see the statements issued by the next request.
+     */
+    @Test
+    void exportArticles_ShouldStreamWholeFeedAsJsonArrayOrNdjson() throws Exception {
+        // Arrange
+        for (int i = 1; i <= 3; i++) {
+            Article article = new Article();
+            article.setTitle("Article " + i);
+            article.setContent("Content " + i);
+            article.setTopic(testTopic);
+            article.setAuthor(testUser);
+            articleRepository.save(article);
+        }
+
+        // Act & Assert - JSON array
+        mockMvc.perform(get("/articles/export")
+                        .header("Authorization", "Bearer " + authToken)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .param("sort", "id,asc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].title").value("Article 1"));
+
+        // Act & Assert - NDJSON, one article per line
+        Statistics statistics = resetStatistics();
+        String ndjson = mockMvc.perform(get("/articles/export")
+                        .header("Authorization", "Bearer " + authToken)
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .param("sort", "id,asc"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        List<String> lines = ndjson.lines().toList();
+        assertThat(lines).hasSize(3);
+        assertThat(objectMapper.readTree(lines.get(2)).get("title").asText()).isEqualTo("Article 3");
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(1);
+    }
+
+    @Test
+    void feedAndComments_ETag_ShouldAnswerNotModifiedUntilWritesBumpVersions() throws Exception {
+        // Arrange
+        Article article = new Article();
+        article.setTitle("Article");
+        article.setContent("Content");
+        article.setTopic(testTopic);
+        article.setAuthor(testUser);
+        articleRepository.save(article);
+        String feedETag = mockMvc.perform(get("/articles")
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        String commentsETag = mockMvc.perform(get("/articles/{id}/comments", article.getId())
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        // Act & Assert - unchanged, answered from the version alone
+        Statistics statistics = resetStatistics();
+        mockMvc.perform(get("/articles")
+                        .header("Authorization", "Bearer " + authToken)
+                        .header("If-None-Match", feedETag))
+                .andExpect(status().isNotModified());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        mockMvc.perform(get("/articles/{id}/comments", article.getId())
+                        .header("Authorization", "Bearer " + authToken)
+                        .header("If-None-Match", commentsETag))
+                .andExpect(status().isNotModified());
+
+        // Act & Assert - a comment changes the comments version, and the feed's for its count
+        mockMvc.perform(post("/articles/{id}/comments", article.getId())
+                        .header("Authorization", "Bearer " + authToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateCommentRequest("New comment"))))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/articles/{id}/comments", article.getId())
+                        .header("Authorization", "Bearer " + authToken)
+                        .header("If-None-Match", commentsETag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+        feedETag = mockMvc.perform(get("/articles")
+                        .header("Authorization", "Bearer " + authToken)
+                        .header("If-None-Match", feedETag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        // Act & Assert - a new article in a subscribed topic changes the feed version
+        mockMvc.perform(post("/articles")
+                        .header("Authorization", "Bearer " + authToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateArticleRequest("Second", "Content", testTopic.getId()))))
+                .andExpect(status().isCreated());
+        mockMvc.perform(get("/articles")
+                        .header("Authorization", "Bearer " + authToken)
+                        .header("If-None-Match", feedETag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @Test
+    void streamArticles_ShouldOpenEventStreamForAuthenticatedUser() throws Exception {
+        mockMvc.perform(get("/articles/stream")
+                        .header("Authorization", "Bearer " + authToken)
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+
+        mockMvc.perform(get("/articles/stream")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isUnauthorized());
+    }
+
+    /**
+     * Records the SQL sent by Hibernate, to assert which columns a path reads.
+     */
+    public static class StatementRecorder implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    private Statistics resetStatistics() {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    @Test
+    void readEndpoints_ShouldIssueFixedStatementCountWithoutHydratingEntities() throws Exception {
+        // Arrange
+        for (int i = 1; i <= 5; i++) {
+            Article article = new Article();
+            article.setTitle("Article " + i);
+            article.setContent("Content " + i);
+            article.setTopic(testTopic);
+            article.setAuthor(testUser);
+            articleRepository.save(article);
+        }
+        Long articleId = articleRepository.findAll().get(0).getId();
+        mockMvc.perform(post("/articles/{id}/comments", articleId)
+                        .header("Authorization", "Bearer " + authToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateCommentRequest("First comment"))))
+                .andExpect(status().isCreated());
+
+        // Act & Assert - one statement authenticates the caller, one reads the ETag version, one the projection
+        Statistics statistics = resetStatistics();
+        mockMvc.perform(get("/articles")
+                        .header("Authorization", "Bearer " + authToken)
+                        .param("sort", "createdAt,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(5));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(1);
+
+        // Paged feed: the first page loads the cached head of the feed
+        String firstPage = mockMvc.perform(get("/articles")
+                        .header("Authorization", "Bearer " + authToken)
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        String nextCursor = objectMapper.readTree(firstPage).get("nextCursor").asText();
+
+        // Pages within the head: only the caller is read, once as the test transaction keeps it
+        statistics = resetStatistics();
+        mockMvc.perform(get("/articles")
+                        .header("Authorization", "Bearer " + authToken)
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2));
+        mockMvc.perform(get("/articles")
+                        .header("Authorization", "Bearer " + authToken)
+                        .param("limit", "2")
+                        .param("cursor", nextCursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        statistics = resetStatistics();
+        mockMvc.perform(get("/articles/{id}", articleId)
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(1);
+
+        statistics = resetStatistics();
+        mockMvc.perform(get("/articles/{id}/comments", articleId)
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(1);
+    }
+
+    @Test
+    void compressedContent_ShouldBeServedLikePlainContent() throws Exception {
+        // Arrange
+        String content = "Dans ce tutoriel, nous allons voir comment configurer Spring Boot. ".repeat(50);
+        Article article = new Article();
+        article.setTitle("Compressed");
+        article.setContent(content);
+        article.setTopic(testTopic);
+        article.setAuthor(testUser);
+        article = articleRepository.save(article);
+        entityManager.flush();
+
+        // Act
+        List<Long> compressed = articleService.compressContentBatch(article.getId() - 1, 10);
+        entityManager.clear();
+
+        // Assert - the plain column is emptied, the body is inflated on read
+        assertThat(compressed).containsExactly(article.getId());
+        Object plain = entityManager.createNativeQuery("SELECT content FROM articles WHERE id = :id")
+                .setParameter("id", article.getId())
+                .getSingleResult();
+        assertThat(plain).isNull();
+        assertThat(articleRepository.findById(article.getId()).orElseThrow().getContent()).isEqualTo(content);
+        mockMvc.perform(get("/articles/{id}", article.getId())
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content").value(content));
+        mockMvc.perform(get("/articles")
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].content").value(content));
+    }
+
+    @Test
+    void createComment_ShouldLoadArticleWithoutBody() throws Exception {
+        // Arrange
+        Article article = new Article();
+        article.setTitle("Long");
+        article.setContent("x".repeat(10000));
+        article.setTopic(testTopic);
+        article.setAuthor(testUser);
+        article = articleRepository.save(article);
+        resetStatistics();
+        StatementRecorder.STATEMENTS.clear();
+
+        // Act
+        mockMvc.perform(post("/articles/{id}/comments", article.getId())
+                        .header("Authorization", "Bearer " + authToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateCommentRequest("Comment"))))
+                .andExpect(status().isCreated());
+
+        // Assert - the 10k body column is never selected
+        List<String> articleSelects = StatementRecorder.STATEMENTS.stream()
+                .filter(sql -> sql.startsWith("select") && sql.contains("from articles"))
+                .toList();
+        assertThat(articleSelects).hasSize(1);
+        assertThat(articleSelects.get(0)).doesNotContain("content");
+        assertThat(Hibernate.isPropertyInitialized(entityManager.find(Article.class, article.getId()), "content")).isFalse();
+    }
+
+    @Test
+    void articleEntity_ShouldLoadBodyOnFirstAccessOnly() {
+        // Arrange
+        Article article = new Article();
+        article.setTitle("Lazy");
+        article.setContent("Body");
+        article.setTopic(testTopic);
+        article.setAuthor(testUser);
+        Long articleId = articleRepository.save(article).getId();
+        Statistics statistics = resetStatistics();
+
+        // Act & Assert - list and reference loads skip the body group
+        Article loaded = articleRepository.findById(articleId).orElseThrow();
+        assertThat(Hibernate.isPropertyInitialized(loaded, "content")).isFalse();
+        assertThat(Hibernate.isPropertyInitialized(loaded, "contentData")).isFalse();
+        long statements = statistics.getPrepareStatementCount();
+
+        // Act & Assert - one extra select fetches both body columns
+        assertThat(loaded.getContent()).isEqualTo("Body");
+        assertThat(Hibernate.isPropertyInitialized(loaded, "contentData")).isTrue();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements + 1);
+    }
+
+    @Test
+    void bodyBatches_ShouldFetchBodiesWithTheirArticles() {
+        // Arrange
+        for (int i = 1; i <= 5; i++) {
+            Article article = new Article();
+            article.setTitle("Article " + i);
+            article.setContent("Content " + i);
+            article.setTopic(testTopic);
+            article.setAuthor(testUser);
+            articleRepository.save(article);
+        }
+        resetStatistics();
+        StatementRecorder.STATEMENTS.clear();
+
+        // Act - the jobs read every body they load
+        articleService.summarizeBatch(10);
+        articleService.trainContentDictionary(10);
+
+        // Assert - one select per job, no lazy select per article
+        assertThat(StatementRecorder.STATEMENTS.stream().filter(sql -> sql.startsWith("select")))
+                .hasSize(2)
+                .allMatch(sql -> sql.contains(".content,"));
+    }
+
+    @Test
+    void articleEntity_UpdateWithoutBodyLoaded_ShouldKeepBody() {
+        // Arrange
+        Article article = new Article();
+        article.setTitle("Title");
+        article.setContent("Body");
+        article.setTopic(testTopic);
+        article.setAuthor(testUser);
+        Long articleId = articleRepository.save(article).getId();
+        resetStatistics();
+
+        // Act
+        articleRepository.findById(articleId).orElseThrow().setTitle("Renamed");
+        resetStatistics();
+
+        // Assert
+        Article reloaded = articleRepository.findById(articleId).orElseThrow();
+        assertThat(reloaded.getTitle()).isEqualTo("Renamed");
+        assertThat(reloaded.getContent()).isEqualTo("Body");
+    }
+
     @Test
     void getArticleById_NotFound_ShouldReturnNotFound() throws Exception {
         // Act & Assert
@@ -294,6 +842,49 @@ class ArticleControllerIT {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void createCommentForArticle_ShouldRefreshFeedCommentCount() throws Exception {
+        // Arrange - the feed list with its ETag, and the cached first page
+        Article article = new Article();
+        article.setTitle("Commented");
+        article.setContent("Content");
+        article.setTopic(testTopic);
+        article.setAuthor(testUser);
+        articleRepository.save(article);
+        String etag = mockMvc.perform(get("/articles")
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].commentCount").value(0))
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+        mockMvc.perform(get("/articles")
+                        .header("Authorization", "Bearer " + authToken)
+                        .param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].commentCount").value(0));
+
+        // Act
+        mockMvc.perform(post("/articles/{id}/comments", article.getId())
+                        .header("Authorization", "Bearer " + authToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateCommentRequest("First"))))
+                .andExpect(status().isCreated());
+
+        // Assert - new ETag and count, and the cached page is dropped
+        mockMvc.perform(get("/articles")
+                        .header("Authorization", "Bearer " + authToken)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)))
+                .andExpect(jsonPath("$[0].commentCount").value(1));
+        mockMvc.perform(get("/articles")
+                        .header("Authorization", "Bearer " + authToken)
+                        .param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].commentCount").value(1));
+    }
+
     @Test
     void createCommentForArticle_Success_ShouldCreateComment() throws Exception {
         // Arrange - Create article
@@ -330,6 +921,51 @@ class ArticleControllerIT {
         assertThat(commentList.get(0).content()).isEqualTo("Great article!");
     }
 
+    @Test
+    void getCommentsPage_WalksThreadAndArticleCountsComments() throws Exception {
+        // Arrange
+        Article article = new Article();
+        article.setTitle("Test Article");
+        article.setContent("Test Content");
+        article.setTopic(testTopic);
+        article.setAuthor(testUser);
+        articleRepository.save(article);
+        for (String comment : List.of("First", "Second", "Third")) {
+            mockMvc.perform(post("/articles/{id}/comments", article.getId())
+                            .header("Authorization", "Bearer " + authToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new CreateCommentRequest(comment))))
+                    .andExpect(status().isCreated());
+        }
+
+        // Act & Assert - the stored count, no COUNT query
+        mockMvc.perform(get("/articles/{id}", article.getId())
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.commentCount").value(3));
+
+        // Act & Assert - oldest first, two pages
+        String firstPage = mockMvc.perform(get("/articles/{id}/comments", article.getId())
+                        .header("Authorization", "Bearer " + authToken)
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].content").value("First"))
+                .andExpect(jsonPath("$.items[1].content").value("Second"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        String cursor = objectMapper.readTree(firstPage).get("nextCursor").asText();
+        mockMvc.perform(get("/articles/{id}/comments", article.getId())
+                        .header("Authorization", "Bearer " + authToken)
+                        .param("limit", "2")
+                        .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].content").value("Third"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
     @Test
     void createCommentForArticle_WithoutAuth_ShouldReturnUnauthorized() throws Exception {
         // Arrange
@@ -423,4 +1059,88 @@ class ArticleControllerIT {
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$.length()").value(0));
     }
+
+    @Test
+    void importArticles_ShouldStoreValidLinesAndReportRejectedOnes() throws Exception {
+        // Arrange
+        String ndjson = """
+                {"title":"Imported older","content":"Old body","topic":"Java","createdAt":"2020-01-01T08:00:00","comments":[{"content":"Imported comment","author":"TESTUSER","createdAt":"2020-01-02T09:30:00"}]}
+                {"title":"Imported newer","content":"New body","topic":"java","createdAt":"2021-06-01T08:00:00"}
+                {"title":"Lost","content":"Body","topic":"Cobol"}
+                """;
+
+        // Act & Assert
+        mockMvc.perform(post("/articles/import")
+                        .header("Authorization", "Bearer " + authToken)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.importedArticles").value(2))
+                .andExpect(jsonPath("$.importedComments").value(1))
+                .andExpect(jsonPath("$.failedLines").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(3))
+                .andExpect(jsonPath("$.errors[0].message").value("topic: unknown topic 'Cobol'"));
+
+        // Imported creation dates order the feed, served from the timeline
+        mockMvc.perform(get("/articles")
+                        .header("Authorization", "Bearer " + authToken)
+                        .param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].title").value("Imported newer"))
+                .andExpect(jsonPath("$.items[1].title").value("Imported older"))
+                .andExpect(jsonPath("$.items[1].author").value("testuser"))
+                .andExpect(jsonPath("$.items[1].commentCount").value(1))
+                .andExpect(jsonPath("$.items[1].viewCount").doesNotExist());
+
+        Article older = articleRepository.findAll().stream()
+                .filter(article -> article.getTitle().equals("Imported older"))
+                .findFirst()
+                .orElseThrow();
+        assertThat(older.getCreatedAt()).isEqualTo(LocalDateTime.of(2020, 1, 1, 8, 0));
+        assertThat(older.getExcerpt()).isEqualTo("Old body");
+        mockMvc.perform(get("/articles/{id}/comments", older.getId())
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].content").value("Imported comment"))
+                .andExpect(jsonPath("$[0].author").value("testuser"))
+                .andExpect(jsonPath("$[0].createdAt").value("2020/01/02 09:30"));
+    }
+
+    @Test
+    void importArticles_ShouldInvalidateCachedFeed() throws Exception {
+        // Arrange - cache the feed and its ETag
+        String etag = mockMvc.perform(get("/articles")
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0))
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        // Act
+        mockMvc.perform(post("/articles/import")
+                        .header("Authorization", "Bearer " + authToken)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"title\":\"Imported\",\"content\":\"Body\",\"topic\":\"Java\"}\n"))
+                .andExpect(status().isOk());
+
+        // Assert
+        mockMvc.perform(get("/articles")
+                        .header("Authorization", "Bearer " + authToken)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].title").value("Imported"));
+    }
+
+    @Test
+    void importArticles_WithoutToken_ShouldBeRejected() throws Exception {
+        mockMvc.perform(post("/articles/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"title\":\"Imported\",\"content\":\"Body\",\"topic\":\"Java\"}\n"))
+                .andExpect(status().is4xxClientError());
+
+        assertThat(articleRepository.count()).isZero();
+    }
 }
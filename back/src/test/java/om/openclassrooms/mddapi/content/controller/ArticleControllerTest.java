@@ -1,12 +1,25 @@
 package om.openclassrooms.mddapi.content.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import om.openclassrooms.mddapi.common.exception.ResourceNotFoundException;
+import om.openclassrooms.mddapi.common.exception.ServiceUnavailableException;
+import om.openclassrooms.mddapi.content.payload.ArticlePageResponse;
 import om.openclassrooms.mddapi.content.payload.ArticleResponse;
+import om.openclassrooms.mddapi.content.payload.ArticleSummaryResponse;
 import om.openclassrooms.mddapi.content.payload.CommentResponse;
 import om.openclassrooms.mddapi.content.payload.CreateArticleRequest;
 import om.openclassrooms.mddapi.content.payload.CreateCommentRequest;
+import om.openclassrooms.mddapi.content.payload.ImportLineError;
+import om.openclassrooms.mddapi.content.payload.ImportResponse;
+import om.openclassrooms.mddapi.content.service.ArticleImportService;
 import om.openclassrooms.mddapi.content.service.ArticleService;
+import om.openclassrooms.mddapi.content.service.ArticleStreamService;
+import om.openclassrooms.mddapi.content.service.ArticleViewCounter;
 import om.openclassrooms.mddapi.content.service.CommentService;
+import om.openclassrooms.mddapi.content.service.ReadTracker;
+import om.openclassrooms.mddapi.content.service.TrendingArticles;
+import om.openclassrooms.mddapi.content.service.WritePipeline;
+import om.openclassrooms.mddapi.common.exception.TooManyRequestsException;
 import om.openclassrooms.mddapi.user.model.User;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -17,11 +30,18 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
@@ -49,6 +69,24 @@ class ArticleControllerTest {
     @MockitoBean
     private CommentService commentService;
 
+    @MockitoBean
+    private ArticleStreamService articleStreamService;
+
+    @MockitoBean
+    private ArticleImportService articleImportService;
+
+    @MockitoBean
+    private ArticleViewCounter articleViewCounter;
+
+    @MockitoBean
+    private TrendingArticles trendingArticles;
+
+    @MockitoBean
+    private ReadTracker readTracker;
+
+    @MockitoBean
+    private WritePipeline writePipeline;
+
     @MockitoBean
     private om.openclassrooms.mddapi.common.utils.MessageResolver messageResolver;
     
@@ -72,7 +110,7 @@ class ArticleControllerTest {
         testUser.setUsername("testuser");
 
         articleResponse = new ArticleResponse(1L, "Test Article", "Test Content", "testuser", 1L,
-                "Test Topic", LocalDateTime.now(), LocalDateTime.now());
+                "Test Topic", LocalDateTime.now(), LocalDateTime.now(), 0L, 0);
 
         commentResponse = new CommentResponse(1L, "Test Comment", "testuser", 1L, LocalDateTime.now());
     }
@@ -91,6 +129,149 @@ class ArticleControllerTest {
         verify(articleService).getAllArticlesForUser(eq(1L), any(Sort.class));
     }
 
+    @Test
+    void getArticlesPage_Success() throws Exception {
+        ArticlePageResponse<ArticleResponse> page = new ArticlePageResponse<>(List.of(articleResponse), "next");
+        when(articleService.getArticlesPageForUser(1L, "abc", 20)).thenReturn(page);
+
+        mockMvc.perform(get("/articles")
+                        .param("limit", "20")
+                        .param("cursor", "abc")
+                        .requestAttr("user", testUser))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(1L))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+
+        verify(articleService, never()).getAllArticlesForUser(anyLong(), any(Sort.class));
+    }
+
+    @Test
+    void getArticleSummaries_Success() throws Exception {
+        ArticleSummaryResponse summary = new ArticleSummaryResponse(1L, "Test Article", "Test…", 120, 1,
+                "testuser", 1L, "Test Topic", LocalDateTime.now(), LocalDateTime.now());
+        when(articleService.getAllArticleSummariesForUser(eq(1L), any(Sort.class))).thenReturn(List.of(summary));
+
+        mockMvc.perform(get("/articles")
+                        .param("view", "summary")
+                        .requestAttr("user", testUser))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].excerpt").value("Test…"))
+                .andExpect(jsonPath("$[0].wordCount").value(120))
+                .andExpect(jsonPath("$[0].content").doesNotExist());
+
+        verify(articleService, never()).getAllArticlesForUser(anyLong(), any(Sort.class));
+    }
+
+    @Test
+    void getArticleSummariesPage_Success() throws Exception {
+        ArticleSummaryResponse summary = new ArticleSummaryResponse(1L, "Test Article", "Test…", 120, 1,
+                "testuser", 1L, "Test Topic", LocalDateTime.now(), LocalDateTime.now());
+        when(articleService.getArticleSummariesPageForUser(1L, null, 20))
+                .thenReturn(new ArticlePageResponse<>(List.of(summary), null));
+
+        mockMvc.perform(get("/articles")
+                        .param("view", "summary")
+                        .param("limit", "20")
+                        .requestAttr("user", testUser))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].readingTimeMinutes").value(1));
+
+        verify(articleService, never()).getArticlesPageForUser(anyLong(), any(), anyInt());
+    }
+
+    @Test
+    void searchArticles_Success() throws Exception {
+        ArticleSummaryResponse summary = new ArticleSummaryResponse(1L, "Test Article", "Test…", 120, 1,
+                "testuser", 1L, "Test Topic", LocalDateTime.now(), LocalDateTime.now());
+        when(articleService.searchArticles(1L, "java streams", 20)).thenReturn(List.of(summary));
+
+        mockMvc.perform(get("/articles/search")
+                        .param("q", "java streams")
+                        .requestAttr("user", testUser))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1L))
+                .andExpect(jsonPath("$[0].content").doesNotExist());
+    }
+
+    @Test
+    void getTrendingArticles_DefaultsToLastHour() throws Exception {
+        ArticleSummaryResponse summary = new ArticleSummaryResponse(1L, "Test Article", "Test…", 120, 1,
+                "testuser", 1L, "Test Topic", LocalDateTime.now(), LocalDateTime.now());
+        when(articleService.getTrendingArticles(1L, "1h", 10)).thenReturn(List.of(summary));
+
+        mockMvc.perform(get("/articles/trending")
+                        .requestAttr("user", testUser))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1L));
+    }
+
+    @Test
+    void getRelatedArticles_DefaultsToFive() throws Exception {
+        ArticleSummaryResponse summary = new ArticleSummaryResponse(2L, "Related Article", "Test…", 120, 1,
+                "testuser", 1L, "Test Topic", LocalDateTime.now(), LocalDateTime.now());
+        when(articleService.getRelatedArticles(1L, 1L, 5)).thenReturn(List.of(summary));
+
+        mockMvc.perform(get("/articles/1/related")
+                        .requestAttr("user", testUser))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(2L));
+    }
+
+    @Test
+    void searchArticles_IndexNotReady_ReturnsServiceUnavailable() throws Exception {
+        when(articleService.searchArticles(1L, "java", 5))
+                .thenThrow(new ServiceUnavailableException("articles.search.indexing"));
+
+        mockMvc.perform(get("/articles/search")
+                        .param("q", "java")
+                        .param("limit", "5")
+                        .requestAttr("user", testUser))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "30"));
+    }
+
+    @Test
+    void exportArticles_Json_WritesStreamedRowsAsArray() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<ArticleResponse> sink = invocation.getArgument(2);
+            sink.accept(articleResponse);
+            sink.accept(articleResponse);
+            return null;
+        }).when(articleService).streamAllArticlesForUser(eq(1L), any(Sort.class), any());
+
+        mockMvc.perform(get("/articles/export")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .requestAttr("user", testUser))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].title").value("Test Article"));
+
+        verify(articleService, never()).getAllArticlesForUser(anyLong(), any(Sort.class));
+    }
+
+    @Test
+    void exportArticles_Ndjson_WritesOneArticlePerLine() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<ArticleResponse> sink = invocation.getArgument(2);
+            sink.accept(articleResponse);
+            sink.accept(articleResponse);
+            return null;
+        }).when(articleService).streamAllArticlesForUser(eq(1L), any(Sort.class), any());
+
+        String body = mockMvc.perform(get("/articles/export")
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .requestAttr("user", testUser))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("Test Article", objectMapper.readTree(lines[0]).get("title").asText());
+        assertTrue(body.endsWith("\n"));
+    }
+
     @Test
     void getArticleById_Success() throws Exception {
         when(articleService.getArticleById(1L)).thenReturn(articleResponse);
@@ -101,6 +282,18 @@ class ArticleControllerTest {
                 .andExpect(jsonPath("$.title").value("Test Article"));
 
         verify(articleService).getArticleById(1L);
+        verify(articleViewCounter).increment(1L);
+        verify(trendingArticles).recordView(1L, 1L);
+    }
+
+    @Test
+    void getArticleById_NotFound_DoesNotCountView() throws Exception {
+        when(articleService.getArticleById(99L)).thenThrow(new ResourceNotFoundException("article"));
+
+        mockMvc.perform(get("/articles/99"))
+                .andExpect(status().isNotFound());
+
+        verify(articleViewCounter, never()).increment(anyLong());
     }
 
     @Test
@@ -132,6 +325,85 @@ class ArticleControllerTest {
         verify(articleService, never()).createArticle(any(CreateArticleRequest.class), anyLong());
     }
 
+    @Test
+    void createArticle_AsyncWritesPreferRespondAsync_ReturnsAcceptedWithTrackingId() throws Exception {
+        CreateArticleRequest request = new CreateArticleRequest("Test Article", "Test Content", 1L);
+        when(writePipeline.isEnabled()).thenReturn(true);
+        when(writePipeline.submitArticle(request, 1L))
+                .thenReturn(new WritePipeline.Ticket("abc", new CompletableFuture<>()));
+
+        mockMvc.perform(post("/articles")
+                        .with(csrf())
+                        .header("Prefer", "respond-async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                        .requestAttr("user", testUser))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "http://localhost/writes/abc"))
+                .andExpect(header().string("Preference-Applied", "respond-async"))
+                .andExpect(jsonPath("$.trackingId").value("abc"))
+                .andExpect(jsonPath("$.state").value("pending"));
+
+        verify(articleService, never()).createArticle(any(CreateArticleRequest.class), anyLong());
+    }
+
+    @Test
+    void createArticle_AsyncWrites_ReturnsCreatedOnCommit() throws Exception {
+        CreateArticleRequest request = new CreateArticleRequest("Test Article", "Test Content", 1L);
+        CompletableFuture<Void> committed = new CompletableFuture<>();
+        when(writePipeline.isEnabled()).thenReturn(true);
+        when(writePipeline.submitArticle(request, 1L)).thenReturn(new WritePipeline.Ticket("abc", committed));
+
+        MvcResult result = mockMvc.perform(post("/articles")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                        .requestAttr("user", testUser))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        committed.complete(null);
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void createCommentForArticle_AsyncWritesQueueFull_ReturnsTooManyRequests() throws Exception {
+        CreateCommentRequest request = new CreateCommentRequest("Test Comment");
+        when(writePipeline.isEnabled()).thenReturn(true);
+        when(writePipeline.submitComment(1L, "Test Comment", 1L)).thenThrow(new TooManyRequestsException("writes"));
+
+        mockMvc.perform(post("/articles/1/comments")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                        .requestAttr("user", testUser))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"));
+
+        verify(commentService, never()).createCommentForArticle(anyLong(), anyString(), anyLong());
+    }
+
+    @Test
+    void markArticleRead_ReturnsNoContent() throws Exception {
+        mockMvc.perform(post("/articles/1/read")
+                        .with(csrf())
+                        .requestAttr("user", testUser))
+                .andExpect(status().isNoContent());
+
+        verify(readTracker).markArticleRead(1L, 1L);
+    }
+
+    @Test
+    void markArticleRead_NotFound_ReturnsNotFound() throws Exception {
+        doThrow(new ResourceNotFoundException("article")).when(readTracker).markArticleRead(1L, 99L);
+
+        mockMvc.perform(post("/articles/99/read")
+                        .with(csrf())
+                        .requestAttr("user", testUser))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void createCommentForArticle_Success() throws Exception {
         CreateCommentRequest request = new CreateCommentRequest("Test Comment");
@@ -159,4 +431,123 @@ class ArticleControllerTest {
 
         verify(commentService).getAllCommentsForArticle(1L);
     }
+
+    @Test
+    void getCommentsPageForArticle_Success() throws Exception {
+        when(commentService.getCommentsPageForArticle(1L, "abc", 20))
+                .thenReturn(new ArticlePageResponse<>(List.of(commentResponse), "next"));
+
+        mockMvc.perform(get("/articles/1/comments")
+                        .param("limit", "20")
+                        .param("cursor", "abc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(1L))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+
+        verify(commentService, never()).getAllCommentsForArticle(anyLong());
+    }
+
+    @Test
+    void getAllArticles_MatchingETag_ReturnsNotModifiedWithoutReadingFeed() throws Exception {
+        when(articleService.getFeedVersion(1L)).thenReturn(Optional.of("3-12"));
+
+        mockMvc.perform(get("/articles")
+                        .header("If-None-Match", "\"3-12\"")
+                        .requestAttr("user", testUser))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"3-12\""))
+                .andExpect(content().string(""));
+
+        verify(articleService, never()).getAllArticlesForUser(anyLong(), any(Sort.class));
+    }
+
+    @Test
+    void getArticleHtml_ReturnsRenditionWithContentHashETag() throws Exception {
+        when(articleService.getArticleHtmlVersion(1L)).thenReturn(Optional.of("1-abc"));
+        when(articleService.getArticleHtml(1L)).thenReturn("<p><em>Angular</em></p>\n");
+
+        mockMvc.perform(get("/articles/1").param("format", "html"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_HTML))
+                .andExpect(header().string("ETag", "\"1-abc\""))
+                .andExpect(content().string("<p><em>Angular</em></p>\n"));
+
+        verify(articleService, never()).getArticleById(anyLong());
+    }
+
+    @Test
+    void getArticleHtml_MatchingETag_ReturnsNotModifiedWithoutReadingHtml() throws Exception {
+        when(articleService.getArticleHtmlVersion(1L)).thenReturn(Optional.of("1-abc"));
+
+        mockMvc.perform(get("/articles/1").param("format", "html")
+                        .header("If-None-Match", "\"1-abc\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(articleService, never()).getArticleHtml(anyLong());
+    }
+
+    @Test
+    void getCommentsForArticle_StaleETag_ReturnsCommentsWithCurrentETag() throws Exception {
+        when(commentService.getCommentsVersion(1L)).thenReturn(Optional.of("5"));
+        when(commentService.getAllCommentsForArticle(1L)).thenReturn(List.of(commentResponse));
+
+        mockMvc.perform(get("/articles/1/comments")
+                        .header("If-None-Match", "\"4\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"5\""))
+                .andExpect(jsonPath("$[0].id").value(1L));
+    }
+
+    @Test
+    void streamArticles_ShouldOpenEventStreamForUser() throws Exception {
+        when(articleStreamService.connect(1L)).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/articles/stream")
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .requestAttr("user", testUser))
+                .andExpect(request().asyncStarted());
+
+        verify(articleStreamService).connect(1L);
+    }
+
+    @Test
+    void streamArticles_TooManyConnections_ReturnsServiceUnavailable() throws Exception {
+        when(articleStreamService.connect(1L)).thenThrow(new ServiceUnavailableException("articles.stream.full"));
+
+        mockMvc.perform(get("/articles/stream")
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .requestAttr("user", testUser))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().exists("Retry-After"));
+    }
+
+    @Test
+    void importArticles_ShouldReturnImportReport() throws Exception {
+        when(articleImportService.importArticles(any(), eq(testUser))).thenReturn(
+                new ImportResponse(1, 2, 1, List.of(new ImportLineError(2, "topic: unknown topic 'Go'"))));
+
+        mockMvc.perform(post("/articles/import")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"title\":\"A\"}\n{\"title\":\"B\"}\n")
+                        .requestAttr("user", testUser))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.importedArticles").value(1))
+                .andExpect(jsonPath("$.importedComments").value(2))
+                .andExpect(jsonPath("$.failedLines").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(2));
+    }
+
+    @Test
+    void importArticles_WithJsonBody_ReturnsUnsupportedMediaType() throws Exception {
+        mockMvc.perform(post("/articles/import")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]")
+                        .requestAttr("user", testUser))
+                .andExpect(status().isUnsupportedMediaType());
+
+        verifyNoInteractions(articleImportService);
+    }
 }
@@ -0,0 +1,249 @@
+package om.openclassrooms.mddapi.content.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import om.openclassrooms.mddapi.auth.payload.LoginRequest;
+import om.openclassrooms.mddapi.auth.payload.LoginResponse;
+import om.openclassrooms.mddapi.auth.payload.RegistrationRequest;
+import om.openclassrooms.mddapi.content.model.Article;
+import om.openclassrooms.mddapi.content.model.ArticleMinHash;
+import om.openclassrooms.mddapi.content.model.Topic;
+import om.openclassrooms.mddapi.content.payload.CreateArticleRequest;
+import om.openclassrooms.mddapi.content.payload.CreateCommentRequest;
+import om.openclassrooms.mddapi.content.repository.ArticleRepository;
+import om.openclassrooms.mddapi.content.repository.TopicRepository;
+import om.openclassrooms.mddapi.content.service.ArticleSearchIndex;
+import om.openclassrooms.mddapi.content.service.DuplicateArticleDetector;
+import om.openclassrooms.mddapi.content.service.RelatedArticlesIndex;
+import om.openclassrooms.mddapi.user.model.User;
+import om.openclassrooms.mddapi.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Not transactional: the indexes are updated by listeners that only run once the writes commit.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "APP_NAME=MDDApp",
+        "SERVER_PORT=8080",
+        "API_PATH=/api",
+        "spring.datasource.url=jdbc:h2:mem:articlesearch",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.security.jwt.secret-key=dGVzdC1zZWNyZXQta2V5LWZvci1qd3QtdG9rZW4tZ2VuZXJhdGlvbi1hbmQtdmFsaWRhdGlvbg==",
+        "spring.security.jwt.expiration-time=7200000"
+})
+class ArticleSearchIT {
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private TopicRepository topicRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ArticleSearchIndex articleSearchIndex;
+
+    @Autowired
+    private RelatedArticlesIndex relatedArticlesIndex;
+
+    @Autowired
+    private DuplicateArticleDetector duplicateArticleDetector;
+
+    private String authToken;
+    private User testUser;
+    private Topic subscribedTopic;
+    private Topic otherTopic;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // Users first: they own the subscriptions join table
+        articleRepository.deleteAll();
+        userRepository.deleteAll();
+        topicRepository.deleteAll();
+
+        mockMvc.perform(post("/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new RegistrationRequest("searcher", "searcher@example.com", "Password123!"))))
+                .andExpect(status().isCreated());
+        String response = mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new LoginRequest("searcher", "Password123!"))))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        authToken = objectMapper.readValue(response, LoginResponse.class).token();
+        testUser = userRepository.findByEmailIgnoreCaseOrUsernameIgnoreCase("searcher@example.com", "searcher")
+                .orElseThrow();
+
+        subscribedTopic = topicRepository.save(topic("Java"));
+        otherTopic = topicRepository.save(topic("Angular"));
+        mockMvc.perform(post("/topics/{id}/subscribe", subscribedTopic.getId())
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().is2xxSuccessful());
+
+        // Replaces whatever the startup rebuild or a previous test indexed
+        articleSearchIndex.rebuild();
+        relatedArticlesIndex.rebuild();
+        duplicateArticleDetector.rebuild();
+    }
+
+    @Test
+    void searchArticles_RebuiltIndex_ReturnsMatchesOfSubscribedTopicsOnly() throws Exception {
+        // Arrange - written behind the index's back, then picked up by a rebuild
+        saveArticle("Pattern matching", "Records and sealed interfaces", subscribedTopic);
+        saveArticle("Sealed components", "Nothing to do with Java", otherTopic);
+        articleSearchIndex.rebuild();
+
+        // Act & Assert
+        assertThat(search("sealed")).containsExactly("Pattern matching");
+    }
+
+    @Test
+    void createArticleAndComment_AreSearchableOnceCommitted() throws Exception {
+        // Act - create an article through the API
+        mockMvc.perform(post("/articles")
+                        .header("Authorization", "Bearer " + authToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new CreateArticleRequest("Virtual threads", "Loom in practice", subscribedTopic.getId()))))
+                .andExpect(status().isCreated());
+
+        // Assert - indexed asynchronously after commit
+        assertThat(awaitSearch("loom")).containsExactly("Virtual threads");
+
+        // Act - comment on it
+        Long articleId = articleRepository.findAll().get(0).getId();
+        mockMvc.perform(post("/articles/{id}/comments", articleId)
+                        .header("Authorization", "Bearer " + authToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateCommentRequest("Structured concurrency next"))))
+                .andExpect(status().isCreated());
+
+        // Assert
+        assertThat(awaitSearch("concurrency")).containsExactly("Virtual threads");
+    }
+
+    @Test
+    void createArticle_SameBodyInAnotherTopic_ReturnsConflict() throws Exception {
+        // Arrange
+        String body = "Virtual threads are cheap enough to block: one per request, no reactive pipeline, "
+                + "and the scheduler parks them on carrier threads whenever they wait on a socket or a lock. "
+                + "Pinning inside synchronized blocks was the main pitfall until it was lifted.";
+        mockMvc.perform(post("/articles")
+                        .header("Authorization", "Bearer " + authToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new CreateArticleRequest("Virtual threads", body, subscribedTopic.getId()))))
+                .andExpect(status().isCreated());
+
+        // Act & Assert - indexed on commit, before the response
+        mockMvc.perform(post("/articles")
+                        .header("Authorization", "Bearer " + authToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new CreateArticleRequest("Loom", body, otherTopic.getId()))))
+                .andExpect(status().isConflict());
+        assertThat(articleRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void searchArticles_BlankQuery_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/articles/search")
+                        .header("Authorization", "Bearer " + authToken)
+                        .param("q", " "))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getRelatedArticles_RebuiltIndex_SignsStoredArticlesAndReturnsSubscribedMatches() throws Exception {
+        // Arrange - saved without signature, like articles created before signatures existed
+        Article source = saveArticle("Java records", "Immutable data carriers with compact constructors", subscribedTopic);
+        Article similar = saveArticle("Records", "Compact constructors validate immutable data carriers", subscribedTopic);
+        saveArticle("Records elsewhere", "Compact constructors validate immutable data carriers", otherTopic);
+        saveArticle("Signals", "Reactive templates without zone", subscribedTopic);
+        relatedArticlesIndex.rebuild();
+
+        // Act & Assert
+        mockMvc.perform(get("/articles/{id}/related", source.getId())
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(similar.getId()));
+        // Signed once: the next start reads the stored signatures
+        assertThat(articleRepository.findSignaturesByIdIn(List.of(source.getId(), similar.getId())))
+                .allMatch(signature -> ArticleMinHash.decode(signature.minhash()) != null);
+    }
+
+    @Test
+    void getRelatedArticles_UnknownArticle_ReturnsNotFound() throws Exception {
+        mockMvc.perform(get("/articles/{id}/related", 999_999L)
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isNotFound());
+    }
+
+    private List<String> awaitSearch(String query) throws Exception {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        List<String> titles = search(query);
+        while (titles.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            titles = search(query);
+        }
+        return titles;
+    }
+
+    private List<String> search(String query) throws Exception {
+        String response = mockMvc.perform(get("/articles/search")
+                        .header("Authorization", "Bearer " + authToken)
+                        .param("q", query))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return objectMapper.readTree(response).findValuesAsText("title");
+    }
+
+    private Article saveArticle(String title, String content, Topic topic) {
+        Article article = new Article();
+        article.setTitle(title);
+        article.setContent(content);
+        article.setTopic(topic);
+        article.setAuthor(testUser);
+        return articleRepository.save(article);
+    }
+
+    private static Topic topic(String name) {
+        Topic topic = new Topic();
+        topic.setName(name);
+        topic.setDescription(name + " programming");
+        return topic;
+    }
+}
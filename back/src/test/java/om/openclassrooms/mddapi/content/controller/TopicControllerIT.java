@@ -5,9 +5,13 @@ import om.openclassrooms.mddapi.auth.payload.LoginRequest;
 import om.openclassrooms.mddapi.auth.payload.LoginResponse;
 import om.openclassrooms.mddapi.auth.payload.RegistrationRequest;
 import om.openclassrooms.mddapi.content.model.Topic;
+import om.openclassrooms.mddapi.content.payload.CreateArticleRequest;
 import om.openclassrooms.mddapi.content.payload.TopicName;
 import om.openclassrooms.mddapi.content.payload.TopicResponse;
+import om.openclassrooms.mddapi.content.repository.ArticleRepository;
 import om.openclassrooms.mddapi.content.repository.TopicRepository;
+import om.openclassrooms.mddapi.content.service.TopicArticleBitmaps;
+import om.openclassrooms.mddapi.content.service.TopicSuggestionIndex;
 import om.openclassrooms.mddapi.user.model.User;
 import om.openclassrooms.mddapi.user.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -63,6 +67,15 @@ class TopicControllerIT {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private TopicSuggestionIndex topicSuggestionIndex;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private TopicArticleBitmaps topicArticleBitmaps;
+
     private String authToken;
     private User testUser;
     private Topic topic1;
@@ -164,6 +177,98 @@ class TopicControllerIT {
                 .containsOnly(false);
     }
 
+    @Test
+    void getAllTopicsWithSubscriptionStatus_ETag_ShouldAnswerNotModifiedUntilSubscriptionsChange() throws Exception {
+        // Arrange
+        String etag = mockMvc.perform(get("/topics")
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().string("Cache-Control", "no-cache, private"))
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+
+        // Act & Assert - unchanged
+        mockMvc.perform(get("/topics")
+                        .header("Authorization", "Bearer " + authToken)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        // Act & Assert - a subscription changes the version
+        mockMvc.perform(post("/topics/{id}/subscribe", topic1.getId())
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/topics/subscribed")
+                        .header("Authorization", "Bearer " + authToken)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", org.hamcrest.Matchers.not(etag)))
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    void readMarks_ShouldLowerUnreadCountsWithoutChangingListingsETag() throws Exception {
+        // Arrange
+        mockMvc.perform(post("/topics/{id}/subscribe", topic1.getId())
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isNoContent());
+        for (String title : List.of("First", "Second", "Third")) {
+            mockMvc.perform(post("/articles")
+                            .header("Authorization", "Bearer " + authToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(
+                                    new CreateArticleRequest(title, "Content", topic1.getId()))))
+                    .andExpect(status().isCreated());
+        }
+        // The creation events only fire on commit, which the test transaction never reaches
+        topicArticleBitmaps.refresh();
+        Long firstArticleId = articleRepository.findIdsByTopicId(topic1.getId()).get(0);
+        String etag = mockMvc.perform(get("/topics/subscribed")
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].unreadCount").doesNotExist())
+                .andReturn()
+                .getResponse()
+                .getHeader("ETag");
+        mockMvc.perform(get("/topics/subscribed/unread")
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"))
+                .andExpect(jsonPath("$[0].unreadCount").value(3));
+
+        // Act & Assert - one article read: the listings are unchanged, the counts are not
+        mockMvc.perform(post("/articles/{id}/read", firstArticleId)
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/topics/subscribed")
+                        .header("Authorization", "Bearer " + authToken)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/topics/subscribed/unread")
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].unreadCount").value(2));
+
+        // Act & Assert - the whole topic read
+        mockMvc.perform(post("/topics/{id}/read-all", topic1.getId())
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/topics/subscribed/unread")
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].name").value("Java"))
+                .andExpect(jsonPath("$[0].unreadCount").value(0));
+    }
+
+    @Test
+    void markTopicRead_NonExistentTopic_ShouldReturnNotFound() throws Exception {
+        mockMvc.perform(post("/topics/{id}/read-all", 999L)
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void getAllTopicsSortedByName_ShouldReturnTopicsSortedByName() throws Exception {
         // Act & Assert
@@ -186,6 +291,28 @@ class TopicControllerIT {
                 .containsExactly("Docker", "Java", "Spring Boot");
     }
 
+    @Test
+    void suggestTopics_ShouldMatchWordPrefixesAndRankBySubscribers() throws Exception {
+        // Arrange
+        mockMvc.perform(post("/topics/{id}/subscribe", topic2.getId())
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isNoContent());
+        topicSuggestionIndex.refresh();
+
+        // Act & Assert
+        mockMvc.perform(get("/topics/suggest")
+                        .header("Authorization", "Bearer " + authToken)
+                        .param("prefix", "BOO"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].name").value("Spring Boot"))
+                .andExpect(jsonPath("$[0].subscriberCount").value(1));
+        mockMvc.perform(get("/topics/suggest")
+                        .header("Authorization", "Bearer " + authToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].name").value(org.hamcrest.Matchers.contains("Spring Boot", "Docker", "Java")));
+    }
+
     @Test
     void subscribe_ShouldSubscribeUserToTopic() throws Exception {
         // Act
@@ -1,7 +1,11 @@
 package om.openclassrooms.mddapi.content.controller;
 
 import om.openclassrooms.mddapi.content.payload.TopicResponse;
+import om.openclassrooms.mddapi.common.exception.WrongParametersException;
+import om.openclassrooms.mddapi.content.payload.TopicSuggestion;
+import om.openclassrooms.mddapi.content.service.ReadTracker;
 import om.openclassrooms.mddapi.content.service.TopicService;
+import om.openclassrooms.mddapi.content.service.TopicSuggestionIndex;
 import om.openclassrooms.mddapi.user.model.User;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,6 +19,7 @@ import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -40,6 +45,12 @@ class TopicControllerTest {
     @MockitoBean
     private TopicService topicService;
 
+    @MockitoBean
+    private TopicSuggestionIndex topicSuggestionIndex;
+
+    @MockitoBean
+    private ReadTracker readTracker;
+
     @MockitoBean
     private om.openclassrooms.mddapi.common.utils.MessageResolver messageResolver;
     
@@ -110,6 +121,16 @@ class TopicControllerTest {
         verify(topicService).unsubscribe(eq(testUser), eq(1L));
     }
 
+    @Test
+    void markTopicRead_ReturnsNoContent() throws Exception {
+        mockMvc.perform(post("/topics/1/read-all")
+                        .with(csrf())
+                        .requestAttr("user", testUser))
+                .andExpect(status().isNoContent());
+
+        verify(readTracker).markTopicRead(1L, 1L);
+    }
+
     @Test
     void getSubscribedTopics_Success() throws Exception {
         Set<TopicResponse> topics = new HashSet<>(Arrays.asList(topicResponse));
@@ -118,8 +139,55 @@ class TopicControllerTest {
         mockMvc.perform(get("/topics/subscribed")
                         .requestAttr("user", testUser))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].id").value(1L));
+                .andExpect(jsonPath("$[0].id").value(1L))
+                .andExpect(jsonPath("$[0].unreadCount").doesNotExist());
 
         verify(topicService).getSubscribedToUserTopics(1L);
     }
+
+    @Test
+    void getSubscribedTopicsWithUnreadCounts_ReturnsCountsWithoutETag() throws Exception {
+        when(topicService.getSubscribedTopicsWithUnreadCounts(1L)).thenReturn(List.of(topicResponse.withUnreadCount(3)));
+
+        mockMvc.perform(get("/topics/subscribed/unread")
+                        .requestAttr("user", testUser))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"))
+                .andExpect(jsonPath("$[0].id").value(1L))
+                .andExpect(jsonPath("$[0].unreadCount").value(3));
+
+        verify(topicService, never()).getTopicsVersion(anyLong());
+    }
+
+    @Test
+    void getAllTopicsWithSubscriptionStatus_MatchingETag_ReturnsNotModified() throws Exception {
+        when(topicService.getTopicsVersion(1L)).thenReturn(Optional.of("2-4-4-2025-12-26"));
+
+        mockMvc.perform(get("/topics")
+                        .header("If-None-Match", "\"2-4-4-2025-12-26\"")
+                        .requestAttr("user", testUser))
+                .andExpect(status().isNotModified());
+
+        verify(topicService, never()).getAllTopicsWithSubscriptionStatus(anyLong());
+    }
+
+    @Test
+    void suggestTopics_Success() throws Exception {
+        when(topicSuggestionIndex.suggest("ja", 10)).thenReturn(List.of(new TopicSuggestion(1L, "Java", 42)));
+
+        mockMvc.perform(get("/topics/suggest").param("prefix", "ja"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Java"))
+                .andExpect(jsonPath("$[0].subscriberCount").value(42));
+
+        verifyNoInteractions(topicService);
+    }
+
+    @Test
+    void suggestTopics_InvalidLimit_ReturnsBadRequest() throws Exception {
+        when(topicSuggestionIndex.suggest("ja", 50)).thenThrow(new WrongParametersException("limit"));
+
+        mockMvc.perform(get("/topics/suggest").param("prefix", "ja").param("limit", "50"))
+                .andExpect(status().isBadRequest());
+    }
 }
@@ -0,0 +1,74 @@
+package om.openclassrooms.mddapi.content.controller;
+
+import om.openclassrooms.mddapi.content.payload.WriteStatusResponse;
+import om.openclassrooms.mddapi.content.service.WritePipeline;
+import om.openclassrooms.mddapi.user.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Optional;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = WriteController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@org.springframework.test.context.TestPropertySource(properties = {
+        "APP_NAME=MDDApp",
+        "spring.security.jwt.secret-key=3cfa76ef14937c1c0ea519f8fc057a80fcd04a7420f8e8bcd0a7567c272e007b",
+        "spring.security.jwt.expiration-time=7200000"
+})
+@org.springframework.context.annotation.Import(om.openclassrooms.mddapi.config.TestWebMvcConfig.class)
+class WriteControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private WritePipeline writePipeline;
+
+    @MockitoBean
+    private om.openclassrooms.mddapi.common.utils.MessageResolver messageResolver;
+
+    @MockitoBean
+    private om.openclassrooms.mddapi.security.service.JwtService jwtService;
+
+    @MockitoBean
+    private om.openclassrooms.mddapi.security.jwt.JwtAuthenticationFilter jwtAuthenticationFilter;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        testUser = new User();
+        testUser.setId(1L);
+        testUser.setUsername("testuser");
+    }
+
+    @Test
+    void getWriteStatus_FailedWrite_ReturnsStateAndStatus() throws Exception {
+        when(writePipeline.getStatus("abc", 1L))
+                .thenReturn(Optional.of(new WriteStatusResponse("abc", WriteStatusResponse.FAILED, 409)));
+
+        mockMvc.perform(get("/writes/abc")
+                        .requestAttr("user", testUser))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("failed"))
+                .andExpect(jsonPath("$.failureStatus").value(409));
+    }
+
+    @Test
+    void getWriteStatus_UnknownOrExpired_ReturnsNotFound() throws Exception {
+        when(writePipeline.getStatus("abc", 1L)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/writes/abc")
+                        .requestAttr("user", testUser))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,79 @@
+package om.openclassrooms.mddapi.content.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read cost of a plain body (UTF-8 bytes from the driver turned into a String) against a compressed
+ * one, and the stored size of both, printed once per size.
+ * <p>
+ * {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="ArticleContentCodecBenchmark"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArticleContentCodecBenchmark {
+    private static final String[] SENTENCES = {
+            "Dans ce tutoriel, nous allons voir comment configurer Spring Boot pour exposer une API REST.",
+            "La base de données MySQL stocke les articles, les sujets et les commentaires des utilisateurs.",
+            "Chaque requête est authentifiée par un token JWT transmis dans l'en-tête Authorization.",
+            "In this article, we will see how to paginate a feed with a keyset instead of an offset.",
+            "The repository returns DTO projections so that the service never hydrates full entities.",
+            "You can use `@Transactional(readOnly = true)` to let the driver route reads to a replica.",
+            "Angular appelle ensuite l'endpoint et affiche la liste des articles triés par date.",
+            "Performance matters: every query should use an index that matches its ORDER BY clause.",
+            "- Installer les dépendances avec `npm install`\n- Lancer le serveur avec `mvn spring-boot:run`",
+            "```java\npublic List<ArticleResponse> getAllArticles(Long userId) {\n    return repository.findAll(userId);\n}\n```",
+    };
+
+    @Param({"1000", "4000", "10000"})
+    public int contentLength;
+
+    private byte[] plain;
+    private byte[] compressed;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        StringBuilder content = new StringBuilder();
+        while (content.length() < contentLength) {
+            content.append(SENTENCES[random.nextInt(SENTENCES.length)]).append(random.nextInt(8) == 0 ? "\n\n" : " ");
+        }
+        String body = content.substring(0, contentLength);
+        plain = body.getBytes(StandardCharsets.UTF_8);
+        compressed = ArticleContentCodec.encode(body);
+        System.out.printf("%n%d chars: plain %d bytes, stored %d bytes (%.0f%%)%n", contentLength,
+                plain.length, compressed.length, 100.0 * compressed.length / plain.length);
+    }
+
+    @Benchmark
+    public String readPlain() {
+        return new String(plain, StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public String readCompressed() {
+        return ArticleContentCodec.decode(compressed);
+    }
+
+    @Benchmark
+    public byte[] write() {
+        return ArticleContentCodec.encode(readPlain());
+    }
+}
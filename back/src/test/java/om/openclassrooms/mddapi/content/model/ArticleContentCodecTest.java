@@ -0,0 +1,95 @@
+package om.openclassrooms.mddapi.content.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ArticleContentCodecTest {
+
+    private static final String PROSE = """
+            ## Introduction
+
+            Dans ce tutoriel, nous allons voir comment configurer Spring Boot pour exposer une API REST \
+            sécurisée. L'application utilise une base de données MySQL et le framework Angular côté client.
+
+            In this article, we will see how to configure the server so that the application can answer \
+            the request of the user as well as the database. For example, you can use `@Transactional`.
+            """;
+
+    @Test
+    void encode_Prose_ShouldDeflateAndRoundTrip() {
+        String content = PROSE.repeat(5);
+
+        byte[] encoded = ArticleContentCodec.encode(content);
+
+        assertThat(encoded[0]).isEqualTo(ArticleContentCodec.FORMAT_DEFLATE_V1);
+        assertThat(encoded.length).isLessThan(content.getBytes(StandardCharsets.UTF_8).length / 3);
+        assertThat(ArticleContentCodec.decode(encoded)).isEqualTo(content);
+    }
+
+    @Test
+    void encode_Incompressible_ShouldStorePlainUtf8() {
+        String content = "zQ#7";
+
+        byte[] encoded = ArticleContentCodec.encode(content);
+
+        assertThat(encoded[0]).isEqualTo(ArticleContentCodec.FORMAT_UTF8);
+        assertThat(encoded).hasSize(5);
+        assertThat(ArticleContentCodec.decode(encoded)).isEqualTo(content);
+    }
+
+    @Test
+    void encode_EmptyAndUnicode_ShouldRoundTrip() {
+        assertThat(ArticleContentCodec.decode(ArticleContentCodec.encode(""))).isEmpty();
+        String unicode = "Déjà vu — 日本語 🚀 ".repeat(20);
+        assertThat(ArticleContentCodec.decode(ArticleContentCodec.encode(unicode))).isEqualTo(unicode);
+    }
+
+    @Test
+    void decode_UnknownFormat_ShouldThrow() {
+        assertThatThrownBy(() -> ArticleContentCodec.decode(new byte[]{42, 1, 2}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void decode_Truncated_ShouldThrow() {
+        byte[] encoded = ArticleContentCodec.encode(PROSE.repeat(5));
+        byte[] truncated = Arrays.copyOf(encoded, encoded.length / 2);
+
+        assertThatThrownBy(() -> ArticleContentCodec.decode(truncated))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void trainDictionary_ShouldKeepSharedSequencesWithinSize() {
+        List<String> samples = List.of(
+                "Spring Data JPA repositories make queries simple",
+                "With Spring Data JPA repositories you write less code",
+                "unique words only here");
+
+        String dictionary = new String(ArticleContentCodec.trainDictionary(samples, 64), StandardCharsets.UTF_8);
+
+        assertThat(dictionary.getBytes(StandardCharsets.UTF_8).length).isLessThanOrEqualTo(64);
+        assertThat(dictionary).contains("Spring Data JPA repositories");
+        assertThat(dictionary).doesNotContain("unique");
+    }
+
+    @Test
+    void article_CompressContent_ShouldKeepBodyReadable() {
+        Article article = new Article();
+        article.setContent(PROSE);
+
+        article.compressContent();
+
+        assertThat(article.isContentCompressed()).isTrue();
+        assertThat(article.getContent()).isEqualTo(PROSE);
+        article.setContent("Plain");
+        assertThat(article.isContentCompressed()).isFalse();
+        assertThat(article.getContent()).isEqualTo("Plain");
+    }
+}
@@ -0,0 +1,51 @@
+package om.openclassrooms.mddapi.content.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArticleHtmlTest {
+
+    @Test
+    void render_Markdown_ShouldProduceHtml() {
+        String html = ArticleHtml.render("# Titre\n\nDu **gras** et `du code`.");
+
+        assertThat(html).contains("<h1>Titre</h1>", "<strong>gras</strong>", "<code>du code</code>");
+    }
+
+    @Test
+    void render_RawHtml_ShouldBeEscaped() {
+        String html = ArticleHtml.render("<script>alert(1)</script>\n\nTexte <img src=x onerror=alert(1)>");
+
+        assertThat(html).doesNotContain("<script", "<img");
+        assertThat(html).contains("&lt;script&gt;", "&lt;img");
+    }
+
+    @Test
+    void render_UnsafeLinkScheme_ShouldBeDropped() {
+        String html = ArticleHtml.render("[clic](javascript:alert(1)) et [site](https://example.com)");
+
+        assertThat(html).doesNotContain("javascript:");
+        assertThat(html).contains("href=\"https://example.com\"");
+    }
+
+    @Test
+    void hash_ShouldBeStableAndPrefixedWithRendererVersion() {
+        String hash = ArticleHtml.hash("contenu");
+
+        assertThat(hash).startsWith(ArticleHtml.HASH_PREFIX).isEqualTo(ArticleHtml.hash("contenu"));
+        assertThat(hash).isNotEqualTo(ArticleHtml.hash("contenu modifié"));
+        assertThat(hash).hasSize(ArticleHtml.HASH_PREFIX.length() + 32);
+    }
+
+    @Test
+    void apply_ShouldSetRenditionAndHash() {
+        Article article = new Article();
+        article.setContent("*Angular*");
+
+        ArticleHtml.apply(article);
+
+        assertThat(article.getContentHtml()).isEqualTo("<p><em>Angular</em></p>\n");
+        assertThat(article.getContentHash()).isEqualTo(ArticleHtml.hash("*Angular*"));
+    }
+}
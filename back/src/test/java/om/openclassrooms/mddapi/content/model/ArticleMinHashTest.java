@@ -0,0 +1,63 @@
+package om.openclassrooms.mddapi.content.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArticleMinHashTest {
+
+    @Test
+    void shingles_ShouldFoldCaseAndAccentsAndSkipShortWords() {
+        assertThat(ArticleMinHash.shingles("Écrire", "ecrire ÉCRIRE le de la java"))
+                .isEqualTo(ArticleMinHash.shingles(null, "ecrire java"))
+                .hasSize(2);
+    }
+
+    @Test
+    void similarity_ShouldEstimateJaccardOfTheWordSets() {
+        // 60 shared words out of 100 distinct: Jaccard 0.6
+        StringBuilder left = new StringBuilder();
+        StringBuilder right = new StringBuilder();
+        for (int i = 0; i < 80; i++) {
+            left.append(" word").append(i);
+        }
+        for (int i = 20; i < 100; i++) {
+            right.append(" word").append(i);
+        }
+
+        double similarity = ArticleMinHash.similarity(
+                ArticleMinHash.signature("", left.toString()), ArticleMinHash.signature("", right.toString()));
+
+        // Standard deviation of the estimate is sqrt(0.6 * 0.4 / 64) = 0.06
+        assertThat(similarity).isBetween(0.42, 0.78);
+    }
+
+    @Test
+    void signature_WithoutWords_ShouldBeEmpty() {
+        assertThat(ArticleMinHash.isEmpty(ArticleMinHash.signature("Le", "à la"))).isTrue();
+        assertThat(ArticleMinHash.isEmpty(ArticleMinHash.signature("Java", null))).isFalse();
+    }
+
+    @Test
+    void decode_ShouldRoundTripCurrentVersionOnly() {
+        int[] signature = ArticleMinHash.signature("Spring Boot", "Auto configuration");
+        byte[] encoded = ArticleMinHash.encode(signature);
+
+        assertThat(ArticleMinHash.decode(encoded)).isEqualTo(signature);
+        encoded[0] = ArticleMinHash.VERSION + 1;
+        assertThat(ArticleMinHash.decode(encoded)).isNull();
+        assertThat(ArticleMinHash.decode(null)).isNull();
+    }
+
+    @Test
+    void apply_ShouldStoreSignatureOfTitleAndBody() {
+        Article article = new Article();
+        article.setTitle("Virtual threads");
+        article.setContent("Loom in practice");
+
+        ArticleMinHash.apply(article);
+
+        assertThat(ArticleMinHash.decode(article.getMinhash()))
+                .isEqualTo(ArticleMinHash.signature("Virtual threads", "Loom in practice"));
+    }
+}
@@ -0,0 +1,64 @@
+package om.openclassrooms.mddapi.content.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArticleSimHashTest {
+
+    private static final String BODY = """
+            Records arrived in Java 16 as transparent carriers of immutable data. The compiler derives
+            the constructor, accessors, equals, hashCode and toString from the components, and a compact
+            constructor can still validate them. Combined with sealed interfaces and pattern matching for
+            switch, they make algebraic data types practical without a line of boilerplate.
+            """;
+
+    @Test
+    void fingerprint_LightlyEditedCopy_ShouldBeWithinMaxDistance() {
+        String edited = BODY.replace("practical", "convenient") + " Enjoy!";
+
+        long original = ArticleSimHash.fingerprint(BODY);
+
+        assertThat(ArticleSimHash.fingerprint(BODY.toUpperCase())).isEqualTo(original);
+        assertThat(ArticleSimHash.distance(original, ArticleSimHash.fingerprint(edited)))
+                .isLessThanOrEqualTo(ArticleSimHash.MAX_DISTANCE);
+    }
+
+    @Test
+    void fingerprint_OtherArticleOnTheSameSubject_ShouldBeFarApart() {
+        String other = """
+                A record class declares its state in the header and gets the accessors, equals, hashCode
+                and toString for free. Records cannot extend another class and their fields are final, yet
+                they can implement interfaces, declare static members and add validation to a compact
+                constructor. Deconstruction patterns then take them apart in a switch.
+                """;
+
+        assertThat(ArticleSimHash.distance(ArticleSimHash.fingerprint(BODY), ArticleSimHash.fingerprint(other)))
+                .isGreaterThan(ArticleSimHash.MAX_DISTANCE);
+    }
+
+    @Test
+    void fingerprint_UnrelatedBodies_ShouldBeFarApart() {
+        Random random = new Random(42);
+        for (int i = 0; i < 100; i++) {
+            StringBuilder left = new StringBuilder();
+            StringBuilder right = new StringBuilder();
+            for (int w = 0; w < 60; w++) {
+                left.append(" w").append(random.nextInt(5_000));
+                right.append(" w").append(random.nextInt(5_000));
+            }
+
+            // Independent fingerprints differ in 32 bits on average
+            assertThat(ArticleSimHash.distance(ArticleSimHash.fingerprint(left.toString()),
+                    ArticleSimHash.fingerprint(right.toString()))).isGreaterThan(ArticleSimHash.MAX_DISTANCE);
+        }
+    }
+
+    @Test
+    void fingerprint_ShortBody_ShouldBeNull() {
+        assertThat(ArticleSimHash.fingerprint("Too short to tell a copy from a coincidence")).isNull();
+        assertThat(ArticleSimHash.fingerprint(null)).isNull();
+    }
+}
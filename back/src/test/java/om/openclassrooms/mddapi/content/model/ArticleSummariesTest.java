@@ -0,0 +1,42 @@
+package om.openclassrooms.mddapi.content.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArticleSummariesTest {
+
+    @Test
+    void apply_ShortContent_ShouldKeepWholeBodyAsExcerpt() {
+        Article article = new Article();
+        article.setContent("  Angular est   un\nframework.  ");
+
+        ArticleSummaries.apply(article);
+
+        assertThat(article.getExcerpt()).isEqualTo("Angular est un framework.");
+        assertThat(article.getWordCount()).isEqualTo(4);
+        assertThat(article.getReadingTimeMinutes()).isEqualTo(1);
+    }
+
+    @Test
+    void excerpt_LongContent_ShouldCutOnWordBoundary() {
+        String content = "word ".repeat(1000);
+
+        String excerpt = ArticleSummaries.excerpt(content);
+
+        assertThat(excerpt).hasSizeLessThanOrEqualTo(ArticleSummaries.EXCERPT_LENGTH);
+        assertThat(excerpt).endsWith("word…");
+    }
+
+    @Test
+    void readingTimeMinutes_ShouldRoundUp() {
+        assertThat(ArticleSummaries.readingTimeMinutes(0)).isEqualTo(1);
+        assertThat(ArticleSummaries.readingTimeMinutes(200)).isEqualTo(1);
+        assertThat(ArticleSummaries.readingTimeMinutes(201)).isEqualTo(2);
+    }
+
+    @Test
+    void wordCount_BlankContent_ShouldBeZero() {
+        assertThat(ArticleSummaries.wordCount("   ")).isZero();
+    }
+}
@@ -0,0 +1,35 @@
+package om.openclassrooms.mddapi.content.payload;
+
+import om.openclassrooms.mddapi.common.exception.WrongParametersException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FeedCursorTest {
+
+    @Test
+    void encode_ThenDecode_ShouldRoundTrip() {
+        FeedCursor cursor = new FeedCursor(LocalDateTime.of(2025, 12, 26, 10, 30, 15, 123456000), 42L);
+
+        FeedCursor decoded = FeedCursor.decode(cursor.encode());
+
+        assertThat(decoded).isEqualTo(cursor);
+    }
+
+    @Test
+    void encode_ShouldBeUrlSafe() {
+        String token = new FeedCursor(LocalDateTime.of(2025, 1, 1, 0, 0), 1L).encode();
+
+        assertThat(token).doesNotContain("+", "/", "=");
+    }
+
+    @Test
+    void decode_WithMalformedToken_ShouldThrowWrongParametersException() {
+        assertThatThrownBy(() -> FeedCursor.decode("not-a-cursor"))
+                .isInstanceOf(WrongParametersException.class)
+                .hasMessage("cursor");
+    }
+}
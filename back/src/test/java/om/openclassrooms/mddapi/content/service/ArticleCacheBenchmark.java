@@ -0,0 +1,115 @@
+package om.openclassrooms.mddapi.content.service;
+
+import om.openclassrooms.mddapi.MddapiApplication;
+import om.openclassrooms.mddapi.content.model.Article;
+import om.openclassrooms.mddapi.content.model.Topic;
+import om.openclassrooms.mddapi.content.payload.ArticleResponse;
+import om.openclassrooms.mddapi.content.payload.CreateArticleRequest;
+import om.openclassrooms.mddapi.content.repository.ArticleRepository;
+import om.openclassrooms.mddapi.content.repository.TopicRepository;
+import om.openclassrooms.mddapi.user.model.User;
+import om.openclassrooms.mddapi.user.repository.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link ArticleService#getArticleById} with the article cache disabled (every view
+ * queries the database) and enabled, against an in-memory H2 database. A networked MySQL makes
+ * the uncached path slower still.
+ * <p>
+ * {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="ArticleCacheBenchmark"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class ArticleCacheBenchmark {
+    private static final int ARTICLES = 200;
+
+    @Param({"0", "20000000"})
+    public long cacheMaxWeight;
+
+    private ConfigurableApplicationContext context;
+    private ArticleService articleService;
+    private long[] articleIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(MddapiApplication.class)
+                // Command line arguments take precedence over application.yaml
+                .run(
+                        "--APP_NAME=MDDApp",
+                        "--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:article-cache-benchmark;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.security.jwt.secret-key=dGVzdC1zZWNyZXQta2V5LWZvci1qd3QtdG9rZW4tZ2VuZXJhdGlvbi1hbmQtdmFsaWRhdGlvbg==",
+                        "--spring.security.jwt.expiration-time=7200000",
+                        "--logging.level.root=WARN",
+                        "--mdd.articles.cache.max-weight=" + cacheMaxWeight);
+        articleService = context.getBean(ArticleService.class);
+
+        User author = new User();
+        author.setUsername("benchmark");
+        author.setEmail("benchmark@example.com");
+        author.setPassword("password");
+        author = context.getBean(UserRepository.class).save(author);
+        Topic topic = new Topic();
+        topic.setName("Benchmark");
+        topic.setDescription("Benchmark topic");
+        topic = context.getBean(TopicRepository.class).save(topic);
+
+        String content = "Lorem ipsum dolor sit amet, consectetur adipiscing elit. ".repeat(40);
+        for (int i = 0; i < ARTICLES; i++) {
+            articleService.createArticle(new CreateArticleRequest("Article " + i, content, topic.getId()), author.getId());
+        }
+        articleIds = context.getBean(ArticleRepository.class).findAll().stream()
+                .mapToLong(Article::getId)
+                .toArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Every thread reads the same widely shared article.
+     */
+    @Benchmark
+    public ArticleResponse sharedArticle() {
+        return articleService.getArticleById(articleIds[0]);
+    }
+
+    /**
+     * Threads read articles spread uniformly over the whole set.
+     */
+    @Benchmark
+    public ArticleResponse spreadArticles() {
+        return articleService.getArticleById(articleIds[ThreadLocalRandom.current().nextInt(articleIds.length)]);
+    }
+}
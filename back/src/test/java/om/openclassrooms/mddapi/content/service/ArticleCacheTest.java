@@ -0,0 +1,160 @@
+package om.openclassrooms.mddapi.content.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import om.openclassrooms.mddapi.content.payload.ArticleResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArticleCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ArticleCache articleCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        articleCache = new ArticleCache(10_000, 3_600_000, meterRegistry);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void get_SecondCall_ServedFromCache() {
+        assertEquals("Title", load(1L, "alice").orElseThrow().title());
+        assertEquals("Title", load(1L, "alice").orElseThrow().title());
+
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "articles").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void get_Absent_NotCached() {
+        assertTrue(articleCache.get(1L, id -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        }).isEmpty());
+        load(1L, "alice");
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_ConcurrentMisses_LoadOnce() throws Exception {
+        int callers = 16;
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<Optional<ArticleResponse>>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> articleCache.get(1L, id -> {
+                    loads.incrementAndGet();
+                    loading.countDown();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return Optional.of(article(id, "alice"));
+                })));
+            }
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            // Let the other callers reach the in-flight load before it completes
+            Thread.sleep(100);
+            release.countDown();
+
+            for (Future<Optional<ArticleResponse>> result : results) {
+                assertEquals(1L, result.get(5, TimeUnit.SECONDS).orElseThrow().id());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void invalidate_ReloadsArticle() {
+        load(1L, "alice");
+        load(2L, "alice");
+
+        articleCache.invalidate(1L);
+        load(1L, "alice");
+        load(2L, "alice");
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void invalidateByAuthor_OnlyDropsTheirArticles() {
+        load(1L, "alice");
+        load(2L, "bob");
+
+        articleCache.invalidateByAuthor("alice");
+        load(1L, "alice");
+        load(2L, "bob");
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void addViews_UpdatesCachedCountsInPlace() {
+        load(1L, "alice");
+
+        articleCache.addViews(Map.of(1L, 3L, 2L, 5L));
+
+        assertEquals(3L, load(1L, "alice").orElseThrow().viewCount());
+        assertEquals(0L, load(2L, "bob").orElseThrow().viewCount());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_OverMaxWeight_Evicted() {
+        meterRegistry = new SimpleMeterRegistry();
+        ArticleCache small = new ArticleCache(1_000, 3_600_000, meterRegistry);
+        String content = "x".repeat(600);
+        for (long id = 1; id <= 3; id++) {
+            ArticleResponse article = new ArticleResponse(id, "Title", content, "alice", 1L, "Topic",
+                    LocalDateTime.now(), LocalDateTime.now(), 0L, 0);
+            small.get(id, key -> Optional.of(article));
+        }
+
+        assertEquals(2.0, meterRegistry.get("cache.evictions").tag("cache", "articles").functionCounter().count());
+    }
+
+    @Test
+    void get_Disabled_AlwaysLoads() {
+        articleCache = new ArticleCache(0, 3_600_000, meterRegistry);
+
+        load(1L, "alice");
+        load(1L, "alice");
+
+        assertEquals(2, loads.get());
+    }
+
+    private Optional<ArticleResponse> load(Long articleId, String author) {
+        return articleCache.get(articleId, id -> {
+            loads.incrementAndGet();
+            return Optional.of(article(id, author));
+        });
+    }
+
+    private static ArticleResponse article(Long id, String author) {
+        return new ArticleResponse(id, "Title", "Content", author, 1L, "Topic",
+                LocalDateTime.now(), LocalDateTime.now(), 0L, 0);
+    }
+}
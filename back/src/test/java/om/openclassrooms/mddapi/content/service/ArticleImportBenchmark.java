@@ -0,0 +1,105 @@
+package om.openclassrooms.mddapi.content.service;
+
+import om.openclassrooms.mddapi.MddapiApplication;
+import om.openclassrooms.mddapi.content.model.Topic;
+import om.openclassrooms.mddapi.content.payload.ImportResponse;
+import om.openclassrooms.mddapi.content.repository.TopicRepository;
+import om.openclassrooms.mddapi.user.model.User;
+import om.openclassrooms.mddapi.user.repository.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Imports {@value #LINES} NDJSON articles, each with two comments, through
+ * {@link ArticleImportService} against an in-memory H2 database; scores are lines per second.
+ * <p>
+ * {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="ArticleImportBenchmark"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArticleImportBenchmark {
+    private static final int LINES = 10_000;
+
+    @Param({"1", "500"})
+    public int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private ArticleImportService articleImportService;
+    private byte[] ndjson;
+    private User importer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(MddapiApplication.class)
+                // Command line arguments take precedence over application.yaml
+                .run(
+                        "--APP_NAME=MDDApp",
+                        "--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:article-import-benchmark;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.security.jwt.secret-key=dGVzdC1zZWNyZXQta2V5LWZvci1qd3QtdG9rZW4tZ2VuZXJhdGlvbi1hbmQtdmFsaWRhdGlvbg==",
+                        "--spring.security.jwt.expiration-time=7200000",
+                        "--logging.level.root=WARN",
+                        "--mdd.articles.import.enabled=true",
+                        "--mdd.articles.import.batch-size=" + batchSize);
+        articleImportService = context.getBean(ArticleImportService.class);
+
+        User author = new User();
+        author.setUsername("benchmark");
+        author.setEmail("benchmark@example.com");
+        author.setPassword("password");
+        importer = context.getBean(UserRepository.class).save(author);
+        Topic topic = new Topic();
+        topic.setName("Benchmark");
+        topic.setDescription("Benchmark topic");
+        context.getBean(TopicRepository.class).save(topic);
+
+        String content = "Lorem ipsum dolor sit amet, consectetur adipiscing elit. ".repeat(20);
+        StringBuilder lines = new StringBuilder();
+        for (int i = 0; i < LINES; i++) {
+            lines.append("{\"title\":\"Article ").append(i).append("\",\"content\":\"").append(content)
+                    .append("\",\"topic\":\"Benchmark\",\"author\":\"benchmark\",\"createdAt\":\"2024-01-01T00:00:00\",")
+                    .append("\"comments\":[{\"content\":\"First\"},{\"content\":\"Second\",\"author\":\"benchmark\"}]}\n");
+        }
+        ndjson = lines.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LINES)
+    public ImportResponse importArticles() throws IOException {
+        return articleImportService.importArticles(new ByteArrayInputStream(ndjson), importer);
+    }
+}
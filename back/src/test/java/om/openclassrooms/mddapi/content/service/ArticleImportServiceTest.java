@@ -0,0 +1,267 @@
+package om.openclassrooms.mddapi.content.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import om.openclassrooms.mddapi.common.exception.ResourceNotFoundException;
+import om.openclassrooms.mddapi.common.persistence.IdBlockAllocator;
+import om.openclassrooms.mddapi.content.model.ArticleContentCodec;
+import om.openclassrooms.mddapi.content.model.ArticleMinHash;
+import om.openclassrooms.mddapi.content.model.Topic;
+import om.openclassrooms.mddapi.content.payload.ImportLineError;
+import om.openclassrooms.mddapi.content.payload.ImportResponse;
+import om.openclassrooms.mddapi.content.repository.ArticleImportRepository;
+import om.openclassrooms.mddapi.content.repository.ArticleImportRepository.ArticleRow;
+import om.openclassrooms.mddapi.content.repository.ArticleImportRepository.CommentRow;
+import om.openclassrooms.mddapi.content.repository.TopicRepository;
+import om.openclassrooms.mddapi.user.model.User;
+import om.openclassrooms.mddapi.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ArticleImportServiceTest {
+    private static final User IMPORTER = user(1L, "Root");
+
+    @Mock
+    private ArticleImportRepository articleImportRepository;
+
+    @Mock
+    private TopicRepository topicRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TimelineService timelineService;
+
+    @Mock
+    private IdBlockAllocator idBlockAllocator;
+
+    @Mock
+    private FeedCache feedCache;
+
+    @Mock
+    private HybridFeedEngine hybridFeedEngine;
+
+    @Mock
+    private ArticleSearchIndex articleSearchIndex;
+
+    @Mock
+    private RelatedArticlesIndex relatedArticlesIndex;
+
+    @Mock
+    private DuplicateArticleDetector duplicateArticleDetector;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ArticleImportService articleImportService;
+
+    @BeforeEach
+    void setUp() {
+        articleImportService = new ArticleImportService(articleImportRepository, topicRepository, userRepository,
+                timelineService, idBlockAllocator, feedCache, hybridFeedEngine, articleSearchIndex,
+                relatedArticlesIndex, duplicateArticleDetector, new ObjectMapper().registerModule(new JavaTimeModule()), transactionManager);
+        ReflectionTestUtils.setField(articleImportService, "enabled", true);
+        ReflectionTestUtils.setField(articleImportService, "chunkSize", 1000);
+        ReflectionTestUtils.setField(articleImportService, "batchSize", 500);
+        ReflectionTestUtils.setField(articleImportService, "admins", List.of("root"));
+
+        lenient().when(topicRepository.findAll()).thenReturn(List.of(topic(3L, "Java"), topic(4L, "Angular")));
+        lenient().when(userRepository.findAllByLowerCaseUsernameIn(any())).thenReturn(List.of(user(7L, "Alice")));
+        lenient().when(idBlockAllocator.reserve(eq("articles"), anyInt())).thenReturn(100L);
+        lenient().when(idBlockAllocator.reserve(eq("comments"), anyInt())).thenReturn(500L);
+    }
+
+    @Test
+    void importArticles_Disabled_ThrowsResourceNotFoundException() {
+        ReflectionTestUtils.setField(articleImportService, "enabled", false);
+
+        assertThrows(ResourceNotFoundException.class, () -> articleImportService.importArticles(ndjson(""), IMPORTER));
+        verifyNoInteractions(articleImportRepository);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void importArticles_ShouldWriteArticlesAndCommentsWithReservedIds() throws IOException {
+        ImportResponse response = articleImportService.importArticles(ndjson("""
+                {"title":"First","content":"Hello world","topic":"java","author":"alice","createdAt":"2024-03-01T10:00:00","comments":[{"content":"Nice","author":"ALICE"},{"content":"Mine"}]}
+                {"title":"Second","content":"Body","topic":" Angular "}
+                """), IMPORTER);
+
+        assertEquals(new ImportResponse(2, 2, 0, List.of()), response);
+        verify(idBlockAllocator).reserve("articles", 2);
+        verify(idBlockAllocator).reserve("comments", 2);
+
+        ArgumentCaptor<List<ArticleRow>> articles = ArgumentCaptor.forClass(List.class);
+        verify(articleImportRepository).insertArticles(articles.capture(), eq(500));
+        ArticleRow first = articles.getValue().get(0);
+        assertEquals(100L, first.id());
+        assertEquals("Hello world", first.content());
+        assertNull(first.contentData());
+        assertEquals("Hello world", first.excerpt());
+        assertEquals(2, first.wordCount());
+        assertEquals(3L, first.topicId());
+        assertEquals(7L, first.authorId());
+        assertEquals(LocalDateTime.of(2024, 3, 1, 10, 0), first.createdAt());
+        assertArrayEquals(ArticleMinHash.encode(ArticleMinHash.signature("First", "Hello world")), first.minhash());
+        ArticleRow second = articles.getValue().get(1);
+        assertEquals(101L, second.id());
+        assertEquals(4L, second.topicId());
+        assertEquals(1L, second.authorId());
+
+        ArgumentCaptor<List<CommentRow>> comments = ArgumentCaptor.forClass(List.class);
+        verify(articleImportRepository).insertComments(comments.capture(), eq(500));
+        assertEquals(List.of(
+                new CommentRow(500L, "Nice", 100L, 7L, first.createdAt()),
+                new CommentRow(501L, "Mine", 100L, 1L, first.createdAt())), comments.getValue());
+
+        verify(userRepository).findAllByLowerCaseUsernameIn(Set.of("alice"));
+        verify(topicRepository).incrementArticlesVersion(3L);
+        verify(topicRepository).incrementArticlesVersion(4L);
+        verify(timelineService).fanOutRange(100L, 102L);
+        verify(feedCache).evictAll();
+        verify(hybridFeedEngine).reload(Set.of(3L, 4L));
+        verify(articleSearchIndex).reindex(List.of(100L, 101L));
+        verify(relatedArticlesIndex).index(List.of(100L, 101L));
+        verify(duplicateArticleDetector).index(List.of(100L, 101L));
+    }
+
+    @Test
+    void importArticles_InvalidLines_AreReportedAndSkipped() throws IOException {
+        when(userRepository.findAllByLowerCaseUsernameIn(any())).thenReturn(List.of());
+
+        ImportResponse response = articleImportService.importArticles(ndjson("""
+                {"title":"Valid","content":"Body","topic":"Java"}
+                {"title":"Broken",
+
+                {"title":"","content":"Body","topic":"Java"}
+                {"title":"Unknown topic","content":"Body","topic":"Go"}
+                {"title":"Unknown author","content":"Body","topic":"Java","author":"bob"}
+                {"title":"Bad comment","content":"Body","topic":"Java","comments":[{"content":"%s"}]}
+                [1, 2]
+                null
+                """.formatted("x".repeat(501))), IMPORTER);
+
+        assertEquals(1, response.importedArticles());
+        assertEquals(7, response.failedLines());
+        assertEquals(List.of(2L, 4L, 5L, 6L, 7L, 8L, 9L),
+                response.errors().stream().map(ImportLineError::line).sorted().toList());
+        assertTrue(response.errors().stream().anyMatch(error ->
+                error.equals(new ImportLineError(5, "topic: unknown topic 'Go'"))));
+        assertTrue(response.errors().stream().anyMatch(error ->
+                error.equals(new ImportLineError(6, "author: unknown user 'bob'"))));
+        assertTrue(response.errors().stream().anyMatch(error ->
+                error.equals(new ImportLineError(7, "comments[0].content: longer than 500 characters"))));
+        verify(idBlockAllocator).reserve("articles", 1);
+        verify(idBlockAllocator, never()).reserve(eq("comments"), anyInt());
+    }
+
+    @Test
+    void importArticles_NotAdmin_OnlyImportsUnderOwnName() throws IOException {
+        ReflectionTestUtils.setField(articleImportService, "admins", List.of("alice"));
+
+        ImportResponse response = articleImportService.importArticles(ndjson("""
+                {"title":"Mine","content":"Body","topic":"Java","author":"ROOT","comments":[{"content":"Me","author":"root"}]}
+                {"title":"Theirs","content":"Body","topic":"Java","author":"alice"}
+                {"title":"Their comment","content":"Body","topic":"Java","comments":[{"content":"Hi","author":"alice"}]}
+                """), IMPORTER);
+
+        assertEquals(1, response.importedArticles());
+        assertEquals(1, response.importedComments());
+        assertEquals(List.of(
+                new ImportLineError(2, "author: only import administrators may post as 'alice'"),
+                new ImportLineError(3, "comments[0].author: only import administrators may post as 'alice'")),
+                response.errors());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void importArticles_ShouldWriteOneTransactionPerChunk() throws IOException {
+        ReflectionTestUtils.setField(articleImportService, "chunkSize", 2);
+
+        ImportResponse response = articleImportService.importArticles(ndjson("""
+                {"title":"A","content":"Body","topic":"Java","author":"alice"}
+                {"title":"B","content":"Body","topic":"Java","author":"alice"}
+                {"title":"C","content":"Body","topic":"Java","author":"alice"}
+                """), IMPORTER);
+
+        assertEquals(3, response.importedArticles());
+        verify(transactionManager, times(2)).getTransaction(any());
+        verify(articleImportRepository, times(2)).insertArticles(anyList(), eq(500));
+        // Authors resolved by the first chunk are not looked up again
+        verify(userRepository, times(1)).findAllByLowerCaseUsernameIn(any());
+    }
+
+    @Test
+    void importArticles_FailedChunk_ReportsItsLinesAndContinues() throws IOException {
+        ReflectionTestUtils.setField(articleImportService, "chunkSize", 1);
+        doThrow(new DataIntegrityViolationException("duplicate"))
+                .doNothing()
+                .when(articleImportRepository).insertArticles(anyList(), anyInt());
+
+        ImportResponse response = articleImportService.importArticles(ndjson("""
+                {"title":"A","content":"Body","topic":"Java"}
+                {"title":"B","content":"Body","topic":"Java"}
+                """), IMPORTER);
+
+        assertEquals(1, response.importedArticles());
+        assertEquals(List.of(new ImportLineError(1, "Not imported: database error")), response.errors());
+        verify(transactionManager).rollback(any());
+        verify(articleSearchIndex, times(1)).reindex(anyList());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void importArticles_WithCompression_StoresEncodedBody() throws IOException {
+        ReflectionTestUtils.setField(articleImportService, "contentCompression", true);
+
+        articleImportService.importArticles(ndjson("""
+                {"title":"A","content":"Compressed body","topic":"Java"}
+                """), IMPORTER);
+
+        ArgumentCaptor<List<ArticleRow>> articles = ArgumentCaptor.forClass(List.class);
+        verify(articleImportRepository).insertArticles(articles.capture(), anyInt());
+        ArticleRow row = articles.getValue().get(0);
+        assertNull(row.content());
+        assertEquals("Compressed body", ArticleContentCodec.decode(row.contentData()));
+        assertEquals("Compressed body", row.excerpt());
+    }
+
+    private static InputStream ndjson(String lines) {
+        return new ByteArrayInputStream(lines.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Topic topic(long id, String name) {
+        Topic topic = new Topic();
+        topic.setId(id);
+        topic.setName(name);
+        return topic;
+    }
+
+    private static User user(Long id, String username) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername(username);
+        return user;
+    }
+}
@@ -0,0 +1,153 @@
+package om.openclassrooms.mddapi.content.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import om.openclassrooms.mddapi.content.payload.ArticleResponse;
+import om.openclassrooms.mddapi.content.repository.ArticleRepository;
+import om.openclassrooms.mddapi.content.repository.CommentRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Limit;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Search latency distribution (see the p0.99 line) over a synthetic corpus whose words follow a
+ * Zipf law, like natural text. The index is on disk as configured in production, the user follows
+ * 5 of 20 topics and queries are two words drawn from the same law. The database is replaced by
+ * generated batches, so the setup also times a full {@link ArticleSearchIndex#rebuild()}.
+ * <p>
+ * {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="ArticleSearchBenchmark -p articles=100000"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx1g"})
+public class ArticleSearchBenchmark {
+    private static final int VOCABULARY = 50_000;
+    private static final int TOPICS = 20;
+    private static final int TITLE_WORDS = 6;
+    private static final int CONTENT_WORDS = 120;
+    private static final List<Long> SUBSCRIBED_TOPICS = List.of(1L, 2L, 3L, 4L, 5L);
+
+    @Param({"1000000"})
+    public int articles;
+
+    private Path indexPath;
+    private ArticleSearchIndex articleSearchIndex;
+    private String[] words;
+    private double[] cumulativeFrequencies;
+    private SplittableRandom queryRandom;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        words = new String[VOCABULARY];
+        Random random = new Random(42);
+        for (int i = 0; i < VOCABULARY; i++) {
+            words[i] = pseudoWord(random);
+        }
+        // Zipf with s = 1: the rank r word is 1/r as frequent as the first one
+        cumulativeFrequencies = new double[VOCABULARY];
+        double total = 0;
+        for (int rank = 1; rank <= VOCABULARY; rank++) {
+            total += 1.0 / rank;
+            cumulativeFrequencies[rank - 1] = total;
+        }
+        for (int i = 0; i < VOCABULARY; i++) {
+            cumulativeFrequencies[i] /= total;
+        }
+
+        indexPath = Files.createTempDirectory("article-search-benchmark");
+        articleSearchIndex = new ArticleSearchIndex(generatedArticles(), noComments(), new SimpleMeterRegistry(),
+                indexPath.toString());
+        long started = System.nanoTime();
+        articleSearchIndex.rebuild();
+        System.out.printf("%nIndexed %d articles in %d s, %d MB on disk%n", articleSearchIndex.getDocumentCount(),
+                TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - started), articleSearchIndex.sizeInBytes() >> 20);
+        queryRandom = new SplittableRandom(7);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        articleSearchIndex.close();
+        FileSystemUtils.deleteRecursively(indexPath);
+    }
+
+    @Benchmark
+    public List<Long> search() {
+        String query = words[zipfRank(queryRandom)] + " " + words[zipfRank(queryRandom)];
+        return articleSearchIndex.search(query, SUBSCRIBED_TOPICS, 20);
+    }
+
+    private ArticleRepository generatedArticles() {
+        return (ArticleRepository) Proxy.newProxyInstance(ArticleRepository.class.getClassLoader(),
+                new Class<?>[]{ArticleRepository.class}, (proxy, method, args) -> {
+                    if (!method.getName().equals("findResponsesAfter")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    long afterId = (Long) args[0];
+                    int limit = ((Limit) args[1]).max();
+                    return LongStream.rangeClosed(afterId + 1, Math.min(afterId + limit, articles))
+                            .mapToObj(this::article)
+                            .toList();
+                });
+    }
+
+    private static CommentRepository noComments() {
+        return (CommentRepository) Proxy.newProxyInstance(CommentRepository.class.getClassLoader(),
+                new Class<?>[]{CommentRepository.class}, (proxy, method, args) -> List.of());
+    }
+
+    private ArticleResponse article(long id) {
+        // Seeded by id: the same article always has the same text
+        SplittableRandom random = new SplittableRandom(id);
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 0, 0).plusMinutes(id);
+        return new ArticleResponse(id, text(random, TITLE_WORDS), text(random, CONTENT_WORDS), "benchmark",
+                id % TOPICS + 1, "Topic", createdAt, createdAt, 0L, 0);
+    }
+
+    private String text(SplittableRandom random, int wordCount) {
+        List<String> text = new ArrayList<>(wordCount);
+        for (int i = 0; i < wordCount; i++) {
+            text.add(words[zipfRank(random)]);
+        }
+        return String.join(" ", text);
+    }
+
+    private int zipfRank(SplittableRandom random) {
+        int position = Arrays.binarySearch(cumulativeFrequencies, random.nextDouble());
+        return Math.min(position < 0 ? -position - 1 : position, VOCABULARY - 1);
+    }
+
+    private static String pseudoWord(Random random) {
+        char[] letters = new char[3 + random.nextInt(8)];
+        for (int i = 0; i < letters.length; i++) {
+            letters[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(letters);
+    }
+}
@@ -0,0 +1,158 @@
+package om.openclassrooms.mddapi.content.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import om.openclassrooms.mddapi.common.exception.ServiceUnavailableException;
+import om.openclassrooms.mddapi.content.event.CommentCreatedEvent;
+import om.openclassrooms.mddapi.content.payload.ArticleResponse;
+import om.openclassrooms.mddapi.content.payload.CommentText;
+import om.openclassrooms.mddapi.content.repository.ArticleRepository;
+import om.openclassrooms.mddapi.content.repository.CommentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ArticleSearchIndexTest {
+
+    @Mock
+    private ArticleRepository articleRepository;
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ArticleSearchIndex articleSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        articleSearchIndex = new ArticleSearchIndex(articleRepository, commentRepository, meterRegistry, "");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        articleSearchIndex.close();
+    }
+
+    @Test
+    void search_BeforeFirstRebuild_ThrowsServiceUnavailableException() {
+        ServiceUnavailableException exception = assertThrows(ServiceUnavailableException.class,
+                () -> articleSearchIndex.search("java", List.of(1L), 10));
+
+        assertEquals("articles.search.indexing", exception.getMessage());
+    }
+
+    @Test
+    void search_TitleMatchesRankAboveBodyMatches() {
+        rebuildWith(
+                article(1L, 1L, "Spring tips", "A few words about java records"),
+                article(2L, 1L, "Java records", "Everything about them"),
+                article(3L, 1L, "Angular", "Nothing relevant"));
+
+        assertEquals(List.of(2L, 1L), articleSearchIndex.search("records", List.of(1L), 10));
+    }
+
+    @Test
+    void search_OnlyReturnsArticlesOfTheGivenTopics() {
+        rebuildWith(
+                article(1L, 1L, "Java streams", "Body"),
+                article(2L, 2L, "Java modules", "Body"));
+
+        assertEquals(List.of(2L), articleSearchIndex.search("java", List.of(2L), 10));
+        assertEquals(List.of(), articleSearchIndex.search("java", List.of(), 10));
+    }
+
+    @Test
+    void search_IgnoresCaseAndAccents() {
+        rebuildWith(article(1L, 1L, "Écrire des tests", "Body"));
+
+        assertEquals(List.of(1L), articleSearchIndex.search("ECRIRE", List.of(1L), 10));
+    }
+
+    @Test
+    void search_PunctuationOnly_ReturnsNothing() {
+        rebuildWith(article(1L, 1L, "Java", "Body"));
+
+        assertEquals(List.of(), articleSearchIndex.search("?!", List.of(1L), 10));
+    }
+
+    @Test
+    void onCommentCreated_MakesTheCommentSearchable() {
+        rebuildWith(article(1L, 1L, "Java", "Body"));
+        when(articleRepository.findResponsesByIdIn(List.of(1L))).thenReturn(List.of(article(1L, 1L, "Java", "Body")));
+        when(commentRepository.findTextsByArticleIdIn(List.of(1L)))
+                .thenReturn(List.of(new CommentText(1L, "Try virtual threads")));
+
+        articleSearchIndex.onCommentCreated(new CommentCreatedEvent(1L, 1L, 9L));
+
+        assertEquals(List.of(1L), articleSearchIndex.search("virtual", List.of(1L), 10));
+        assertEquals(1, articleSearchIndex.getDocumentCount());
+    }
+
+    @Test
+    void reindex_DeletedArticle_IsRemoved() {
+        rebuildWith(article(1L, 1L, "Java", "Body"), article(2L, 1L, "Java", "Body"));
+        when(articleRepository.findResponsesByIdIn(List.of(2L))).thenReturn(List.of());
+
+        articleSearchIndex.reindex(List.of(2L));
+
+        assertEquals(List.of(1L), articleSearchIndex.search("java", List.of(1L), 10));
+    }
+
+    @Test
+    void rebuild_ReadsEveryBatchAndRecordsMetrics() {
+        List<ArticleResponse> firstBatch = LongStream.rangeClosed(1, 500)
+                .mapToObj(id -> article(id, 1L, "Article " + id, "Body"))
+                .toList();
+        when(articleRepository.findResponsesAfter(0L, Limit.of(500))).thenReturn(firstBatch);
+        when(articleRepository.findResponsesAfter(500L, Limit.of(500)))
+                .thenReturn(List.of(article(501L, 1L, "Last article", "Body")));
+        when(articleRepository.findResponsesAfter(501L, Limit.of(500))).thenReturn(List.of());
+
+        articleSearchIndex.rebuild();
+        articleSearchIndex.search("last", List.of(1L), 10);
+
+        assertTrue(articleSearchIndex.isReady());
+        assertEquals(501, articleSearchIndex.getDocumentCount());
+        assertEquals(501, meterRegistry.get("articles.search.index.documents").gauge().value());
+        assertTrue(meterRegistry.get("articles.search.index.size").gauge().value() > 0);
+        assertEquals(1, meterRegistry.get("articles.search").timer().count());
+        verify(commentRepository, times(2)).findTextsByArticleIdIn(anyCollection());
+    }
+
+    @Test
+    void rebuild_ReplacesPreviousContent() {
+        rebuildWith(article(1L, 1L, "Java", "Body"));
+
+        rebuildWith(article(2L, 1L, "Kotlin", "Body"));
+
+        assertEquals(List.of(), articleSearchIndex.search("java", List.of(1L), 10));
+        assertEquals(List.of(2L), articleSearchIndex.search("kotlin", List.of(1L), 10));
+    }
+
+    private void rebuildWith(ArticleResponse... articles) {
+        when(articleRepository.findResponsesAfter(eq(0L), any(Limit.class))).thenReturn(List.of(articles));
+        when(articleRepository.findResponsesAfter(eq(articles[articles.length - 1].id()), any(Limit.class)))
+                .thenReturn(List.of());
+        articleSearchIndex.rebuild();
+    }
+
+    private static ArticleResponse article(Long id, Long topicId, String title, String content) {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 12, 26, 10, 30);
+        return new ArticleResponse(id, title, content, "testuser", topicId, "Topic " + topicId, createdAt, createdAt, 0L, 0);
+    }
+}
@@ -1,13 +1,25 @@
 package om.openclassrooms.mddapi.content.service;
 
+import om.openclassrooms.mddapi.common.exception.ConflictException;
 import om.openclassrooms.mddapi.common.exception.ResourceNotFoundException;
 import om.openclassrooms.mddapi.common.exception.WrongParametersException;
+import om.openclassrooms.mddapi.content.event.ArticleCreatedEvent;
 import om.openclassrooms.mddapi.content.model.Article;
+import om.openclassrooms.mddapi.content.model.ArticleContentCodec;
+import om.openclassrooms.mddapi.content.model.ArticleHtml;
+import om.openclassrooms.mddapi.content.model.ArticleMinHash;
+import om.openclassrooms.mddapi.content.model.ArticleSimHash;
 import om.openclassrooms.mddapi.content.model.Topic;
+import om.openclassrooms.mddapi.content.payload.ArticlePageResponse;
+import om.openclassrooms.mddapi.content.payload.ArticleRendition;
 import om.openclassrooms.mddapi.content.payload.ArticleResponse;
+import om.openclassrooms.mddapi.content.payload.ArticleSummaryResponse;
+import om.openclassrooms.mddapi.content.payload.ArticleText;
 import om.openclassrooms.mddapi.content.payload.CreateArticleRequest;
+import om.openclassrooms.mddapi.content.payload.FeedCursor;
 import om.openclassrooms.mddapi.content.repository.ArticleRepository;
 import om.openclassrooms.mddapi.content.repository.CommentRepository;
+import om.openclassrooms.mddapi.content.repository.TimelineEntryRepository;
 import om.openclassrooms.mddapi.content.repository.TopicRepository;
 import om.openclassrooms.mddapi.user.model.User;
 import om.openclassrooms.mddapi.user.repository.UserRepository;
@@ -17,11 +29,22 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 
+import java.time.LocalDateTime;
+
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -43,6 +66,39 @@ class ArticleServiceTest {
     @Mock
     private CommentRepository commentRepository;
 
+    @Mock
+    private TimelineEntryRepository timelineEntryRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private HybridFeedEngine hybridFeedEngine;
+
+    @Mock
+    private FeedCache feedCache;
+
+    @Mock
+    private ArticleCache articleCache;
+
+    @Mock
+    private ArticleSearchIndex articleSearchIndex;
+
+    @Mock
+    private ArticleViewCounter articleViewCounter;
+
+    @Mock
+    private TrendingArticles trendingArticles;
+
+    @Mock
+    private RelatedArticlesIndex relatedArticlesIndex;
+
+    @Mock
+    private DuplicateArticleDetector duplicateArticleDetector;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private ArticleService articleService;
 
@@ -71,6 +127,9 @@ class ArticleServiceTest {
         testArticle.setTopic(testTopic);
 
         createRequest = new CreateArticleRequest("Test Article", "Test Content", 1L);
+
+        lenient().when(articleCache.get(anyLong(), any()))
+                .thenAnswer(invocation -> invocation.<Function<Long, ?>>getArgument(1).apply(invocation.getArgument(0)));
     }
 
     @Test
@@ -78,12 +137,30 @@ class ArticleServiceTest {
         when(topicRepository.findById(1L)).thenReturn(Optional.of(testTopic));
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
         when(articleRepository.save(any(Article.class))).thenReturn(testArticle);
+        when(topicRepository.findSubscriberIds(1L)).thenReturn(List.of(1L, 2L));
 
         assertDoesNotThrow(() -> articleService.createArticle(createRequest, 1L));
 
         verify(topicRepository).findById(1L);
         verify(userRepository).findById(1L);
+        verify(topicRepository).incrementArticlesVersion(1L);
         verify(articleRepository).save(any(Article.class));
+        verify(eventPublisher).publishEvent(any(ArticleCreatedEvent.class));
+        verify(feedCache).evictUsers(List.of(1L, 2L));
+    }
+
+    @Test
+    void createArticle_NearDuplicate_ThrowsConflictException() {
+        String body = "Records give Java compact immutable data carriers. ".repeat(8);
+        CreateArticleRequest request = new CreateArticleRequest("Records", body, 1L);
+        when(duplicateArticleDetector.findDuplicate(ArticleSimHash.fingerprint(body))).thenReturn(Optional.of(7L));
+
+        ConflictException exception = assertThrows(ConflictException.class,
+                () -> articleService.createArticle(request, 1L));
+
+        assertEquals(List.of("article.duplicate"), exception.getMessageKeys());
+        verify(topicRepository, never()).incrementArticlesVersion(anyLong());
+        verify(articleRepository, never()).save(any(Article.class));
     }
 
     @Test
@@ -96,6 +173,7 @@ class ArticleServiceTest {
         assertEquals("topic", exception.getMessage());
         verify(topicRepository).findById(1L);
         verify(userRepository, never()).findById(anyLong());
+        verify(topicRepository, never()).incrementArticlesVersion(anyLong());
         verify(articleRepository, never()).save(any(Article.class));
     }
 
@@ -115,7 +193,7 @@ class ArticleServiceTest {
 
     @Test
     void getAllArticles_ForUser_Success() {
-        List<Article> articles = Arrays.asList(testArticle);
+        List<ArticleResponse> articles = Arrays.asList(ArticleResponse.from(testArticle));
         Sort sort = Sort.by(Sort.Direction.DESC, "createdAt");
         when(articleRepository.findAllByUserSubscription(1L, sort)).thenReturn(articles);
 
@@ -124,6 +202,7 @@ class ArticleServiceTest {
         assertNotNull(result);
         assertEquals(1, result.size());
         verify(articleRepository).findAllByUserSubscription(1L, sort);
+        verifyNoInteractions(feedCache);
     }
 
     @Test
@@ -138,24 +217,403 @@ class ArticleServiceTest {
         verify(articleRepository).findAllByUserSubscription(1L, sort);
     }
 
+    @Test
+    void streamAllArticles_ForUser_HandsEveryRowToSinkAndClosesCursor() {
+        Sort sort = Sort.by(Sort.Direction.DESC, "createdAt");
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<ArticleResponse> rows = Stream.of(ArticleResponse.from(testArticle), ArticleResponse.from(testArticle))
+                .onClose(() -> closed.set(true));
+        when(articleRepository.streamAllByUserSubscription(1L, sort)).thenReturn(rows);
+        List<ArticleResponse> received = new ArrayList<>();
+
+        articleService.streamAllArticlesForUser(1L, sort, received::add);
+
+        assertEquals(2, received.size());
+        assertTrue(closed.get());
+        verify(articleRepository, never()).findAllByUserSubscription(anyLong(), any(Sort.class));
+    }
+
     @Test
     void getArticleById_Success() {
-        when(articleRepository.findById(1L)).thenReturn(Optional.of(testArticle));
+        when(articleRepository.findResponseById(1L)).thenReturn(Optional.of(ArticleResponse.from(testArticle)));
 
         ArticleResponse result = articleService.getArticleById(1L);
 
         assertNotNull(result);
-        verify(articleRepository).findById(1L);
+        verify(articleCache).get(eq(1L), any());
+        verify(articleRepository).findResponseById(1L);
+    }
+
+    @Test
+    void getArticleById_AddsUnflushedViewsToStoredCount() {
+        ArticleResponse stored = ArticleResponse.from(testArticle).withViewCount(40);
+        when(articleRepository.findResponseById(1L)).thenReturn(Optional.of(stored));
+        when(articleViewCounter.getPendingViews(1L)).thenReturn(2L);
+
+        ArticleResponse result = articleService.getArticleById(1L);
+
+        assertEquals(42L, result.viewCount());
     }
 
     @Test
     void getArticleById_NotFound_ThrowsResourceNotFoundException() {
-        when(articleRepository.findById(1L)).thenReturn(Optional.empty());
+        when(articleRepository.findResponseById(1L)).thenReturn(Optional.empty());
 
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
                 () -> articleService.getArticleById(1L));
 
         assertEquals("article", exception.getMessage());
-        verify(articleRepository).findById(1L);
+        verify(articleRepository).findResponseById(1L);
+    }
+
+    @Test
+    void getArticlesPage_FirstPage_ReturnsNextCursorWhenMoreRows() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 12, 26, 10, 30);
+        List<FeedCursor> keys = List.of(new FeedCursor(createdAt, 1L), new FeedCursor(createdAt.minusMinutes(1), 2L));
+        when(articleRepository.findFirstFeedPageKeys(1L, Limit.of(2))).thenReturn(keys);
+        when(articleRepository.findResponsesByIdIn(List.of(1L))).thenReturn(List.of(ArticleResponse.from(testArticle)));
+
+        ArticlePageResponse<ArticleResponse> result = articleService.getArticlesPageForUser(1L, null, 1);
+
+        assertEquals(1, result.items().size());
+        assertEquals(1L, result.items().get(0).id());
+        assertEquals(new FeedCursor(createdAt, 1L), FeedCursor.decode(result.nextCursor()));
+    }
+
+    @Test
+    void getArticlesPage_WithCursor_SeeksAfterCursor() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 12, 26, 10, 30);
+        String cursor = new FeedCursor(createdAt, 5L).encode();
+        when(articleRepository.findFeedPageKeysAfter(1L, createdAt, 5L, Limit.of(11)))
+                .thenReturn(List.of(new FeedCursor(createdAt.minusMinutes(1), 1L)));
+        when(articleRepository.findResponsesByIdIn(List.of(1L))).thenReturn(List.of(ArticleResponse.from(testArticle)));
+
+        ArticlePageResponse<ArticleResponse> result = articleService.getArticlesPageForUser(1L, cursor, 10);
+
+        assertEquals(1, result.items().size());
+        assertNull(result.nextCursor());
+        verify(articleRepository, never()).findFirstFeedPageKeys(anyLong(), any(Limit.class));
+    }
+
+    @Test
+    void getArticlesPage_EmptyFeed_SkipsHydration() {
+        when(articleRepository.findFirstFeedPageKeys(1L, Limit.of(11))).thenReturn(List.of());
+
+        ArticlePageResponse<ArticleResponse> result = articleService.getArticlesPageForUser(1L, null, 10);
+
+        assertTrue(result.items().isEmpty());
+        assertNull(result.nextCursor());
+        verify(articleRepository, never()).findResponsesByIdIn(any());
+    }
+
+    @Test
+    void getArticlesPage_TimelineEnabled_ReadsMaterializedTimeline() {
+        ReflectionTestUtils.setField(articleService, "timelineEnabled", true);
+        when(timelineEntryRepository.findFirstFeedPageKeys(1L, Limit.of(11)))
+                .thenReturn(List.of(new FeedCursor(LocalDateTime.of(2025, 12, 26, 10, 30), 1L)));
+        when(articleRepository.findResponsesByIdIn(List.of(1L))).thenReturn(List.of(ArticleResponse.from(testArticle)));
+
+        ArticlePageResponse<ArticleResponse> result = articleService.getArticlesPageForUser(1L, null, 10);
+
+        assertEquals(1, result.items().size());
+        verify(articleRepository, never()).findFirstFeedPageKeys(anyLong(), any(Limit.class));
+    }
+
+    @Test
+    void getArticleSummariesPage_LoadsSummariesOnly() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 12, 26, 10, 30);
+        ArticleSummaryResponse summary = new ArticleSummaryResponse(1L, "Test Article", "Test Content", 2, 1,
+                "testuser", 1L, "Test Topic", createdAt, createdAt);
+        when(articleRepository.findFirstFeedPageKeys(1L, Limit.of(11))).thenReturn(List.of(new FeedCursor(createdAt, 1L)));
+        when(articleRepository.findSummariesByIdIn(List.of(1L))).thenReturn(List.of(summary));
+
+        ArticlePageResponse<ArticleSummaryResponse> result = articleService.getArticleSummariesPageForUser(1L, null, 10);
+
+        assertEquals(List.of(summary), result.items());
+        verify(articleRepository, never()).findResponsesByIdIn(any());
+    }
+
+    @Test
+    void getAllArticleSummaries_ForUser_Success() {
+        Sort sort = Sort.by(Sort.Direction.DESC, "createdAt");
+        when(articleRepository.findSummariesByUserSubscription(1L, sort)).thenReturn(List.of());
+
+        assertTrue(articleService.getAllArticleSummariesForUser(1L, sort).isEmpty());
+        verify(articleRepository, never()).findAllByUserSubscription(anyLong(), any(Sort.class));
+    }
+
+    @Test
+    void createArticle_StoresSummary() {
+        when(topicRepository.findById(1L)).thenReturn(Optional.of(testTopic));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(articleRepository.save(any(Article.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        articleService.createArticle(createRequest, 1L);
+
+        verify(articleRepository).save(argThat(article ->
+                "Test Content".equals(article.getExcerpt())
+                        && article.getWordCount() == 2
+                        && article.getReadingTimeMinutes() == 1));
+    }
+
+    @Test
+    void createArticle_StoresMinHashSignature() {
+        when(topicRepository.findById(1L)).thenReturn(Optional.of(testTopic));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(articleRepository.save(any(Article.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        articleService.createArticle(createRequest, 1L);
+
+        int[] expected = ArticleMinHash.signature("Test Article", "Test Content");
+        verify(articleRepository).save(argThat(article ->
+                Arrays.equals(expected, ArticleMinHash.decode(article.getMinhash()))));
+    }
+
+    @Test
+    void summarizeBatch_SummarizesUnsummarizedArticles() {
+        when(articleRepository.findUnsummarized(Limit.of(50))).thenReturn(List.of(testArticle));
+
+        int count = articleService.summarizeBatch(50);
+
+        assertEquals(1, count);
+        assertEquals("Test Content", testArticle.getExcerpt());
+        assertEquals(2, testArticle.getWordCount());
+    }
+
+    @Test
+    void createArticle_CompressionEnabled_StoresCompressedBody() {
+        ReflectionTestUtils.setField(articleService, "contentCompression", true);
+        when(topicRepository.findById(1L)).thenReturn(Optional.of(testTopic));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(articleRepository.save(any(Article.class))).thenAnswer(invocation -> {
+            Article saved = invocation.getArgument(0);
+            saved.setId(1L);
+            return saved;
+        });
+
+        articleService.createArticle(createRequest, 1L);
+
+        verify(articleRepository).save(argThat(article -> article.isContentCompressed()
+                && "Test Content".equals(article.getContent())
+                && "Test Content".equals(article.getExcerpt())));
+    }
+
+    @Test
+    void compressContentBatch_StoresEncodedBodies() {
+        when(articleRepository.findUncompressedAfter(0L, Limit.of(50))).thenReturn(List.of(testArticle));
+
+        List<Long> ids = articleService.compressContentBatch(0L, 50);
+
+        assertEquals(List.of(1L), ids);
+        verify(articleRepository).storeCompressedContent(eq(1L),
+                argThat(data -> "Test Content".equals(ArticleContentCodec.decode(data))));
+    }
+
+    @Test
+    void createArticle_StoresHtmlRendition() {
+        createRequest = new CreateArticleRequest("Test Article", "**Test** <b>Content</b>", 1L);
+        when(topicRepository.findById(1L)).thenReturn(Optional.of(testTopic));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(articleRepository.save(any(Article.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        articleService.createArticle(createRequest, 1L);
+
+        verify(articleRepository).save(argThat(article ->
+                "<p><strong>Test</strong> &lt;b&gt;Content&lt;/b&gt;</p>\n".equals(article.getContentHtml())
+                        && ArticleHtml.hash("**Test** <b>Content</b>").equals(article.getContentHash())));
+    }
+
+    @Test
+    void getArticleHtmlVersion_CurrentRendition_ReturnsStoredHash() {
+        String hash = ArticleHtml.hash("Test Content");
+        when(articleRepository.findContentHashById(1L)).thenReturn(Optional.of(hash));
+
+        assertEquals(Optional.of(hash), articleService.getArticleHtmlVersion(1L));
+
+        // Only the read-only lookup: the reader is not routed to the primary
+        verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
+        verify(transactionManager, never()).getTransaction(argThat(definition -> !definition.isReadOnly()));
+        verify(articleRepository, never()).findById(anyLong());
+        verify(articleRepository, never()).storeContentHtml(anyLong(), any(), any());
+    }
+
+    @Test
+    void getArticleHtmlVersion_MissingOrOutdatedRendition_RendersAndStoresIt() {
+        when(articleRepository.findContentHashById(1L)).thenReturn(Optional.of("0-outdated"));
+        when(articleRepository.findById(1L)).thenReturn(Optional.of(testArticle));
+
+        Optional<String> version = articleService.getArticleHtmlVersion(1L);
+
+        assertEquals(Optional.of(ArticleHtml.hash("Test Content")), version);
+        verify(transactionManager).getTransaction(argThat(definition -> !definition.isReadOnly()));
+        verify(articleRepository).storeContentHtml(1L, "<p>Test Content</p>\n", ArticleHtml.hash("Test Content"));
+    }
+
+    @Test
+    void getArticleHtmlVersion_NotFound_ThrowsResourceNotFoundException() {
+        when(articleRepository.findContentHashById(99L)).thenReturn(Optional.empty());
+        when(articleRepository.findById(99L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> articleService.getArticleHtmlVersion(99L));
+    }
+
+    @Test
+    void findUnrenderedBatch_SelectsArticlesWithoutCurrentRendition() {
+        when(articleRepository.findUnrenderedAfter(0L, ArticleHtml.HASH_PREFIX + "%", Limit.of(50)))
+                .thenReturn(List.of(testArticle));
+
+        List<ArticleText> batch = articleService.findUnrenderedBatch(0L, 50);
+
+        assertEquals(List.of(new ArticleText(1L, "Test Content")), batch);
+    }
+
+    @Test
+    void storeRenditions_StoresEachRendition() {
+        articleService.storeRenditions(List.of(new ArticleRendition(1L, "<p>a</p>", "1-a"),
+                new ArticleRendition(2L, "<p>b</p>", "1-b")));
+
+        verify(articleRepository).storeContentHtml(1L, "<p>a</p>", "1-a");
+        verify(articleRepository).storeContentHtml(2L, "<p>b</p>", "1-b");
+    }
+
+    @Test
+    void getArticlesPage_EngineAnswers_LoadsBufferedArticlesInOrder() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 12, 26, 10, 30);
+        Article olderArticle = new Article();
+        olderArticle.setId(2L);
+        olderArticle.setTitle("Older Article");
+        olderArticle.setAuthor(testUser);
+        olderArticle.setTopic(testTopic);
+        List<FeedCursor> keys = List.of(new FeedCursor(createdAt, 1L), new FeedCursor(createdAt.minusMinutes(1), 2L));
+        when(hybridFeedEngine.findPageKeys(1L, null, 11)).thenReturn(Optional.of(keys));
+        when(articleRepository.findResponsesByIdIn(List.of(1L, 2L)))
+                .thenReturn(List.of(ArticleResponse.from(olderArticle), ArticleResponse.from(testArticle)));
+
+        ArticlePageResponse<ArticleResponse> result = articleService.getArticlesPageForUser(1L, null, 10);
+
+        assertEquals(List.of(1L, 2L), result.items().stream().map(ArticleResponse::id).toList());
+        assertNull(result.nextCursor());
+        verify(articleRepository, never()).findFirstFeedPageKeys(anyLong(), any(Limit.class));
+    }
+
+    @Test
+    void getArticlesPage_InCachedHead_ServedWithoutLoading() {
+        ArticlePageResponse<ArticleResponse> cached = new ArticlePageResponse<>(List.of(ArticleResponse.from(testArticle)), null);
+        when(feedCache.<ArticleResponse>getPage(eq(1L), eq("full:10"), eq(10), isNull(), any(), any(), any()))
+                .thenReturn(Optional.of(cached));
+
+        ArticlePageResponse<ArticleResponse> result = articleService.getArticlesPageForUser(1L, null, 10);
+
+        assertSame(cached, result);
+        verifyNoInteractions(articleRepository, hybridFeedEngine);
+    }
+
+    @Test
+    void getArticlesPage_EngineReturnsStaleIds_FallsBackToDatabase() {
+        List<FeedCursor> keys = List.of(new FeedCursor(LocalDateTime.of(2025, 12, 26, 10, 30), 99L));
+        when(hybridFeedEngine.findPageKeys(1L, null, 11)).thenReturn(Optional.of(keys));
+        when(articleRepository.findResponsesByIdIn(List.of(99L))).thenReturn(List.of());
+        when(articleRepository.findFirstFeedPageKeys(1L, Limit.of(11)))
+                .thenReturn(List.of(new FeedCursor(LocalDateTime.of(2025, 12, 26, 10, 30), 1L)));
+        when(articleRepository.findResponsesByIdIn(List.of(1L))).thenReturn(List.of(ArticleResponse.from(testArticle)));
+
+        ArticlePageResponse<ArticleResponse> result = articleService.getArticlesPageForUser(1L, null, 10);
+
+        assertEquals(1, result.items().size());
+    }
+
+    @Test
+    void getArticlesPage_InvalidLimit_ThrowsWrongParametersException() {
+        WrongParametersException exception = assertThrows(WrongParametersException.class,
+                () -> articleService.getArticlesPageForUser(1L, null, ArticleService.MAX_FEED_PAGE_SIZE + 1));
+
+        assertEquals("limit", exception.getMessage());
+        verifyNoInteractions(articleRepository, hybridFeedEngine);
+    }
+
+    @Test
+    void getArticlesPage_InvalidCursor_ThrowsWrongParametersException() {
+        WrongParametersException exception = assertThrows(WrongParametersException.class,
+                () -> articleService.getArticlesPageForUser(1L, "not-a-cursor", 10));
+
+        assertEquals("cursor", exception.getMessage());
+    }
+
+    @Test
+    void searchArticles_KeepsIndexRankingAndSkipsDeletedHits() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 12, 26, 10, 30);
+        ArticleSummaryResponse first = new ArticleSummaryResponse(1L, "First", "Body", 1, 1,
+                "testuser", 1L, "Test Topic", createdAt, createdAt);
+        ArticleSummaryResponse third = new ArticleSummaryResponse(3L, "Third", "Body", 1, 1,
+                "testuser", 1L, "Test Topic", createdAt, createdAt);
+        when(topicRepository.findSubscribedTopicIds(1L)).thenReturn(List.of(1L));
+        when(articleSearchIndex.search("java", List.of(1L), 20)).thenReturn(List.of(3L, 2L, 1L));
+        when(articleRepository.findSummariesByIdIn(List.of(3L, 2L, 1L))).thenReturn(List.of(first, third));
+
+        assertEquals(List.of(third, first), articleService.searchArticles(1L, "java", 20));
+    }
+
+    @Test
+    void getTrendingArticles_KeepsTrendingRanking() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 12, 26, 10, 30);
+        ArticleSummaryResponse first = new ArticleSummaryResponse(1L, "First", "Body", 1, 1,
+                "testuser", 1L, "Test Topic", createdAt, createdAt);
+        ArticleSummaryResponse second = new ArticleSummaryResponse(2L, "Second", "Body", 1, 1,
+                "testuser", 1L, "Test Topic", createdAt, createdAt);
+        when(topicRepository.findSubscribedTopicIds(1L)).thenReturn(List.of(1L));
+        when(trendingArticles.top(List.of(1L), TrendingArticles.WINDOWS.get("6h"), 10)).thenReturn(List.of(2L, 1L));
+        when(articleRepository.findSummariesByIdIn(List.of(2L, 1L))).thenReturn(List.of(first, second));
+
+        assertEquals(List.of(second, first), articleService.getTrendingArticles(1L, "6h", 10));
+    }
+
+    @Test
+    void getTrendingArticles_InvalidParameters_ThrowWrongParametersException() {
+        assertEquals("window", assertThrows(WrongParametersException.class,
+                () -> articleService.getTrendingArticles(1L, "2h", 10)).getMessage());
+        assertEquals("limit", assertThrows(WrongParametersException.class,
+                () -> articleService.getTrendingArticles(1L, "1h", TrendingArticles.MAX_TRENDING + 1)).getMessage());
+        verifyNoInteractions(trendingArticles);
+    }
+
+    @Test
+    void getRelatedArticles_KeepsSimilarityRanking() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 12, 26, 10, 30);
+        ArticleSummaryResponse second = new ArticleSummaryResponse(2L, "Second", "Body", 1, 1,
+                "testuser", 1L, "Test Topic", createdAt, createdAt);
+        ArticleSummaryResponse third = new ArticleSummaryResponse(3L, "Third", "Body", 1, 1,
+                "testuser", 1L, "Test Topic", createdAt, createdAt);
+        when(topicRepository.findSubscribedTopicIds(1L)).thenReturn(List.of(1L));
+        when(relatedArticlesIndex.related(1L, List.of(1L), 5)).thenReturn(List.of(3L, 2L));
+        when(articleRepository.findSummariesByIdIn(List.of(3L, 2L))).thenReturn(List.of(second, third));
+
+        assertEquals(List.of(third, second), articleService.getRelatedArticles(1L, 1L, 5));
+    }
+
+    @Test
+    void getRelatedArticles_InvalidLimit_ThrowsWrongParametersException() {
+        assertEquals("limit", assertThrows(WrongParametersException.class,
+                () -> articleService.getRelatedArticles(1L, 1L, ArticleService.MAX_RELATED + 1)).getMessage());
+        verifyNoInteractions(relatedArticlesIndex);
+    }
+
+    @Test
+    void searchArticles_NoHit_DoesNotQueryArticles() {
+        when(topicRepository.findSubscribedTopicIds(1L)).thenReturn(List.of());
+        when(articleSearchIndex.search("java", List.of(), 20)).thenReturn(List.of());
+
+        assertTrue(articleService.searchArticles(1L, "java", 20).isEmpty());
+        verifyNoInteractions(articleRepository);
+    }
+
+    @Test
+    void searchArticles_InvalidParameters_ThrowWrongParametersException() {
+        assertEquals("q", assertThrows(WrongParametersException.class,
+                () -> articleService.searchArticles(1L, " ", 20)).getMessage());
+        assertEquals("q", assertThrows(WrongParametersException.class,
+                () -> articleService.searchArticles(1L, "x".repeat(201), 20)).getMessage());
+        assertEquals("limit", assertThrows(WrongParametersException.class,
+                () -> articleService.searchArticles(1L, "java", ArticleService.MAX_SEARCH_RESULTS + 1)).getMessage());
+        verifyNoInteractions(articleSearchIndex);
     }
 }
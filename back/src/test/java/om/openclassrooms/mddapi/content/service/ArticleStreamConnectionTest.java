@@ -0,0 +1,84 @@
+package om.openclassrooms.mddapi.content.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ArticleStreamConnectionTest {
+
+    private SseEmitter emitter;
+    private List<Runnable> scheduled;
+    private ArticleStreamConnection connection;
+
+    @BeforeEach
+    void setUp() {
+        emitter = mock(SseEmitter.class);
+        scheduled = new ArrayList<>();
+        connection = new ArticleStreamConnection(1L, emitter, 2, scheduled::add);
+    }
+
+    private void runScheduled() {
+        List<Runnable> tasks = new ArrayList<>(scheduled);
+        scheduled.clear();
+        tasks.forEach(Runnable::run);
+    }
+
+    @Test
+    void offer_ShouldScheduleSingleDrainAndSendInOrder() throws IOException {
+        connection.offer("{\"id\":1}");
+        connection.offer("{\"id\":2}");
+
+        assertThat(scheduled).hasSize(1);
+        runScheduled();
+
+        verify(emitter, times(2)).send(any(SseEmitter.SseEventBuilder.class));
+        assertThat(connection.pendingCount()).isZero();
+    }
+
+    @Test
+    void offer_BeyondCapacity_ShouldCoalesceBacklogIntoResync() throws IOException {
+        connection.offer("{\"id\":1}");
+        connection.offer("{\"id\":2}");
+        connection.offer("{\"id\":3}");
+
+        assertThat(connection.pendingCount()).isZero();
+        assertThat(connection.isResyncPending()).isTrue();
+
+        runScheduled();
+
+        verify(emitter, times(1)).send(any(SseEmitter.SseEventBuilder.class));
+        assertThat(connection.isResyncPending()).isFalse();
+    }
+
+    @Test
+    void heartbeat_ShouldOnlyBeSentOnIdleConnection() throws IOException {
+        connection.offer("{\"id\":1}");
+        connection.heartbeat();
+        runScheduled();
+        verify(emitter, times(1)).send(any(SseEmitter.SseEventBuilder.class));
+
+        connection.heartbeat();
+        runScheduled();
+        verify(emitter, times(2)).send(any(SseEmitter.SseEventBuilder.class));
+    }
+
+    @Test
+    void failedSend_ShouldCloseConnection() throws IOException {
+        doThrow(new IOException("Broken pipe")).when(emitter).send(any(SseEmitter.SseEventBuilder.class));
+
+        connection.offer("{\"id\":1}");
+        runScheduled();
+        connection.offer("{\"id\":2}");
+
+        assertThat(scheduled).isEmpty();
+        assertThat(connection.pendingCount()).isZero();
+    }
+}
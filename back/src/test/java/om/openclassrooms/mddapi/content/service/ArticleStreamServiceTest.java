@@ -0,0 +1,87 @@
+package om.openclassrooms.mddapi.content.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import om.openclassrooms.mddapi.common.exception.ServiceUnavailableException;
+import om.openclassrooms.mddapi.content.event.ArticleCreatedEvent;
+import om.openclassrooms.mddapi.content.payload.ArticleSummaryResponse;
+import om.openclassrooms.mddapi.content.repository.ArticleRepository;
+import om.openclassrooms.mddapi.content.repository.TopicRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ArticleStreamServiceTest {
+
+    @Mock
+    private ArticleRepository articleRepository;
+
+    @Mock
+    private TopicRepository topicRepository;
+
+    private ArticleStreamService articleStreamService;
+
+    private final ArticleCreatedEvent event = new ArticleCreatedEvent(5L, 10L, 2L, LocalDateTime.now());
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        articleStreamService = new ArticleStreamService(articleRepository, topicRepository, objectMapper, 4, 60_000, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        articleStreamService.shutdown();
+    }
+
+    @Test
+    void connect_BeyondMaxConnections_ThrowsServiceUnavailable() {
+        articleStreamService.connect(1L);
+        articleStreamService.connect(1L);
+
+        assertThatThrownBy(() -> articleStreamService.connect(2L)).isInstanceOf(ServiceUnavailableException.class);
+        assertThat(articleStreamService.getConnectionCount()).isEqualTo(2);
+    }
+
+    @Test
+    void onArticleCreated_WithoutConnections_DoesNotQueryDatabase() {
+        articleStreamService.onArticleCreated(event);
+
+        verifyNoInteractions(topicRepository, articleRepository);
+    }
+
+    @Test
+    void onArticleCreated_NoConnectedSubscriber_DoesNotLoadArticle() {
+        articleStreamService.connect(1L);
+        when(topicRepository.findSubscriberIds(10L)).thenReturn(List.of(3L, 4L));
+
+        articleStreamService.onArticleCreated(event);
+
+        verify(articleRepository, never()).findSummariesByIdIn(anyCollection());
+    }
+
+    @Test
+    void onArticleCreated_ConnectedSubscriber_LoadsSummaryOnce() {
+        articleStreamService.connect(1L);
+        articleStreamService.connect(1L);
+        when(topicRepository.findSubscriberIds(10L)).thenReturn(List.of(1L, 3L));
+        when(articleRepository.findSummariesByIdIn(List.of(5L))).thenReturn(List.of(new ArticleSummaryResponse(
+                5L, "Title", "Excerpt", 2, 1, "author", 10L, "Topic", LocalDateTime.now(), LocalDateTime.now())));
+
+        articleStreamService.onArticleCreated(event);
+
+        verify(articleRepository, times(1)).findSummariesByIdIn(List.of(5L));
+    }
+}
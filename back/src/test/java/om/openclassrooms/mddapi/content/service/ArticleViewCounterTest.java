@@ -0,0 +1,74 @@
+package om.openclassrooms.mddapi.content.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import om.openclassrooms.mddapi.content.repository.ArticleViewRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ArticleViewCounterTest {
+
+    @Mock
+    private ArticleViewRepository articleViewRepository;
+
+    @Mock
+    private ArticleCache articleCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ArticleViewCounter articleViewCounter;
+
+    @BeforeEach
+    void setUp() {
+        articleViewCounter = new ArticleViewCounter(articleViewRepository, articleCache, transactionManager,
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    void flush_WritesAggregatedViewsOnceAndUpdatesCachedCounts() {
+        articleViewCounter.increment(1L);
+        articleViewCounter.increment(1L);
+        articleViewCounter.increment(2L);
+
+        articleViewCounter.flush();
+        articleViewCounter.flush();
+
+        verify(articleViewRepository).addViews(Map.of(1L, 2L, 2L, 1L));
+        verify(articleCache).addViews(Map.of(1L, 2L, 2L, 1L));
+        verify(articleCache, never()).invalidate(anyLong());
+        assertEquals(0, articleViewCounter.getPendingViews(1L));
+    }
+
+    @Test
+    void flush_NothingCounted_SkipsDatabase() {
+        articleViewCounter.flush();
+
+        verifyNoInteractions(articleViewRepository, transactionManager);
+    }
+
+    @Test
+    void flush_DatabaseFailure_KeepsViewsForNextFlush() {
+        articleViewCounter.increment(1L);
+        doThrow(new QueryTimeoutException("timeout")).doNothing().when(articleViewRepository).addViews(anyMap());
+
+        articleViewCounter.flush();
+        assertEquals(1, articleViewCounter.getPendingViews(1L));
+        verify(articleCache, never()).addViews(anyMap());
+
+        articleViewCounter.flush();
+        verify(articleViewRepository, times(2)).addViews(Map.of(1L, 1L));
+    }
+}
@@ -1,11 +1,16 @@
 package om.openclassrooms.mddapi.content.service;
 
 import om.openclassrooms.mddapi.common.exception.WrongParametersException;
+import om.openclassrooms.mddapi.content.event.CommentCreatedEvent;
 import om.openclassrooms.mddapi.content.model.Article;
 import om.openclassrooms.mddapi.content.model.Comment;
+import om.openclassrooms.mddapi.content.model.Topic;
+import om.openclassrooms.mddapi.content.payload.ArticlePageResponse;
 import om.openclassrooms.mddapi.content.payload.CommentResponse;
+import om.openclassrooms.mddapi.content.payload.FeedCursor;
 import om.openclassrooms.mddapi.content.repository.ArticleRepository;
 import om.openclassrooms.mddapi.content.repository.CommentRepository;
+import om.openclassrooms.mddapi.content.repository.TopicRepository;
 import om.openclassrooms.mddapi.user.model.User;
 import om.openclassrooms.mddapi.user.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,8 +19,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Sort;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -37,6 +45,18 @@ class CommentServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private TopicRepository topicRepository;
+
+    @Mock
+    private ArticleCache articleCache;
+
+    @Mock
+    private FeedCache feedCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private CommentService commentService;
 
@@ -55,6 +75,9 @@ class CommentServiceTest {
         testArticle.setId(1L);
         testArticle.setTitle("Test Article");
         testArticle.setContent("Test Content");
+        Topic topic = new Topic();
+        topic.setId(3L);
+        testArticle.setTopic(topic);
 
         testComment = new Comment();
         testComment.setId(1L);
@@ -68,12 +91,20 @@ class CommentServiceTest {
         when(articleRepository.findById(1L)).thenReturn(Optional.of(testArticle));
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
         when(commentRepository.save(any(Comment.class))).thenReturn(testComment);
+        when(topicRepository.findSubscriberIds(3L)).thenReturn(List.of(1L, 2L));
 
         assertDoesNotThrow(() -> commentService.createCommentForArticle(1L, "Test Comment", 1L));
 
         verify(articleRepository).findById(1L);
         verify(userRepository).findById(1L);
+        verify(articleRepository).incrementCommentCount(1L);
+        verify(articleCache).invalidate(1L);
+        // Feed lists show the count: their ETag and cached pages change with it
+        verify(topicRepository).incrementArticlesVersion(3L);
+        verify(feedCache).evictUsers(List.of(1L, 2L));
         verify(commentRepository).save(any(Comment.class));
+        // The mocked save assigns no id
+        verify(eventPublisher).publishEvent(new CommentCreatedEvent(1L, 3L, null));
     }
 
     @Test
@@ -100,12 +131,13 @@ class CommentServiceTest {
         assertEquals("user", exception.getMessage());
         verify(articleRepository).findById(1L);
         verify(userRepository).findById(1L);
+        verify(articleRepository, never()).incrementCommentCount(anyLong());
         verify(commentRepository, never()).save(any(Comment.class));
     }
 
     @Test
     void getAllCommentsForArticle_Success() {
-        List<Comment> comments = Arrays.asList(testComment);
+        List<CommentResponse> comments = Arrays.asList(CommentResponse.from(testComment));
         Sort sort = Sort.by(Sort.Direction.ASC, "createdAt");
         when(commentRepository.findByArticleId(1L, sort)).thenReturn(comments);
 
@@ -127,4 +159,62 @@ class CommentServiceTest {
         assertTrue(result.isEmpty());
         verify(commentRepository).findByArticleId(1L, sort);
     }
+
+    @Test
+    void getCommentsPageForArticle_MoreRowsThanLimit_ReturnsCursorOfLastComment() {
+        // Arrange - one row beyond the limit
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 10, 0);
+        List<CommentResponse> rows = List.of(comment(1L, createdAt), comment(2L, createdAt), comment(3L, createdAt.plusMinutes(1)));
+        when(commentRepository.findFirstPageByArticleId(1L, Limit.of(3))).thenReturn(rows);
+
+        // Act
+        ArticlePageResponse<CommentResponse> page = commentService.getCommentsPageForArticle(1L, null, 2);
+
+        // Assert
+        assertEquals(List.of(1L, 2L), page.items().stream().map(CommentResponse::id).toList());
+        assertEquals(new FeedCursor(createdAt, 2L), FeedCursor.decode(page.nextCursor()));
+    }
+
+    @Test
+    void getCommentsPageForArticle_Cursor_SeeksAfterItAndEndsWithoutCursor() {
+        // Arrange
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 10, 0);
+        String cursor = new FeedCursor(createdAt, 2L).encode();
+        when(commentRepository.findPageByArticleIdAfter(1L, createdAt, 2L, Limit.of(3)))
+                .thenReturn(List.of(comment(3L, createdAt.plusMinutes(1))));
+
+        // Act
+        ArticlePageResponse<CommentResponse> page = commentService.getCommentsPageForArticle(1L, cursor, 2);
+
+        // Assert
+        assertEquals(1, page.items().size());
+        assertNull(page.nextCursor());
+        verify(commentRepository, never()).findFirstPageByArticleId(anyLong(), any());
+    }
+
+    @Test
+    void getCommentsPageForArticle_LimitOutOfRange_ThrowsWrongParametersException() {
+        WrongParametersException exception = assertThrows(WrongParametersException.class,
+                () -> commentService.getCommentsPageForArticle(1L, null, CommentService.MAX_COMMENT_PAGE_SIZE + 1));
+
+        assertEquals("limit", exception.getMessage());
+        verifyNoInteractions(commentRepository);
+    }
+
+    @Test
+    void recountCommentsBatch_RecountsAndInvalidatesTheBatch() {
+        when(articleRepository.findIdsAfter(0L, Limit.of(2))).thenReturn(List.of(4L, 7L));
+
+        List<Long> batch = commentService.recountCommentsBatch(0L, 2);
+
+        assertEquals(List.of(4L, 7L), batch);
+        verify(articleRepository).recountComments(List.of(4L, 7L));
+        verify(topicRepository).incrementArticlesVersionOfArticles(List.of(4L, 7L));
+        verify(articleCache).invalidate(4L);
+        verify(articleCache).invalidate(7L);
+    }
+
+    private static CommentResponse comment(Long id, LocalDateTime createdAt) {
+        return new CommentResponse(id, "Comment " + id, "testuser", 1L, createdAt);
+    }
 }
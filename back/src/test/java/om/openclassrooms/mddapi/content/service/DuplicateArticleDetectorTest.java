@@ -0,0 +1,84 @@
+package om.openclassrooms.mddapi.content.service;
+
+import om.openclassrooms.mddapi.content.event.ArticleCreatedEvent;
+import om.openclassrooms.mddapi.content.payload.ArticleFingerprint;
+import om.openclassrooms.mddapi.content.repository.ArticleRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DuplicateArticleDetectorTest {
+
+    @Mock
+    private ArticleRepository articleRepository;
+
+    @Test
+    void findDuplicate_BeforeRebuild_ReportsNothing() {
+        DuplicateArticleDetector detector = new DuplicateArticleDetector(articleRepository, true);
+
+        assertEquals(Optional.empty(), detector.findDuplicate(0b1011L));
+        assertFalse(detector.isReady());
+    }
+
+    @Test
+    void rebuild_LoadsStoredFingerprintsInKeysetBatches() {
+        when(articleRepository.findFingerprintsAfter(eq(0L), any(Limit.class)))
+                .thenReturn(List.of(new ArticleFingerprint(1L, 0L), new ArticleFingerprint(2L, -1L)));
+        when(articleRepository.findFingerprintsAfter(eq(2L), any(Limit.class))).thenReturn(List.of());
+        DuplicateArticleDetector detector = new DuplicateArticleDetector(articleRepository, true);
+
+        detector.rebuild();
+
+        assertTrue(detector.isReady());
+        assertEquals(Optional.of(1L), detector.findDuplicate(0b101L));
+        assertEquals(Optional.of(2L), detector.findDuplicate(~0b1L));
+        assertEquals(Optional.empty(), detector.findDuplicate(0xFFFFL));
+        assertEquals(Optional.empty(), detector.findDuplicate(null));
+    }
+
+    @Test
+    void onArticleCreated_IndexesTheStoredFingerprint() {
+        when(articleRepository.findFingerprintsAfter(eq(0L), any(Limit.class))).thenReturn(List.of());
+        when(articleRepository.findFingerprintsByIdIn(List.of(5L))).thenReturn(List.of(new ArticleFingerprint(5L, 42L)));
+        DuplicateArticleDetector detector = new DuplicateArticleDetector(articleRepository, true);
+        detector.rebuild();
+
+        detector.onArticleCreated(new ArticleCreatedEvent(5L, 1L, 1L, LocalDateTime.now()));
+
+        assertEquals(Optional.of(5L), detector.findDuplicate(42L));
+    }
+
+    @Test
+    void areDuplicates_ComparesUnstoredFingerprints() {
+        DuplicateArticleDetector detector = new DuplicateArticleDetector(articleRepository, true);
+
+        assertTrue(detector.areDuplicates(0L, 0b111L));
+        assertFalse(detector.areDuplicates(0L, 0b1111L));
+        assertFalse(detector.areDuplicates(null, null));
+        assertFalse(new DuplicateArticleDetector(articleRepository, false).areDuplicates(0L, 0L));
+        verifyNoInteractions(articleRepository);
+    }
+
+    @Test
+    void disabled_NeverReadsFingerprints() {
+        DuplicateArticleDetector detector = new DuplicateArticleDetector(articleRepository, false);
+
+        detector.rebuildInBackground();
+        detector.index(List.of(1L));
+
+        assertEquals(Optional.empty(), detector.findDuplicate(42L));
+        verifyNoInteractions(articleRepository);
+    }
+}
@@ -0,0 +1,186 @@
+package om.openclassrooms.mddapi.content.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import om.openclassrooms.mddapi.content.payload.ArticlePageResponse;
+import om.openclassrooms.mddapi.content.payload.FeedCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeedCacheTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 12, 26, 10, 0);
+
+    private SimpleMeterRegistry meterRegistry;
+    private FeedCache feedCache;
+    private AtomicInteger loads;
+    private AtomicInteger lastHeadSize;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // Heads of 2 pages
+        feedCache = new FeedCache(1_000, 600_000, 2, meterRegistry);
+        loads = new AtomicInteger();
+        lastHeadSize = new AtomicInteger();
+    }
+
+    @Test
+    void getPage_FirstPages_ServedFromOneHeadLoad() {
+        // Act
+        ArticlePageResponse<FeedCursor> first = page(1L, "full", null, feed(10)).orElseThrow();
+        ArticlePageResponse<FeedCursor> second = page(1L, "full", FeedCursor.decode(first.nextCursor()), feed(10))
+                .orElseThrow();
+        ArticlePageResponse<FeedCursor> again = page(1L, "full", null, feed(10)).orElseThrow();
+
+        // Assert
+        assertEquals(List.of(10L, 9L), ids(first));
+        assertEquals(List.of(8L, 7L), ids(second));
+        assertEquals(first, again);
+        assertEquals(1, loads.get());
+        assertEquals(4, lastHeadSize.get());
+        assertEquals(2.0, meterRegistry.get("cache.gets").tag("cache", "feed").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void getPage_BeyondTruncatedHead_LeftToCaller() {
+        ArticlePageResponse<FeedCursor> second = page(1L, "full", null, feed(10))
+                .flatMap(first -> page(1L, "full", FeedCursor.decode(first.nextCursor()), feed(10)))
+                .orElseThrow();
+
+        // The head holds 4 of 10 articles: the third page is not in it
+        assertEquals(key(7), FeedCursor.decode(second.nextCursor()));
+        assertTrue(page(1L, "full", key(7), feed(10)).isEmpty());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void getPage_CompleteHead_AnswersLastPageWithoutCursor() {
+        page(1L, "full", null, feed(3));
+
+        ArticlePageResponse<FeedCursor> last = page(1L, "full", key(2), feed(3)).orElseThrow();
+
+        assertEquals(List.of(1L), ids(last));
+        assertNull(last.nextCursor());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void getPage_CursorWithoutCachedHead_LeftToCaller() {
+        assertTrue(page(1L, "full", key(7), feed(10)).isEmpty());
+
+        assertEquals(0, loads.get());
+    }
+
+    @Test
+    void getPage_OtherVariantOrUser_LoadsSeparately() {
+        page(1L, "full", null, feed(3));
+        page(1L, "summary", null, feed(3));
+        page(2L, "full", null, feed(3));
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void evictUsers_OnlyDropsTheirEntries() {
+        page(1L, "full", null, feed(1));
+        page(1L, "summary", null, feed(1));
+        page(2L, "full", null, feed(1));
+
+        feedCache.evictUsers(List.of(1L));
+
+        assertEquals(List.of(9L), ids(page(1L, "full", null, List.of(key(9))).orElseThrow()));
+        assertEquals(List.of(9L), ids(page(1L, "summary", null, List.of(key(9))).orElseThrow()));
+        assertEquals(List.of(1L), ids(page(2L, "full", null, List.of(key(9))).orElseThrow()));
+    }
+
+    @Test
+    void evictAll_DropsEveryEntry() {
+        page(1L, "full", null, feed(1));
+        page(2L, "full", null, feed(1));
+
+        feedCache.evictAll();
+
+        assertEquals(List.of(9L), ids(page(1L, "full", null, List.of(key(9))).orElseThrow()));
+        assertEquals(List.of(9L), ids(page(2L, "full", null, List.of(key(9))).orElseThrow()));
+    }
+
+    @Test
+    void evictUsers_InTransaction_EvictsAgainAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            page(1L, "full", null, feed(1));
+            feedCache.evictUsers(List.of(1L));
+            // A concurrent reader reloads the pre-commit state between the write and its commit
+            page(1L, "full", null, feed(1));
+            TransactionSynchronizationUtils.triggerAfterCommit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(List.of(9L), ids(page(1L, "full", null, List.of(key(9))).orElseThrow()));
+    }
+
+    @Test
+    void getPage_EvictedWhileLoading_ResultNotStored() {
+        Optional<ArticlePageResponse<FeedCursor>> loaded = feedCache.getPage(1L, "full", 2, null, headSize -> {
+            feedCache.evictUsers(List.of(1L));
+            return new ArticlePageResponse<>(feed(1), null);
+        }, Function.identity(), key -> 1);
+
+        assertEquals(List.of(1L), ids(loaded.orElseThrow()));
+        assertEquals(List.of(9L), ids(page(1L, "full", null, List.of(key(9))).orElseThrow()));
+    }
+
+    @Test
+    void getPage_OverMaxWeight_Evicted() {
+        for (long userId = 1; userId <= 3; userId++) {
+            feedCache.getPage(userId, "full", 2, null, headSize -> new ArticlePageResponse<>(feed(1), null),
+                    Function.identity(), key -> 600);
+        }
+
+        assertEquals(2.0, meterRegistry.get("cache.evictions").tag("cache", "feed").functionCounter().count());
+    }
+
+    @Test
+    void getPage_Disabled_LeftToCaller() {
+        feedCache = new FeedCache(1_000, 600_000, 0, meterRegistry);
+
+        assertTrue(page(1L, "full", null, feed(3)).isEmpty());
+        assertEquals(0, loads.get());
+    }
+
+    private Optional<ArticlePageResponse<FeedCursor>> page(Long userId, String variant, FeedCursor after,
+                                                          List<FeedCursor> feed) {
+        return feedCache.getPage(userId, variant, 2, after, headSize -> {
+            loads.incrementAndGet();
+            lastHeadSize.set(headSize);
+            List<FeedCursor> head = feed.subList(0, Math.min(headSize, feed.size()));
+            return new ArticlePageResponse<>(head, feed.size() > headSize ? "more" : null);
+        }, Function.identity(), key -> 10);
+    }
+
+    // Newest first: ids count down to 1
+    private static List<FeedCursor> feed(int size) {
+        return LongStream.iterate(size, id -> id >= 1, id -> id - 1).mapToObj(id -> key((int) id)).toList();
+    }
+
+    private static FeedCursor key(int id) {
+        return new FeedCursor(BASE.plusMinutes(id), (long) id);
+    }
+
+    private static List<Long> ids(ArticlePageResponse<FeedCursor> page) {
+        return page.items().stream().map(FeedCursor::id).toList();
+    }
+}
@@ -0,0 +1,123 @@
+package om.openclassrooms.mddapi.content.service;
+
+import om.openclassrooms.mddapi.content.event.ArticleCreatedEvent;
+import om.openclassrooms.mddapi.content.payload.FeedCursor;
+import om.openclassrooms.mddapi.content.payload.TopicArticlesVersion;
+import om.openclassrooms.mddapi.content.repository.ArticleRepository;
+import om.openclassrooms.mddapi.content.repository.TopicRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HybridFeedEngineTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 12, 26, 10, 0);
+
+    @Mock
+    private ArticleRepository articleRepository;
+
+    @Mock
+    private TopicRepository topicRepository;
+
+    private HybridFeedEngine engine;
+
+    private static FeedCursor key(int minutes, long id) {
+        return new FeedCursor(BASE.plusMinutes(minutes), id);
+    }
+
+    @BeforeEach
+    void setUp() {
+        engine = new HybridFeedEngine(articleRepository, topicRepository, 3);
+    }
+
+    @Test
+    void findPageKeys_ShouldMergeSubscribedTopicsNewestFirst() {
+        when(topicRepository.findSubscribedTopicIds(1L)).thenReturn(List.of(10L, 20L));
+        when(articleRepository.findRecentKeysByTopic(10L, Limit.of(3))).thenReturn(List.of(key(5, 5L), key(1, 1L)));
+        when(articleRepository.findRecentKeysByTopic(20L, Limit.of(3))).thenReturn(List.of(key(4, 4L), key(2, 2L)));
+
+        Optional<List<FeedCursor>> keys = engine.findPageKeys(1L, null, 3);
+
+        assertThat(keys).isPresent();
+        assertThat(keys.get()).extracting(FeedCursor::id).containsExactly(5L, 4L, 2L);
+    }
+
+    @Test
+    void findPageKeys_WithCursor_ShouldStartAfterCursor() {
+        when(topicRepository.findSubscribedTopicIds(1L)).thenReturn(List.of(10L, 20L));
+        when(articleRepository.findRecentKeysByTopic(10L, Limit.of(3))).thenReturn(List.of(key(5, 5L), key(1, 1L)));
+        when(articleRepository.findRecentKeysByTopic(20L, Limit.of(3))).thenReturn(List.of(key(4, 4L), key(2, 2L)));
+
+        Optional<List<FeedCursor>> keys = engine.findPageKeys(1L, key(4, 4L), 3);
+
+        assertThat(keys).isPresent();
+        assertThat(keys.get()).extracting(FeedCursor::id).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void findPageKeys_BeyondTruncatedBuffer_ShouldFallBackToDatabase() {
+        when(topicRepository.findSubscribedTopicIds(1L)).thenReturn(List.of(10L, 20L));
+        when(articleRepository.findRecentKeysByTopic(10L, Limit.of(3)))
+                .thenReturn(List.of(key(9, 9L), key(8, 8L), key(7, 7L)));
+        when(articleRepository.findRecentKeysByTopic(20L, Limit.of(3))).thenReturn(List.of(key(6, 6L)));
+
+        // Topic 10 may hold articles older than minute 7 that are not buffered
+        assertThat(engine.findPageKeys(1L, null, 3)).hasValueSatisfying(keys -> assertThat(keys).hasSize(3));
+        assertThat(engine.findPageKeys(1L, null, 4)).isEmpty();
+    }
+
+    @Test
+    void onArticleCreated_ShouldBeVisibleWithoutReloading() {
+        when(topicRepository.findSubscribedTopicIds(1L)).thenReturn(List.of(10L));
+        when(articleRepository.findRecentKeysByTopic(10L, Limit.of(3))).thenReturn(List.of(key(1, 1L)));
+        engine.findPageKeys(1L, null, 2);
+
+        engine.onArticleCreated(new ArticleCreatedEvent(2L, 10L, 1L, BASE.plusMinutes(2)));
+
+        assertThat(engine.findPageKeys(1L, null, 2)).hasValueSatisfying(keys ->
+                assertThat(keys).extracting(FeedCursor::id).containsExactly(2L, 1L));
+        verify(articleRepository, times(1)).findRecentKeysByTopic(10L, Limit.of(3));
+    }
+
+    @Test
+    void refresh_ArticleWrittenByAnotherInstance_ShouldReloadChangedTopicOnly() {
+        // Arrange - warmed up, then another instance writes to topic 10
+        when(topicRepository.findArticlesVersions())
+                .thenReturn(List.of(new TopicArticlesVersion(10L, 1L), new TopicArticlesVersion(20L, 4L)))
+                .thenReturn(List.of(new TopicArticlesVersion(10L, 2L), new TopicArticlesVersion(20L, 4L)));
+        when(articleRepository.findRecentKeysByTopic(10L, Limit.of(3)))
+                .thenReturn(List.of(key(1, 1L)))
+                .thenReturn(List.of(key(3, 3L), key(1, 1L)));
+        when(articleRepository.findRecentKeysByTopic(20L, Limit.of(3))).thenReturn(List.of(key(2, 2L)));
+        when(topicRepository.findSubscribedTopicIds(1L)).thenReturn(List.of(10L, 20L));
+        engine.warmUp();
+
+        // Act
+        engine.refresh();
+
+        // Assert
+        assertThat(engine.findPageKeys(1L, null, 3)).hasValueSatisfying(keys ->
+                assertThat(keys).extracting(FeedCursor::id).containsExactly(3L, 2L, 1L));
+        verify(articleRepository, times(2)).findRecentKeysByTopic(10L, Limit.of(3));
+        verify(articleRepository, times(1)).findRecentKeysByTopic(20L, Limit.of(3));
+    }
+
+    @Test
+    void findPageKeys_Disabled_ShouldAlwaysFallBack() {
+        HybridFeedEngine disabled = new HybridFeedEngine(articleRepository, topicRepository, 0);
+
+        assertThat(disabled.findPageKeys(1L, null, 10)).isEmpty();
+        verifyNoInteractions(articleRepository, topicRepository);
+    }
+}
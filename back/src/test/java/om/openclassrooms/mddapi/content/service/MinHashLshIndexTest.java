@@ -0,0 +1,83 @@
+package om.openclassrooms.mddapi.content.service;
+
+import om.openclassrooms.mddapi.content.model.ArticleMinHash;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MinHashLshIndexTest {
+
+    @Test
+    void similar_RanksByOverlapAndSkipsUnrelated() {
+        MinHashLshIndex index = new MinHashLshIndex();
+        index.add(1L, 1L, signature(0, 100));
+        index.add(2L, 1L, signature(10, 110));
+        index.add(3L, 1L, signature(40, 140));
+        index.add(4L, 1L, signature(1000, 1100));
+
+        assertThat(index.similar(1L, Set.of(1L), 10)).containsExactly(2L, 3L);
+    }
+
+    @Test
+    void similar_OnlyReturnsArticlesOfTheGivenTopics() {
+        MinHashLshIndex index = new MinHashLshIndex();
+        index.add(1L, 1L, signature(0, 100));
+        index.add(2L, 2L, signature(0, 100));
+        index.add(3L, 1L, signature(5, 105));
+
+        assertThat(index.similar(1L, Set.of(1L), 10)).containsExactly(3L);
+        assertThat(index.similar(1L, Set.of(), 10)).isEmpty();
+    }
+
+    @Test
+    void add_KnownArticle_IsNotAddedTwice() {
+        MinHashLshIndex index = new MinHashLshIndex();
+        index.add(1L, 1L, signature(0, 100));
+        index.add(2L, 1L, signature(0, 100));
+        index.add(2L, 1L, signature(0, 100));
+
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.similar(1L, Set.of(1L), 10)).containsExactly(2L);
+    }
+
+    @Test
+    void similar_WithoutWords_ReturnsNothing() {
+        MinHashLshIndex index = new MinHashLshIndex();
+        index.add(1L, 1L, ArticleMinHash.signature("", ""));
+        index.add(2L, 1L, ArticleMinHash.signature("", ""));
+
+        assertThat(index.contains(1L)).isTrue();
+        assertThat(index.similar(1L, Set.of(1L), 10)).isEmpty();
+    }
+
+    @Test
+    void similar_FindsMostPairsAboveThreshold() {
+        // Each article shares half its words with its partner: Jaccard 1/3
+        MinHashLshIndex index = new MinHashLshIndex();
+        Random random = new Random(42);
+        int pairs = 200;
+        for (int pair = 0; pair < pairs; pair++) {
+            int base = random.nextInt(1_000_000) * 1000;
+            index.add(2L * pair + 1, 1L, signature(base, base + 100));
+            index.add(2L * pair + 2, 1L, signature(base + 50, base + 150));
+        }
+
+        long found = IntStream.range(0, pairs)
+                .filter(pair -> index.similar(2L * pair + 1, Set.of(1L), 1).contains(2L * pair + 2))
+                .count();
+
+        // Each pair shares a bucket with probability 1 - (1 - (1/3)^2)^32, about 0.98
+        assertThat(found).isGreaterThan(pairs * 9 / 10);
+    }
+
+    private static int[] signature(int from, int to) {
+        return ArticleMinHash.signature("", IntStream.range(from, to)
+                .mapToObj(i -> "word" + i)
+                .collect(Collectors.joining(" ")));
+    }
+}
@@ -0,0 +1,169 @@
+package om.openclassrooms.mddapi.content.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import om.openclassrooms.mddapi.common.exception.ResourceNotFoundException;
+import om.openclassrooms.mddapi.content.model.ReadState;
+import om.openclassrooms.mddapi.content.repository.ArticleRepository;
+import om.openclassrooms.mddapi.content.repository.ReadStateRepository;
+import om.openclassrooms.mddapi.content.repository.TopicRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReadTrackerTest {
+
+    @Mock
+    private ReadStateRepository readStateRepository;
+
+    @Mock
+    private ArticleRepository articleRepository;
+
+    @Mock
+    private TopicRepository topicRepository;
+
+    @Mock
+    private TopicArticleBitmaps topicArticleBitmaps;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ReadTracker readTracker;
+
+    @BeforeEach
+    void setUp() {
+        readTracker = new ReadTracker(readStateRepository, articleRepository, topicRepository, topicArticleBitmaps,
+                transactionManager, 100, 60000, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void unreadCounts_SubtractsStoredAndPendingMarksFromTopicArticles() {
+        when(readStateRepository.findById(1L))
+                .thenReturn(Optional.of(new ReadState(1L, ReadTracker.serialize(RoaringBitmap.bitmapOf(1, 2)))));
+        when(topicArticleBitmaps.articles(10L)).thenReturn(RoaringBitmap.bitmapOf(1, 2, 3, 4));
+        when(topicArticleBitmaps.articles(20L)).thenReturn(RoaringBitmap.bitmapOf(5));
+        when(topicArticleBitmaps.contains(3L)).thenReturn(true);
+
+        readTracker.markArticleRead(1L, 3L);
+
+        assertEquals(Map.of(10L, 1, 20L, 1), readTracker.unreadCounts(1L, List.of(10L, 20L)));
+    }
+
+    @Test
+    void markArticleRead_UpdatesCachedCounts() {
+        when(readStateRepository.findById(1L)).thenReturn(Optional.empty());
+        when(topicArticleBitmaps.articles(10L)).thenReturn(RoaringBitmap.bitmapOf(1, 2));
+        when(topicArticleBitmaps.contains(2L)).thenReturn(true);
+        assertEquals(2, readTracker.unreadCounts(1L, List.of(10L)).get(10L));
+
+        readTracker.markArticleRead(1L, 2L);
+
+        assertEquals(1, readTracker.unreadCounts(1L, List.of(10L)).get(10L));
+        verify(readStateRepository).findById(1L);
+    }
+
+    @Test
+    void markArticleRead_UnknownArticle_ThrowsResourceNotFoundException() {
+        when(articleRepository.existsById(99L)).thenReturn(false);
+
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+                () -> readTracker.markArticleRead(1L, 99L));
+
+        assertEquals("article", exception.getMessage());
+    }
+
+    @Test
+    void markTopicRead_MarksEveryCurrentArticle() {
+        RoaringBitmap articles = RoaringBitmap.bitmapOf(1, 2, 3);
+        when(topicArticleBitmaps.articles(10L)).thenReturn(articles);
+        when(readStateRepository.findById(1L)).thenReturn(Optional.empty());
+
+        readTracker.markTopicRead(1L, 10L);
+
+        assertEquals(0, readTracker.unreadCounts(1L, List.of(10L)).get(10L));
+        assertEquals(RoaringBitmap.bitmapOf(1, 2, 3), articles);
+    }
+
+    @Test
+    void markTopicRead_UnknownTopic_ThrowsResourceNotFoundException() {
+        when(topicArticleBitmaps.articles(99L)).thenReturn(new RoaringBitmap());
+        when(topicRepository.existsById(99L)).thenReturn(false);
+
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+                () -> readTracker.markTopicRead(1L, 99L));
+
+        assertEquals("topic.notFound", exception.getMessage());
+    }
+
+    @Test
+    void flush_MergesMarksIntoStoredRowsOncePerUser() {
+        when(topicArticleBitmaps.contains(anyLong())).thenReturn(true);
+        ReadState stored = new ReadState(2L, ReadTracker.serialize(RoaringBitmap.bitmapOf(9)));
+        when(readStateRepository.findAllForUpdate(Set.of(1L, 2L))).thenReturn(List.of(stored));
+
+        readTracker.markArticleRead(1L, 1L);
+        readTracker.markArticleRead(1L, 2L);
+        readTracker.markArticleRead(2L, 3L);
+        readTracker.flush();
+        readTracker.flush();
+
+        ArgumentCaptor<ReadState> created = ArgumentCaptor.forClass(ReadState.class);
+        verify(readStateRepository).save(created.capture());
+        assertEquals(1L, created.getValue().getUserId());
+        assertEquals(RoaringBitmap.bitmapOf(1, 2), ReadTracker.deserialize(created.getValue().getArticleIds()));
+        assertEquals(RoaringBitmap.bitmapOf(3, 9), ReadTracker.deserialize(stored.getArticleIds()));
+        verify(readStateRepository).findAllForUpdate(anyCollection());
+    }
+
+    @Test
+    void flush_NothingMarked_SkipsDatabase() {
+        readTracker.flush();
+
+        verifyNoInteractions(readStateRepository, transactionManager);
+    }
+
+    @Test
+    void flush_DatabaseFailure_KeepsMarksForNextFlush() {
+        when(topicArticleBitmaps.contains(1L)).thenReturn(true);
+        when(readStateRepository.findAllForUpdate(Set.of(1L)))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(List.of());
+        when(readStateRepository.findById(1L)).thenReturn(Optional.empty());
+        when(topicArticleBitmaps.articles(10L)).thenReturn(RoaringBitmap.bitmapOf(1));
+
+        readTracker.markArticleRead(1L, 1L);
+        readTracker.flush();
+        assertEquals(0, readTracker.unreadCounts(1L, List.of(10L)).get(10L));
+
+        readTracker.flush();
+        verify(readStateRepository).save(any(ReadState.class));
+    }
+
+    @Test
+    void serialize_ConsecutiveIds_StaysCompact() {
+        RoaringBitmap articles = new RoaringBitmap();
+        articles.add(1L, 100_001L);
+
+        byte[] data = ReadTracker.serialize(articles);
+
+        assertTrue(data.length < 64, "100000 consecutive ids took " + data.length + " bytes");
+        assertEquals(articles, ReadTracker.deserialize(data));
+    }
+}
@@ -0,0 +1,84 @@
+package om.openclassrooms.mddapi.content.service;
+
+import om.openclassrooms.mddapi.content.payload.FeedCursor;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecentArticleBufferTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 12, 26, 10, 0);
+
+    private static FeedCursor key(int minutes, long id) {
+        return new FeedCursor(BASE.plusMinutes(minutes), id);
+    }
+
+    @Test
+    void push_ShouldKeepNewestFirst() {
+        RecentArticleBuffer buffer = new RecentArticleBuffer(4);
+
+        buffer.push(key(1, 1L));
+        buffer.push(key(3, 3L));
+        buffer.push(key(2, 2L));
+
+        RecentArticleBuffer.Snapshot snapshot = buffer.snapshot();
+        assertThat(snapshot.ids()).containsExactly(3L, 2L, 1L);
+        assertThat(snapshot.complete()).isTrue();
+    }
+
+    @Test
+    void push_WhenFull_ShouldEvictOldestAndMarkIncomplete() {
+        RecentArticleBuffer buffer = new RecentArticleBuffer(2);
+
+        buffer.push(key(1, 1L));
+        buffer.push(key(2, 2L));
+        buffer.push(key(3, 3L));
+
+        RecentArticleBuffer.Snapshot snapshot = buffer.snapshot();
+        assertThat(snapshot.ids()).containsExactly(3L, 2L);
+        assertThat(snapshot.complete()).isFalse();
+    }
+
+    @Test
+    void push_DuplicateKey_ShouldBeIgnored() {
+        RecentArticleBuffer buffer = new RecentArticleBuffer(4);
+
+        buffer.push(key(2, 2L));
+        buffer.push(key(1, 1L));
+        buffer.push(key(1, 1L));
+
+        assertThat(buffer.snapshot().ids()).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void load_ShouldMergeWithKeysPushedBeforeLoad() {
+        RecentArticleBuffer buffer = new RecentArticleBuffer(4);
+        buffer.push(key(3, 3L));
+
+        buffer.load(List.of(key(3, 3L), key(2, 2L), key(1, 1L)), true);
+
+        RecentArticleBuffer.Snapshot snapshot = buffer.snapshot();
+        assertThat(buffer.isLoaded()).isTrue();
+        assertThat(snapshot.ids()).containsExactly(3L, 2L, 1L);
+        assertThat(snapshot.complete()).isTrue();
+    }
+
+    @Test
+    void load_NotExhausted_ShouldMarkIncomplete() {
+        RecentArticleBuffer buffer = new RecentArticleBuffer(2);
+
+        buffer.load(List.of(key(2, 2L), key(1, 1L)), false);
+
+        assertThat(buffer.snapshot().complete()).isFalse();
+    }
+
+    @Test
+    void micros_ShouldRoundTrip() {
+        LocalDateTime dateTime = LocalDateTime.of(2025, 12, 26, 10, 30, 15, 123456000);
+
+        assertThat(RecentArticleBuffer.fromMicros(RecentArticleBuffer.toMicros(dateTime))).isEqualTo(dateTime);
+    }
+}
@@ -0,0 +1,130 @@
+package om.openclassrooms.mddapi.content.service;
+
+import om.openclassrooms.mddapi.common.exception.ResourceNotFoundException;
+import om.openclassrooms.mddapi.common.exception.ServiceUnavailableException;
+import om.openclassrooms.mddapi.content.event.ArticleCreatedEvent;
+import om.openclassrooms.mddapi.content.model.Article;
+import om.openclassrooms.mddapi.content.model.ArticleMinHash;
+import om.openclassrooms.mddapi.content.payload.ArticleSignature;
+import om.openclassrooms.mddapi.content.repository.ArticleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RelatedArticlesIndexTest {
+
+    @Mock
+    private ArticleRepository articleRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private RelatedArticlesIndex relatedArticlesIndex;
+
+    @BeforeEach
+    void setUp() {
+        relatedArticlesIndex = new RelatedArticlesIndex(articleRepository, transactionManager, 2);
+    }
+
+    @Test
+    void related_BeforeFirstRebuild_ThrowsServiceUnavailableException() {
+        ServiceUnavailableException exception = assertThrows(ServiceUnavailableException.class,
+                () -> relatedArticlesIndex.related(1L, List.of(1L), 5));
+
+        assertEquals("articles.related.indexing", exception.getMessage());
+    }
+
+    @Test
+    void rebuild_ReadsStoredSignaturesWithoutSigningThem() {
+        rebuildWith(
+                signed(1L, 1L, "Java records", "Immutable data carriers with records"),
+                signed(2L, 1L, "Records in Java", "Data carriers: records are immutable"),
+                signed(3L, 1L, "Angular signals", "Reactive state in templates"));
+
+        assertEquals(List.of(2L), relatedArticlesIndex.related(1L, List.of(1L), 5));
+        verify(articleRepository, never()).findWithContentByIdIn(any());
+        verifyNoInteractions(transactionManager);
+    }
+
+    @Test
+    void rebuild_SignsAndSavesArticlesWithoutCurrentSignature() {
+        Article unsigned = article(2L, "Records in Java", "Data carriers: records are immutable");
+        when(articleRepository.findWithContentByIdIn(Set.of(2L))).thenReturn(List.of(unsigned));
+
+        rebuildWith(
+                signed(1L, 1L, "Java records", "Immutable data carriers with records"),
+                new ArticleSignature(2L, 1L, null));
+
+        assertEquals(List.of(2L), relatedArticlesIndex.related(1L, List.of(1L), 5));
+        verify(articleRepository).storeMinhash(eq(2L), aryEq(ArticleMinHash.encode(
+                ArticleMinHash.signature("Records in Java", "Data carriers: records are immutable"))));
+    }
+
+    @Test
+    void rebuild_SaveFails_StillIndexesSignedArticles() {
+        when(articleRepository.findWithContentByIdIn(Set.of(2L)))
+                .thenReturn(List.of(article(2L, "Java records", "Immutable data carriers with records")));
+        when(articleRepository.storeMinhash(eq(2L), any())).thenThrow(new QueryTimeoutException("timeout"));
+
+        rebuildWith(
+                signed(1L, 1L, "Java records", "Immutable data carriers with records"),
+                new ArticleSignature(2L, 1L, null));
+
+        assertEquals(List.of(2L), relatedArticlesIndex.related(1L, List.of(1L), 5));
+    }
+
+    @Test
+    void onArticleCreated_IndexesTheNewArticle() {
+        rebuildWith(signed(1L, 1L, "Java records", "Immutable data carriers with records"));
+        when(articleRepository.findSignaturesByIdIn(List.of(2L)))
+                .thenReturn(List.of(signed(2L, 1L, "Records in Java", "Data carriers: records are immutable")));
+
+        relatedArticlesIndex.onArticleCreated(new ArticleCreatedEvent(2L, 1L, 1L, LocalDateTime.now()));
+
+        assertEquals(List.of(2L), relatedArticlesIndex.related(1L, List.of(1L), 5));
+    }
+
+    @Test
+    void related_UnknownArticle_ThrowsResourceNotFoundException() {
+        rebuildWith();
+        when(articleRepository.findSignaturesByIdIn(List.of(9L))).thenReturn(List.of());
+
+        assertThrows(ResourceNotFoundException.class, () -> relatedArticlesIndex.related(9L, List.of(1L), 5));
+    }
+
+    private void rebuildWith(ArticleSignature... signatures) {
+        when(articleRepository.findSignaturesAfter(0L, Limit.of(1000))).thenReturn(List.of(signatures));
+        if (signatures.length > 0) {
+            when(articleRepository.findSignaturesAfter(signatures[signatures.length - 1].id(), Limit.of(1000)))
+                    .thenReturn(List.of());
+        }
+        relatedArticlesIndex.rebuild();
+    }
+
+    private static ArticleSignature signed(Long id, Long topicId, String title, String content) {
+        return new ArticleSignature(id, topicId, ArticleMinHash.encode(ArticleMinHash.signature(title, content)));
+    }
+
+    private static Article article(Long id, String title, String content) {
+        Article article = new Article();
+        article.setId(id);
+        article.setTitle(title);
+        article.setContent(content);
+        return article;
+    }
+}
@@ -0,0 +1,49 @@
+package om.openclassrooms.mddapi.content.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SimHashIndexTest {
+
+    @Test
+    void nearest_ShouldFindEveryFingerprintWithinThreeBits() {
+        SimHashIndex index = new SimHashIndex();
+        Random random = new Random(7);
+        long[] fingerprints = new long[5_000];
+        for (int i = 0; i < fingerprints.length; i++) {
+            fingerprints[i] = random.nextLong();
+            index.add(i + 1, fingerprints[i]);
+        }
+
+        for (int i = 0; i < fingerprints.length; i++) {
+            // Up to three flipped bits, in any blocks
+            long query = fingerprints[i];
+            for (int flips = i % 4; flips > 0; flips--) {
+                query ^= 1L << random.nextInt(Long.SIZE);
+            }
+            assertThat(index.nearest(query)).isEqualTo(i + 1L);
+        }
+        assertThat(index.size()).isEqualTo(fingerprints.length);
+    }
+
+    @Test
+    void nearest_FourBitsAway_ShouldFindNothing() {
+        SimHashIndex index = new SimHashIndex();
+        index.add(1, 0L);
+
+        assertThat(index.nearest(0b1111L)).isNull();
+        assertThat(index.nearest(1L << 63 | 1L << 40 | 1L << 20)).isEqualTo(1L);
+    }
+
+    @Test
+    void nearest_ShouldPreferTheClosestFingerprint() {
+        SimHashIndex index = new SimHashIndex();
+        index.add(1, 0b111L);
+        index.add(2, 0b1L);
+
+        assertThat(index.nearest(0L)).isEqualTo(2L);
+    }
+}
@@ -0,0 +1,106 @@
+package om.openclassrooms.mddapi.content.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StripedViewCountsTest {
+
+    @Test
+    void drain_ReturnsCountsByAscendingIdAndResetsThem() {
+        StripedViewCounts counts = new StripedViewCounts(4);
+        counts.add(7L, 1);
+        counts.add(3L, 2);
+        counts.add(7L, 1);
+
+        assertEquals(2, counts.pending(7L));
+        assertEquals(List.of(3L, 7L), List.copyOf(counts.drain().keySet()));
+        assertEquals(0, counts.pending(7L));
+        assertTrue(counts.drain().isEmpty());
+    }
+
+    @Test
+    void drain_ArticleIdleForAWholeInterval_LeavesTheTable() {
+        StripedViewCounts counts = new StripedViewCounts(4);
+        counts.add(1L, 1);
+        counts.add(2L, 1);
+        counts.drain();
+        counts.add(2L, 1);
+
+        counts.drain();
+
+        assertEquals(1, counts.size());
+    }
+
+    @Test
+    void counter_HeldAcrossDrainsThatRetireIt_ViewStillDrained() {
+        StripedViewCounts counts = new StripedViewCounts(4);
+        counts.add(1L, 1);
+        // A viewer looks the counter up, then stalls while drains take it and retire it
+        StripedViewCounts.Counter held = counts.counter(1L);
+        assertEquals(Map.of(1L, 1L), counts.drain());
+        assertTrue(counts.drain().isEmpty());
+        assertTrue(counts.drain().isEmpty());
+        assertEquals(0, counts.size());
+
+        held.count(1);
+
+        assertEquals(1, counts.pending(1L));
+        assertEquals(Map.of(1L, 1L), counts.drain());
+        assertTrue(counts.drain().isEmpty());
+    }
+
+    @Test
+    void add_ManyArticles_GrowsTablesWithoutLosingCounts() {
+        StripedViewCounts counts = new StripedViewCounts(2);
+        LongStream.rangeClosed(1, 10_000).forEach(id -> counts.add(id, id));
+
+        Map<Long, Long> deltas = counts.drain();
+
+        assertEquals(10_000, deltas.size());
+        deltas.forEach((id, views) -> assertEquals(id, views));
+    }
+
+    @Test
+    void add_ConcurrentViewsAndDrains_CountEveryView() throws Exception {
+        StripedViewCounts counts = new StripedViewCounts(8);
+        int threads = 4;
+        int viewsPerThread = 50_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> viewers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            viewers.add(executor.submit(() -> {
+                for (int i = 0; i < viewsPerThread; i++) {
+                    // A few hot articles and a long tail, which keeps entries coming and going
+                    counts.add(i % 4 == 0 ? 1 + i % 3 : 1 + i % 5_000, 1);
+                }
+            }));
+        }
+
+        long total = 0;
+        while (!viewers.stream().allMatch(Future::isDone)) {
+            total += counts.drain().values().stream().mapToLong(Long::longValue).sum();
+        }
+        for (Future<?> viewer : viewers) {
+            viewer.get();
+        }
+        executor.shutdown();
+        // Views added to retired counters moved to the live tables before their viewer returned
+        total += counts.drain().values().stream().mapToLong(Long::longValue).sum();
+
+        assertEquals((long) threads * viewsPerThread, total);
+    }
+
+    @Test
+    void constructor_StripeCountNotPowerOfTwo_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> new StripedViewCounts(3));
+    }
+}
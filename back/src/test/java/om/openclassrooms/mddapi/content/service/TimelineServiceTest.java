@@ -0,0 +1,87 @@
+package om.openclassrooms.mddapi.content.service;
+
+import om.openclassrooms.mddapi.content.event.ArticleCreatedEvent;
+import om.openclassrooms.mddapi.content.repository.TimelineEntryRepository;
+import om.openclassrooms.mddapi.content.repository.TopicRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TimelineServiceTest {
+
+    @Mock
+    private TimelineEntryRepository timelineEntryRepository;
+
+    @Mock
+    private TopicRepository topicRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TimelineService timelineService;
+
+    @BeforeEach
+    void setUp() {
+        timelineService = new TimelineService(timelineEntryRepository, topicRepository, transactionManager, true);
+    }
+
+    @Test
+    void onArticleCreated_FansOutToSubscribers() {
+        timelineService.onArticleCreated(new ArticleCreatedEvent(10L, 1L, 2L, LocalDateTime.now()));
+
+        verify(timelineEntryRepository).fanOutArticle(10L);
+    }
+
+    @Test
+    void disabled_SkipsEveryTimelineWrite() {
+        TimelineService disabled = new TimelineService(timelineEntryRepository, topicRepository, transactionManager, false);
+
+        disabled.onArticleCreated(new ArticleCreatedEvent(10L, 1L, 2L, LocalDateTime.now()));
+        disabled.backfill(1L, 3L);
+        disabled.trim(1L, 3L);
+        disabled.fanOutRange(100L, 102L);
+
+        verifyNoInteractions(timelineEntryRepository);
+    }
+
+    @Test
+    void backfill_InsertsTopicArticlesForUser() {
+        timelineService.backfill(1L, 3L);
+
+        verify(timelineEntryRepository).backfillTopic(1L, 3L);
+    }
+
+    @Test
+    void trim_DeletesTopicEntriesForUser() {
+        timelineService.trim(1L, 3L);
+
+        verify(timelineEntryRepository).deleteByUserAndTopic(1L, 3L);
+    }
+
+    @Test
+    void rebuild_RegeneratesEachTopic() {
+        when(topicRepository.findAllIds()).thenReturn(List.of(1L, 2L));
+        when(timelineEntryRepository.rebuildTopic(1L)).thenReturn(5);
+        when(timelineEntryRepository.rebuildTopic(2L)).thenReturn(7);
+
+        long rows = timelineService.rebuild();
+
+        assertEquals(12, rows);
+        InOrder inOrder = inOrder(timelineEntryRepository);
+        inOrder.verify(timelineEntryRepository).deleteByTopic(1L);
+        inOrder.verify(timelineEntryRepository).rebuildTopic(1L);
+        inOrder.verify(timelineEntryRepository).deleteByTopic(2L);
+        inOrder.verify(timelineEntryRepository).rebuildTopic(2L);
+    }
+}
@@ -0,0 +1,51 @@
+package om.openclassrooms.mddapi.content.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TopKCandidatesTest {
+
+    @Test
+    void offer_Full_KeepsTheBestScored() {
+        TopKCandidates candidates = new TopKCandidates(3);
+        long[][] offers = {{1, 5}, {2, 1}, {3, 7}, {4, 3}, {5, 2}, {6, 9}};
+        for (long[] offer : offers) {
+            candidates.offer(offer[0], offer[1]);
+        }
+
+        assertThat(candidates.ids()).containsExactlyInAnyOrder(1L, 3L, 6L);
+    }
+
+    @Test
+    void offer_KnownId_UpdatesItsScoreInPlace() {
+        TopKCandidates candidates = new TopKCandidates(2);
+        candidates.offer(1L, 5);
+        candidates.offer(2L, 6);
+
+        // 1 grows past 2, so 2 is now the weakest and makes room for 3
+        candidates.offer(1L, 10);
+        candidates.offer(3L, 7);
+
+        assertThat(candidates.ids()).containsExactlyInAnyOrder(1L, 3L);
+    }
+
+    @Test
+    void rescore_DropsQuietMembersAndKeepsHeapOrder() {
+        TopKCandidates candidates = new TopKCandidates(3);
+        candidates.offer(1L, 5);
+        candidates.offer(2L, 6);
+        candidates.offer(3L, 7);
+        Map<Long, Long> current = Map.of(1L, 8L, 2L, 0L, 3L, 2L);
+
+        candidates.rescore(current::get);
+        candidates.offer(4L, 1);
+        candidates.offer(5L, 4);
+
+        assertThat(candidates.size()).isEqualTo(3);
+        assertThat(Arrays.stream(candidates.ids()).boxed()).containsExactlyInAnyOrder(1L, 5L, 3L);
+    }
+}
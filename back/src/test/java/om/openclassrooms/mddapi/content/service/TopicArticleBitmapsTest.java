@@ -0,0 +1,83 @@
+package om.openclassrooms.mddapi.content.service;
+
+import om.openclassrooms.mddapi.content.event.ArticleCreatedEvent;
+import om.openclassrooms.mddapi.content.payload.TopicArticlesVersion;
+import om.openclassrooms.mddapi.content.repository.ArticleRepository;
+import om.openclassrooms.mddapi.content.repository.TopicRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TopicArticleBitmapsTest {
+
+    @Mock
+    private ArticleRepository articleRepository;
+
+    @Mock
+    private TopicRepository topicRepository;
+
+    private TopicArticleBitmaps topicArticleBitmaps;
+
+    @BeforeEach
+    void setUp() {
+        topicArticleBitmaps = new TopicArticleBitmaps(articleRepository, topicRepository);
+    }
+
+    @Test
+    void refresh_ReloadsOnlyTopicsWhoseArticlesChanged() {
+        when(topicRepository.findArticlesVersions())
+                .thenReturn(List.of(new TopicArticlesVersion(1L, 3L), new TopicArticlesVersion(2L, 1L)))
+                .thenReturn(List.of(new TopicArticlesVersion(1L, 4L), new TopicArticlesVersion(2L, 1L)));
+        when(articleRepository.findIdsByTopicId(1L)).thenReturn(List.of(1L, 2L)).thenReturn(List.of(1L, 2L, 5L));
+        when(articleRepository.findIdsByTopicId(2L)).thenReturn(List.of(3L));
+
+        topicArticleBitmaps.refresh();
+        topicArticleBitmaps.refresh();
+
+        assertEquals(RoaringBitmap.bitmapOf(1, 2, 5), topicArticleBitmaps.articles(1L));
+        assertEquals(RoaringBitmap.bitmapOf(3), topicArticleBitmaps.articles(2L));
+        assertTrue(topicArticleBitmaps.contains(5L));
+        assertTrue(topicArticleBitmaps.contains(3L));
+        assertFalse(topicArticleBitmaps.contains(4L));
+        verify(articleRepository, times(2)).findIdsByTopicId(1L);
+        verify(articleRepository).findIdsByTopicId(2L);
+    }
+
+    @Test
+    void refresh_DeletedTopic_IsDropped() {
+        when(topicRepository.findArticlesVersions())
+                .thenReturn(List.of(new TopicArticlesVersion(1L, 1L)))
+                .thenReturn(List.of());
+        when(articleRepository.findIdsByTopicId(1L)).thenReturn(List.of(1L));
+
+        topicArticleBitmaps.refresh();
+        topicArticleBitmaps.refresh();
+
+        assertTrue(topicArticleBitmaps.articles(1L).isEmpty());
+        assertFalse(topicArticleBitmaps.contains(1L));
+    }
+
+    @Test
+    void onArticleCreated_PublishesNewBitmapWithoutTouchingPreviousOne() {
+        when(topicRepository.findArticlesVersions()).thenReturn(List.of(new TopicArticlesVersion(1L, 1L)));
+        when(articleRepository.findIdsByTopicId(1L)).thenReturn(List.of(1L));
+        topicArticleBitmaps.refresh();
+        RoaringBitmap before = topicArticleBitmaps.articles(1L);
+
+        topicArticleBitmaps.onArticleCreated(new ArticleCreatedEvent(7L, 1L, 1L, LocalDateTime.now()));
+
+        assertEquals(RoaringBitmap.bitmapOf(1), before);
+        assertEquals(RoaringBitmap.bitmapOf(1, 7), topicArticleBitmaps.articles(1L));
+        assertTrue(topicArticleBitmaps.contains(7L));
+    }
+}
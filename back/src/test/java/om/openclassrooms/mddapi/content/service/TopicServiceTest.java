@@ -30,6 +30,15 @@ class TopicServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private TimelineService timelineService;
+
+    @Mock
+    private FeedCache feedCache;
+
+    @Mock
+    private ReadTracker readTracker;
+
     @InjectMocks
     private TopicService topicService;
 
@@ -76,7 +85,9 @@ class TopicServiceTest {
 
         assertNotNull(result);
         assertEquals(1, result.size());
+        assertNull(result.iterator().next().unreadCount());
         verify(userRepository).findById(1L);
+        verifyNoInteractions(readTracker);
     }
 
     @Test
@@ -103,14 +114,41 @@ class TopicServiceTest {
 
     @Test
     void getAllTopicsWithSubscriptionStatus_Success() {
-        List<TopicResponse> topics = Arrays.asList(testTopicResponse);
+        TopicResponse notSubscribed = new TopicResponse(2L, "Other Topic", "Other Description", false,
+                LocalDateTime.now(), LocalDateTime.now());
+        List<TopicResponse> topics = Arrays.asList(testTopicResponse, notSubscribed);
         when(topicRepository.findAllWithSubscriptionFlag(1L)).thenReturn(topics);
 
         List<TopicResponse> result = topicService.getAllTopicsWithSubscriptionStatus(1L);
 
-        assertNotNull(result);
-        assertEquals(1, result.size());
+        assertEquals(topics, result);
         verify(topicRepository).findAllWithSubscriptionFlag(1L);
+        verifyNoInteractions(readTracker);
+    }
+
+    @Test
+    void getSubscribedTopicsWithUnreadCounts_FillsCountsById() {
+        Topic other = new Topic();
+        other.setId(2L);
+        other.setName("Other Topic");
+        testUser.getSubscribedTopics().add(other);
+        testUser.getSubscribedTopics().add(testTopic);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(readTracker.unreadCounts(eq(1L), argThat(ids -> Set.copyOf(ids).equals(Set.of(1L, 2L)))))
+                .thenReturn(Map.of(1L, 3, 2L, 0));
+
+        List<TopicResponse> result = topicService.getSubscribedTopicsWithUnreadCounts(1L);
+
+        assertEquals(List.of(1L, 2L), result.stream().map(TopicResponse::id).toList());
+        assertEquals(List.of(3, 0), result.stream().map(TopicResponse::unreadCount).toList());
+    }
+
+    @Test
+    void getTopicsVersion_IsTheStoredVersion() {
+        when(topicRepository.findTopicsVersion(1L)).thenReturn(Optional.of("4-2-2-"));
+
+        assertEquals(Optional.of("4-2-2-"), topicService.getTopicsVersion(1L));
+        verifyNoInteractions(readTracker);
     }
 
     @Test
@@ -123,6 +161,21 @@ class TopicServiceTest {
         assertTrue(testUser.getSubscribedTopics().contains(testTopic));
         verify(userRepository).findById(1L);
         verify(topicRepository).findById(1L);
+        verify(userRepository).incrementSubscriptionsVersion(1L);
+        verify(timelineService).backfill(1L, 1L);
+        verify(feedCache).evictUsers(List.of(1L));
+    }
+
+    @Test
+    void subscribe_AlreadySubscribed_DoesNotBackfillTimeline() {
+        testUser.getSubscribedTopics().add(testTopic);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(topicRepository.findById(1L)).thenReturn(Optional.of(testTopic));
+
+        topicService.subscribe(testUser, 1L);
+
+        verifyNoInteractions(timelineService, feedCache);
+        verify(userRepository, never()).incrementSubscriptionsVersion(anyLong());
     }
 
     @Test
@@ -161,6 +214,9 @@ class TopicServiceTest {
         assertFalse(testUser.getSubscribedTopics().contains(testTopic));
         verify(userRepository).findById(1L);
         verify(topicRepository).findById(1L);
+        verify(userRepository).incrementSubscriptionsVersion(1L);
+        verify(timelineService).trim(1L, 1L);
+        verify(feedCache).evictUsers(List.of(1L));
     }
 
     @Test
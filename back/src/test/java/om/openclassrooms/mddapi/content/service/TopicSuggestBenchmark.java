@@ -0,0 +1,75 @@
+package om.openclassrooms.mddapi.content.service;
+
+import om.openclassrooms.mddapi.content.payload.TopicSuggestion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one typeahead lookup, and of rebuilding the trie, over synthetic catalogs of two-word
+ * topic names. The prefixes typed are one to four letters long.
+ * <p>
+ * {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="TopicSuggestBenchmark"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TopicSuggestBenchmark {
+
+    @Param({"1000", "10000"})
+    public int topics;
+
+    private List<TopicSuggestion> catalog;
+    private TopicTrie trie;
+    private String[] prefixes;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        catalog = new ArrayList<>(topics);
+        for (int i = 0; i < topics; i++) {
+            catalog.add(new TopicSuggestion((long) i, word(random) + " " + word(random), random.nextInt(10_000)));
+        }
+        trie = TopicTrie.build(catalog, TopicSuggestionIndex.MAX_SUGGESTIONS);
+        prefixes = new String[1024];
+        for (int i = 0; i < prefixes.length; i++) {
+            prefixes[i] = word(random).substring(0, 1 + random.nextInt(4)).toUpperCase();
+        }
+    }
+
+    @Benchmark
+    public List<TopicSuggestion> suggest() {
+        next = (next + 1) & (prefixes.length - 1);
+        return trie.suggest(prefixes[next], 10);
+    }
+
+    @Benchmark
+    public TopicTrie build() {
+        return TopicTrie.build(catalog, TopicSuggestionIndex.MAX_SUGGESTIONS);
+    }
+
+    private static String word(Random random) {
+        char[] letters = new char[4 + random.nextInt(6)];
+        for (int i = 0; i < letters.length; i++) {
+            letters[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(letters);
+    }
+}
@@ -0,0 +1,58 @@
+package om.openclassrooms.mddapi.content.service;
+
+import om.openclassrooms.mddapi.common.exception.WrongParametersException;
+import om.openclassrooms.mddapi.content.payload.TopicSuggestion;
+import om.openclassrooms.mddapi.content.repository.TopicRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TopicSuggestionIndexTest {
+
+    @Mock
+    private TopicRepository topicRepository;
+
+    @InjectMocks
+    private TopicSuggestionIndex topicSuggestionIndex;
+
+    @Test
+    void suggest_BeforeFirstRefresh_ReturnsNothing() {
+        assertTrue(topicSuggestionIndex.suggest("ja", 10).isEmpty());
+        verifyNoInteractions(topicRepository);
+    }
+
+    @Test
+    void refresh_ShouldRebuildOnlyWhenVersionChanges() {
+        TopicSuggestion java = new TopicSuggestion(1L, "Java", 1);
+        TopicSuggestion javaScript = new TopicSuggestion(2L, "JavaScript", 2);
+        when(topicRepository.findSuggestionsVersion()).thenReturn("1-1-x-0", "1-1-x-0", "2-2-y-1");
+        when(topicRepository.findSuggestions()).thenReturn(List.of(java))
+                .thenReturn(List.of(java, javaScript));
+
+        topicSuggestionIndex.refresh();
+        topicSuggestionIndex.refresh();
+        assertEquals(List.of(java), topicSuggestionIndex.suggest("ja", 10));
+
+        topicSuggestionIndex.refresh();
+        assertEquals(List.of(javaScript, java), topicSuggestionIndex.suggest("ja", 10));
+        verify(topicRepository, times(2)).findSuggestions();
+    }
+
+    @Test
+    void suggest_InvalidParameters_ThrowWrongParametersException() {
+        assertEquals("prefix", assertThrows(WrongParametersException.class,
+                () -> topicSuggestionIndex.suggest("x".repeat(101), 10)).getMessage());
+        assertEquals("limit", assertThrows(WrongParametersException.class,
+                () -> topicSuggestionIndex.suggest("ja", 0)).getMessage());
+        assertEquals("limit", assertThrows(WrongParametersException.class,
+                () -> topicSuggestionIndex.suggest("ja", TopicSuggestionIndex.MAX_SUGGESTIONS + 1)).getMessage());
+    }
+}
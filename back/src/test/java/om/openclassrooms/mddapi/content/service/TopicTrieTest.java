@@ -0,0 +1,77 @@
+package om.openclassrooms.mddapi.content.service;
+
+import om.openclassrooms.mddapi.content.payload.TopicSuggestion;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TopicTrieTest {
+
+    private static final TopicSuggestion JAVA = new TopicSuggestion(1L, "Java", 10);
+    private static final TopicSuggestion JAVASCRIPT = new TopicSuggestion(2L, "JavaScript", 30);
+    private static final TopicSuggestion SPRING_BOOT = new TopicSuggestion(3L, "Spring Boot", 20);
+    private static final TopicSuggestion WEB = new TopicSuggestion(4L, "Développement Web", 5);
+
+    private final TopicTrie trie = TopicTrie.build(List.of(JAVA, JAVASCRIPT, SPRING_BOOT, WEB), 3);
+
+    @Test
+    void suggest_ShouldRankMatchesBySubscriberCount() {
+        assertThat(trie.suggest("jav", 10)).containsExactly(JAVASCRIPT, JAVA);
+        assertThat(trie.suggest("javas", 10)).containsExactly(JAVASCRIPT);
+    }
+
+    @Test
+    void suggest_ShouldMatchAnyWordOfTheName() {
+        assertThat(trie.suggest("boot", 10)).containsExactly(SPRING_BOOT);
+        assertThat(trie.suggest("web", 10)).containsExactly(WEB);
+    }
+
+    @Test
+    void suggest_ShouldIgnoreCaseAccentsAndSeparators() {
+        assertThat(trie.suggest("DEVELOP", 10)).containsExactly(WEB);
+        assertThat(trie.suggest("spring-bo", 10)).containsExactly(SPRING_BOOT);
+    }
+
+    @Test
+    void suggest_BlankPrefix_ShouldReturnMostSubscribedTopics() {
+        assertThat(trie.suggest(" ", 10)).containsExactly(JAVASCRIPT, SPRING_BOOT, JAVA);
+    }
+
+    @Test
+    void suggest_ShouldRespectLimit() {
+        assertThat(trie.suggest("", 1)).containsExactly(JAVASCRIPT);
+    }
+
+    @Test
+    void suggest_UnknownPrefix_ShouldReturnNothing() {
+        assertThat(trie.suggest("kotlin", 10)).isEmpty();
+        assertThat(TopicTrie.EMPTY.suggest("java", 10)).isEmpty();
+    }
+
+    @Test
+    void suggest_NameWithRepeatedWord_ShouldAppearOnce() {
+        TopicSuggestion javaJava = new TopicSuggestion(5L, "Java Java", 1);
+        TopicTrie repeated = TopicTrie.build(List.of(javaJava), 3);
+
+        assertThat(repeated.suggest("ja", 10)).containsExactly(javaJava);
+    }
+
+    @Test
+    void suggest_TiesShouldBeOrderedByName() {
+        List<TopicSuggestion> topics = IntStream.of(3, 1, 2)
+                .mapToObj(i -> new TopicSuggestion((long) i, "Topic " + i, 0))
+                .toList();
+
+        assertThat(TopicTrie.build(topics, 5).suggest("top", 5))
+                .extracting(TopicSuggestion::name)
+                .containsExactly("Topic 1", "Topic 2", "Topic 3");
+    }
+
+    @Test
+    void normalize_ShouldFoldAccentsAndCollapseSeparators() {
+        assertThat(TopicTrie.normalize("  Développement--Web ")).isEqualTo("developpement web");
+    }
+}
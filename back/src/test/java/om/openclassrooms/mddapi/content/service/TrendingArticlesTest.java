@@ -0,0 +1,132 @@
+package om.openclassrooms.mddapi.content.service;
+
+import om.openclassrooms.mddapi.content.event.CommentCreatedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrendingArticlesTest {
+    private static final int ARTICLES = 50_000;
+    private static final int TOPICS = 20;
+    private static final int EVENTS = 400_000;
+    private static final int HOUR = TrendingArticles.WINDOWS.get("1h");
+
+    private final TrendingArticles trendingArticles = new TrendingArticles();
+
+    @Test
+    void top_ZipfTraffic_MatchesExactTopArticlesOfFollowedTopics() {
+        // Arrange - views and comments on article ids drawn from a Zipf law, counted exactly on the side
+        Map<Long, Long> exact = new HashMap<>();
+        double[] cumulative = zipfCumulativeFrequencies(ARTICLES, 1.0);
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < EVENTS; i++) {
+            long articleId = zipfRank(cumulative, random) + 1;
+            long topicId = topicOf(articleId);
+            if (i % 10 == 0) {
+                trendingArticles.onCommentCreated(new CommentCreatedEvent(articleId, topicId, (long) i));
+                exact.merge(articleId, (long) TrendingArticles.COMMENT_WEIGHT, Long::sum);
+            } else {
+                trendingArticles.recordView(articleId, topicId);
+                exact.merge(articleId, (long) TrendingArticles.VIEW_WEIGHT, Long::sum);
+            }
+        }
+        Set<Long> followed = Set.of(1L, 4L, 7L, 10L, 13L);
+
+        // Act
+        List<Long> trending = trendingArticles.top(followed, HOUR, 20);
+
+        // Assert - same articles as exact counting, only followed topics
+        List<Long> expected = exact.entrySet().stream()
+                .filter(entry -> followed.contains(topicOf(entry.getKey())))
+                .sorted(Map.Entry.<Long, Long>comparingByValue().reversed())
+                .limit(20)
+                .map(Map.Entry::getKey)
+                .toList();
+        Set<Long> found = new HashSet<>(trending);
+        found.retainAll(expected);
+        assertThat(trending).hasSize(20);
+        assertThat(found.size()).isGreaterThanOrEqualTo(19);
+        assertThat(trending).allMatch(id -> followed.contains(topicOf(id)));
+        // The very top is unambiguous under Zipf traffic
+        assertThat(trending.subList(0, 5)).isEqualTo(expected.subList(0, 5));
+    }
+
+    @Test
+    void top_EachTopicAlone_ReturnsItsExactLeader() {
+        Map<Long, Long> exact = new HashMap<>();
+        double[] cumulative = zipfCumulativeFrequencies(ARTICLES, 1.1);
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < EVENTS / 2; i++) {
+            long articleId = zipfRank(cumulative, random) + 1;
+            trendingArticles.recordView(articleId, topicOf(articleId));
+            exact.merge(articleId, 1L, Long::sum);
+        }
+
+        for (long topicId = 0; topicId < TOPICS; topicId++) {
+            long topic = topicId;
+            Long leader = exact.entrySet().stream()
+                    .filter(entry -> topicOf(entry.getKey()) == topic)
+                    .max(Map.Entry.<Long, Long>comparingByValue().thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())))
+                    .orElseThrow()
+                    .getKey();
+            assertThat(trendingArticles.top(List.of(topic), HOUR, 1)).containsExactly(leader);
+        }
+    }
+
+    @Test
+    void onCommentCreated_WeighsMoreThanAView() {
+        trendingArticles.recordView(1L, 1L);
+        trendingArticles.recordView(1L, 1L);
+        trendingArticles.onCommentCreated(new CommentCreatedEvent(2L, 1L, 10L));
+
+        assertThat(trendingArticles.top(List.of(1L), HOUR, 10)).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void top_UnknownTopic_ReturnsNothing() {
+        trendingArticles.recordView(1L, 1L);
+
+        assertThat(trendingArticles.top(List.of(2L), HOUR, 10)).isEmpty();
+    }
+
+    @Test
+    void rescore_KeepsActiveTopics() {
+        trendingArticles.recordView(1L, 1L);
+
+        trendingArticles.rescore();
+
+        assertThat(trendingArticles.top(List.of(1L), HOUR, 10)).containsExactly(1L);
+    }
+
+    private static long topicOf(long articleId) {
+        // Spread by a hash so that the popular low ids land in every topic
+        return Math.floorMod(Long.hashCode(articleId * 0x9E3779B97F4A7C15L), TOPICS);
+    }
+
+    private static double[] zipfCumulativeFrequencies(int size, double exponent) {
+        double[] cumulative = new double[size];
+        double total = 0;
+        for (int rank = 1; rank <= size; rank++) {
+            total += 1 / Math.pow(rank, exponent);
+            cumulative[rank - 1] = total;
+        }
+        for (int i = 0; i < size; i++) {
+            cumulative[i] /= total;
+        }
+        return cumulative;
+    }
+
+    private static int zipfRank(double[] cumulative, SplittableRandom random) {
+        int position = Arrays.binarySearch(cumulative, random.nextDouble());
+        return Math.min(position < 0 ? -position - 1 : position, cumulative.length - 1);
+    }
+}
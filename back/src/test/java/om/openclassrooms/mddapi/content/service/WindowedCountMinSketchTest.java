@@ -0,0 +1,66 @@
+package om.openclassrooms.mddapi.content.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WindowedCountMinSketchTest {
+    private static final long BUCKET = 1_000;
+    private static final long START = 1_000_000;
+
+    // Windows of 2 and 4 buckets
+    private final WindowedCountMinSketch sketch = new WindowedCountMinSketch(4, 1024, BUCKET, new int[]{2, 4}, START);
+
+    @Test
+    void estimate_CountsAddedInTheWindow() {
+        sketch.add(1L, 3, START);
+        sketch.add(1L, 2, START + BUCKET);
+        sketch.add(2L, 1, START + BUCKET);
+
+        assertEquals(5, sketch.estimate(1L, 0, START + BUCKET));
+        assertEquals(1, sketch.estimate(2L, 1, START + BUCKET));
+        assertEquals(0, sketch.estimate(3L, 1, START + BUCKET));
+    }
+
+    @Test
+    void estimate_BucketsSlideOutOfEachWindow() {
+        sketch.add(1L, 3, START);
+        sketch.add(1L, 2, START + BUCKET);
+
+        // The first bucket has left the 2-bucket window only
+        assertEquals(2, sketch.estimate(1L, 0, START + 2 * BUCKET));
+        assertEquals(5, sketch.estimate(1L, 1, START + 2 * BUCKET));
+
+        assertEquals(0, sketch.estimate(1L, 0, START + 3 * BUCKET));
+        assertEquals(2, sketch.estimate(1L, 1, START + 4 * BUCKET));
+        assertEquals(0, sketch.estimate(1L, 1, START + 5 * BUCKET));
+    }
+
+    @Test
+    void add_AfterLongSilence_StartsFromEmptyWindows() {
+        sketch.add(1L, 3, START);
+
+        sketch.add(1L, 1, START + 100 * BUCKET);
+
+        assertEquals(1, sketch.estimate(1L, 1, START + 100 * BUCKET));
+        // The reused slots were cleared too
+        assertEquals(1, sketch.estimate(1L, 1, START + 103 * BUCKET));
+    }
+
+    @Test
+    void estimate_ManyKeys_NeverUndercounts() {
+        for (long key = 1; key <= 20_000; key++) {
+            sketch.add(key, (int) (key % 7) + 1, START);
+        }
+
+        for (long key = 1; key <= 20_000; key++) {
+            assertTrue(sketch.estimate(key, 1, START) >= key % 7 + 1);
+        }
+    }
+
+    @Test
+    void constructor_WidthNotPowerOfTwo_Throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new WindowedCountMinSketch(4, 1000, BUCKET, new int[]{2}, START));
+    }
+}
@@ -0,0 +1,202 @@
+package om.openclassrooms.mddapi.content.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import om.openclassrooms.mddapi.common.exception.ConflictException;
+import om.openclassrooms.mddapi.common.exception.ServiceUnavailableException;
+import om.openclassrooms.mddapi.common.exception.TooManyRequestsException;
+import om.openclassrooms.mddapi.common.persistence.ReadYourWrites;
+import om.openclassrooms.mddapi.content.payload.CreateArticleRequest;
+import om.openclassrooms.mddapi.content.payload.WriteStatusResponse;
+import om.openclassrooms.mddapi.content.repository.ArticleRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WritePipelineTest {
+    // Long enough to be fingerprinted
+    private static final String BODY = "Virtual threads are cheap to create and block, so a server can run one per "
+            + "request again instead of sharing a small pool between callbacks, and the code reads in order "
+            + "from top to bottom like it did before reactive frameworks";
+
+    @Mock
+    private ArticleService articleService;
+
+    @Mock
+    private CommentService commentService;
+
+    @Mock
+    private ReadYourWrites readYourWrites;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ArticleRepository articleRepository;
+
+    private final CountDownLatch firstWriteStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseFirstWrite = new CountDownLatch(1);
+    private WritePipeline writePipeline;
+
+    @AfterEach
+    void tearDown() {
+        releaseFirstWrite.countDown();
+        if (writePipeline != null) {
+            writePipeline.stop();
+        }
+    }
+
+    @Test
+    void submit_WritesQueuedWhileBusy_CommittedInOneTransaction() throws Exception {
+        startPipeline(10);
+        WritePipeline.Ticket blocking = submitBlockingComment();
+        WritePipeline.Ticket first = writePipeline.submitArticle(article("First"), 1L);
+        WritePipeline.Ticket second = writePipeline.submitComment(2L, "Second", 1L);
+
+        releaseFirstWrite.countDown();
+        blocking.committed().get(5, TimeUnit.SECONDS);
+        first.committed().get(5, TimeUnit.SECONDS);
+        second.committed().get(5, TimeUnit.SECONDS);
+
+        verify(transactionManager, times(2)).getTransaction(any());
+        verify(transactionManager, times(2)).commit(any());
+        verify(articleService).createArticle(article("First"), 1L);
+        verify(commentService).createCommentForArticle(2L, "Second", 1L);
+        verify(readYourWrites, times(3)).recordWrite(1L);
+        assertEquals(new WriteStatusResponse(first.trackingId(), WriteStatusResponse.CREATED, null),
+                writePipeline.getStatus(first.trackingId(), 1L).orElseThrow());
+    }
+
+    @Test
+    void submit_OneWriteFails_OthersOfItsBatchStillCommitted() throws Exception {
+        startPipeline(10);
+        lenient().doThrow(new ConflictException("article.duplicate"))
+                .when(articleService).createArticle(eq(article("Copy")), eq(1L));
+        WritePipeline.Ticket blocking = submitBlockingComment();
+        WritePipeline.Ticket original = writePipeline.submitArticle(article("Original"), 1L);
+        WritePipeline.Ticket copy = writePipeline.submitArticle(article("Copy"), 1L);
+
+        releaseFirstWrite.countDown();
+        blocking.committed().get(5, TimeUnit.SECONDS);
+        original.committed().get(5, TimeUnit.SECONDS);
+        CompletionException failure = assertThrows(CompletionException.class, () -> copy.committed().join());
+
+        assertInstanceOf(ConflictException.class, failure.getCause());
+        assertEquals(new WriteStatusResponse(copy.trackingId(), WriteStatusResponse.FAILED, 409),
+                writePipeline.getStatus(copy.trackingId(), 1L).orElseThrow());
+        // Batch rolled back after Original, then each write in its own transaction
+        verify(transactionManager, times(2)).rollback(any());
+        verify(articleService, times(2)).createArticle(article("Original"), 1L);
+    }
+
+    @Test
+    void submit_CopyOfAnEarlierArticleOfItsBatch_FailsWithConflictOthersCommitted() throws Exception {
+        startPipeline(10);
+        WritePipeline.Ticket blocking = submitBlockingComment();
+        WritePipeline.Ticket original = writePipeline.submitArticle(article("Original", BODY), 1L);
+        WritePipeline.Ticket other = writePipeline.submitComment(2L, "Other", 1L);
+        WritePipeline.Ticket copy = writePipeline.submitArticle(article("Copy", BODY), 2L);
+
+        releaseFirstWrite.countDown();
+        blocking.committed().get(5, TimeUnit.SECONDS);
+        original.committed().get(5, TimeUnit.SECONDS);
+        other.committed().get(5, TimeUnit.SECONDS);
+        CompletionException failure = assertThrows(CompletionException.class, () -> copy.committed().join());
+
+        assertInstanceOf(ConflictException.class, failure.getCause());
+        assertEquals(new WriteStatusResponse(copy.trackingId(), WriteStatusResponse.FAILED, 409),
+                writePipeline.getStatus(copy.trackingId(), 2L).orElseThrow());
+        // Held out of the batch, which committed without a retry
+        verify(articleService).createArticle(article("Original", BODY), 1L);
+        verify(articleService, never()).createArticle(article("Copy", BODY), 2L);
+        verify(transactionManager, times(2)).commit(any());
+        verify(transactionManager, never()).rollback(any());
+        verify(readYourWrites, never()).recordWrite(2L);
+    }
+
+    @Test
+    void submit_QueueFull_ThrowsTooManyRequests() throws Exception {
+        startPipeline(1);
+        submitBlockingComment();
+        writePipeline.submitArticle(article("Queued"), 1L);
+
+        assertThrows(TooManyRequestsException.class, () -> writePipeline.submitArticle(article("Rejected"), 1L));
+    }
+
+    @Test
+    void stop_WritesEveryQueuedWriteThenRejectsNewOnes() throws Exception {
+        startPipeline(10);
+        submitBlockingComment();
+        WritePipeline.Ticket queued = writePipeline.submitArticle(article("Queued"), 1L);
+
+        Thread stopping = Thread.ofPlatform().start(writePipeline::stop);
+        releaseFirstWrite.countDown();
+        stopping.join(5000);
+
+        assertFalse(stopping.isAlive());
+        assertTrue(queued.committed().isDone());
+        assertFalse(queued.committed().isCompletedExceptionally());
+        assertFalse(writePipeline.isRunning());
+        assertThrows(ServiceUnavailableException.class, () -> writePipeline.submitArticle(article("Late"), 1L));
+    }
+
+    @Test
+    void getStatus_OtherUsersWrite_ReturnsEmpty() throws Exception {
+        startPipeline(10);
+        WritePipeline.Ticket ticket = writePipeline.submitArticle(article("Mine"), 1L);
+        ticket.committed().get(5, TimeUnit.SECONDS);
+
+        assertTrue(writePipeline.getStatus(ticket.trackingId(), 2L).isEmpty());
+        assertTrue(writePipeline.getStatus("unknown", 1L).isEmpty());
+    }
+
+    @Test
+    void submit_Disabled_ThrowsIllegalState() {
+        writePipeline = new WritePipeline(articleService, commentService, readYourWrites,
+                new DuplicateArticleDetector(articleRepository, true), transactionManager,
+                false, 10, 50, 60_000, new SimpleMeterRegistry());
+        writePipeline.start();
+
+        assertFalse(writePipeline.isEnabled());
+        assertThrows(IllegalStateException.class, () -> writePipeline.submitArticle(article("Off"), 1L));
+    }
+
+    private void startPipeline(int queueCapacity) {
+        writePipeline = new WritePipeline(articleService, commentService, readYourWrites,
+                new DuplicateArticleDetector(articleRepository, true), transactionManager,
+                true, queueCapacity, 50, 60_000, new SimpleMeterRegistry());
+        writePipeline.start();
+    }
+
+    // Holds the writer inside its first transaction until released, so later writes queue up
+    private WritePipeline.Ticket submitBlockingComment() throws InterruptedException {
+        lenient().doAnswer(invocation -> {
+            firstWriteStarted.countDown();
+            assertTrue(releaseFirstWrite.await(5, TimeUnit.SECONDS));
+            return null;
+        }).when(commentService).createCommentForArticle(1L, "Blocking", 1L);
+        WritePipeline.Ticket ticket = writePipeline.submitComment(1L, "Blocking", 1L);
+        assertTrue(firstWriteStarted.await(5, TimeUnit.SECONDS));
+        return ticket;
+    }
+
+    private static CreateArticleRequest article(String title) {
+        return article(title, "Content");
+    }
+
+    private static CreateArticleRequest article(String title, String content) {
+        return new CreateArticleRequest(title, content, 1L);
+    }
+}
@@ -1,6 +1,10 @@
 package om.openclassrooms.mddapi.user.service;
 
 import om.openclassrooms.mddapi.auth.exception.UserNotFoundException;
+import om.openclassrooms.mddapi.content.repository.ArticleRepository;
+import om.openclassrooms.mddapi.content.repository.TopicRepository;
+import om.openclassrooms.mddapi.content.service.ArticleCache;
+import om.openclassrooms.mddapi.content.service.FeedCache;
 import om.openclassrooms.mddapi.user.model.User;
 import om.openclassrooms.mddapi.user.payload.ProfileResponse;
 import om.openclassrooms.mddapi.user.payload.ProfileUpdateRequest;
@@ -30,6 +34,18 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private TopicRepository topicRepository;
+
+    @Mock
+    private ArticleRepository articleRepository;
+
+    @Mock
+    private FeedCache feedCache;
+
+    @Mock
+    private ArticleCache articleCache;
+
     @InjectMocks
     private UserService userService;
 
@@ -79,6 +95,22 @@ class UserServiceTest {
         verify(userRepository).existsByUsernameIgnoreCaseAndIdNot("newuser", 1L);
         verify(userRepository).save(any(User.class));
         verify(passwordEncoder, never()).encode(anyString());
+        verify(topicRepository).incrementArticlesVersionByAuthor(1L);
+        verify(articleRepository).incrementCommentsVersionByCommenter(1L);
+        verify(feedCache).evictAll();
+        verify(articleCache).invalidateByAuthor("testuser");
+    }
+
+    @Test
+    void updateUserProfile_SameUsername_KeepsContentVersions() {
+        ProfileUpdateRequest updateRequest = new ProfileUpdateRequest("testuser", "newemail@example.com", null);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userRepository.existsByEmailIgnoreCaseAndIdNot("newemail@example.com", 1L)).thenReturn(false);
+        when(userRepository.existsByUsernameIgnoreCaseAndIdNot("testuser", 1L)).thenReturn(false);
+
+        userService.updateUserProfile(updateRequest, 1L);
+
+        verifyNoInteractions(topicRepository, articleRepository, feedCache, articleCache);
     }
 
     @Test